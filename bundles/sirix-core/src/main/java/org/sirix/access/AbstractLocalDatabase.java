@@ -7,6 +7,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.GeneralSecurityException;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
@@ -21,9 +22,13 @@ import org.sirix.api.ResourceManager;
 import org.sirix.api.Transaction;
 import org.sirix.api.TransactionManager;
 import org.sirix.cache.BufferManager;
+import org.sirix.cache.BufferManagerImpl;
+import org.sirix.cache.BufferPool;
+import org.sirix.cache.OffHeapBufferPool;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.bytepipe.Encryptor;
 import org.sirix.utils.SirixFiles;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.Maps;
@@ -47,6 +52,12 @@ public abstract class AbstractLocalDatabase<T extends ResourceManager<? extends
   /** Buffers / page cache for each resource. */
   protected final ConcurrentMap<Path, BufferManager> mBufferManagers;
 
+  /** Buffer shared by the buffer managers of all resources. */
+  protected final BufferPool mBufferPool;
+
+  /** Off-heap buffer of decompressed pages shared by all resources (might be {@code null}). */
+  protected final OffHeapBufferPool mOffHeapBufferPool;
+
   /** Central repository of all resource-ID/resource-name tuples. */
   protected final BiMap<Long, String> mResources;
 
@@ -62,6 +73,12 @@ public abstract class AbstractLocalDatabase<T extends ResourceManager<? extends
     mDBConfig = checkNotNull(dbConfig);
     mResources = Maps.synchronizedBiMap(HashBiMap.create());
     mBufferManagers = new ConcurrentHashMap<>();
+    mBufferPool = dbConfig.getBufferSize() > 0
+        ? new BufferPool(dbConfig.getBufferSize())
+        : BufferPool.shareGlobalBuffer();
+    mOffHeapBufferPool = dbConfig.getOffHeapBufferSize() > 0
+        ? new OffHeapBufferPool(dbConfig.getOffHeapBufferSize())
+        : null;
     mTransactionManager = new TransactionManagerImpl();
   }
 
@@ -165,7 +182,10 @@ public abstract class AbstractLocalDatabase<T extends ResourceManager<? extends
 
       // mReadSemaphores.remove(resourceFile);
       // mWriteSemaphores.remove(resourceFile);
-      mBufferManagers.remove(resourceFile);
+      final BufferManager bufferManager = mBufferManagers.remove(resourceFile);
+      if (bufferManager != null) {
+        bufferManager.clearAllCaches();
+      }
     }
 
     return this;
@@ -219,6 +239,39 @@ public abstract class AbstractLocalDatabase<T extends ResourceManager<? extends
     return mBufferManagers.get(resourceFile);
   }
 
+  /**
+   * Get the buffer manager of a resource, which is created if it doesn't exist so far.
+   *
+   * @param resourceFile the resource file
+   * @param resourceConfig the resource configuration
+   * @return the buffer manager of the resource
+   */
+  protected BufferManager getOrCreateBufferManager(final Path resourceFile,
+      final ResourceConfiguration resourceConfig) {
+    return mBufferManagers.computeIfAbsent(resourceFile,
+        unused -> new BufferManagerImpl(mBufferPool, mOffHeapBufferPool, resourceConfig.getID()));
+  }
+
+  @Override
+  public CacheStats getBufferStatistics() {
+    return mBufferPool.getStatistics();
+  }
+
+  @Override
+  public Optional<CacheStats> getOffHeapBufferStatistics() {
+    return Optional.ofNullable(mOffHeapBufferPool).map(OffHeapBufferPool::getStatistics);
+  }
+
+  /**
+   * Remove all pages from the buffers.
+   */
+  protected void clearBuffers() {
+    mBufferPool.clear();
+    if (mOffHeapBufferPool != null) {
+      mOffHeapBufferPool.clear();
+    }
+  }
+
   @Override
   public Transaction beginTransaction() {
     // FIXME
@@ -122,6 +122,13 @@ public final class DatabaseConfiguration {
   /** Identification for string. */
   public static final String BINARY = "0.1.0";
 
+  /**
+   * Default size of the buffer in bytes, {@code 0} denotes that the database shares the process-global
+   * buffer (see {@link org.sirix.cache.BufferPool#GLOBAL_MAX_WEIGHT}) with all other databases, which
+   * don't configure a buffer size.
+   */
+  public static final long DEFAULT_BUFFER_SIZE = 0;
+
   /** Binary version of storage. */
   private final String mBinaryVersion;
 
@@ -137,6 +144,15 @@ public final class DatabaseConfiguration {
   /** The database type. */
   private DatabaseType mDatabaseType;
 
+  /**
+   * Size of the buffer in bytes, which is shared by all resources of the database ({@code 0} to share
+   * the process-global buffer).
+   */
+  private long mBufferSize;
+
+  /** Size of the off-heap buffer of decompressed pages in bytes ({@code 0} if disabled). */
+  private long mOffHeapBufferSize;
+
   /**
    * Constructor with the path to be set.
    *
@@ -148,6 +164,7 @@ public final class DatabaseConfiguration {
     // For temporal axis (for instance we can have a reading trx in principle on every possible
     // revision) -- all-time axis.
     mMaxResourceReadTrx = Integer.MAX_VALUE;
+    mBufferSize = DEFAULT_BUFFER_SIZE;
   }
 
   /**
@@ -191,6 +208,50 @@ public final class DatabaseConfiguration {
     return mMaxResourceReadTrx;
   }
 
+  /**
+   * Set the size of the buffer, which is shared by all resources of the database. Cached record pages
+   * are weighted by the estimated size of their records, other pages by their serialized length.
+   *
+   * @param bufferSize the size of the buffer in bytes or {@code 0} to share the process-global buffer
+   * @return this {@link DatabaseConfiguration} instance
+   */
+  public DatabaseConfiguration setBufferSize(final long bufferSize) {
+    checkArgument(bufferSize >= 0, "Buffer size must be >= 0!");
+    mBufferSize = bufferSize;
+    return this;
+  }
+
+  /**
+   * Get the size of the buffer, which is shared by all resources of the database.
+   *
+   * @return the size of the buffer in bytes or {@code 0} if the process-global buffer is shared
+   */
+  public long getBufferSize() {
+    return mBufferSize;
+  }
+
+  /**
+   * Set the size of the off-heap second-level buffer, which caches the decompressed bytes of pages
+   * of all resources of the database in direct memory.
+   *
+   * @param offHeapBufferSize the size of the off-heap buffer in bytes or {@code 0} to disable it
+   * @return this {@link DatabaseConfiguration} instance
+   */
+  public DatabaseConfiguration setOffHeapBufferSize(final long offHeapBufferSize) {
+    checkArgument(offHeapBufferSize >= 0, "Off-heap buffer size must be >= 0!");
+    mOffHeapBufferSize = offHeapBufferSize;
+    return this;
+  }
+
+  /**
+   * Get the size of the off-heap second-level buffer.
+   *
+   * @return the size of the off-heap buffer in bytes or {@code 0} if it is disabled
+   */
+  public long getOffHeapBufferSize() {
+    return mOffHeapBufferSize;
+  }
+
   /**
    * Set unique maximum resource ID.
    *
@@ -272,6 +333,8 @@ public final class DatabaseConfiguration {
       jsonWriter.name("ID").value(config.mMaxResourceID);
       jsonWriter.name("max-resource-read-trx").value(config.mMaxResourceReadTrx);
       jsonWriter.name("databaseType").value(config.mDatabaseType.toString());
+      jsonWriter.name("buffer-size").value(config.mBufferSize);
+      jsonWriter.name("off-heap-buffer-size").value(config.mOffHeapBufferSize);
       jsonWriter.endObject();
     } catch (final IOException e) {
       throw new SirixIOException(e);
@@ -303,12 +366,27 @@ public final class DatabaseConfiguration {
       final String databaseType = jsonReader.nextName();
       assert databaseType.equals("databaseType");
       final String type = jsonReader.nextString();
+      // Configurations of older databases don't store the buffer sizes.
+      long bufferSize = DEFAULT_BUFFER_SIZE;
+      if (jsonReader.hasNext()) {
+        final String bufferSizeName = jsonReader.nextName();
+        assert bufferSizeName.equals("buffer-size");
+        bufferSize = jsonReader.nextLong();
+      }
+      long offHeapBufferSize = 0;
+      if (jsonReader.hasNext()) {
+        final String offHeapBufferSizeName = jsonReader.nextName();
+        assert offHeapBufferSizeName.equals("off-heap-buffer-size");
+        offHeapBufferSize = jsonReader.nextLong();
+      }
       jsonReader.endObject();
       final DatabaseType dbType =
           DatabaseType.fromString(type).orElseThrow(() -> new IllegalStateException("Type can not be unknown."));
       return new DatabaseConfiguration(dbFile).setMaximumResourceID(ID)
                                               .setMaxResourceReadTrx(maxResourceRtx)
-                                              .setDatabaseType(dbType);
+                                              .setDatabaseType(dbType)
+                                              .setBufferSize(bufferSize)
+                                              .setOffHeapBufferSize(offHeapBufferSize);
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
@@ -28,7 +28,6 @@ import org.sirix.api.Database;
 import org.sirix.api.ResourceManager;
 import org.sirix.api.json.JsonNodeTrx;
 import org.sirix.api.json.JsonResourceManager;
-import org.sirix.cache.BufferManagerImpl;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixUsageException;
 import org.sirix.utils.LogWrapper;
@@ -71,6 +70,7 @@ public final class LocalJsonDatabase extends AbstractLocalDatabase<JsonResourceM
     mClosed = true;
     mResourceStore.close();
     mTransactionManager.close();
+    clearBuffers();
 
     // Remove from database mapping.
     Databases.removeDatabase(mDBConfig.getFile(), this);
@@ -102,11 +102,9 @@ public final class LocalJsonDatabase extends AbstractLocalDatabase<JsonResourceM
     // Keep track of the resource-ID.
     mResources.forcePut(resourceConfig.getID(), resourceConfig.getResource().getFileName().toString());
 
-    if (!mBufferManagers.containsKey(resourceFile))
-      mBufferManagers.put(resourceFile, new BufferManagerImpl());
-
     final JsonResourceManager resourceManager =
-        mResourceStore.openResource(this, resourceConfig, mBufferManagers.get(resourceFile), resourceFile);
+        mResourceStore.openResource(this, resourceConfig, getOrCreateBufferManager(resourceFile, resourceConfig),
+            resourceFile);
 
     return resourceManager;
   }
@@ -36,6 +36,7 @@ import java.util.Objects;
 import javax.annotation.Nonnegative;
 import org.sirix.access.trx.node.HashType;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.PageHashType;
 import org.sirix.io.StorageType;
 import org.sirix.io.bytepipe.ByteHandlePipeline;
 import org.sirix.io.bytepipe.ByteHandler;
@@ -197,6 +198,21 @@ public final class ResourceConfiguration {
   /** The hash function used for hashing nodes. */
   public final HashFunction nodeHashFunction;
 
+  /** Determines if pages are written in batches with one fsync per commit or one by one. */
+  public final boolean batchPageWrites;
+
+  /** Determines if the record pages are serialized, compressed and hashed in parallel during a commit. */
+  public final boolean parallelCommit;
+
+  /** The hash function used to compute the integrity hashes of pages. */
+  public final PageHashType pageHashType;
+
+  /** Determines if the integrity hashes of pages are verified when the pages are read. */
+  public final boolean verifyPageHashes;
+
+  /** Determines if the changes of each revision are stored alongside the revision. */
+  public final boolean storeChangeSets;
+
   /** The name of the resource. */
   private String resourceName;
 
@@ -230,6 +246,11 @@ public final class ResourceConfiguration {
     recordPersister = builder.mPersistenter;
     resourceName = builder.mResource;
     nodeHashFunction = builder.mHashFunction;
+    batchPageWrites = builder.mBatchPageWrites;
+    parallelCommit = builder.mParallelCommit;
+    pageHashType = builder.mPageHashType;
+    verifyPageHashes = builder.mVerifyPageHashes;
+    storeChangeSets = builder.mStoreChangeSets;
   }
 
   ResourceConfiguration setDatabaseConfiguration(final DatabaseConfiguration config) {
@@ -327,7 +348,9 @@ public final class ResourceConfiguration {
    */
   private static final String[] JSONNAMES =
       {"revisioning", "revisioningClass", "numbersOfRevisiontoRestore", "byteHandlerClasses", "storageKind", "hashKind",
-          "hashFunction", "compression", "pathSummary", "resourceID", "deweyIDsStored", "persistenter"};
+          "hashFunction", "compression", "pathSummary", "resourceID", "deweyIDsStored", "persistenter",
+          "batchPageWrites", "parallelCommit", "pageHashType", "verifyPageHashes",
+          "storeChangeSets"};
 
   /**
    * Serialize the configuration.
@@ -370,6 +393,15 @@ public final class ResourceConfiguration {
       jsonWriter.name(JSONNAMES[10]).value(config.areDeweyIDsStored);
       // Persistenter.
       jsonWriter.name(JSONNAMES[11]).value(config.recordPersister.getClass().getName());
+      // Batched page writes.
+      jsonWriter.name(JSONNAMES[12]).value(config.batchPageWrites);
+      // Parallel commit.
+      jsonWriter.name(JSONNAMES[13]).value(config.parallelCommit);
+      // Page hashes.
+      jsonWriter.name(JSONNAMES[14]).value(config.pageHashType.name());
+      jsonWriter.name(JSONNAMES[15]).value(config.verifyPageHashes);
+      // Change sets.
+      jsonWriter.name(JSONNAMES[16]).value(config.storeChangeSets);
       jsonWriter.endObject();
     } catch (final IOException e) {
       throw new SirixIOException(e);
@@ -458,6 +490,38 @@ public final class ResourceConfiguration {
       final Class<?> persistenterClazz = Class.forName(jsonReader.nextString());
       final Constructor<?> persistenterConstr = persistenterClazz.getConstructors()[0];
       final RecordPersister persistenter = (RecordPersister) persistenterConstr.newInstance();
+      // Batched page writes (not available in configurations of older resources).
+      boolean batchPageWrites = false;
+      if (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[12]);
+        batchPageWrites = jsonReader.nextBoolean();
+      }
+      // Parallel commit (not available in configurations of older resources).
+      boolean parallelCommit = false;
+      if (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[13]);
+        parallelCommit = jsonReader.nextBoolean();
+      }
+      // Page hashes (not available in configurations of older resources, which use SHA-256).
+      PageHashType pageHashType = PageHashType.SHA256;
+      boolean verifyPageHashes = false;
+      if (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[14]);
+        pageHashType = PageHashType.valueOf(jsonReader.nextString());
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[15]);
+        verifyPageHashes = jsonReader.nextBoolean();
+      }
+      // Change sets (not available in configurations of older resources).
+      boolean storeChangeSets = false;
+      if (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[16]);
+        storeChangeSets = jsonReader.nextBoolean();
+      }
       jsonReader.endObject();
       jsonReader.close();
       fileReader.close();
@@ -475,7 +539,12 @@ public final class ResourceConfiguration {
              .persistenter(persistenter)
              .useTextCompression(compression)
              .buildPathSummary(pathSummary)
-             .useDeweyIDs(deweyIDsStored);
+             .useDeweyIDs(deweyIDsStored)
+             .batchPageWrites(batchPageWrites)
+             .parallelCommit(parallelCommit)
+             .pageHashType(pageHashType)
+             .verifyPageHashes(verifyPageHashes)
+             .storeChangeSets(storeChangeSets);
 
       // Deserialized instance.
       final ResourceConfiguration config = new ResourceConfiguration(builder);
@@ -525,6 +594,21 @@ public final class ResourceConfiguration {
     /** Determines if a path summary should be build or not. */
     private boolean mPathSummary;
 
+    /** Determines if pages are written in batches or one by one. */
+    private boolean mBatchPageWrites;
+
+    /** Determines if record pages are serialized in parallel during a commit. */
+    private boolean mParallelCommit;
+
+    /** The hash function used to compute the integrity hashes of pages. */
+    private PageHashType mPageHashType = PageHashType.SHA256;
+
+    /** Determines if the integrity hashes of pages are verified when the pages are read. */
+    private boolean mVerifyPageHashes;
+
+    /** Determines if the changes of each revision are stored alongside the revision. */
+    private boolean mStoreChangeSets;
+
     /**
      * Constructor, setting the mandatory fields.
      *
@@ -650,6 +734,70 @@ public final class ResourceConfiguration {
       return this;
     }
 
+    /**
+     * Determines if serialized pages should be buffered and appended in batches during a commit,
+     * with a single fsync once the uber page is written, instead of being written one by one.
+     *
+     * @param batchPageWrites batch page writes or not (default: no)
+     * @return reference to the builder object
+     */
+    public Builder batchPageWrites(final boolean batchPageWrites) {
+      mBatchPageWrites = batchPageWrites;
+      return this;
+    }
+
+    /**
+     * Determines if the record pages are serialized, compressed and hashed in parallel on the common
+     * fork-join pool during a commit. The pages are still appended one by one in the order of the
+     * sequential commit.
+     *
+     * @param parallelCommit commit in parallel or not (default: no)
+     * @return reference to the builder object
+     */
+    public Builder parallelCommit(final boolean parallelCommit) {
+      mParallelCommit = parallelCommit;
+      return this;
+    }
+
+    /**
+     * Set the hash function, which is used to compute the integrity hashes of pages. The hashes are
+     * stored in the references to the pages. {@link PageHashType#CRC32C} and
+     * {@link PageHashType#FARMHASH64} are considerably faster than {@link PageHashType#SHA256}, but not
+     * cryptographic.
+     *
+     * @param pageHashType the hash function (default: {@link PageHashType#SHA256})
+     * @return reference to the builder object
+     */
+    public Builder pageHashType(final PageHashType pageHashType) {
+      mPageHashType = checkNotNull(pageHashType);
+      return this;
+    }
+
+    /**
+     * Determines if the integrity hashes of pages are verified, whenever pages are read from the
+     * storage.
+     *
+     * @param verifyPageHashes verify the page hashes or not (default: no)
+     * @return reference to the builder object
+     */
+    public Builder verifyPageHashes(final boolean verifyPageHashes) {
+      mVerifyPageHashes = verifyPageHashes;
+      return this;
+    }
+
+    /**
+     * Determines if the write transaction stores the keys of the inserted, updated and removed nodes
+     * of each revision on commit, such that diffs between adjacent revisions don't have to traverse
+     * the revisions.
+     *
+     * @param storeChangeSets store the change sets or not (default: no)
+     * @return reference to the builder object
+     */
+    public Builder storeChangeSets(final boolean storeChangeSets) {
+      mStoreChangeSets = storeChangeSets;
+      return this;
+    }
+
     @Override
     public String toString() {
       return MoreObjects.toStringHelper(this)
@@ -659,6 +807,11 @@ public final class ResourceConfiguration {
                         .add("HashFunction", mHashFunction)
                         .add("PathSummary", mPathSummary)
                         .add("TextCompression", mCompression)
+                        .add("BatchPageWrites", mBatchPageWrites)
+                        .add("ParallelCommit", mParallelCommit)
+                        .add("PageHashType", mPageHashType)
+                        .add("VerifyPageHashes", mVerifyPageHashes)
+                        .add("StoreChangeSets", mStoreChangeSets)
                         .toString();
     }
 
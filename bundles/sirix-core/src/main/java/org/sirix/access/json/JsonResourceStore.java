@@ -59,7 +59,7 @@ public final class JsonResourceStore extends AbstractResourceStore<JsonResourceM
 
       // Create the resource manager instance.
       final JsonResourceManager resourceManager = new JsonResourceManagerImpl(database, this, resourceConfig,
-          bufferManager, StorageType.getStorage(resourceConfig), uberPage, readSem, writeLock, mUser);
+          bufferManager, storage, uberPage, readSem, writeLock, mUser);
 
       // Put it in the databases cache.
       DatabasesInternals.putResourceManager(resourceFile, resourceManager);
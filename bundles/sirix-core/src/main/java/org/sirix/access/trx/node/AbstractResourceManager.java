@@ -11,6 +11,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -22,6 +23,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -54,6 +56,7 @@ import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixThreadedException;
 import org.sirix.exception.SirixUsageException;
 import org.sirix.index.path.summary.PathSummaryReader;
+import org.sirix.io.Reader;
 import org.sirix.io.Storage;
 import org.sirix.io.Writer;
 import org.sirix.node.interfaces.Node;
@@ -117,6 +120,12 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
   /** The user interacting with SirixDB. */
   final User mUser;
 
+  /**
+   * The commit timestamps of the revisions, indexed by the revision number. A zero slot has not been
+   * read from its revision root page yet.
+   */
+  private volatile AtomicLongArray mRevisionTimestamps;
+
   /**
    * Package private constructor.
    *
@@ -737,86 +746,118 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
     checkNotNull(pointInTime);
     assertNotClosed();
 
+    return beginNodeReadOnlyTrx(getRevisionNumber(pointInTime));
+  }
+
+  @Override
+  public int getRevisionNumber(final Instant pointInTime) {
+    checkNotNull(pointInTime);
+    assertNotClosed();
+
     final long timestamp = pointInTime.toEpochMilli();
+    final AtomicLongArray revisionTimestamps = getRevisionTimestamps();
 
-    int revision = binarySearch(timestamp);
+    // Binary search, which only reads the probed missing timestamps from their revision root pages.
+    int low = 0;
+    int high = revisionTimestamps.length() - 1;
+    int revision = -1;
+
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final long midTimestamp = getRevisionTimestamp(revisionTimestamps, mid);
+
+      if (midTimestamp < timestamp) {
+        low = mid + 1;
+      } else if (midTimestamp > timestamp) {
+        high = mid - 1;
+      } else {
+        revision = mid;
+        break;
+      }
+    }
 
     if (revision < 0) {
-      revision = -revision - 1;
+      revision = low;
     }
 
     if (revision == 0)
-      return beginNodeReadOnlyTrx(0);
-    else if (revision == getMostRecentRevisionNumber() + 1)
-      return beginNodeReadOnlyTrx();
-
-    final R rtxRevisionMinus1 = beginNodeReadOnlyTrx(revision - 1);
-    final R rtxRevision = beginNodeReadOnlyTrx(revision);
+      return 0;
+    else if (revision == revisionTimestamps.length())
+      return revisionTimestamps.length() - 1;
 
-    if (timeDiff(timestamp, rtxRevisionMinus1.getRevisionTimestamp().toEpochMilli()) < timeDiff(timestamp,
-        rtxRevision.getRevisionTimestamp().toEpochMilli())) {
-      rtxRevision.close();
-      return rtxRevisionMinus1;
-    } else {
-      rtxRevisionMinus1.close();
-      return rtxRevision;
-    }
+    if (timeDiff(timestamp, getRevisionTimestamp(revisionTimestamps, revision - 1)) < timeDiff(timestamp,
+        getRevisionTimestamp(revisionTimestamps, revision)))
+      return revision - 1;
+    else
+      return revision;
   }
 
-  private int binarySearch(final long timestamp) {
-    int low = 0;
-    int high = getMostRecentRevisionNumber();
-
-    while (low <= high) {
-      final int mid = (low + high) >>> 1;
-
-      try (final PageReadOnlyTrx trx = beginPageReadOnlyTrx(mid)) {
-        final long midVal = trx.getActualRevisionRootPage().getRevisionTimestamp();
-        final int cmp = Instant.ofEpochMilli(midVal).compareTo(Instant.ofEpochMilli(timestamp));
+  /**
+   * Get the commit timestamp of a revision. Timestamps, which are missing in the storage, are read
+   * from the revision root page on first access and kept in memory.
+   *
+   * @param revisionTimestamps the revision timestamps
+   * @param revision the revision number
+   * @return the commit timestamp of the revision
+   */
+  private long getRevisionTimestamp(final AtomicLongArray revisionTimestamps, final int revision) {
+    long timestamp = revisionTimestamps.get(revision);
 
-        if (cmp < 0)
-          low = mid + 1;
-        else if (cmp > 0)
-          high = mid - 1;
-        else
-          return mid; // key found
+    if (timestamp == 0) {
+      try (final PageReadOnlyTrx trx = beginPageReadOnlyTrx(revision)) {
+        timestamp = trx.getActualRevisionRootPage().getRevisionTimestamp();
       }
+      revisionTimestamps.set(revision, timestamp);
     }
 
-    return -(low + 1); // key not found
+    return timestamp;
   }
 
-  @Override
-  public int getRevisionNumber(final Instant pointInTime) {
-    checkNotNull(pointInTime);
-    assertNotClosed();
+  /**
+   * Get the commit timestamps of all committed revisions, indexed by the revision number. The
+   * timestamps are read once from the storage and kept in memory, such that point-in-time queries
+   * don't have to open a page transaction per probe.
+   *
+   * @return the revision timestamps
+   */
+  private AtomicLongArray getRevisionTimestamps() {
+    final int numberOfRevisions = getMostRecentRevisionNumber() + 1;
+    final AtomicLongArray revisionTimestamps = mRevisionTimestamps;
 
-    final long timestamp = pointInTime.toEpochMilli();
+    if (revisionTimestamps != null && revisionTimestamps.length() == numberOfRevisions) {
+      return revisionTimestamps;
+    }
 
-    int revision = binarySearch(timestamp);
+    return loadRevisionTimestamps(numberOfRevisions);
+  }
 
-    if (revision < 0) {
-      revision = -revision - 1;
+  private synchronized AtomicLongArray loadRevisionTimestamps(final int numberOfRevisions) {
+    if (mRevisionTimestamps != null && mRevisionTimestamps.length() == numberOfRevisions) {
+      return mRevisionTimestamps;
     }
 
-    if (revision == 0)
-      return 0;
-    else if (revision == getMostRecentRevisionNumber() + 1)
-      return getMostRecentRevisionNumber();
-
-    try (final R rtxRevisionMinus1 = beginNodeReadOnlyTrx(revision - 1);
-        final R rtxRevision = beginNodeReadOnlyTrx(revision)) {
-      final int revisionNumber;
+    final long[] storedTimestamps;
+    try (final Reader reader = mFac.createReader()) {
+      storedTimestamps = reader.readRevisionTimestamps();
+    }
 
-      if (timeDiff(timestamp, rtxRevisionMinus1.getRevisionTimestamp().toEpochMilli()) < timeDiff(timestamp,
-          rtxRevision.getRevisionTimestamp().toEpochMilli())) {
-        revisionNumber = rtxRevisionMinus1.getRevisionNumber();
-      } else {
-        revisionNumber = rtxRevision.getRevisionNumber();
+    // Slot i holds the timestamp of revision i. Missing and zeroed slots belong to revisions, which
+    // have been committed before the timestamps have been recorded. They are read lazily.
+    final AtomicLongArray revisionTimestamps =
+        new AtomicLongArray(Arrays.copyOf(storedTimestamps, numberOfRevisions));
+    final AtomicLongArray loadedTimestamps = mRevisionTimestamps;
+
+    if (loadedTimestamps != null) {
+      for (int revision = 0, length = Math.min(loadedTimestamps.length(), numberOfRevisions); revision < length;
+          revision++) {
+        if (revisionTimestamps.get(revision) == 0) {
+          revisionTimestamps.set(revision, loadedTimestamps.get(revision));
+        }
       }
-
-      return revisionNumber;
     }
+
+    mRevisionTimestamps = revisionTimestamps;
+    return revisionTimestamps;
   }
 
   @Override
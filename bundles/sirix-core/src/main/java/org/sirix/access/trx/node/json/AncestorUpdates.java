@@ -0,0 +1,153 @@
+package org.sirix.access.trx.node.json;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import javax.annotation.Nonnegative;
+import org.sirix.api.PageTrx;
+import org.sirix.node.Hash128;
+import org.sirix.node.interfaces.Node;
+import org.sirix.node.interfaces.Record;
+import org.sirix.node.interfaces.StructNode;
+import org.sirix.page.PageKind;
+import org.sirix.page.UnorderedKeyValuePage;
+
+/**
+ * Pending rolling hash and descendant count deltas of ancestor nodes. Instead of rewriting all
+ * ancestors up to the document root for each inserted or updated node, the deltas are collected for
+ * the parent node and propagated once per ancestor. As the rolling hash of a node is the hash of the
+ * node itself plus the sum of the hashes of its children times a prime, a delta of a node changes the
+ * hash of its parent by the delta times the prime, such that the deltas of different modifications
+ * can simply be added up and the resulting hashes are the same as if all ancestors would have been
+ * updated immediately.
+ *
+ * @author Johannes Lichtenberger
+ */
+final class AncestorUpdates {
+
+  /** The prime, the hashes of children are multiplied with. */
+  private final long mPrime;
+
+  /** Pending deltas by node key. */
+  private final Map<Long, Delta> mDeltas;
+
+  /**
+   * Constructor.
+   *
+   * @param prime the prime, the hashes of children are multiplied with
+   */
+  AncestorUpdates(final @Nonnegative long prime) {
+    mPrime = prime;
+    mDeltas = new HashMap<>();
+  }
+
+  /**
+   * Add a delta, which has to be applied to a node and propagated to its ancestors.
+   *
+   * @param nodeKey the key of the node
+   * @param hashDelta the hash delta
+   * @param descendantCountDelta the descendant count delta
+   */
+  void add(final long nodeKey, final Hash128 hashDelta, final long descendantCountDelta) {
+    checkNotNull(hashDelta);
+    final Delta delta = mDeltas.computeIfAbsent(nodeKey, key -> new Delta());
+    delta.mHash = delta.mHash.add(hashDelta);
+    delta.mDescendantCount += descendantCountDelta;
+  }
+
+  /**
+   * Determines if no deltas are pending.
+   *
+   * @return {@code true}, if no deltas are pending, {@code false} otherwise
+   */
+  boolean isEmpty() {
+    return mDeltas.isEmpty();
+  }
+
+  /**
+   * Discard all pending deltas.
+   */
+  void clear() {
+    mDeltas.clear();
+  }
+
+  /**
+   * Apply all pending deltas bottom up, such that each ancestor is modified only once.
+   *
+   * @param pageTrx the page transaction used to read and modify the nodes
+   */
+  void propagate(final PageTrx<Long, Record, UnorderedKeyValuePage> pageTrx) {
+    if (mDeltas.isEmpty()) {
+      return;
+    }
+
+    final Map<Long, Integer> depths = new HashMap<>();
+    for (final long nodeKey : mDeltas.keySet()) {
+      computeDepths(pageTrx, nodeKey, depths);
+    }
+
+    final PriorityQueue<Long> nodeKeys =
+        new PriorityQueue<>(Comparator.comparingInt((Long nodeKey) -> depths.get(nodeKey)).reversed());
+    nodeKeys.addAll(mDeltas.keySet());
+
+    while (!nodeKeys.isEmpty()) {
+      final long nodeKey = nodeKeys.poll();
+      final Delta delta = mDeltas.remove(nodeKey);
+      final Node node = (Node) pageTrx.prepareEntryForModification(nodeKey, PageKind.RECORDPAGE, -1);
+      node.setHash(node.getHash().add(delta.mHash));
+      if (node instanceof StructNode) {
+        final StructNode structNode = (StructNode) node;
+        structNode.setDescendantCount(structNode.getDescendantCount() + delta.mDescendantCount);
+      }
+
+      if (node.hasParent()) {
+        final long parentKey = node.getParentKey();
+        if (!mDeltas.containsKey(parentKey)) {
+          depths.putIfAbsent(parentKey, depths.get(nodeKey) - 1);
+          nodeKeys.add(parentKey);
+        }
+        add(parentKey, delta.mHash.multiply(mPrime), delta.mDescendantCount);
+      }
+    }
+  }
+
+  private static void computeDepths(final PageTrx<Long, Record, UnorderedKeyValuePage> pageTrx, final long nodeKey,
+      final Map<Long, Integer> depths) {
+    // Collect the ancestors up to the first one with a known depth (or the document root).
+    final Deque<Long> path = new ArrayDeque<>();
+    long currentKey = nodeKey;
+    int depth = -1;
+    while (true) {
+      final Integer knownDepth = depths.get(currentKey);
+      if (knownDepth != null) {
+        depth = knownDepth;
+        break;
+      }
+      path.push(currentKey);
+      final long key = currentKey;
+      final Node node = (Node) pageTrx.getRecord(key, PageKind.RECORDPAGE, -1)
+                                      .orElseThrow(() -> new IllegalStateException("Node " + key + " not found."));
+      if (!node.hasParent()) {
+        break;
+      }
+      currentKey = node.getParentKey();
+    }
+
+    while (!path.isEmpty()) {
+      depths.put(path.pop(), ++depth);
+    }
+  }
+
+  /**
+   * Pending delta of a single node.
+   */
+  private static final class Delta {
+    private Hash128 mHash = Hash128.ZERO;
+
+    private long mDescendantCount;
+  }
+}
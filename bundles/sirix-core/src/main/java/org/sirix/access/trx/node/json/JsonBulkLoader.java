@@ -0,0 +1,428 @@
+package org.sirix.access.trx.node.json;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.brackit.xquery.atomic.QNm;
+import org.sirix.access.trx.node.HashType;
+import org.sirix.api.PageTrx;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.index.path.summary.PathNode;
+import org.sirix.index.path.summary.PathSummaryWriter;
+import org.sirix.node.Hash128;
+import org.sirix.node.NodeKind;
+import org.sirix.node.interfaces.Record;
+import org.sirix.node.interfaces.StructNode;
+import org.sirix.page.PageKind;
+import org.sirix.page.UnorderedKeyValuePage;
+import org.sirix.service.json.JsonNumber;
+import org.sirix.settings.Constants;
+import org.sirix.settings.Fixed;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Streams JSON into a node without any children, that is into a new resource or an empty object or
+ * array. The nodes are created in document order with sequentially assigned node keys. As the
+ * sibling and first child keys of leaf nodes are known by peeking at the next token, they are
+ * created with their final pointers and hashes. Object, array and object key nodes are only modified
+ * once, when their end is reached. Path nodes are looked up once per distinct path and the
+ * reference counts are incremented after all nodes have been inserted. Index listeners are not
+ * notified, the indexes have to be built for the inserted nodes afterwards.
+ *
+ * @author Johannes Lichtenberger
+ */
+final class JsonBulkLoader {
+
+  /** The page transaction used to create and modify the nodes. */
+  private final PageTrx<Long, Record, UnorderedKeyValuePage> mPageTrx;
+
+  /** The node factory to create the nodes. */
+  private final JsonNodeFactory mNodeFactory;
+
+  /** The path summary writer, or {@code null} if no path summary is built. */
+  private final PathSummaryWriter<JsonNodeReadOnlyTrx> mPathSummaryWriter;
+
+  /** The read-only trx the path summary writer is bound to. */
+  private final JsonNodeReadOnlyTrx mRtx;
+
+  /** Determines if rolling hashes and descendant counts are computed. */
+  private final boolean mRollingHashes;
+
+  /** The prime, the hashes of children are multiplied with. */
+  private final long mPrime;
+
+  /** Determines if string values should be compressed or not. */
+  private final boolean mCompression;
+
+  /** The ancestors of the current node, which still have to be finished. */
+  private final Deque<Frame> mFrames = new ArrayDeque<>();
+
+  /** Path node keys by parent path node key and name of object keys. */
+  private final Map<Long, Map<String, Long>> mObjectKeyPaths = new HashMap<>();
+
+  /** Path node keys by parent path node key of arrays. */
+  private final Map<Long, Long> mArrayPaths = new HashMap<>();
+
+  /** Pending reference count increments of path nodes. */
+  private final Map<Long, Integer> mPathReferences = new HashMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param pageTrx the page transaction used to create and modify the nodes
+   * @param nodeFactory the node factory to create the nodes
+   * @param pathSummaryWriter the path summary writer, or {@code null} if no path summary is built
+   * @param rtx the read-only trx the path summary writer is bound to
+   * @param hashType the hash type of the resource
+   * @param prime the prime, the hashes of children are multiplied with
+   * @param compression determines if string values should be compressed or not
+   */
+  JsonBulkLoader(final PageTrx<Long, Record, UnorderedKeyValuePage> pageTrx, final JsonNodeFactory nodeFactory,
+      final @Nullable PathSummaryWriter<JsonNodeReadOnlyTrx> pathSummaryWriter, final JsonNodeReadOnlyTrx rtx,
+      final HashType hashType, final long prime, final boolean compression) {
+    mPageTrx = checkNotNull(pageTrx);
+    mNodeFactory = checkNotNull(nodeFactory);
+    mPathSummaryWriter = pathSummaryWriter;
+    mRtx = checkNotNull(rtx);
+    mRollingHashes = checkNotNull(hashType) == HashType.ROLLING;
+    mPrime = prime;
+    mCompression = compression;
+  }
+
+  /**
+   * Insert the JSON as the children of a node, which must not have any children.
+   *
+   * @param reader the reader, which must be positioned at the begin of an object or array
+   * @param parentKey the key of the node without any children
+   * @param skipRootJsonToken {@code true}, if the children of the root object or array have to be
+   *        inserted, {@code false} if the root object or array itself has to be inserted
+   * @param ancestorUpdates the pending hash and descendant count deltas of the ancestors, to which
+   *        the delta of the parent of the inserted nodes is added
+   * @throws IOException if the JSON can not be read
+   */
+  void load(final JsonReader reader, final long parentKey, final boolean skipRootJsonToken,
+      final AncestorUpdates ancestorUpdates) throws IOException {
+    checkNotNull(reader);
+    checkNotNull(ancestorUpdates);
+
+    final Frame parent = createParentFrame(parentKey, skipRootJsonToken);
+    mFrames.push(parent);
+
+    if (skipRootJsonToken) {
+      final boolean isObject = reader.peek() == JsonToken.BEGIN_OBJECT;
+      if (isObject)
+        reader.beginObject();
+      else
+        reader.beginArray();
+
+      while (reader.peek() != JsonToken.END_OBJECT && reader.peek() != JsonToken.END_ARRAY) {
+        insertValue(reader);
+      }
+
+      if (isObject)
+        reader.endObject();
+      else
+        reader.endArray();
+    } else {
+      insertValue(reader);
+    }
+
+    mFrames.pop();
+    finishParent(parent, ancestorUpdates);
+    incrementPathReferences();
+  }
+
+  private Frame createParentFrame(final long parentKey, final boolean skipRootJsonToken) {
+    mRtx.moveTo(parentKey);
+    final NodeKind kind = mRtx.getKind();
+    final Frame parent = new Frame(parentKey, kind, skipRootJsonToken, nextNodeKey());
+
+    while (mRtx.getKind() != NodeKind.OBJECT_KEY && mRtx.getKind() != NodeKind.ARRAY
+        && mRtx.getKind() != NodeKind.JSON_DOCUMENT) {
+      mRtx.moveToParent();
+    }
+
+    parent.mPathOwnerKey = mRtx.getNodeKey();
+    parent.mPathNodeKey = mRtx.getKind() == NodeKind.JSON_DOCUMENT
+        ? Fixed.DOCUMENT_NODE_KEY.getStandardProperty()
+        : mRtx.getPathNodeKey();
+    return parent;
+  }
+
+  /**
+   * Insert a single (possibly nested) value as the next child of the top frame.
+   */
+  private void insertValue(final JsonReader reader) throws IOException {
+    final int depth = mFrames.size();
+
+    do {
+      switch (reader.peek()) {
+        case BEGIN_OBJECT:
+          reader.beginObject();
+          insertObject(reader);
+          break;
+        case BEGIN_ARRAY:
+          reader.beginArray();
+          insertArray(reader);
+          break;
+        case NAME:
+          insertObjectKey(reader.nextName());
+          break;
+        case END_OBJECT:
+          reader.endObject();
+          finish(reader);
+          break;
+        case END_ARRAY:
+          reader.endArray();
+          finish(reader);
+          break;
+        case STRING:
+          final byte[] value = reader.nextString().getBytes(Constants.DEFAULT_ENCODING);
+          addLeaf(mNodeFactory.createJsonStringNode(mFrames.peek().mNodeKey, mFrames.peek().mLastChildKey,
+              rightSiblingKey(reader), value, mCompression), reader);
+          break;
+        case NUMBER:
+          final Number number = JsonNumber.stringToNumber(reader.nextString());
+          addLeaf(mNodeFactory.createJsonNumberNode(mFrames.peek().mNodeKey, mFrames.peek().mLastChildKey,
+              rightSiblingKey(reader), number), reader);
+          break;
+        case BOOLEAN:
+          final boolean bool = reader.nextBoolean();
+          addLeaf(mNodeFactory.createJsonBooleanNode(mFrames.peek().mNodeKey, mFrames.peek().mLastChildKey,
+              rightSiblingKey(reader), bool), reader);
+          break;
+        case NULL:
+          reader.nextNull();
+          addLeaf(mNodeFactory.createJsonNullNode(mFrames.peek().mNodeKey, mFrames.peek().mLastChildKey,
+              rightSiblingKey(reader)), reader);
+          break;
+        case END_DOCUMENT:
+        default:
+          throw new IllegalStateException("Unexpected end of the JSON document.");
+      }
+    } while (mFrames.size() > depth);
+  }
+
+  private void insertObject(final JsonReader reader) throws IOException {
+    final Frame parent = mFrames.peek();
+    final StructNode node = mNodeFactory.createJsonObjectNode(parent.mNodeKey, parent.mLastChildKey,
+        Fixed.NULL_NODE_KEY.getStandardProperty());
+    setFirstChildKey(node, reader.peek() != JsonToken.END_OBJECT);
+    addChild(parent, node.getNodeKey());
+
+    final Frame frame = new Frame(node.getNodeKey(), NodeKind.OBJECT, true, node.getNodeKey() + 1);
+    frame.mPathOwnerKey = parent.mPathOwnerKey;
+    frame.mPathNodeKey = parent.mPathNodeKey;
+    mFrames.push(frame);
+  }
+
+  private void insertArray(final JsonReader reader) throws IOException {
+    final Frame parent = mFrames.peek();
+    final long pathNodeKey = getArrayPathNodeKey(parent);
+    final StructNode node = mNodeFactory.createJsonArrayNode(parent.mNodeKey, parent.mLastChildKey,
+        Fixed.NULL_NODE_KEY.getStandardProperty(), pathNodeKey);
+    setFirstChildKey(node, reader.peek() != JsonToken.END_ARRAY);
+    addChild(parent, node.getNodeKey());
+
+    final Frame frame = new Frame(node.getNodeKey(), NodeKind.ARRAY, true, node.getNodeKey() + 1);
+    frame.mPathOwnerKey = node.getNodeKey();
+    frame.mPathNodeKey = pathNodeKey;
+    mFrames.push(frame);
+  }
+
+  private void insertObjectKey(final String name) {
+    final Frame parent = mFrames.peek();
+    final long pathNodeKey = getObjectKeyPathNodeKey(parent, name);
+    final long nodeKey = nextNodeKey();
+
+    // The value always directly follows the object key.
+    final StructNode node = mNodeFactory.createJsonObjectKeyNode(parent.mNodeKey, parent.mLastChildKey,
+        Fixed.NULL_NODE_KEY.getStandardProperty(), pathNodeKey, name, nodeKey + 1);
+    addChild(parent, node.getNodeKey());
+
+    final Frame frame = new Frame(node.getNodeKey(), NodeKind.OBJECT_KEY, false, node.getNodeKey() + 1);
+    frame.mPathOwnerKey = node.getNodeKey();
+    frame.mPathNodeKey = pathNodeKey;
+    mFrames.push(frame);
+  }
+
+  private void setFirstChildKey(final StructNode node, final boolean hasChildren) {
+    // The node has just been created, thus it's the instance stored in the transaction intent log.
+    if (hasChildren)
+      node.setFirstChildKey(node.getNodeKey() + 1);
+  }
+
+  private void addLeaf(final StructNode node, final JsonReader reader) throws IOException {
+    final Frame parent = mFrames.peek();
+    addChild(parent, node.getNodeKey());
+
+    if (mRollingHashes) {
+      final Hash128 hash = node.computeHash();
+      node.setHash(hash);
+      parent.mHashes = parent.mHashes.add(hash);
+    }
+
+    if (parent.mKind == NodeKind.OBJECT_KEY)
+      finish(reader);
+  }
+
+  private void addChild(final Frame parent, final long nodeKey) {
+    parent.mLastChildKey = nodeKey;
+    parent.mChildCount++;
+  }
+
+  /**
+   * Finish the node of the top frame, that is the object or array, whose end has been read, or the
+   * object key, whose value has been inserted.
+   */
+  private void finish(final JsonReader reader) throws IOException {
+    final Frame frame = mFrames.pop();
+    final Frame parent = mFrames.peek();
+
+    final StructNode node = (StructNode) mPageTrx.prepareEntryForModification(frame.mNodeKey, PageKind.RECORDPAGE, -1);
+    if (parent.mHasSiblings && hasNextValue(reader))
+      node.setRightSiblingKey(nextNodeKey());
+    for (long i = 0; i < frame.mChildCount; i++) {
+      node.incrementChildCount();
+    }
+
+    if (mRollingHashes) {
+      node.setDescendantCount(maxNodeKey() - frame.mNodeKey);
+      final Hash128 hash = node.computeHash().add(frame.mHashes.multiply(mPrime));
+      node.setHash(hash);
+      parent.mHashes = parent.mHashes.add(hash);
+    }
+
+    if (parent.mKind == NodeKind.OBJECT_KEY)
+      finish(reader);
+  }
+
+  private void finishParent(final Frame parent, final AncestorUpdates ancestorUpdates) {
+    if (parent.mChildCount == 0)
+      return;
+
+    final StructNode node = (StructNode) mPageTrx.prepareEntryForModification(parent.mNodeKey, PageKind.RECORDPAGE, -1);
+    node.setFirstChildKey(parent.mFirstNodeKey);
+    for (long i = 0; i < parent.mChildCount; i++) {
+      node.incrementChildCount();
+    }
+
+    if (mRollingHashes) {
+      final long descendantCount = maxNodeKey() - parent.mFirstNodeKey + 1;
+      final Hash128 hash = node.getHash() == null
+          ? node.computeHash()
+          : node.getHash();
+      final Hash128 hashDelta = parent.mHashes.multiply(mPrime);
+      node.setHash(hash.add(hashDelta));
+      node.setDescendantCount(node.getDescendantCount() + descendantCount);
+
+      if (node.hasParent())
+        ancestorUpdates.add(node.getParentKey(), hashDelta.multiply(mPrime), descendantCount);
+    }
+  }
+
+  private boolean hasNextValue(final JsonReader reader) throws IOException {
+    final JsonToken token = reader.peek();
+    return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+  }
+
+  private long rightSiblingKey(final JsonReader reader) throws IOException {
+    return mFrames.peek().mHasSiblings && hasNextValue(reader)
+        ? nextNodeKey() + 1
+        : Fixed.NULL_NODE_KEY.getStandardProperty();
+  }
+
+  private long maxNodeKey() {
+    return mPageTrx.getActualRevisionRootPage().getMaxNodeKey();
+  }
+
+  private long nextNodeKey() {
+    return maxNodeKey() + 1;
+  }
+
+  private long getArrayPathNodeKey(final Frame parent) {
+    if (mPathSummaryWriter == null)
+      return 0;
+
+    final Long pathNodeKey = mArrayPaths.get(parent.mPathNodeKey);
+    if (pathNodeKey != null) {
+      mPathReferences.merge(pathNodeKey, 1, Integer::sum);
+      return pathNodeKey;
+    }
+
+    mRtx.moveTo(parent.mPathOwnerKey);
+    final long newPathNodeKey = mPathSummaryWriter.getPathNodeKey(new QNm("array"), NodeKind.ARRAY);
+    mArrayPaths.put(parent.mPathNodeKey, newPathNodeKey);
+    return newPathNodeKey;
+  }
+
+  private long getObjectKeyPathNodeKey(final Frame parent, final String name) {
+    if (mPathSummaryWriter == null)
+      return 0;
+
+    final Map<String, Long> paths = mObjectKeyPaths.computeIfAbsent(parent.mPathNodeKey, key -> new HashMap<>());
+    final Long pathNodeKey = paths.get(name);
+    if (pathNodeKey != null) {
+      mPathReferences.merge(pathNodeKey, 1, Integer::sum);
+      return pathNodeKey;
+    }
+
+    mRtx.moveTo(parent.mPathOwnerKey);
+    final long newPathNodeKey = mPathSummaryWriter.getPathNodeKey(new QNm(name), NodeKind.OBJECT_KEY);
+    paths.put(name, newPathNodeKey);
+    return newPathNodeKey;
+  }
+
+  private void incrementPathReferences() {
+    for (final Map.Entry<Long, Integer> entry : mPathReferences.entrySet()) {
+      final PathNode pathNode =
+          (PathNode) mPageTrx.prepareEntryForModification(entry.getKey(), PageKind.PATHSUMMARYPAGE, 0);
+      pathNode.setReferenceCount(pathNode.getReferences() + entry.getValue());
+    }
+    mPathReferences.clear();
+  }
+
+  /**
+   * A node, whose children are currently inserted.
+   */
+  private static final class Frame {
+    /** The node key. */
+    private final long mNodeKey;
+
+    /** The node kind. */
+    private final NodeKind mKind;
+
+    /** Determines if the children of the node may have siblings. */
+    private final boolean mHasSiblings;
+
+    /** The key of the first node inserted in the subtree. */
+    private final long mFirstNodeKey;
+
+    /** The key of the object key, array or document node the path of the children is relative to. */
+    private long mPathOwnerKey;
+
+    /** The path node key of the children's parent path. */
+    private long mPathNodeKey;
+
+    /** The key of the last inserted child. */
+    private long mLastChildKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+
+    /** The number of inserted children. */
+    private long mChildCount;
+
+    /** The sum of the hashes of the inserted children. */
+    private Hash128 mHashes = Hash128.ZERO;
+
+    private Frame(final long nodeKey, final NodeKind kind, final boolean hasSiblings, final long firstNodeKey) {
+      mNodeKey = nodeKey;
+      mKind = kind;
+      mHasSiblings = hasSiblings;
+      mFirstNodeKey = firstNodeKey;
+    }
+  }
+}
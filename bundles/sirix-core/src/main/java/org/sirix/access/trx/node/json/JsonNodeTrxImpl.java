@@ -24,11 +24,11 @@ package org.sirix.access.trx.node.json;
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.math.BigInteger;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -53,15 +53,21 @@ import org.sirix.api.PostCommitHook;
 import org.sirix.api.PreCommitHook;
 import org.sirix.api.json.JsonNodeReadOnlyTrx;
 import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.api.visitor.JsonNodeVisitor;
+import org.sirix.axis.DescendantAxis;
 import org.sirix.axis.IncludeSelf;
 import org.sirix.axis.PostOrderAxis;
+import org.sirix.diff.ChangeSet;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixThreadedException;
 import org.sirix.exception.SirixUsageException;
+import org.sirix.index.IndexBuilder;
+import org.sirix.index.IndexDef;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.index.path.summary.PathSummaryWriter;
 import org.sirix.index.path.summary.PathSummaryWriter.OPType;
+import org.sirix.node.Hash128;
 import org.sirix.node.NodeKind;
 import org.sirix.node.immutable.json.ImmutableArrayNode;
 import org.sirix.node.immutable.json.ImmutableObjectKeyNode;
@@ -118,7 +124,7 @@ import com.google.gson.stream.JsonToken;
 final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implements JsonNodeTrx {
 
   /** Prime for computing the hash. */
-  private static final BigInteger PRIME = BigInteger.valueOf(77081);
+  private static final long PRIME = 77081;
 
   /** Maximum number of node modifications before auto commit. */
   private final int mMaxNodeCount;
@@ -139,6 +145,12 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
   /** Determines if a bulk insert operation is done. */
   private boolean mBulkInsert;
 
+  /** Determines if rolling hashes and descendant counts of ancestors are updated deferred. */
+  private boolean mDeferAncestorUpdates;
+
+  /** Pending hash and descendant count deltas of ancestors. */
+  private final AncestorUpdates mAncestorUpdates = new AncestorUpdates(PRIME);
+
   /** {@link PathSummaryWriter} instance. */
   private PathSummaryWriter<JsonNodeReadOnlyTrx> mPathSummaryWriter;
 
@@ -176,6 +188,13 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
   /** The hash function to use to hash node contents. */
   private final HashFunction mHashFunction;
 
+  /** The changes of the current revision, if change sets are stored, {@code null} otherwise. */
+  @Nullable
+  private final ChangeSet mChangeSet;
+
+  /** Determines if the changes of the current revision are known, which is not the case after a revert. */
+  private boolean mChangeSetComplete = true;
+
   /**
    * Constructor.
    *
@@ -223,6 +242,9 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
 
     mHashKind = resourceManager.getResourceConfig().hashType;
     mCompression = resourceManager.getResourceConfig().useTextCompression;
+    mChangeSet = resourceManager.getResourceConfig().storeChangeSets
+        ? new ChangeSet()
+        : null;
 
     // // Redo last transaction if the system crashed.
     // if (!pPageWriteTrx.isCreated()) {
@@ -320,6 +342,19 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       checkAccessAndCommit();
       mBulkInsert = true;
       var nodeKey = getCurrentNode().getNodeKey();
+      final long maxNodeKey = mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey();
+      final long parentKey = insertionPosition == InsertPosition.AS_FIRST_CHILD
+          ? nodeKey
+          : getCurrentNode().getParentKey();
+
+      if (insertionPosition == InsertPosition.AS_FIRST_CHILD && !hasFirstChild() && mHashKind != HashType.POSTORDER) {
+        bulkLoad(reader, nodeKey, skipRootJsonToken);
+        recordInsertedChildren(parentKey, maxNodeKey);
+        commit();
+        mBulkInsert = false;
+        return this;
+      }
+
       final var shredderBuilder = new JsonShredder.Builder(this, reader, insertionPosition);
 
       if (skipRootJsonToken)
@@ -355,6 +390,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
         moveTo(nodeKey);
       }
 
+      recordInsertedChildren(parentKey, maxNodeKey);
       commit();
       mBulkInsert = false;
     } catch (final IOException e) {
@@ -365,6 +401,63 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     return this;
   }
 
+  /**
+   * Record the children of a node, which have been inserted by a bulk insert, in the change set.
+   * Their descendants are part of the inserted subtrees.
+   *
+   * @param parentKey the key of the parent node
+   * @param maxNodeKey the maximum node key before the bulk insert
+   */
+  private void recordInsertedChildren(final long parentKey, final long maxNodeKey) {
+    if (mChangeSet == null) {
+      return;
+    }
+
+    final long nodeKey = getCurrentNode().getNodeKey();
+    moveTo(parentKey);
+    if (moveToFirstChild().hasMoved()) {
+      do {
+        if (getNodeKey() > maxNodeKey) {
+          mChangeSet.recordInsert(getNodeKey());
+        }
+      } while (moveToRightSibling().hasMoved());
+    }
+    moveTo(nodeKey);
+  }
+
+  /**
+   * Insert the JSON into a node without any children (a new resource or an empty object or array)
+   * with a {@link JsonBulkLoader} and build the indexes for the inserted nodes afterwards.
+   *
+   * @param reader the reader
+   * @param nodeKey the key of the node without any children
+   * @param skipRootJsonToken determines if the root object or array itself is skipped
+   * @throws IOException if the JSON can not be read
+   */
+  private void bulkLoad(final JsonReader reader, final long nodeKey, final boolean skipRootJsonToken)
+      throws IOException {
+    final var bulkLoader = new JsonBulkLoader(mPageWriteTrx, mNodeFactory, mBuildPathSummary
+        ? mPathSummaryWriter
+        : null, mNodeReadOnlyTrx, mHashKind, PRIME, mCompression);
+    bulkLoader.load(reader, nodeKey, skipRootJsonToken, mAncestorUpdates);
+
+    final Set<IndexDef> indexDefs = mIndexController.getIndexes().getIndexDefs();
+    if (!indexDefs.isEmpty()) {
+      final Set<JsonNodeVisitor> indexBuilders = mIndexController.createIndexBuilders(indexDefs, this);
+      moveTo(nodeKey);
+      for (@SuppressWarnings("unused")
+      final long key : new DescendantAxis(this)) {
+        for (final JsonNodeVisitor indexBuilder : indexBuilders) {
+          acceptVisitor(indexBuilder);
+        }
+      }
+      IndexBuilder.finish(indexBuilders);
+    }
+
+    moveTo(nodeKey);
+    moveToFirstChild();
+  }
+
   /**
    * Modifying hashes in a postorder-traversal.
    *
@@ -382,7 +475,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
   private void addParentHash(final ImmutableNode startNode) {
     switch (mHashKind) {
       case ROLLING:
-        final BigInteger hashToAdd = startNode.computeHash();
+        final Hash128 hashToAdd = startNode.computeHash();
         final Node node =
             (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
                 PageKind.RECORDPAGE, -1);
@@ -411,7 +504,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
             : oldDescendantCount + 1;
 
         // Set start node.
-        final BigInteger hashToAdd = startNode.computeHash();
+        final Hash128 hashToAdd = startNode.computeHash();
         Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
             PageKind.RECORDPAGE, -1);
         node.setHash(hashToAdd);
@@ -421,7 +514,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
           moveToParent();
           node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
               PageKind.RECORDPAGE, -1);
-          final BigInteger hash = node.getHash() == null
+          final Hash128 hash = node.getHash() == null
               ? node.computeHash()
               : node.getHash();
           node.setHash(hash.add(hashToAdd.multiply(PRIME)));
@@ -951,6 +1044,9 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     checkAccessAndCommit();
     acquireLock();
     try {
+      // The hash of the subtree to remove must be up-to-date.
+      propagateAncestorUpdatesIfPending();
+
       final StructNode node = (StructNode) getCurrentNode();
       if (node.getKind() == NodeKind.JSON_DOCUMENT) {
         throw new SirixUsageException("Document root can not be removed.");
@@ -962,6 +1058,10 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
         throw new SirixUsageException(
             "An object record value can not be removed, you have to remove the whole object record (parent of this value).");
 
+      if (mChangeSet != null) {
+        mChangeSet.recordRemove(node.getNodeKey());
+      }
+
       // Remove subtree.
       for (final var axis = new PostOrderAxis(this); axis.hasNext();) {
         axis.next();
@@ -1053,7 +1153,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       checkAccessAndCommit();
 
       ObjectKeyNode node = (ObjectKeyNode) mNodeReadOnlyTrx.getCurrentNode();
-      final BigInteger oldHash = node.computeHash();
+      final Hash128 oldHash = node.computeHash();
 
       // Remove old keys from mapping.
       final NodeKind nodeKind = node.getKind();
@@ -1080,6 +1180,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
 
       mNodeReadOnlyTrx.setCurrentNode(node);
       adaptHashedWithUpdate(oldHash);
+      recordUpdate(node.getNodeKey());
 
       return this;
     } finally {
@@ -1104,7 +1205,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       // Remove old value from indexes.
       mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
 
-      final BigInteger oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
+      final Hash128 oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
       final byte[] byteVal = getBytes(value);
 
       final StringNode node =
@@ -1114,6 +1215,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
 
       mNodeReadOnlyTrx.setCurrentNode(node);
       adaptHashedWithUpdate(oldHash);
+      recordUpdate(node.getNodeKey());
 
       // Index new value.
       mIndexController.notifyChange(ChangeType.INSERT, getNode(), pathNodeKey);
@@ -1140,7 +1242,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       // Remove old value from indexes.
       mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
 
-      final BigInteger oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
+      final Hash128 oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
 
       final BooleanNode node =
           (BooleanNode) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
@@ -1149,6 +1251,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
 
       mNodeReadOnlyTrx.setCurrentNode(node);
       adaptHashedWithUpdate(oldHash);
+      recordUpdate(node.getNodeKey());
 
       // Index new value.
       mIndexController.notifyChange(ChangeType.INSERT, getNode(), pathNodeKey);
@@ -1174,7 +1277,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
         // Remove old value from indexes.
         mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
 
-        final BigInteger oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
+        final Hash128 oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
 
         final NumberNode node =
             (NumberNode) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
@@ -1183,6 +1286,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
 
         mNodeReadOnlyTrx.setCurrentNode(node);
         adaptHashedWithUpdate(oldHash);
+        recordUpdate(node.getNodeKey());
 
         // Index new value.
         mIndexController.notifyChange(ChangeType.INSERT, getNode(), pathNodeKey);
@@ -1197,6 +1301,17 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     }
   }
 
+  /**
+   * Record the update of the name or value of a node in the change set.
+   *
+   * @param nodeKey the key of the updated node
+   */
+  private void recordUpdate(final long nodeKey) {
+    if (mChangeSet != null) {
+      mChangeSet.recordUpdate(nodeKey);
+    }
+  }
+
   @Override
   public JsonNodeTrx revertTo(final @Nonnegative int revision) {
     acquireLock();
@@ -1225,6 +1340,10 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
 
       // Reset modification counter.
       mModificationCount = 0L;
+      mAncestorUpdates.clear();
+
+      // The changes of the reverted revision are unknown.
+      mChangeSetComplete = false;
 
       // Move to document root.
       moveToDocumentRoot();
@@ -1275,6 +1394,8 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
 
       // Reset modification counter.
       mModificationCount = 0L;
+      mAncestorUpdates.clear();
+      resetChangeSet();
 
       // Close current page transaction.
       final long trxID = getId();
@@ -1307,6 +1428,13 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     }
   }
 
+  private void resetChangeSet() {
+    if (mChangeSet != null) {
+      mChangeSet.clear();
+    }
+    mChangeSetComplete = true;
+  }
+
   private void removeCommitFile() {
     try {
       final Path commitFile = mResourceManager.getCommitFile();
@@ -1455,6 +1583,10 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     assert structNode != null;
     assert insertPos != null;
 
+    if (mChangeSet != null && !mBulkInsert) {
+      mChangeSet.recordInsert(structNode.getNodeKey());
+    }
+
     final StructNode parent =
         (StructNode) mPageWriteTrx.prepareEntryForModification(structNode.getParentKey(), PageKind.RECORDPAGE, -1);
     parent.incrementChildCount();
@@ -1549,7 +1681,11 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     if (!mBulkInsert) {
       switch (mHashKind) {
         case ROLLING:
-          rollingAdd();
+          if (mDeferAncestorUpdates) {
+            deferredRollingAdd();
+          } else {
+            rollingAdd();
+          }
           break;
         case POSTORDER:
           postorderAdd();
@@ -1586,11 +1722,15 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
    * @param oldHash pOldHash to be removed
    * @throws SirixIOException if an I/O error occurs
    */
-  private void adaptHashedWithUpdate(final BigInteger oldHash) {
+  private void adaptHashedWithUpdate(final Hash128 oldHash) {
     if (!mBulkInsert) {
       switch (mHashKind) {
         case ROLLING:
-          rollingUpdate(oldHash);
+          if (mDeferAncestorUpdates) {
+            deferredRollingUpdate(oldHash);
+          } else {
+            rollingUpdate(oldHash);
+          }
           break;
         case POSTORDER:
           postorderAdd();
@@ -1620,7 +1760,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     // start with hash to add
     final ImmutableJsonNode startNode = getCurrentNode();
     // long for adapting the hash of the parent
-    BigInteger hashCodeForParent = BigInteger.ZERO;
+    Hash128 hashCodeForParent = Hash128.ZERO;
     // adapting the parent if the current node is no structural one.
     if (!(startNode instanceof StructNode)) {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
@@ -1662,7 +1802,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
 
       // setting hash and resetting hash
       cursorToRoot.setHash(hashCodeForParent);
-      hashCodeForParent = BigInteger.ZERO;
+      hashCodeForParent = Hash128.ZERO;
     } while (moveTo(cursorToRoot.getParentKey()).hasMoved());
 
     mNodeReadOnlyTrx.setCurrentNode(startNode);
@@ -1674,21 +1814,21 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
    * @param oldHash pOldHash to be removed
    * @throws SirixIOException if anything weird happened
    */
-  private void rollingUpdate(final BigInteger oldHash) {
+  private void rollingUpdate(final Hash128 oldHash) {
     final ImmutableJsonNode newNode = getCurrentNode();
-    final BigInteger hash = newNode.computeHash();
-    BigInteger resultNew;
+    final Hash128 hash = newNode.computeHash();
+    Hash128 resultNew;
 
     // go the path to the root
     do {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
           PageKind.RECORDPAGE, -1);
       if (node.getNodeKey() == newNode.getNodeKey()) {
-        resultNew = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(oldHash));
-        resultNew = Node.to128BitsAtMaximumBigInteger(resultNew.add(hash));
+        resultNew = node.getHash().subtract(oldHash);
+        resultNew = resultNew.add(hash);
       } else {
-        resultNew = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(oldHash.multiply(PRIME)));
-        resultNew = Node.to128BitsAtMaximumBigInteger(resultNew.add(hash.multiply(PRIME)));
+        resultNew = node.getHash().subtract(oldHash.multiply(PRIME));
+        resultNew = resultNew.add(hash.multiply(PRIME));
       }
       node.setHash(resultNew);
     } while (moveTo(mNodeReadOnlyTrx.getCurrentNode().getParentKey()).hasMoved());
@@ -1701,25 +1841,25 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
    */
   private void rollingRemove() {
     final ImmutableJsonNode startNode = getCurrentNode();
-    BigInteger hashToRemove = startNode.getHash();
-    BigInteger hashToAdd = BigInteger.ZERO;
-    BigInteger newHash;
+    Hash128 hashToRemove = startNode.getHash();
+    Hash128 hashToAdd = Hash128.ZERO;
+    Hash128 newHash;
     // go the path to the root
     do {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
           PageKind.RECORDPAGE, -1);
       if (node.getNodeKey() == startNode.getNodeKey()) {
         // the begin node is always null
-        newHash = BigInteger.ZERO;
+        newHash = Hash128.ZERO;
       } else if (node.getNodeKey() == startNode.getParentKey()) {
         // the parent node is just removed
-        newHash = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(hashToRemove.multiply(PRIME)));
-        hashToRemove = Node.to128BitsAtMaximumBigInteger(node.getHash());
+        newHash = node.getHash().subtract(hashToRemove.multiply(PRIME));
+        hashToRemove = node.getHash();
         setRemoveDescendants(startNode);
       } else {
         // the ancestors are all touched regarding the modification
-        newHash = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(hashToRemove.multiply(PRIME)));
-        newHash = Node.to128BitsAtMaximumBigInteger(newHash.add(hashToAdd.multiply(PRIME)));
+        newHash = node.getHash().subtract(hashToRemove.multiply(PRIME));
+        newHash = newHash.add(hashToAdd.multiply(PRIME));
         hashToRemove = node.getHash();
         setRemoveDescendants(startNode);
       }
@@ -1755,11 +1895,11 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     final long descendantCount = oldDescendantCount == 0
         ? 1
         : oldDescendantCount + 1;
-    BigInteger hashToAdd = startNode.getHash() == null || BigInteger.ZERO.equals(startNode.getHash())
+    Hash128 hashToAdd = startNode.getHash() == null || startNode.getHash().isZero()
         ? startNode.computeHash()
         : startNode.getHash();
-    BigInteger newHash;
-    BigInteger possibleOldHash = BigInteger.ZERO;
+    Hash128 newHash;
+    Hash128 possibleOldHash = Hash128.ZERO;
     // go the path to the root
     do {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
@@ -1770,14 +1910,14 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       } else if (node.getNodeKey() == startNode.getParentKey()) {
         // at the parent level, just add the node
         possibleOldHash = node.getHash();
-        newHash = Node.to128BitsAtMaximumBigInteger(possibleOldHash.add(hashToAdd.multiply(PRIME)));
+        newHash = possibleOldHash.add(hashToAdd.multiply(PRIME));
         hashToAdd = newHash;
         setAddDescendants(startNode, node, descendantCount);
       } else {
         // at the rest, remove the existing old key for this element
         // and add the new one
-        newHash = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(possibleOldHash.multiply(PRIME)));
-        newHash = Node.to128BitsAtMaximumBigInteger(newHash.add(hashToAdd.multiply(PRIME)));
+        newHash = node.getHash().subtract(possibleOldHash.multiply(PRIME));
+        newHash = newHash.add(hashToAdd.multiply(PRIME));
         hashToAdd = newHash;
         possibleOldHash = node.getHash();
         setAddDescendants(startNode, node, descendantCount);
@@ -1788,6 +1928,98 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     mNodeReadOnlyTrx.setCurrentNode(startNode);
   }
 
+  /**
+   * Adapting the rolling hash of an inserted node, whereas the hashes and descendant counts of its
+   * ancestors are only recorded to be updated once per ancestor.
+   */
+  private void deferredRollingAdd() {
+    final ImmutableJsonNode startNode = mNodeReadOnlyTrx.getCurrentNode();
+    final long oldDescendantCount = mNodeReadOnlyTrx.getStructuralNode().getDescendantCount();
+    final long descendantCount = oldDescendantCount == 0
+        ? 1
+        : oldDescendantCount + 1;
+    final Hash128 hash = startNode.getHash() == null || startNode.getHash().isZero()
+        ? startNode.computeHash()
+        : startNode.getHash();
+
+    final Node node =
+        (Node) mPageWriteTrx.prepareEntryForModification(startNode.getNodeKey(), PageKind.RECORDPAGE, -1);
+    node.setHash(hash);
+
+    if (startNode.hasParent()) {
+      mAncestorUpdates.add(startNode.getParentKey(), hash.multiply(PRIME), startNode instanceof StructNode
+          ? descendantCount
+          : 0);
+    }
+    mNodeReadOnlyTrx.setCurrentNode(startNode);
+  }
+
+  /**
+   * Adapting the rolling hash of an updated node, whereas the hashes of its ancestors are only
+   * recorded to be updated once per ancestor.
+   *
+   * @param oldHash the hash of the node before the update
+   */
+  private void deferredRollingUpdate(final Hash128 oldHash) {
+    final ImmutableJsonNode newNode = getCurrentNode();
+    final Hash128 hash = newNode.computeHash();
+
+    final Node node = (Node) mPageWriteTrx.prepareEntryForModification(newNode.getNodeKey(), PageKind.RECORDPAGE, -1);
+    node.setHash(node.getHash().subtract(oldHash).add(hash));
+
+    if (newNode.hasParent()) {
+      mAncestorUpdates.add(newNode.getParentKey(), hash.subtract(oldHash).multiply(PRIME), 0);
+    }
+    mNodeReadOnlyTrx.setCurrentNode(newNode);
+  }
+
+  @Override
+  public JsonNodeTrx deferAncestorUpdates(final boolean defer) {
+    acquireLock();
+    try {
+      mNodeReadOnlyTrx.assertNotClosed();
+      if (!defer) {
+        propagateAncestorUpdatesIfPending();
+      }
+      mDeferAncestorUpdates = defer;
+      return this;
+    } finally {
+      unLock();
+    }
+  }
+
+  @Override
+  public JsonNodeTrx propagateAncestorUpdates() {
+    acquireLock();
+    try {
+      mNodeReadOnlyTrx.assertNotClosed();
+      propagateAncestorUpdatesIfPending();
+      return this;
+    } finally {
+      unLock();
+    }
+  }
+
+  private void propagateAncestorUpdatesIfPending() {
+    if (!mAncestorUpdates.isEmpty()) {
+      final long nodeKey = getCurrentNode().getNodeKey();
+      mAncestorUpdates.propagate(mPageWriteTrx);
+      moveTo(nodeKey);
+    }
+  }
+
+  @Override
+  public Hash128 getHash() {
+    propagateAncestorUpdatesIfPending();
+    return super.getHash();
+  }
+
+  @Override
+  public long getDescendantCount() {
+    propagateAncestorUpdatesIfPending();
+    return super.getDescendantCount();
+  }
+
   /**
    * Set new descendant count of ancestor after an add-operation.
    *
@@ -1898,6 +2130,8 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     // Optionally lock while commiting and assigning new instances.
     acquireLock();
     try {
+      propagateAncestorUpdatesIfPending();
+
       // Execute pre-commit hooks.
       for (final PreCommitHook hook : mPreCommitHooks) {
         hook.preCommit(this);
@@ -1906,6 +2140,8 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       // Reset modification counter.
       mModificationCount = 0L;
 
+      final int revision = getRevisionNumber();
+
       final UberPage uberPage = commitMessage == null
           ? mPageWriteTrx.commit()
           : mPageWriteTrx.commit(commitMessage);
@@ -1913,6 +2149,16 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       // Remember succesfully committed uber page in resource manager.
       mResourceManager.setLastCommittedUberPage(uberPage);
 
+      // Store the changes of the committed revision alongside.
+      if (mChangeSet != null) {
+        if (mChangeSetComplete) {
+          mChangeSet.write(mResourceManager.getResourceConfig(), revision);
+        } else {
+          ChangeSet.remove(mResourceManager.getResourceConfig(), revision);
+        }
+        resetChangeSet();
+      }
+
       // Reinstantiate everything.
       reInstantiate(getId(), getRevisionNumber());
     } finally {
@@ -23,7 +23,6 @@ package org.sirix.access.trx.node.xml;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.IOException;
-import java.math.BigInteger;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -63,6 +62,7 @@ import org.sirix.exception.SirixUsageException;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.index.path.summary.PathSummaryWriter;
 import org.sirix.index.path.summary.PathSummaryWriter.OPType;
+import org.sirix.node.Hash128;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.immutable.xdm.ImmutableAttributeNode;
@@ -119,7 +119,7 @@ import com.google.common.base.Preconditions;
 final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implements XmlNodeTrx {
 
   /** Prime for computing the hash. */
-  private static final BigInteger PRIME = BigInteger.valueOf(77081);
+  private static final long PRIME = 77081;
 
   /** Maximum number of node modifications before auto commit. */
   private final int mMaxNodeCount;
@@ -833,7 +833,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
 
   private void nonElementHashes() {
     while (getCurrentNode().getKind() != NodeKind.ELEMENT) {
-      BigInteger hashToAdd = getCurrentNode().computeHash();
+      Hash128 hashToAdd = getCurrentNode().computeHash();
       Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
           PageKind.RECORDPAGE, -1);
       node.setHash(hashToAdd);
@@ -1594,7 +1594,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
           checkAccessAndCommit();
 
           NameNode node = (NameNode) mNodeReadOnlyTrx.getCurrentNode();
-          final BigInteger oldHash = node.computeHash();
+          final Hash128 oldHash = node.computeHash();
 
           // Remove old keys from mapping.
           final NodeKind nodeKind = node.getKind();
@@ -1667,7 +1667,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         // Remove old value from indexes.
         mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
 
-        final BigInteger oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
+        final Hash128 oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
         final byte[] byteVal = getBytes(value);
 
         final ValueNode node =
@@ -1860,7 +1860,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
   private void addParentHash(final ImmutableNode startNode) throws SirixIOException {
     switch (mHashKind) {
       case ROLLING:
-        final BigInteger hashToAdd = startNode.computeHash();
+        final Hash128 hashToAdd = startNode.computeHash();
         final Node node =
             (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
                 PageKind.RECORDPAGE, -1);
@@ -1890,7 +1890,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
             : oldDescendantCount + 1;
 
         // Set start node.
-        BigInteger hashToAdd = startNode.computeHash();
+        Hash128 hashToAdd = startNode.computeHash();
         Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
             PageKind.RECORDPAGE, -1);
         node.setHash(hashToAdd);
@@ -1901,7 +1901,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
           moveToParent();
           node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
               PageKind.RECORDPAGE, -1);
-          final BigInteger hash = node.getHash() == null
+          final Hash128 hash = node.getHash() == null
               ? node.computeHash()
               : node.getHash();
           node.setHash(hash.add(hashToAdd.multiply(PRIME)));
@@ -2131,7 +2131,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
    * @param oldHash oldHash to be removed
    * @throws SirixIOException if an I/O error occurs
    */
-  private void adaptHashedWithUpdate(final BigInteger oldHash) throws SirixIOException {
+  private void adaptHashedWithUpdate(final Hash128 oldHash) throws SirixIOException {
     if (!mBulkInsert) {
       switch (mHashKind) {
         case ROLLING:
@@ -2165,7 +2165,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
     // start with hash to add
     final ImmutableXmlNode startNode = getCurrentNode();
     // long for adapting the hash of the parent
-    BigInteger hashCodeForParent = BigInteger.ZERO;
+    Hash128 hashCodeForParent = Hash128.ZERO;
     // adapting the parent if the current node is no structural one.
     if (!(startNode instanceof ImmutableStructNode)) {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
@@ -2207,7 +2207,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
 
       // setting hash and resetting hash
       cursorToRoot.setHash(hashCodeForParent);
-      hashCodeForParent = BigInteger.ZERO;
+      hashCodeForParent = Hash128.ZERO;
     } while (moveTo(cursorToRoot.getParentKey()).hasMoved());
 
     mNodeReadOnlyTrx.setCurrentNode(startNode);
@@ -2219,22 +2219,22 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
    * @param oldHash pOldHash to be removed
    * @throws SirixIOException if anything weird happened
    */
-  private void rollingUpdate(final BigInteger oldHash) {
+  private void rollingUpdate(final Hash128 oldHash) {
     final ImmutableXmlNode newNode = getCurrentNode();
-    final BigInteger hash = newNode.computeHash();
-    final BigInteger newNodeHash = hash;
-    BigInteger resultNew = hash;
+    final Hash128 hash = newNode.computeHash();
+    final Hash128 newNodeHash = hash;
+    Hash128 resultNew = hash;
 
     // go the path to the root
     do {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
           PageKind.RECORDPAGE, -1);
       if (node.getNodeKey() == newNode.getNodeKey()) {
-        resultNew = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(oldHash));
-        resultNew = Node.to128BitsAtMaximumBigInteger(resultNew.add(newNodeHash));
+        resultNew = node.getHash().subtract(oldHash);
+        resultNew = resultNew.add(newNodeHash);
       } else {
-        resultNew = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(oldHash.multiply(PRIME)));
-        resultNew = Node.to128BitsAtMaximumBigInteger(resultNew.add(newNodeHash.multiply(PRIME)));
+        resultNew = node.getHash().subtract(oldHash.multiply(PRIME));
+        resultNew = resultNew.add(newNodeHash.multiply(PRIME));
       }
       node.setHash(resultNew);
     } while (moveTo(mNodeReadOnlyTrx.getCurrentNode().getParentKey()).hasMoved());
@@ -2249,25 +2249,25 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
    */
   private void rollingRemove() {
     final ImmutableXmlNode startNode = getCurrentNode();
-    BigInteger hashToRemove = startNode.getHash();
-    BigInteger hashToAdd = BigInteger.ZERO;
-    BigInteger newHash = BigInteger.ZERO;
+    Hash128 hashToRemove = startNode.getHash();
+    Hash128 hashToAdd = Hash128.ZERO;
+    Hash128 newHash = Hash128.ZERO;
     // go the path to the root
     do {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
           PageKind.RECORDPAGE, -1);
       if (node.getNodeKey() == startNode.getNodeKey()) {
         // the begin node is always null
-        newHash = BigInteger.ZERO;
+        newHash = Hash128.ZERO;
       } else if (node.getNodeKey() == startNode.getParentKey()) {
         // the parent node is just removed
-        newHash = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(hashToRemove.multiply(PRIME)));
+        newHash = node.getHash().subtract(hashToRemove.multiply(PRIME));
         hashToRemove = node.getHash();
         setRemoveDescendants(startNode);
       } else {
         // the ancestors are all touched regarding the modification
-        newHash = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(hashToRemove.multiply(PRIME)));
-        newHash = Node.to128BitsAtMaximumBigInteger(newHash.add(hashToAdd.multiply(PRIME)));
+        newHash = node.getHash().subtract(hashToRemove.multiply(PRIME));
+        newHash = newHash.add(hashToAdd.multiply(PRIME));
         hashToRemove = node.getHash();
         setRemoveDescendants(startNode);
       }
@@ -2304,11 +2304,11 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
     final long descendantCount = oldDescendantCount == 0
         ? 1
         : oldDescendantCount + 1;
-    BigInteger hashToAdd = startNode.getHash() == null || BigInteger.ZERO.equals(startNode.getHash())
+    Hash128 hashToAdd = startNode.getHash() == null || startNode.getHash().isZero()
         ? startNode.computeHash()
         : startNode.getHash();
-    BigInteger newHash = BigInteger.ZERO;
-    BigInteger possibleOldHash = BigInteger.ZERO;
+    Hash128 newHash = Hash128.ZERO;
+    Hash128 possibleOldHash = Hash128.ZERO;
     // go the path to the root
     do {
       final Node node = (Node) mPageWriteTrx.prepareEntryForModification(mNodeReadOnlyTrx.getCurrentNode().getNodeKey(),
@@ -2321,15 +2321,15 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
       } else if (node.getNodeKey() == startNode.getParentKey()) {
         // at the parent level, just add the node
         possibleOldHash = node.getHash();
-        newHash = Node.to128BitsAtMaximumBigInteger(possibleOldHash.add(hashToAdd.multiply(PRIME)));
+        newHash = possibleOldHash.add(hashToAdd.multiply(PRIME));
         node.setHash(newHash);
         hashToAdd = node.getHash();
         setAddDescendants(startNode, node, descendantCount);
       } else {
         // at the rest, remove the existing old key for this element
         // and add the new one
-        newHash = Node.to128BitsAtMaximumBigInteger(node.getHash().subtract(possibleOldHash.multiply(PRIME)));
-        newHash = Node.to128BitsAtMaximumBigInteger(newHash.add(hashToAdd.multiply(PRIME)));
+        newHash = node.getHash().subtract(possibleOldHash.multiply(PRIME));
+        newHash = newHash.add(hashToAdd.multiply(PRIME));
         possibleOldHash = node.getHash();
         node.setHash(newHash);
         hashToAdd = node.getHash();
@@ -24,9 +24,12 @@ package org.sirix.access.trx.page;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -45,6 +48,7 @@ import org.sirix.cache.IndexLogKey;
 import org.sirix.cache.PageContainer;
 import org.sirix.cache.TransactionIntentLog;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.CachingReader;
 import org.sirix.io.Reader;
 import org.sirix.node.DeletedNode;
 import org.sirix.node.NodeKind;
@@ -138,7 +142,10 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
     mResourceConfig = resourceManager.getResourceConfig();
 
     mResourceManager = checkNotNull(resourceManager);
-    mPageReader = checkNotNull(reader);
+    checkNotNull(reader);
+    mPageReader = bufferManager == null
+        ? reader
+        : bufferManager.getOffHeapPageCache().<Reader>map(cache -> new CachingReader(reader, cache)).orElse(reader);
     mUberPage = checkNotNull(uberPage);
 
     // Load revision root.
@@ -238,7 +245,7 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
       return Optional.empty();
     }
 
-    final Record retVal = ((UnorderedKeyValuePage) cont.getComplete()).getValue(nodeKey);
+    final Record retVal = ((UnorderedKeyValuePage) cont.getComplete()).getValue(nodeKey, this);
     return checkItemIfDeleted(retVal);
   }
 
@@ -381,7 +388,10 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
           mResourceBufferManager.getRecordPageCache().get(pageReferenceToRecordPage.get());
 
       if (recordPageContainerFromBuffer != null) {
-        return recordPageContainerFromBuffer;
+        // The container is shared by all read-only transactions of the resource, whereas the page for
+        // modifications has to be created with this transaction.
+        final Page completePage = recordPageContainerFromBuffer.getComplete();
+        return PageContainer.getInstance(completePage, () -> clone(completePage));
       }
     }
 
@@ -396,7 +406,8 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
     final VersioningType revisioning = mResourceConfig.revisioningType;
     final Page completePage = revisioning.combineRecordPages(pages, mileStoneRevision, this);
 
-    final PageContainer recordPageContainer = PageContainer.getInstance(completePage, clone(completePage));
+    // The page, which is modified by a write transaction, is only created if needed.
+    final PageContainer recordPageContainer = PageContainer.getInstance(completePage, () -> clone(completePage));
 
     if (mTrxIntentLog == null)
       mResourceBufferManager.getRecordPageCache().put(pageReferenceToRecordPage.get(), recordPageContainer);
@@ -439,34 +450,91 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
     final int revsToRestore = config.numberOfRevisionsToRestore;
     final int[] revisionsToRead = config.revisioningType.getRevisionRoots(mRootPage.getRevision(), revsToRestore);
     final List<T> pages = new ArrayList<>(revisionsToRead.length);
-    boolean first = true;
-    for (int i = 0; i < revisionsToRead.length; i++) {
-      long refKeyToRecordPage = Constants.NULL_ID_LONG;
-      if (first) {
-        first = false;
-        refKeyToRecordPage = pageReference.getKey();
-      } else {
-        refKeyToRecordPage = pages.get(pages.size() - 1).getPreviousReferenceKey();
+
+    if (revisionsToRead.length == 0 || pageReference.getKey() == Constants.NULL_ID_LONG) {
+      return pages;
+    }
+
+    final T firstPage = readSnapshotPage(pageReference.getKey());
+    pages.add(firstPage);
+
+    if (revisionsToRead.length == 1 || firstPage.getPreviousReferenceKey() == Constants.NULL_ID_LONG
+        || firstPage.size() == Constants.NDP_NODE_COUNT) {
+      // No elder versions needed (for instance, as the page is full).
+      return pages;
+    }
+
+    final long[] previousFragmentKeys = firstPage.getPreviousFragmentKeys();
+
+    if (previousFragmentKeys.length == 0) {
+      // Keys of the older fragments are not known up front, thus follow the previous reference keys.
+      for (int i = 1; i < revisionsToRead.length; i++) {
+        final long refKeyToRecordPage = pages.get(pages.size() - 1).getPreviousReferenceKey();
+
+        if (refKeyToRecordPage == Constants.NULL_ID_LONG) {
+          break;
+        }
+
+        final T page = readSnapshotPage(refKeyToRecordPage);
+        pages.add(page);
+        if (page.size() == Constants.NDP_NODE_COUNT) {
+          // Page is full, thus we can skip reconstructing pages with elder versions.
+          break;
+        }
+      }
+    } else {
+      // Issue the reads of the older fragments up front, such that they are read concurrently.
+      final int numberOfFragments = Math.min(previousFragmentKeys.length, revisionsToRead.length - 1);
+      final List<CompletableFuture<byte[]>> fragments = new ArrayList<>(numberOfFragments);
+      for (int i = 0; i < numberOfFragments; i++) {
+        fragments.add(mPageReader.readPageBytesAsync(new PageReference().setKey(previousFragmentKeys[i])));
       }
 
-      if (refKeyToRecordPage != Constants.NULL_ID_LONG) {
-        final PageReference reference = new PageReference().setKey(refKeyToRecordPage);
-        if (reference.getKey() != Constants.NULL_ID_LONG) {
-          @SuppressWarnings("unchecked")
-          final T page = (T) mPageReader.read(reference, this);
-          pages.add(page);
-          if (page.size() == Constants.NDP_NODE_COUNT) {
-            // Page is full, thus we can skip reconstructing pages with elder versions.
-            break;
-          }
+      for (int i = 0; i < numberOfFragments; i++) {
+        final T page = readSnapshotPage(previousFragmentKeys[i], fragments.get(i));
+        pages.add(page);
+        if (page.size() == Constants.NDP_NODE_COUNT) {
+          // Page is full, thus the reads of the elder fragments, which haven't started yet, are skipped.
+          fragments.subList(i + 1, numberOfFragments).forEach(fragment -> fragment.cancel(false));
+          break;
         }
-      } else {
-        break;
       }
     }
+
     return pages;
   }
 
+  @SuppressWarnings("unchecked")
+  private <K extends Comparable<? super K>, V extends Record, T extends KeyValuePage<K, V>> T readSnapshotPage(
+      final long key) {
+    return (T) mPageReader.read(new PageReference().setKey(key), this);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <K extends Comparable<? super K>, V extends Record, T extends KeyValuePage<K, V>> T readSnapshotPage(
+      final long key, final CompletableFuture<byte[]> pageBytes) {
+    final byte[] page;
+    try {
+      page = pageBytes.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new SirixIOException(e.getCause());
+    }
+
+    if (page == null) {
+      // The reader doesn't store pages as bytes.
+      return readSnapshotPage(key);
+    }
+
+    try {
+      return (T) new PagePersister().deserializePage(ByteBuffer.wrap(page), this, SerializationType.DATA);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
   /**
    * Get the page reference which points to the right subtree (nodes, path summary nodes, CAS index
    * nodes, Path index nodes or Name index nodes).
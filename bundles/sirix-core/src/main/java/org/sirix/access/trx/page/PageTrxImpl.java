@@ -28,8 +28,11 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -43,6 +46,7 @@ import org.sirix.api.PageTrx;
 import org.sirix.cache.PageContainer;
 import org.sirix.cache.TransactionIntentLog;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.SerializedPage;
 import org.sirix.io.Writer;
 import org.sirix.node.DeletedNode;
 import org.sirix.node.NodeKind;
@@ -109,6 +113,12 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
   /** {@code true} if this page write trx will be bound to a node trx, {@code false} otherwise */
   private final boolean mIsBoundToNodeTrx;
 
+  /** Determines if record pages are serialized in parallel during a commit. */
+  private final boolean mParallelCommit;
+
+  /** The record pages, which are serialized in parallel, but not written yet (in commit order). */
+  private final List<PendingPage> mPendingPages;
+
   /**
    * Constructor.
    *
@@ -133,6 +143,8 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     checkArgument(representRevision >= 0, "The represented revision must be >= 0.");
     mRepresentRevision = representRevision;
     mIsBoundToNodeTrx = isBoundToNodeTrx;
+    mParallelCommit = pageRtx.mResourceConfig.parallelCommit;
+    mPendingPages = new ArrayList<>();
   }
 
   @Override
@@ -161,9 +173,9 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     final long recordPageKey = mPageRtx.pageKey(recordKey);
     final PageContainer cont = prepareRecordPage(recordPageKey, index, pageKind);
 
-    Record record = ((UnorderedKeyValuePage) cont.getModified()).getValue(recordKey);
+    Record record = ((UnorderedKeyValuePage) cont.getModified()).getValue(recordKey, mPageRtx);
     if (record == null) {
-      final Record oldRecord = ((UnorderedKeyValuePage) cont.getComplete()).getValue(recordKey);
+      final Record oldRecord = ((UnorderedKeyValuePage) cont.getComplete()).getValue(recordKey, mPageRtx);
       if (oldRecord == null) {
         throw new SirixIOException("Cannot retrieve record from cache!");
       }
@@ -241,9 +253,9 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     if (pageCont.equals(PageContainer.emptyInstance())) {
       return mPageRtx.getRecord(recordKey, pageKind, index);
     } else {
-      Record node = ((UnorderedKeyValuePage) pageCont.getModified()).getValue(recordKey);
+      Record node = ((UnorderedKeyValuePage) pageCont.getModified()).getValue(recordKey, mPageRtx);
       if (node == null) {
-        node = ((UnorderedKeyValuePage) pageCont.getComplete()).getValue(recordKey);
+        node = ((UnorderedKeyValuePage) pageCont.getComplete()).getValue(recordKey, mPageRtx);
       }
       return mPageRtx.checkItemIfDeleted(node);
     }
@@ -274,9 +286,7 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     if (reference == null)
       return;
 
-    final PageContainer container = mLog.get(reference, mPageRtx);
-
-    mLog.remove(reference);
+    final PageContainer container = mLog.take(reference, mPageRtx);
 
     Page page = null;
 
@@ -290,13 +300,40 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
 
     reference.setPage(page);
 
-    // Recursively commit indirectly referenced pages and then write self.f
+    // Recursively commit indirectly referenced pages and then write self.
     page.commit(this);
+
+    if (mParallelCommit && page instanceof KeyValuePage) {
+      // Record pages don't reference pages, which are still pending, thus they are serialized,
+      // compressed and hashed concurrently. Only appending them stays sequential.
+      final ForkJoinTask<SerializedPage> serializedPage =
+          ForkJoinPool.commonPool().submit(() -> mPageWriter.serialize(reference));
+      mPendingPages.add(new PendingPage(reference, serializedPage));
+      return;
+    }
+
+    // Other pages might reference the pending pages, whose keys are only known once they are written.
+    writePendingPages();
     mPageWriter.write(reference);
 
     // Remove page reference.
     reference.setPage(null);
+  }
 
+  /**
+   * Write the record pages, which have been serialized in parallel, in commit order.
+   */
+  private void writePendingPages() {
+    try {
+      for (final PendingPage pendingPage : mPendingPages) {
+        mPageWriter.write(pendingPage.mReference, pendingPage.mSerializedPage.join());
+
+        // Remove page reference.
+        pendingPage.mReference.setPage(null);
+      }
+    } finally {
+      mPendingPages.clear();
+    }
   }
 
   @Override
@@ -328,6 +365,7 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
 
     // Recursively write indirectly referenced pages.
     uberPage.commit(this);
+    writePendingPages();
 
     uberPageReference.setPage(uberPage);
     mPageWriter.writeUberPageReference(uberPageReference);
@@ -373,6 +411,7 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
   @Override
   public UberPage rollback() {
     mPageRtx.assertNotClosed();
+    mPendingPages.clear();
     mLog.truncate();
     return (UberPage) mPageWriter.read(mPageWriter.readUberPageReference(), mPageRtx);
   }
@@ -457,7 +496,44 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     final List<UnorderedKeyValuePage> revs = mPageRtx.getSnapshotPages(reference);
     final VersioningType revisioning = mPageRtx.mResourceManager.getResourceConfig().revisioningType;
     final int mileStoneRevision = mPageRtx.mResourceManager.getResourceConfig().numberOfRevisionsToRestore;
-    return revisioning.combineRecordPagesForModification(revs, mileStoneRevision, mPageRtx, reference);
+    final PageContainer pageContainer =
+        revisioning.combineRecordPagesForModification(revs, mileStoneRevision, mPageRtx, reference);
+    if (revisioning != VersioningType.FULL) {
+      // Full versioning never reads older fragments.
+      ((UnorderedKeyValuePage) pageContainer.getModified()).setPreviousFragmentKeys(
+          getPreviousFragmentKeys(reference, revs, mileStoneRevision));
+    }
+    return pageContainer;
+  }
+
+  /**
+   * Get the keys of the page fragments, which are needed to reconstruct the new version of a record
+   * page, such that they don't have to be read one after the other by following the previous
+   * reference keys.
+   *
+   * @param reference reference to the current version of the record page
+   * @param revs the page fragments of the current version
+   * @param mileStoneRevision the number of revisions needed to restore a page
+   * @return the keys of the page fragments, starting with the current version
+   */
+  private static long[] getPreviousFragmentKeys(final PageReference reference,
+      final List<UnorderedKeyValuePage> revs, final int mileStoneRevision) {
+    final int maxFragments = Math.max(mileStoneRevision - 1, 0);
+    final List<Long> fragmentKeys = new ArrayList<>(maxFragments);
+
+    if (maxFragments > 0 && reference.getKey() != Constants.NULL_ID_LONG) {
+      fragmentKeys.add(reference.getKey());
+
+      for (int i = 0; i < revs.size() && fragmentKeys.size() < maxFragments; i++) {
+        final UnorderedKeyValuePage page = revs.get(i);
+        if (page.size() == Constants.NDP_NODE_COUNT || page.getPreviousReferenceKey() == Constants.NULL_ID_LONG) {
+          break;
+        }
+        fragmentKeys.add(page.getPreviousReferenceKey());
+      }
+    }
+
+    return fragmentKeys.stream().mapToLong(Long::longValue).toArray();
   }
 
   @Override
@@ -504,4 +580,20 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
   public CommitCredentials getCommitCredentials() {
     return mPageRtx.getCommitCredentials();
   }
+
+  /**
+   * A record page, which is serialized in parallel, but not written yet.
+   */
+  private static final class PendingPage {
+    /** The reference to the page. */
+    private final PageReference mReference;
+
+    /** The serialized page. */
+    private final ForkJoinTask<SerializedPage> mSerializedPage;
+
+    private PendingPage(final PageReference reference, final ForkJoinTask<SerializedPage> serializedPage) {
+      mReference = reference;
+      mSerializedPage = serializedPage;
+    }
+  }
 }
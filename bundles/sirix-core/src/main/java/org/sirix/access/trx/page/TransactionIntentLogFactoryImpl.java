@@ -27,18 +27,10 @@
  */
 package org.sirix.access.trx.page;
 
-import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
 import org.sirix.access.ResourceConfiguration;
-import org.sirix.cache.PersistentFileCache;
 import org.sirix.cache.TransactionIntentLog;
-import org.sirix.io.bytepipe.ByteHandlePipeline;
-import org.sirix.io.file.FileWriter;
-import org.sirix.page.PagePersister;
-import org.sirix.page.SerializationType;
 
 /**
  * @author Johannes Lichtenberger <lichtenberger.johannes@gmail.com>
@@ -46,6 +38,18 @@ import org.sirix.page.SerializationType;
  */
 final class TransactionIntentLogFactoryImpl implements TransactionIntentLogFactory {
 
+  /**
+   * The maximum estimated number of bytes of the in-memory pages of all transaction intent logs of
+   * the process. Together with the process-global buffer (see
+   * {@link org.sirix.cache.BufferPool#GLOBAL_MAX_WEIGHT}) at most half of the heap is used for pages.
+   */
+  private static final long MAX_IN_MEMORY_BYTES = Runtime.getRuntime().maxMemory() / 4;
+
+  /**
+   * The estimated number of bytes of the in-memory pages of all transaction intent logs.
+   */
+  private static final AtomicLong IN_MEMORY_BYTES = new AtomicLong();
+
   /**
    * Package private constructor.
    */
@@ -58,23 +62,6 @@ final class TransactionIntentLogFactoryImpl implements TransactionIntentLogFacto
                       .resolve(ResourceConfiguration.ResourcePaths.TRANSACTION_INTENT_LOG.getPath())
                       .resolve("intent-log");
 
-    try {
-      if (Files.exists(logFile)) {
-        Files.delete(logFile);
-        Files.createFile(logFile);
-      }
-
-      final RandomAccessFile file = new RandomAccessFile(logFile.toFile(), "rw");
-
-      final FileWriter fileWriter =
-          new FileWriter(file, null, new ByteHandlePipeline(resourceConfig.byteHandlePipeline),
-              SerializationType.TRANSACTION_INTENT_LOG, new PagePersister());
-
-      final PersistentFileCache persistentFileCache = new PersistentFileCache(fileWriter);
-
-      return new TransactionIntentLog(persistentFileCache, 1 << 13);
-    } catch (final IOException e) {
-      throw new UncheckedIOException(e);
-    }
+    return new TransactionIntentLog(logFile, MAX_IN_MEMORY_BYTES, IN_MEMORY_BYTES);
   }
 }
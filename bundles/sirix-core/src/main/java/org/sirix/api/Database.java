@@ -23,11 +23,13 @@ package org.sirix.api;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import javax.annotation.Nonnegative;
 import org.sirix.access.DatabaseConfiguration;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 /**
  * <p>
@@ -134,4 +136,20 @@ public interface Database<T extends ResourceManager<? extends NodeReadOnlyTrx, ?
    * @return the database name
    */
   String getName();
+
+  /**
+   * Get the hit, miss and eviction statistics of the buffer, which is shared by all resources of the
+   * database, and by all other databases, if it is the process-global buffer.
+   *
+   * @return the statistics of the buffer
+   */
+  CacheStats getBufferStatistics();
+
+  /**
+   * Get the hit, miss and eviction statistics of the off-heap buffer of decompressed pages, which is
+   * shared by all resources of the database.
+   *
+   * @return the statistics of the off-heap buffer or {@code Optional.empty()} if it is disabled
+   */
+  Optional<CacheStats> getOffHeapBufferStatistics();
 }
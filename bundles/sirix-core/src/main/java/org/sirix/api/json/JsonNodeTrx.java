@@ -46,4 +46,25 @@ public interface JsonNodeTrx extends JsonNodeReadOnlyTrx, NodeTrx {
   JsonNodeTrx insertSubtreeAsFirstChild(JsonReader reader);
 
   JsonNodeTrx insertSubtreeAsRightSibling(JsonReader reader);
+
+  /**
+   * Determines if the rolling hashes and descendant counts of ancestor nodes are updated for each
+   * insertion or value update (the default) or only once per ancestor during the next commit, an
+   * explicit {@link #propagateAncestorUpdates()} or before a node is removed. The resulting hashes are
+   * the same, but deep documents are modified considerably faster. Note that {@link #getHash()} and
+   * {@link #getDescendantCount()} propagate pending updates, whereas the hashes of nodes, which are
+   * retrieved otherwise, might not be up-to-date. Disabling the mode propagates pending updates.
+   *
+   * @param defer {@code true}, if ancestor updates should be deferred, {@code false} otherwise
+   * @return this transaction instance
+   */
+  JsonNodeTrx deferAncestorUpdates(boolean defer);
+
+  /**
+   * Propagate pending hash and descendant count updates of ancestor nodes.
+   *
+   * @return this transaction instance
+   * @see #deferAncestorUpdates(boolean)
+   */
+  JsonNodeTrx propagateAncestorUpdates();
 }
@@ -21,7 +21,6 @@
 
 package org.sirix.api.xml;
 
-import java.math.BigInteger;
 import java.util.List;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
@@ -37,6 +36,7 @@ import org.sirix.api.ResourceManager;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.api.visitor.XmlNodeVisitor;
+import org.sirix.node.Hash128;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.interfaces.ValueNode;
@@ -419,7 +419,7 @@ public interface XmlNodeReadOnlyTrx extends NodeCursor, NodeReadOnlyTrx {
    * @return hash value
    */
   @Override
-  BigInteger getHash();
+  Hash128 getHash();
 
   /**
    * Get all attributes of currently selected node (only for elements useful, otherwise returns an
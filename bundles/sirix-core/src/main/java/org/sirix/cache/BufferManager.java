@@ -1,8 +1,10 @@
 package org.sirix.cache;
 
+import java.util.Optional;
 import org.sirix.page.PageReference;
 import org.sirix.page.RevisionRootPage;
 import org.sirix.page.interfaces.Page;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 public interface BufferManager {
   Cache<PageReference, PageContainer> getRecordPageCache();
@@ -10,4 +12,24 @@ public interface BufferManager {
   Cache<PageReference, Page> getPageCache();
 
   Cache<Integer, RevisionRootPage> getRevisionRootPageCache();
+
+  /**
+   * Get the second-level cache of decompressed page bytes, which is stored off-heap.
+   *
+   * @return the off-heap page cache or {@code Optional.empty()} if it is disabled
+   */
+  Optional<Cache<PageReference, byte[]>> getOffHeapPageCache();
+
+  /**
+   * Remove all pages of the resource from the caches.
+   */
+  void clearAllCaches();
+
+  /**
+   * Get the hit, miss and eviction statistics of the buffer, which is shared by all resources of
+   * the database.
+   *
+   * @return the statistics
+   */
+  CacheStats getStatistics();
 }
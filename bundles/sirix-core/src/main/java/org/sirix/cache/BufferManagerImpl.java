@@ -1,20 +1,54 @@
 package org.sirix.cache;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.Optional;
+import javax.annotation.Nullable;
 import org.sirix.page.PageReference;
 import org.sirix.page.RevisionRootPage;
 import org.sirix.page.interfaces.Page;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 public final class BufferManagerImpl implements BufferManager {
+  private final BufferPool mBufferPool;
+
+  private final long mResourceID;
+
   private final PageCache mPageCache;
 
   private final RecordPageCache mRecordPageCache;
 
   private final RevisionRootPageCache mRevisionRootPageCache;
 
-  public BufferManagerImpl() {
-    mPageCache = new PageCache();
-    mRecordPageCache = new RecordPageCache();
-    mRevisionRootPageCache = new RevisionRootPageCache();
+  private final OffHeapPageCache mOffHeapPageCache;
+
+  /**
+   * Constructor.
+   *
+   * @param bufferPool the buffer pool shared by all resources of a database
+   * @param resourceID the ID of the resource
+   */
+  public BufferManagerImpl(final BufferPool bufferPool, final long resourceID) {
+    this(bufferPool, null, resourceID);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param bufferPool the buffer pool shared by all resources of a database
+   * @param offHeapBufferPool the off-heap buffer pool shared by all resources of a database (might be
+   *        {@code null} if the second-level cache is disabled)
+   * @param resourceID the ID of the resource
+   */
+  public BufferManagerImpl(final BufferPool bufferPool, final @Nullable OffHeapBufferPool offHeapBufferPool,
+      final long resourceID) {
+    mBufferPool = checkNotNull(bufferPool);
+    mResourceID = resourceID;
+    mPageCache = new PageCache(bufferPool, resourceID);
+    mRecordPageCache = new RecordPageCache(bufferPool, resourceID);
+    mRevisionRootPageCache = new RevisionRootPageCache(bufferPool, resourceID);
+    mOffHeapPageCache = offHeapBufferPool == null
+        ? null
+        : new OffHeapPageCache(offHeapBufferPool, resourceID);
   }
 
   @Override
@@ -31,4 +65,22 @@ public final class BufferManagerImpl implements BufferManager {
   public Cache<Integer, RevisionRootPage> getRevisionRootPageCache() {
     return mRevisionRootPageCache;
   }
+
+  @Override
+  public Optional<Cache<PageReference, byte[]>> getOffHeapPageCache() {
+    return Optional.ofNullable(mOffHeapPageCache);
+  }
+
+  @Override
+  public void clearAllCaches() {
+    mBufferPool.clear(mResourceID);
+    if (mOffHeapPageCache != null) {
+      mOffHeapPageCache.clear();
+    }
+  }
+
+  @Override
+  public CacheStats getStatistics() {
+    return mBufferPool.getStatistics();
+  }
 }
@@ -0,0 +1,251 @@
+package org.sirix.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.page.PageReference;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.base.Suppliers;
+
+/**
+ * Byte-weighted buffer, which is shared by the {@link BufferManager}s of all resources of a database.
+ * Record pages are weighted by the estimated size of their deserialized records, other pages by
+ * their serialized length (see {@link PageReference#getLength()}), such that the memory used for
+ * caching pages is bound by a single budget instead of a fixed number of entries per cache. The
+ * budget is either configured per database or shared by all databases of the process (see
+ * {@link #shareGlobalBuffer()}).
+ */
+public final class BufferPool {
+
+  /**
+   * The maximum weight of the process-global buffer in bytes, which is shared by all databases
+   * without a configured buffer size.
+   */
+  public static final long GLOBAL_MAX_WEIGHT = Runtime.getRuntime().maxMemory() / 4;
+
+  /** The cache of the process-global buffer, which is created on first use. */
+  private static final Supplier<Cache<Key, Object>> GLOBAL_CACHE =
+      Suppliers.memoize(() -> createCache(GLOBAL_MAX_WEIGHT));
+
+  /** Generates the IDs of the buffers, which distinguish the pages of buffers sharing a cache. */
+  private static final AtomicLong BUFFER_IDS = new AtomicLong();
+
+  /** Weight of pages, which have not been persisted so far. */
+  static final int DEFAULT_PAGE_WEIGHT = 4_096;
+
+  /** Weight of revision root pages, which are cached by revision number. */
+  static final int REVISION_ROOT_PAGE_WEIGHT = 1_024;
+
+  /** The segments of the buffer. */
+  enum Segment {
+    /** Indirect pages, name pages, path summary pages... */
+    PAGE,
+
+    /** Record pages. */
+    RECORD_PAGE,
+
+    /** Revision root pages. */
+    REVISION_ROOT_PAGE
+  }
+
+  /** The underlying cache, which might be shared with other buffers. */
+  private final Cache<Key, Object> mCache;
+
+  /** The maximum weight in bytes. */
+  private final long mMaxWeight;
+
+  /** The ID of this buffer. */
+  private final long mBufferID;
+
+  /**
+   * Constructor.
+   *
+   * @param maxWeight the maximum weight of all cached pages in bytes
+   */
+  public BufferPool(final @Nonnegative long maxWeight) {
+    this(createCache(maxWeight), maxWeight);
+  }
+
+  private BufferPool(final Cache<Key, Object> cache, final long maxWeight) {
+    mCache = checkNotNull(cache);
+    mMaxWeight = maxWeight;
+    mBufferID = BUFFER_IDS.getAndIncrement();
+  }
+
+  /**
+   * Get a buffer, which shares the process-global budget of {@link #GLOBAL_MAX_WEIGHT} bytes with the
+   * buffers of all other databases, which don't configure a buffer size.
+   *
+   * @return a new view of the process-global buffer
+   */
+  public static BufferPool shareGlobalBuffer() {
+    return new BufferPool(GLOBAL_CACHE.get(), GLOBAL_MAX_WEIGHT);
+  }
+
+  private static Cache<Key, Object> createCache(final long maxWeight) {
+    checkArgument(maxWeight > 0, "maxWeight must be > 0!");
+
+    final RemovalListener<Key, Object> removalListener = (Key key, Object value, RemovalCause cause) -> {
+      if (key != null && key.mKey instanceof PageReference) {
+        ((PageReference) key.mKey).setPage(null);
+      }
+    };
+
+    return Caffeine.newBuilder()
+                   .maximumWeight(maxWeight)
+                   .weigher(BufferPool::weigh)
+                   .removalListener(removalListener)
+                   .recordStats()
+                   .build();
+  }
+
+  private static int weigh(final Key key, final Object value) {
+    if (key.mSegment == Segment.REVISION_ROOT_PAGE) {
+      return REVISION_ROOT_PAGE_WEIGHT;
+    }
+    if (key.mSegment == Segment.RECORD_PAGE) {
+      // The serialized length is the compressed length of the latest fragment only.
+      return (int) Math.min(Integer.MAX_VALUE, PageWeights.weigh((PageContainer) value));
+    }
+    final int length = ((PageReference) key.mKey).getLength();
+    return length > 0
+        ? length
+        : DEFAULT_PAGE_WEIGHT;
+  }
+
+  /**
+   * Get a cached value.
+   *
+   * @param resourceID the ID of the resource
+   * @param segment the segment of the buffer
+   * @param key the key
+   * @return the cached value or {@code null} if not present
+   */
+  Object get(final long resourceID, final Segment segment, final Object key) {
+    return mCache.getIfPresent(new Key(mBufferID, resourceID, segment, key));
+  }
+
+  /**
+   * Put a value into the buffer.
+   *
+   * @param resourceID the ID of the resource
+   * @param segment the segment of the buffer
+   * @param key the key
+   * @param value the value
+   */
+  void put(final long resourceID, final Segment segment, final Object key, final Object value) {
+    mCache.put(new Key(mBufferID, resourceID, segment, key), checkNotNull(value));
+  }
+
+  /**
+   * Remove a value from the buffer.
+   *
+   * @param resourceID the ID of the resource
+   * @param segment the segment of the buffer
+   * @param key the key
+   */
+  void remove(final long resourceID, final Segment segment, final Object key) {
+    mCache.invalidate(new Key(mBufferID, resourceID, segment, key));
+  }
+
+  /**
+   * Remove all values of a segment of a resource from the buffer.
+   *
+   * @param resourceID the ID of the resource
+   * @param segment the segment of the buffer
+   */
+  void clear(final long resourceID, final Segment segment) {
+    mCache.asMap()
+          .keySet()
+          .removeIf(key -> key.mBufferID == mBufferID && key.mResourceID == resourceID && key.mSegment == segment);
+  }
+
+  /**
+   * Remove all values of a resource from the buffer.
+   *
+   * @param resourceID the ID of the resource
+   */
+  public void clear(final long resourceID) {
+    mCache.asMap().keySet().removeIf(key -> key.mBufferID == mBufferID && key.mResourceID == resourceID);
+  }
+
+  /**
+   * Remove all values from the buffer.
+   */
+  public void clear() {
+    mCache.asMap().keySet().removeIf(key -> key.mBufferID == mBufferID);
+  }
+
+  /**
+   * Get the hit, miss and eviction statistics of the buffer, including the buffers it shares its
+   * budget with.
+   *
+   * @return the statistics
+   */
+  public CacheStats getStatistics() {
+    return mCache.stats();
+  }
+
+  /**
+   * Get the current weight of all cached pages in bytes, including the pages of the buffers it shares
+   * its budget with.
+   *
+   * @return the current weight
+   */
+  public long getWeightedSize() {
+    mCache.cleanUp();
+    return mCache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  /**
+   * Get the maximum weight of all cached pages in bytes.
+   *
+   * @return the maximum weight
+   */
+  public long getMaxWeight() {
+    return mMaxWeight;
+  }
+
+  /**
+   * Key of a buffered page.
+   */
+  private static final class Key {
+    private final long mBufferID;
+
+    private final long mResourceID;
+
+    private final Segment mSegment;
+
+    private final Object mKey;
+
+    Key(final long bufferID, final long resourceID, final Segment segment, final Object key) {
+      mBufferID = bufferID;
+      mResourceID = resourceID;
+      mSegment = segment;
+      mKey = checkNotNull(key);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(mBufferID, mResourceID, mSegment, mKey);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      if (other instanceof Key) {
+        final Key otherKey = (Key) other;
+        return otherKey.mBufferID == mBufferID && otherKey.mResourceID == mResourceID && otherKey.mSegment == mSegment
+            && otherKey.mKey.equals(mKey);
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,257 @@
+package org.sirix.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.page.PageReference;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Second-level cache of decompressed (and decrypted) page bytes, which is shared by the
+ * {@link BufferManager}s of all resources of a database. The bytes are stored in direct memory,
+ * which is allocated once and split into blocks of {@link #BLOCK_SIZE} bytes, such that even large
+ * buffers don't increase the pressure on the garbage collector. Pages are evicted in LRU order if the
+ * budget is exhausted and are identified by the offset of the page in the data file.
+ */
+public final class OffHeapBufferPool {
+
+  /** Size of a block in bytes. */
+  static final int BLOCK_SIZE = 4_096;
+
+  /** Number of blocks of a single arena (1 GiB). */
+  private static final int BLOCKS_PER_ARENA = (1 << 30) / BLOCK_SIZE;
+
+  /** Direct memory, split into blocks. */
+  private final ByteBuffer[] mArenas;
+
+  /** Stack of free blocks. */
+  private final int[] mFreeBlocks;
+
+  /** Number of free blocks. */
+  private int mFreeBlockCount;
+
+  /** Entries in access order. */
+  private final LinkedHashMap<Key, Entry> mEntries;
+
+  private long mHitCount;
+
+  private long mMissCount;
+
+  private long mEvictionCount;
+
+  private long mEvictionWeight;
+
+  /**
+   * Constructor.
+   *
+   * @param capacity the capacity in bytes
+   */
+  public OffHeapBufferPool(final @Nonnegative long capacity) {
+    checkArgument(capacity >= BLOCK_SIZE, "capacity must be >= " + BLOCK_SIZE + "!");
+    final long blockCount = capacity / BLOCK_SIZE;
+    checkArgument(blockCount <= Integer.MAX_VALUE, "capacity is too large!");
+
+    mFreeBlocks = new int[(int) blockCount];
+    mFreeBlockCount = mFreeBlocks.length;
+    for (int block = 0; block < mFreeBlockCount; block++) {
+      mFreeBlocks[block] = mFreeBlockCount - block - 1;
+    }
+
+    mArenas = new ByteBuffer[(mFreeBlocks.length + BLOCKS_PER_ARENA - 1) / BLOCKS_PER_ARENA];
+    for (int arena = 0; arena < mArenas.length; arena++) {
+      final int blocks = Math.min(BLOCKS_PER_ARENA, mFreeBlocks.length - arena * BLOCKS_PER_ARENA);
+      mArenas[arena] = ByteBuffer.allocateDirect(blocks * BLOCK_SIZE);
+    }
+
+    mEntries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Get the bytes of a page. If present, the length of the stored page is set on the reference.
+   *
+   * @param resourceID the ID of the resource
+   * @param reference the reference to the page
+   * @return a copy of the bytes of the page or {@code null} if not present
+   */
+  synchronized byte[] get(final long resourceID, final PageReference reference) {
+    final Entry entry = mEntries.get(new Key(resourceID, reference.getKey()));
+    if (entry == null) {
+      mMissCount++;
+      return null;
+    }
+    mHitCount++;
+
+    final byte[] bytes = new byte[entry.mSize];
+    for (int index = 0; index < entry.mBlocks.length; index++) {
+      final int block = entry.mBlocks[index];
+      final int offset = index * BLOCK_SIZE;
+      mArenas[block / BLOCKS_PER_ARENA].get((block % BLOCKS_PER_ARENA) * BLOCK_SIZE, bytes, offset,
+          Math.min(BLOCK_SIZE, bytes.length - offset));
+    }
+    if (entry.mLength > 0) {
+      reference.setLength(entry.mLength);
+    }
+    return bytes;
+  }
+
+  /**
+   * Put the bytes of a page into the buffer. Least recently used pages are evicted if the budget is
+   * exhausted. Pages, which exceed the capacity of the buffer, are not stored at all.
+   *
+   * @param resourceID the ID of the resource
+   * @param reference the reference to the page
+   * @param bytes the bytes of the page
+   */
+  synchronized void put(final long resourceID, final PageReference reference, final byte[] bytes) {
+    checkNotNull(bytes);
+    final int blockCount = (bytes.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    if (blockCount > mFreeBlocks.length) {
+      return;
+    }
+
+    final Key key = new Key(resourceID, reference.getKey());
+    free(mEntries.remove(key));
+
+    final Iterator<Entry> eldest = mEntries.values().iterator();
+    while (mFreeBlockCount < blockCount) {
+      final Entry entry = eldest.next();
+      eldest.remove();
+      mEvictionCount++;
+      mEvictionWeight += entry.mSize;
+      free(entry);
+    }
+
+    final int[] blocks = new int[blockCount];
+    for (int index = 0; index < blockCount; index++) {
+      final int block = mFreeBlocks[--mFreeBlockCount];
+      final int offset = index * BLOCK_SIZE;
+      mArenas[block / BLOCKS_PER_ARENA].put((block % BLOCKS_PER_ARENA) * BLOCK_SIZE, bytes, offset,
+          Math.min(BLOCK_SIZE, bytes.length - offset));
+      blocks[index] = block;
+    }
+
+    mEntries.put(key, new Entry(blocks, bytes.length, reference.getLength()));
+  }
+
+  private void free(final @Nullable Entry entry) {
+    if (entry != null) {
+      for (final int block : entry.mBlocks) {
+        mFreeBlocks[mFreeBlockCount++] = block;
+      }
+    }
+  }
+
+  /**
+   * Remove the bytes of a page from the buffer.
+   *
+   * @param resourceID the ID of the resource
+   * @param reference the reference to the page
+   */
+  synchronized void remove(final long resourceID, final PageReference reference) {
+    free(mEntries.remove(new Key(resourceID, reference.getKey())));
+  }
+
+  /**
+   * Remove all pages of a resource from the buffer.
+   *
+   * @param resourceID the ID of the resource
+   */
+  public synchronized void clear(final long resourceID) {
+    final Iterator<Map.Entry<Key, Entry>> iterator = mEntries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<Key, Entry> entry = iterator.next();
+      if (entry.getKey().mResourceID == resourceID) {
+        free(entry.getValue());
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Remove all pages from the buffer.
+   */
+  public synchronized void clear() {
+    mEntries.values().forEach(this::free);
+    mEntries.clear();
+  }
+
+  /**
+   * Get the hit, miss and eviction statistics of the buffer.
+   *
+   * @return the statistics
+   */
+  public synchronized CacheStats getStatistics() {
+    return new CacheStats(mHitCount, mMissCount, 0, 0, 0, mEvictionCount, mEvictionWeight);
+  }
+
+  /**
+   * Get the number of bytes of the direct memory, which is currently used.
+   *
+   * @return the number of used bytes
+   */
+  public synchronized long getUsedSize() {
+    return (long) (mFreeBlocks.length - mFreeBlockCount) * BLOCK_SIZE;
+  }
+
+  /**
+   * Get the capacity of the buffer in bytes.
+   *
+   * @return the capacity
+   */
+  public long getCapacity() {
+    return (long) mFreeBlocks.length * BLOCK_SIZE;
+  }
+
+  /**
+   * A stored page.
+   */
+  private static final class Entry {
+    /** The blocks, in which the bytes are stored. */
+    private final int[] mBlocks;
+
+    /** The number of bytes. */
+    private final int mSize;
+
+    /** The length of the page in the data file. */
+    private final int mLength;
+
+    Entry(final int[] blocks, final int size, final int length) {
+      mBlocks = blocks;
+      mSize = size;
+      mLength = length;
+    }
+  }
+
+  /**
+   * Key of a stored page.
+   */
+  private static final class Key {
+    private final long mResourceID;
+
+    private final long mOffset;
+
+    Key(final long resourceID, final long offset) {
+      mResourceID = resourceID;
+      mOffset = offset;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(mResourceID) * 31 + Long.hashCode(mOffset);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      if (other instanceof Key) {
+        final Key otherKey = (Key) other;
+        return otherKey.mResourceID == mResourceID && otherKey.mOffset == mOffset;
+      }
+      return false;
+    }
+  }
+}
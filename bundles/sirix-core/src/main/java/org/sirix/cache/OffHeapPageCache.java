@@ -0,0 +1,73 @@
+package org.sirix.cache;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.HashMap;
+import java.util.Map;
+import org.sirix.page.PageReference;
+
+/**
+ * View of the {@link OffHeapBufferPool}, which caches the decompressed page bytes of a single
+ * resource. If a page is found, its length in the data file is set on the {@link PageReference}.
+ */
+public final class OffHeapPageCache implements Cache<PageReference, byte[]> {
+
+  private final OffHeapBufferPool mBufferPool;
+
+  private final long mResourceID;
+
+  /**
+   * Constructor.
+   *
+   * @param bufferPool the off-heap buffer pool shared by all resources of a database
+   * @param resourceID the ID of the resource
+   */
+  public OffHeapPageCache(final OffHeapBufferPool bufferPool, final long resourceID) {
+    mBufferPool = checkNotNull(bufferPool);
+    mResourceID = resourceID;
+  }
+
+  @Override
+  public void clear() {
+    mBufferPool.clear(mResourceID);
+  }
+
+  @Override
+  public byte[] get(PageReference key) {
+    return mBufferPool.get(mResourceID, key);
+  }
+
+  @Override
+  public void put(PageReference key, byte[] value) {
+    mBufferPool.put(mResourceID, key, value);
+  }
+
+  @Override
+  public void putAll(Map<? extends PageReference, ? extends byte[]> map) {
+    map.forEach(this::put);
+  }
+
+  @Override
+  public void toSecondCache() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Map<PageReference, byte[]> getAll(Iterable<? extends PageReference> keys) {
+    final Map<PageReference, byte[]> values = new HashMap<>();
+    for (final PageReference key : keys) {
+      final byte[] value = get(key);
+      if (value != null) {
+        values.put(key, value);
+      }
+    }
+    return values;
+  }
+
+  @Override
+  public void remove(PageReference key) {
+    mBufferPool.remove(mResourceID, key);
+  }
+
+  @Override
+  public void close() {}
+}
@@ -1,47 +1,49 @@
 package org.sirix.cache;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import org.sirix.page.PageReference;
 import org.sirix.page.interfaces.Page;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.RemovalCause;
-import com.github.benmanes.caffeine.cache.RemovalListener;
 
+/**
+ * View of the {@link BufferPool}, which caches the {@link Page}s of a single resource.
+ */
 public final class PageCache implements Cache<PageReference, Page> {
 
-  private final com.github.benmanes.caffeine.cache.Cache<PageReference, Page> mPageCache;
+  private final BufferPool mBufferPool;
 
-  public PageCache() {
-    RemovalListener<PageReference, Page> removalListener =
-        (PageReference key, Page value, RemovalCause cause) -> key.setPage(null);
+  private final long mResourceID;
 
-    mPageCache = Caffeine.newBuilder()
-                         .maximumSize(1000)
-                         .expireAfterWrite(5000, TimeUnit.SECONDS)
-                         .expireAfterAccess(5000, TimeUnit.SECONDS)
-                         .removalListener(removalListener)
-                         .build();
+  /**
+   * Constructor.
+   *
+   * @param bufferPool the buffer pool shared by all resources of a database
+   * @param resourceID the ID of the resource
+   */
+  public PageCache(final BufferPool bufferPool, final long resourceID) {
+    mBufferPool = checkNotNull(bufferPool);
+    mResourceID = resourceID;
   }
 
   @Override
   public void clear() {
-    mPageCache.invalidateAll();
+    mBufferPool.clear(mResourceID, BufferPool.Segment.PAGE);
   }
 
   @Override
   public Page get(PageReference key) {
-    return mPageCache.getIfPresent(key);
+    return (Page) mBufferPool.get(mResourceID, BufferPool.Segment.PAGE, key);
   }
 
   @Override
   public void put(PageReference key, Page value) {
-    mPageCache.put(key, value);
+    mBufferPool.put(mResourceID, BufferPool.Segment.PAGE, key, value);
   }
 
   @Override
   public void putAll(Map<? extends PageReference, ? extends Page> map) {
-    mPageCache.putAll(map);
+    map.forEach(this::put);
   }
 
   @Override
@@ -51,12 +53,19 @@ public final class PageCache implements Cache<PageReference, Page> {
 
   @Override
   public Map<PageReference, Page> getAll(Iterable<? extends PageReference> keys) {
-    return mPageCache.getAllPresent(keys);
+    final Map<PageReference, Page> values = new HashMap<>();
+    for (final PageReference key : keys) {
+      final Page value = get(key);
+      if (value != null) {
+        values.put(key, value);
+      }
+    }
+    return values;
   }
 
   @Override
   public void remove(PageReference key) {
-    mPageCache.invalidate(key);
+    mBufferPool.remove(mResourceID, BufferPool.Segment.PAGE, key);
   }
 
   @Override
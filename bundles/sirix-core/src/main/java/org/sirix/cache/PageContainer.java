@@ -21,6 +21,7 @@
 
 package org.sirix.cache;
 
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.page.interfaces.KeyValuePage;
@@ -43,6 +44,11 @@ import com.google.common.base.Objects;
  * the modifying one for write access (and therefore mostly lazy dereferenced).
  * </p>
  *
+ * <p>
+ * The modifying page might be created lazily, such that containers, which are only used for read
+ * access, don't have to copy the complete page.
+ * </p>
+ *
  * @author Sebastian Graf, University of Konstanz
  * @author Johannes Lichtenberger, University of Konstanz
  *
@@ -53,10 +59,13 @@ public final class PageContainer {
   private final Page mComplete;
 
   /** {@link UnorderedKeyValuePage} reference, which references the modified key/value page. */
-  private final Page mModified;
+  private volatile Page mModified;
+
+  /** Creates the modified page on first access (or {@code null} if already created). */
+  private Supplier<? extends Page> mModifiedSupplier;
 
   /** Empty instance. */
-  private static final PageContainer EMPTY_INSTANCE = new PageContainer(null, null);
+  private static final PageContainer EMPTY_INSTANCE = new PageContainer(null, null, null);
 
   /**
    * Get the empty instance (parameterized).
@@ -77,7 +86,20 @@ public final class PageContainer {
     // Assertions as it's not part of the public API.
     assert complete != null;
     assert modifying != null;
-    return new PageContainer(complete, modifying);
+    return new PageContainer(complete, modifying, null);
+  }
+
+  /**
+   * Get a new instance, whose modifying page is created on first access.
+   *
+   * @param complete to be used as a base for this container
+   * @param modifying creates the modifying page (called at most once)
+   */
+  public static final PageContainer getInstance(final Page complete, final Supplier<? extends Page> modifying) {
+    // Assertions as it's not part of the public API.
+    assert complete != null;
+    assert modifying != null;
+    return new PageContainer(complete, null, modifying);
   }
 
   /**
@@ -85,10 +107,12 @@ public final class PageContainer {
    *
    * @param complete to be used as a base for this container
    * @param modifying to be used as a base for this container
+   * @param modifyingSupplier creates the modifying page, if it's not given
    */
-  private PageContainer(final Page complete, final Page modifying) {
+  private PageContainer(final Page complete, final Page modifying, final Supplier<? extends Page> modifyingSupplier) {
     mComplete = complete;
     mModified = modifying;
+    mModifiedSupplier = modifyingSupplier;
   }
 
   /**
@@ -106,12 +130,33 @@ public final class PageContainer {
    * @return the modified page
    */
   public Page getModified() {
+    Page modified = mModified;
+    if (modified == null) {
+      synchronized (this) {
+        modified = mModified;
+        if (modified == null && mModifiedSupplier != null) {
+          modified = mModifiedSupplier.get();
+          mModified = modified;
+          mModifiedSupplier = null;
+        }
+      }
+    }
+    return modified;
+  }
+
+  /**
+   * Getting the modified page without creating it.
+   *
+   * @return the modified page or {@code null}, if it hasn't been created yet
+   */
+  @Nullable
+  Page getModifiedIfPresent() {
     return mModified;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mComplete, mModified);
+    return Objects.hashCode(mComplete);
   }
 
   @Override
@@ -119,8 +164,9 @@ public final class PageContainer {
     if (!(obj instanceof PageContainer))
       return false;
 
+    // The modifying page might not be created yet and is not compared in order not to create it.
     final PageContainer other = (PageContainer) obj;
-    return Objects.equal(mComplete, other.mComplete) && Objects.equal(mModified, other.mModified);
+    return Objects.equal(mComplete, other.mComplete);
   }
 
   @Override
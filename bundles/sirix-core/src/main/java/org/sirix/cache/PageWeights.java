@@ -0,0 +1,54 @@
+package org.sirix.cache;
+
+import org.sirix.page.interfaces.KeyValuePage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Estimates the number of bytes of deserialized pages, which are held in memory.
+ */
+final class PageWeights {
+  /**
+   * The estimated number of bytes of a page, regardless of its records.
+   */
+  static final int PAGE_WEIGHT = 4_096;
+
+  /**
+   * The estimated number of bytes of a record in a {@link KeyValuePage}.
+   */
+  static final int RECORD_WEIGHT = 256;
+
+  private PageWeights() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Estimate the number of bytes of the pages of a container.
+   *
+   * @param container the container
+   * @return the estimated number of bytes of the complete and the modified page
+   */
+  static long weigh(final PageContainer container) {
+    final Page complete = container.getComplete();
+    final Page modified = container.getModifiedIfPresent();
+    long weight = weigh(complete);
+    if (modified != null && modified != complete) {
+      weight += weigh(modified);
+    }
+    return weight;
+  }
+
+  /**
+   * Estimate the number of bytes of a page. The records of a {@link KeyValuePage} are weighed by an
+   * average record size, such that a page combined from several fragments accounts for the records
+   * of all fragments.
+   *
+   * @param page the page
+   * @return the estimated number of bytes of the page
+   */
+  static long weigh(final Page page) {
+    if (page instanceof KeyValuePage) {
+      return PAGE_WEIGHT + (long) ((KeyValuePage<?, ?>) page).size() * RECORD_WEIGHT;
+    }
+    return PAGE_WEIGHT;
+  }
+}
@@ -1,48 +1,48 @@
 package org.sirix.cache;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import org.sirix.page.PageReference;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.RemovalCause;
-import com.github.benmanes.caffeine.cache.RemovalListener;
 
+/**
+ * View of the {@link BufferPool}, which caches the {@link PageContainer}s of a single resource.
+ */
 public final class RecordPageCache implements Cache<PageReference, PageContainer> {
 
-  private final com.github.benmanes.caffeine.cache.Cache<PageReference, PageContainer> mPageCache;
+  private final BufferPool mBufferPool;
 
-  public RecordPageCache() {
-    final RemovalListener<PageReference, PageContainer> removalListener;
+  private final long mResourceID;
 
-    removalListener =
-        (PageReference key, PageContainer value, RemovalCause cause) -> key.setPage(null);
-
-    mPageCache = Caffeine.newBuilder()
-                         .maximumSize(1000)
-                         .expireAfterWrite(5000, TimeUnit.SECONDS)
-                         .expireAfterAccess(5000, TimeUnit.SECONDS)
-                         .removalListener(removalListener)
-                         .build();
+  /**
+   * Constructor.
+   *
+   * @param bufferPool the buffer pool shared by all resources of a database
+   * @param resourceID the ID of the resource
+   */
+  public RecordPageCache(final BufferPool bufferPool, final long resourceID) {
+    mBufferPool = checkNotNull(bufferPool);
+    mResourceID = resourceID;
   }
 
   @Override
   public void clear() {
-    mPageCache.invalidateAll();
+    mBufferPool.clear(mResourceID, BufferPool.Segment.RECORD_PAGE);
   }
 
   @Override
   public PageContainer get(PageReference key) {
-    return mPageCache.getIfPresent(key);
+    return (PageContainer) mBufferPool.get(mResourceID, BufferPool.Segment.RECORD_PAGE, key);
   }
 
   @Override
   public void put(PageReference key, PageContainer value) {
-    mPageCache.put(key, value);
+    mBufferPool.put(mResourceID, BufferPool.Segment.RECORD_PAGE, key, value);
   }
 
   @Override
   public void putAll(Map<? extends PageReference, ? extends PageContainer> map) {
-    mPageCache.putAll(map);
+    map.forEach(this::put);
   }
 
   @Override
@@ -52,12 +52,19 @@ public final class RecordPageCache implements Cache<PageReference, PageContainer
 
   @Override
   public Map<PageReference, PageContainer> getAll(Iterable<? extends PageReference> keys) {
-    return mPageCache.getAllPresent(keys);
+    final Map<PageReference, PageContainer> values = new HashMap<>();
+    for (final PageReference key : keys) {
+      final PageContainer value = get(key);
+      if (value != null) {
+        values.put(key, value);
+      }
+    }
+    return values;
   }
 
   @Override
   public void remove(PageReference key) {
-    mPageCache.invalidate(key);
+    mBufferPool.remove(mResourceID, BufferPool.Segment.RECORD_PAGE, key);
   }
 
   @Override
@@ -27,44 +27,52 @@
  */
 package org.sirix.cache;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import org.sirix.page.RevisionRootPage;
-import com.github.benmanes.caffeine.cache.Caffeine;
 
 /**
+ * View of the {@link BufferPool}, which caches the {@link RevisionRootPage}s of a single resource.
+ *
  * @author Johannes Lichtenberger <lichtenberger.johannes@gmail.com>
  *
  */
 public final class RevisionRootPageCache implements Cache<Integer, RevisionRootPage> {
-  private final com.github.benmanes.caffeine.cache.Cache<Integer, RevisionRootPage> mPageCache;
 
-  public RevisionRootPageCache() {
-    mPageCache = Caffeine.newBuilder()
-                         .maximumSize(1000)
-                         .expireAfterWrite(5000, TimeUnit.SECONDS)
-                         .expireAfterAccess(5000, TimeUnit.SECONDS)
-                         .build();
+  private final BufferPool mBufferPool;
+
+  private final long mResourceID;
+
+  /**
+   * Constructor.
+   *
+   * @param bufferPool the buffer pool shared by all resources of a database
+   * @param resourceID the ID of the resource
+   */
+  public RevisionRootPageCache(final BufferPool bufferPool, final long resourceID) {
+    mBufferPool = checkNotNull(bufferPool);
+    mResourceID = resourceID;
   }
 
   @Override
   public void clear() {
-    mPageCache.invalidateAll();
+    mBufferPool.clear(mResourceID, BufferPool.Segment.REVISION_ROOT_PAGE);
   }
 
   @Override
   public RevisionRootPage get(Integer key) {
-    return mPageCache.getIfPresent(key);
+    return (RevisionRootPage) mBufferPool.get(mResourceID, BufferPool.Segment.REVISION_ROOT_PAGE, key);
   }
 
   @Override
   public void put(Integer key, RevisionRootPage value) {
-    mPageCache.put(key, value);
+    mBufferPool.put(mResourceID, BufferPool.Segment.REVISION_ROOT_PAGE, key, value);
   }
 
   @Override
   public void putAll(Map<? extends Integer, ? extends RevisionRootPage> map) {
-    mPageCache.putAll(map);
+    map.forEach(this::put);
   }
 
   @Override
@@ -74,12 +82,19 @@ public final class RevisionRootPageCache implements Cache<Integer, RevisionRootP
 
   @Override
   public Map<Integer, RevisionRootPage> getAll(Iterable<? extends Integer> keys) {
-    return mPageCache.getAllPresent(keys);
+    final Map<Integer, RevisionRootPage> values = new HashMap<>();
+    for (final Integer key : keys) {
+      final RevisionRootPage value = get(key);
+      if (value != null) {
+        values.put(key, value);
+      }
+    }
+    return values;
   }
 
   @Override
   public void remove(Integer key) {
-    mPageCache.invalidate(key);
+    mBufferPool.remove(mResourceID, BufferPool.Segment.REVISION_ROOT_PAGE, key);
   }
 
   @Override
@@ -1,45 +1,136 @@
 package org.sirix.cache;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import javax.annotation.Nullable;
-
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.annotation.Nonnegative;
 import org.sirix.api.PageReadOnlyTrx;
-import org.sirix.page.CASPage;
-import org.sirix.page.NamePage;
+import org.sirix.exception.SirixIOException;
+import org.sirix.page.IndirectPage;
+import org.sirix.page.PagePersister;
 import org.sirix.page.PageReference;
-import org.sirix.page.PathPage;
-import org.sirix.page.PathSummaryPage;
-import org.sirix.page.RevisionRootPage;
-import org.sirix.page.UberPage;
+import org.sirix.page.SerializationType;
+import org.sirix.page.interfaces.KeyValuePage;
+import org.sirix.page.interfaces.Page;
 import org.sirix.settings.Constants;
-import com.google.common.base.MoreObjects;
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 
 /**
  * The transaction intent log, used for logging everything a write transaction changes.
  *
+ * <p>
+ * The log keeps the most recently used pages in memory, as long as their estimated size doesn't
+ * exceed a given number of bytes, which might be shared by several logs. Otherwise the least
+ * recently used record and indirect pages are appended to a log file. The position of each spilled
+ * page is kept in a primitive index, which is addressed by the log key of the page reference, such
+ * that a spilled page is read back with a single positional read.
+ * </p>
+ *
  * @author Johannes Lichtenberger <lichtenberger.johannes@gmail.com>
  */
 public final class TransactionIntentLog implements AutoCloseable {
   /**
-   * The collection to hold the maps.
+   * The maximum number of entries, which are accessed while a record page is prepared for
+   * modification: one indirect page per level, two more if the tree grows by a level, and the record
+   * page itself.
+   */
+  private static final int MAX_ENTRIES_PER_PREPARATION = Constants.INP_LEVEL_PAGE_COUNT_EXPONENT.length + 3;
+
+  /**
+   * The minimum number of most recently used entries, which are never spilled. See {@link #evict()}
+   * for the invariant it guarantees.
+   */
+  private static final int MIN_IN_MEMORY_ENTRIES = 2 * MAX_ENTRIES_PER_PREPARATION;
+
+  /**
+   * Denotes an entry, which hasn't been spilled to the log file.
+   */
+  private static final long NOT_SPILLED = -1;
+
+  /**
+   * Denotes that the modified page of a spilled entry is the complete page.
+   */
+  private static final int SAME_AS_COMPLETE = -1;
+
+  /**
+   * The in-memory entries in access order, keyed by the log key.
+   */
+  private final Map<Integer, Entry> mMap;
+
+  /**
+   * The log file, the pages are appended to.
+   */
+  private final FileChannel mLogFile;
+
+  /**
+   * The maximum number of bytes of the in-memory pages of all logs, which share the budget.
+   */
+  private final long mMaxInMemoryBytes;
+
+  /**
+   * The estimated number of bytes of the in-memory pages of all logs, which share the budget.
+   */
+  private final AtomicLong mSharedInMemoryBytes;
+
+  /**
+   * Serializes pages.
+   */
+  private final PagePersister mPagePersister;
+
+  /**
+   * The buffer, a spilled page is serialized into.
+   */
+  private final Buffer mBuffer;
+
+  /**
+   * The output of the buffer.
    */
-  private final Map<PageReference, PageContainer> mMap;
+  private final DataOutputStream mOutput;
 
   /**
-   * Maps in-memory key to persistent key and vice versa.
+   * The offsets of the spilled entries in the log file (or {@code -1}).
    */
-  private final BiMap<Integer, Long> mMapToPersistentLogKey;
+  private long[] mOffsets;
 
   /**
-   * The reference to the second cache.
+   * The lengths of the serialized complete pages of the spilled entries.
    */
-  private final PersistentFileCache mSecondCache;
+  private int[] mCompleteLengths;
+
+  /**
+   * The lengths of the serialized modified pages of the spilled entries ({@code 0}, if the modified
+   * page hasn't been created and {@code -1}, if it's the complete page).
+   */
+  private int[] mModifiedLengths;
+
+  /**
+   * The estimated number of bytes of the in-memory pages.
+   */
+  private long mInMemoryBytes;
+
+  /**
+   * The position, the next page is appended to.
+   */
+  private long mPosition;
+
+  /**
+   * The first log key of the current transaction.
+   */
+  private int mFirstLogKey;
 
   /**
    * The log key.
@@ -47,203 +138,185 @@ public final class TransactionIntentLog implements AutoCloseable {
   private int mLogKey;
 
   /**
-   * Creates a new LRU cache.
+   * Creates a new transaction intent log.
    *
-   * @param secondCache         the reference to the second {@link Cache} where the data is stored when it
-   *                            gets removed from the first one.
-   * @param maxInMemoryCapacity the maximum size of the in-memory map
+   * @param logFile          the file, the pages are appended to, if the in-memory pages exceed the
+   *                         maximum number of bytes
+   * @param maxInMemoryBytes the maximum estimated number of bytes of the in-memory pages
+   * @throws SirixIOException if the log file couldn't be opened
    */
-  public TransactionIntentLog(final PersistentFileCache secondCache, final int maxInMemoryCapacity) {
-    // Assertion instead of checkNotNull(...).
-    assert secondCache != null;
-    mLogKey = 0;
-    mSecondCache = secondCache;
-    mMapToPersistentLogKey = HashBiMap.create(maxInMemoryCapacity);
-    mMap = new LinkedHashMap<>(maxInMemoryCapacity) {
-      private static final long serialVersionUID = 1;
-
-      @Override
-      protected boolean removeEldestEntry(final @Nullable Map.Entry<PageReference, PageContainer> eldest) {
-        boolean returnVal = false;
-        if (size() > maxInMemoryCapacity) {
-          if (eldest != null) {
-            final PageReference key = eldest.getKey();
-            assert key.getLogKey() != Constants.NULL_ID_INT;
-            final PageContainer value = eldest.getValue();
-            if (key != null && value != null) {
-              mSecondCache.put(key, value);
-              mMapToPersistentLogKey.put(key.getLogKey(), key.getPersistentLogKey());
-            }
-          }
-          returnVal = true;
-        }
-        return returnVal;
-      }
-    };
-//    // Assertion instead of checkNotNull(...).
-//    assert secondCache != null;
-//    mLogKey = 0;
-//    mSecondCache = secondCache;
-//    mMapToPersistentLogKey = HashBiMap.create();
-//    mMap = new LinkedHashMap<>(maxInMemoryCapacity, 0.75f, true) {
-//      private static final long serialVersionUID = 1;
-//
-//      @Override
-//      protected boolean removeEldestEntry(final @Nullable Map.Entry<PageReference, PageContainer> eldest) {
-//        boolean returnVal = false;
-//        if (size() > maxInMemoryCapacity) {
-//          if (isImportant(eldest)) {
-//            this.remove(eldest.getKey());
-//            this.put(eldest.getKey(), eldest.getValue());
-//          } else {
-//            final PageReference key = eldest.getKey();
-//            assert key.getLogKey() != Constants.NULL_ID_INT;
-//            final PageContainer value = eldest.getValue();
-//            if (key != null && value != null) {
-//              mSecondCache.put(key, value);
-//              mMapToPersistentLogKey.put(key.getLogKey(), key.getPersistentLogKey());
-//            }
-//          }
-//          returnVal = true;
-//        }
-//        return returnVal;
-//      }
-//
-//      private boolean isImportant(Map.Entry<PageReference, PageContainer> eldest) {
-//        final var page = eldest.getValue().getComplete();
-//        if (page instanceof RevisionRootPage || page instanceof NamePage || page instanceof CASPage
-//            || page instanceof PathPage || page instanceof PathSummaryPage || page instanceof UberPage) {
-//          return true;
-//        }
-//        return false;
-//      }
-//    };
-//        // Assertion instead of checkNotNull(...).
-//        assert secondCache != null;
-//        mLogKey = 0;
-//        mSecondCache = secondCache;
-//        mMapToPersistentLogKey = HashBiMap.create(maxInMemoryCapacity);
-//        mMap = new LinkedHashMap<>(maxInMemoryCapacity, 0.75f, true) {
-//          private static final long serialVersionUID = 1;
-//
-//          @Override
-//          protected boolean removeEldestEntry(final @Nullable Map.Entry<PageReference, PageContainer> eldest) {
-//            boolean returnVal = false;
-//            if (size() > maxInMemoryCapacity) {
-//              if (eldest != null) {
-//                final var iter = mMap.entrySet().iterator();
-//                while (iter.hasNext()) {
-//                  final Map.Entry<PageReference, PageContainer> entry = iter.next();
-//                  final PageReference key = entry.getKey();
-//                  assert key.getLogKey() != Constants.NULL_ID_INT;
-//                  PageContainer value = entry.getValue();
-//                  if (!isImportant(entry) && key != null && value != null) {
-//                    iter.remove();
-//                    mSecondCache.put(key, value);
-//                    value = null;
-//                    mMapToPersistentLogKey.put(key.getLogKey(), key.getPersistentLogKey());
-//                  }
-//                }
-//              }
-//              returnVal = true;
-//            }
-//            return returnVal;
-//          }
-//        };
+  public TransactionIntentLog(final Path logFile, final @Nonnegative long maxInMemoryBytes) {
+    this(logFile, maxInMemoryBytes, new AtomicLong());
   }
 
   /**
-   * Retrieves an entry from the cache.<br>
-   * The retrieved entry becomes the MRU (most recently used) entry.
+   * Creates a new transaction intent log, which shares the budget of in-memory pages with other logs.
    *
-   * @param key the key whose associated value is to be returned.
-   * @return the value associated to this key, or {@code null} if no value with this key exists in the
-   * cache
+   * @param logFile             the file, the pages are appended to, if the in-memory pages of all
+   *                            logs exceed the maximum number of bytes
+   * @param maxInMemoryBytes    the maximum estimated number of bytes of the in-memory pages of all
+   *                            logs
+   * @param sharedInMemoryBytes the estimated number of bytes of the in-memory pages of all logs
+   * @throws SirixIOException if the log file couldn't be opened
+   */
+  public TransactionIntentLog(final Path logFile, final @Nonnegative long maxInMemoryBytes,
+      final AtomicLong sharedInMemoryBytes) {
+    checkNotNull(logFile);
+    checkArgument(maxInMemoryBytes >= 0, "maxInMemoryBytes must be >= 0!");
+    mSharedInMemoryBytes = checkNotNull(sharedInMemoryBytes);
+    try {
+      mLogFile = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    mMaxInMemoryBytes = maxInMemoryBytes;
+    mMap = new LinkedHashMap<>(16, 0.75f, true);
+    mPagePersister = new PagePersister();
+    mBuffer = new Buffer();
+    mOutput = new DataOutputStream(mBuffer);
+    resetIndex();
+  }
+
+  /**
+   * Retrieves an entry from the log.<br>
+   * The retrieved entry becomes the MRU (most recently used) entry. A spilled entry is read back into
+   * memory.
+   *
+   * @param key     the key whose associated value is to be returned.
+   * @param pageRtx the page read-only transaction, which is used to deserialize spilled pages
+   * @return the value associated to this key, or the empty {@link PageContainer} if no value with
+   *         this key exists in the log
    */
   public PageContainer get(final PageReference key, final PageReadOnlyTrx pageRtx) {
-    PageContainer value = mMap.get(key);
-    if (value == null) {
-      if (key.getLogKey() != Constants.NULL_ID_INT) {
-        final Long persistentKey = mMapToPersistentLogKey.get(key.getLogKey());
-        if (persistentKey != null)
-          key.setPersistentLogKey(persistentKey);
-      }
-      value = mSecondCache.get(key, pageRtx);
-      if (value != null && !PageContainer.emptyInstance().equals(value)) {
-        mMapToPersistentLogKey.remove(key.getPersistentLogKey());
-        key.setPersistentLogKey(Constants.NULL_ID_LONG);
-        put(key, value);
-      }
+    final int logKey = key.getLogKey();
+    if (!isLogged(logKey)) {
+      return PageContainer.emptyInstance();
+    }
+
+    final Entry entry = mMap.get(logKey);
+    if (entry != null) {
+      // The page might have been modified since its last access.
+      final long weight = PageWeights.weigh(entry.mContainer);
+      addInMemoryBytes(weight - entry.mWeight);
+      entry.mWeight = weight;
+      evict();
+      return entry.mContainer;
+    }
+
+    final PageContainer value = readSpilled(logKey - mFirstLogKey, pageRtx);
+    if (value != PageContainer.emptyInstance()) {
+      putInMemory(logKey, key, value);
     }
     return value;
   }
 
   /**
-   * Adds an entry to this cache. If the cache is full, the LRU (least recently used) entry is
-   * dropped.
+   * Removes an entry from the log and returns it. In contrast to {@link #get(PageReference,
+   * PageReadOnlyTrx)} a spilled entry is not read back into memory, such that committing the log
+   * doesn't evict other pages, which are committed afterwards.
+   *
+   * @param key     the key whose associated value is to be removed
+   * @param pageRtx the page read-only transaction, which is used to deserialize spilled pages
+   * @return the value associated to this key, or the empty {@link PageContainer} if no value with
+   *         this key exists in the log
+   */
+  public PageContainer take(final PageReference key, final PageReadOnlyTrx pageRtx) {
+    final int logKey = key.getLogKey();
+    if (!isLogged(logKey)) {
+      return PageContainer.emptyInstance();
+    }
+
+    final Entry entry = mMap.remove(logKey);
+    if (entry != null) {
+      addInMemoryBytes(-entry.mWeight);
+      return entry.mContainer;
+    }
+
+    return readSpilled(logKey - mFirstLogKey, pageRtx);
+  }
+
+  /**
+   * Adds an entry to this log. If the in-memory pages exceed the maximum number of bytes, the LRU
+   * (least recently used) entries are appended to the log file.
    *
    * @param key   the key with which the specified value is to be associated
    * @param value a value to be associated with the specified key
    */
   public void put(final PageReference key, final PageContainer value) {
-    if (mMap.containsKey(key)) {
-      mMap.remove(key);
-    }
+    remove(key);
 
     key.setKey(Constants.NULL_ID_LONG);
     key.setLogKey(mLogKey++);
     key.setPersistentLogKey(Constants.NULL_ID_LONG);
-    mMap.put(key, value);
+
+    ensureIndexCapacity(key.getLogKey() - mFirstLogKey);
+    putInMemory(key.getLogKey(), key, value);
   }
 
   /**
-   * Removes an entry from this cache.
+   * Removes an entry from this log.
    *
    * @param key the key with which the specified value is to be associated
    */
   public void remove(final PageReference key) {
-    mMap.remove(key);
-    mMapToPersistentLogKey.remove(key);
+    final int logKey = key.getLogKey();
+    if (!isLogged(logKey)) {
+      return;
+    }
+
+    final Entry entry = mMap.remove(logKey);
+    if (entry != null) {
+      addInMemoryBytes(-entry.mWeight);
+    } else {
+      mOffsets[logKey - mFirstLogKey] = NOT_SPILLED;
+    }
   }
 
   /**
-   * Clears the cache.
+   * Clears the log.
    */
   public void clear() {
     mLogKey = 0;
-    mMap.clear();
+    truncate();
   }
 
   /**
-   * Returns the number of used entries in the cache.
+   * Returns the number of used in-memory entries in the log.
    *
-   * @return the number of entries currently in the cache.
+   * @return the number of entries currently in memory
    */
   public int usedEntries() {
     return mMap.size();
   }
 
   /**
-   * Returns a {@code Collection} that contains a copy of all cache entries.
+   * Returns the estimated number of bytes of the in-memory entries.
    *
-   * @return a {@code Collection} with a copy of the cache content
+   * @return the estimated number of bytes of the in-memory entries
    */
-  public Collection<Map.Entry<? super PageReference, ? super PageContainer>> getAll() {
-    return new ArrayList<Map.Entry<? super PageReference, ? super PageContainer>>(mMap.entrySet());
+  public long usedBytes() {
+    return mInMemoryBytes;
   }
 
-  //  @Override
-  //  public String toString() {
-  //    return MoreObjects.toStringHelper(this).add("First Cache", mMap).add("Second Cache", mSecondCache).toString();
-  //  }
+  /**
+   * Returns a {@code Collection} that contains a copy of all in-memory entries.
+   *
+   * @return a {@code Collection} with a copy of the in-memory content
+   */
+  public Collection<Map.Entry<? super PageReference, ? super PageContainer>> getAll() {
+    return new ArrayList<Map.Entry<? super PageReference, ? super PageContainer>>(getMap().entrySet());
+  }
 
   /**
-   * Get a view of the underlying map.
+   * Get an unmodifiable copy of the in-memory entries.
    *
-   * @return an unmodifiable view of all entries in the cache
+   * @return an unmodifiable copy of all in-memory entries in the log
    */
   public Map<PageReference, PageContainer> getMap() {
-    return Collections.unmodifiableMap(mMap);
+    final Map<PageReference, PageContainer> map = new LinkedHashMap<>(mMap.size());
+    mMap.values().forEach(entry -> map.put(entry.mReference, entry.mContainer));
+    return Collections.unmodifiableMap(map);
   }
 
   /**
@@ -252,15 +325,216 @@ public final class TransactionIntentLog implements AutoCloseable {
    * @return this log instance
    */
   public TransactionIntentLog truncate() {
-    mSecondCache.close();
-    mMapToPersistentLogKey.clear();
+    // Log keys of the former transaction are never reused, as the page references still store them.
+    mFirstLogKey = mLogKey;
     mMap.clear();
+    addInMemoryBytes(-mInMemoryBytes);
+    resetIndex();
+
+    try {
+      mLogFile.truncate(0);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    mPosition = 0;
     return this;
   }
 
   @Override
   public void close() {
     mMap.clear();
-    mSecondCache.close();
+    addInMemoryBytes(-mInMemoryBytes);
+    try {
+      mLogFile.close();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private boolean isLogged(final int logKey) {
+    return logKey != Constants.NULL_ID_INT && logKey >= mFirstLogKey && logKey < mLogKey;
+  }
+
+  private void putInMemory(final int logKey, final PageReference reference, final PageContainer value) {
+    final Entry entry = new Entry(reference, value, PageWeights.weigh(value));
+    mMap.put(logKey, entry);
+    addInMemoryBytes(entry.mWeight);
+    evict();
+  }
+
+  private void addInMemoryBytes(final long bytes) {
+    mInMemoryBytes += bytes;
+    mSharedInMemoryBytes.addAndGet(bytes);
+  }
+
+  /**
+   * Appends the LRU entries to the log file, until the in-memory pages don't exceed the maximum
+   * number of bytes anymore. Pages other than record pages and indirect pages are never spilled, as
+   * the page transaction holds on to them.
+   *
+   * <p>
+   * A spilled page is serialized and its in-memory instance is dropped, such that later changes of
+   * that instance (or of the page references it holds) are lost. The page transaction therefore
+   * relies on the {@link #MIN_IN_MEMORY_ENTRIES} most recently used entries never being spilled:
+   * the indirect pages and the record page of the preparation in progress are never spilled, as it
+   * accesses at most {@link #MAX_ENTRIES_PER_PREPARATION} entries. The record page of the previous
+   * preparation is kept in memory, too, such that a record, which has been prepared for modification,
+   * has to be modified before the next but one record page is prepared.
+   * </p>
+   */
+  private void evict() {
+    if (mSharedInMemoryBytes.get() <= mMaxInMemoryBytes) {
+      return;
+    }
+
+    // Each log spills its own pages, if the in-memory pages of all logs exceed the budget.
+    final Iterator<Map.Entry<Integer, Entry>> iterator = mMap.entrySet().iterator();
+    while (mSharedInMemoryBytes.get() > mMaxInMemoryBytes && mMap.size() > MIN_IN_MEMORY_ENTRIES
+        && iterator.hasNext()) {
+      final Map.Entry<Integer, Entry> eldest = iterator.next();
+      final Entry entry = eldest.getValue();
+      final Page complete = entry.mContainer.getComplete();
+
+      if (complete instanceof KeyValuePage || complete instanceof IndirectPage) {
+        spill(eldest.getKey() - mFirstLogKey, entry.mContainer);
+        iterator.remove();
+        addInMemoryBytes(-entry.mWeight);
+      }
+    }
+  }
+
+  private void spill(final int index, final PageContainer container) {
+    final Page complete = container.getComplete();
+    final Page modified = container.getModifiedIfPresent();
+
+    try {
+      mBuffer.reset();
+      mPagePersister.serializePage(mOutput, complete, SerializationType.TRANSACTION_INTENT_LOG);
+      final int completeLength = mBuffer.size();
+
+      final int modifiedLength;
+      if (modified == null) {
+        modifiedLength = 0;
+      } else if (modified == complete) {
+        modifiedLength = SAME_AS_COMPLETE;
+      } else {
+        mPagePersister.serializePage(mOutput, modified, SerializationType.TRANSACTION_INTENT_LOG);
+        modifiedLength = mBuffer.size() - completeLength;
+      }
+
+      final ByteBuffer buffer = mBuffer.toByteBuffer();
+      final long offset = mPosition;
+      while (buffer.hasRemaining()) {
+        mPosition += mLogFile.write(buffer, mPosition);
+      }
+
+      mOffsets[index] = offset;
+      mCompleteLengths[index] = completeLength;
+      mModifiedLengths[index] = modifiedLength;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private PageContainer readSpilled(final int index, final PageReadOnlyTrx pageRtx) {
+    final long offset = mOffsets[index];
+    if (offset == NOT_SPILLED) {
+      return PageContainer.emptyInstance();
+    }
+    mOffsets[index] = NOT_SPILLED;
+
+    final int completeLength = mCompleteLengths[index];
+    final int modifiedLength = mModifiedLengths[index];
+    final ByteBuffer buffer = read(offset, completeLength + Math.max(modifiedLength, 0));
+    final Page complete = deserialize(buffer, pageRtx);
+
+    switch (modifiedLength) {
+      case SAME_AS_COMPLETE:
+        return PageContainer.getInstance(complete, complete);
+      case 0:
+        // Deserializing the complete page once more yields a copy, which is only created if needed. The
+        // bytes are appended to the log file, which is only truncated after the transaction ends.
+        final Supplier<Page> modified = () -> deserialize(read(offset, completeLength), pageRtx);
+        return PageContainer.getInstance(complete, modified);
+      default:
+        return PageContainer.getInstance(complete, deserialize(buffer.position(completeLength), pageRtx));
+    }
+  }
+
+  private ByteBuffer read(final long offset, final int length) {
+    // A new buffer is allocated each time, as the pages might be lazily decoded from the buffer.
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    try {
+      long position = offset;
+      while (buffer.hasRemaining()) {
+        final int read = mLogFile.read(buffer, position);
+        if (read < 0) {
+          throw new SirixIOException("Unexpected end of the transaction intent log.");
+        }
+        position += read;
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    return buffer.flip();
+  }
+
+  private Page deserialize(final ByteBuffer buffer, final PageReadOnlyTrx pageRtx) {
+    try {
+      return mPagePersister.deserializePage(buffer, pageRtx, SerializationType.TRANSACTION_INTENT_LOG);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private void ensureIndexCapacity(final int index) {
+    if (index >= mOffsets.length) {
+      final int oldLength = mOffsets.length;
+      final int newLength = Math.max(index + 1, oldLength << 1);
+      mOffsets = Arrays.copyOf(mOffsets, newLength);
+      Arrays.fill(mOffsets, oldLength, newLength, NOT_SPILLED);
+      mCompleteLengths = Arrays.copyOf(mCompleteLengths, newLength);
+      mModifiedLengths = Arrays.copyOf(mModifiedLengths, newLength);
+    }
+  }
+
+  private void resetIndex() {
+    mOffsets = new long[1 << 10];
+    Arrays.fill(mOffsets, NOT_SPILLED);
+    mCompleteLengths = new int[1 << 10];
+    mModifiedLengths = new int[1 << 10];
+  }
+
+  /**
+   * An in-memory entry.
+   */
+  private static final class Entry {
+    /** The page reference, the entry has been put or read back with. */
+    private final PageReference mReference;
+
+    /** The pages. */
+    private final PageContainer mContainer;
+
+    /** The estimated number of bytes of the pages. */
+    private long mWeight;
+
+    private Entry(final PageReference reference, final PageContainer container, final long weight) {
+      mReference = reference;
+      mContainer = container;
+      mWeight = weight;
+    }
+  }
+
+  /**
+   * A byte array output stream, whose content is wrapped instead of copied.
+   */
+  private static final class Buffer extends ByteArrayOutputStream {
+    private Buffer() {
+      super(1 << 16);
+    }
+
+    private ByteBuffer toByteBuffer() {
+      return ByteBuffer.wrap(buf, 0, count);
+    }
   }
 }
@@ -0,0 +1,272 @@
+package org.sirix.diff;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnegative;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.exception.SirixIOException;
+
+/**
+ * The keys of the nodes, which have been inserted, updated or removed in a revision (or a range of
+ * revisions), in the order of their first modification. Only the roots of inserted and removed
+ * subtrees are recorded, whereas nodes, which have been inserted and removed afterwards, are
+ * dropped. Change sets are stored by the write transaction on commit, if enabled in the
+ * {@link ResourceConfiguration}, such that diffs between adjacent revisions don't have to traverse
+ * the revisions.
+ *
+ * @author Johannes Lichtenberger
+ */
+public final class ChangeSet {
+
+  /** The kind of a modification of a node. */
+  public enum Operation {
+    /** The node (and its subtree) has been inserted. */
+    INSERT,
+
+    /** The name or value of the node has been updated. */
+    UPDATE,
+
+    /** The node (and its subtree) has been removed. */
+    REMOVE
+  }
+
+  /** Folder in the data folder of a resource, which stores the change sets. */
+  private static final String FOLDER = "changes";
+
+  /** File extension of a stored change set. */
+  private static final String FILE_EXTENSION = ".changes";
+
+  /** Operations by node key in the order of their first modification. */
+  private final Map<Long, Operation> mChanges;
+
+  /**
+   * Constructor.
+   */
+  public ChangeSet() {
+    mChanges = new LinkedHashMap<>();
+  }
+
+  /**
+   * Record the insertion of a node.
+   *
+   * @param nodeKey the key of the inserted node
+   */
+  public void recordInsert(final long nodeKey) {
+    mChanges.put(nodeKey, Operation.INSERT);
+  }
+
+  /**
+   * Record the update of a node. Updates of inserted nodes are part of the insertion.
+   *
+   * @param nodeKey the key of the updated node
+   */
+  public void recordUpdate(final long nodeKey) {
+    mChanges.putIfAbsent(nodeKey, Operation.UPDATE);
+  }
+
+  /**
+   * Record the removal of a node. Removals of inserted nodes cancel the insertion.
+   *
+   * @param nodeKey the key of the removed node
+   */
+  public void recordRemove(final long nodeKey) {
+    if (mChanges.get(nodeKey) == Operation.INSERT) {
+      mChanges.remove(nodeKey);
+    } else {
+      mChanges.put(nodeKey, Operation.REMOVE);
+    }
+  }
+
+  /**
+   * Add the changes of a subsequent revision.
+   *
+   * @param changeSet the change set of the subsequent revision
+   * @return this change set
+   */
+  public ChangeSet addAll(final ChangeSet changeSet) {
+    for (final Map.Entry<Long, Operation> change : changeSet.mChanges.entrySet()) {
+      switch (change.getValue()) {
+        case INSERT:
+          recordInsert(change.getKey());
+          break;
+        case UPDATE:
+          recordUpdate(change.getKey());
+          break;
+        case REMOVE:
+          recordRemove(change.getKey());
+          break;
+        default:
+          throw new AssertionError();
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Get the operations by node key in the order of their first modification.
+   *
+   * @return unmodifiable view of the operations
+   */
+  public Map<Long, Operation> getChanges() {
+    return Collections.unmodifiableMap(mChanges);
+  }
+
+  /**
+   * Determines if no changes have been recorded.
+   *
+   * @return {@code true}, if no changes have been recorded, {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return mChanges.isEmpty();
+  }
+
+  /**
+   * Remove all recorded changes.
+   */
+  public void clear() {
+    mChanges.clear();
+  }
+
+  /**
+   * Get the file, which stores the change set of a revision.
+   *
+   * @param resourceConfig the configuration of the resource
+   * @param revision the revision number
+   * @return the file
+   */
+  public static Path getFile(final ResourceConfiguration resourceConfig, final @Nonnegative int revision) {
+    return resourceConfig.resourcePath.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath())
+                                      .resolve(FOLDER)
+                                      .resolve(revision + FILE_EXTENSION);
+  }
+
+  /**
+   * Store the change set of a revision, that is the number of changes followed by the operation and
+   * the variable length encoded node key of each change.
+   *
+   * @param resourceConfig the configuration of the resource
+   * @param revision the revision number
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public void write(final ResourceConfiguration resourceConfig, final @Nonnegative int revision) {
+    final Path file = getFile(checkNotNull(resourceConfig), revision);
+    final Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      Files.createDirectories(file.getParent());
+      try (final DataOutputStream output =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+        writeVarLong(output, mChanges.size());
+        for (final Map.Entry<Long, Operation> change : mChanges.entrySet()) {
+          output.writeByte(change.getValue().ordinal());
+          writeVarLong(output, change.getKey());
+        }
+      }
+      Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Remove a stored change set, for instance as the changes of a revision are unknown.
+   *
+   * @param resourceConfig the configuration of the resource
+   * @param revision the revision number
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public static void remove(final ResourceConfiguration resourceConfig, final @Nonnegative int revision) {
+    try {
+      Files.deleteIfExists(getFile(checkNotNull(resourceConfig), revision));
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Read the stored change set of a revision.
+   *
+   * @param resourceConfig the configuration of the resource
+   * @param revision the revision number
+   * @return the change set or {@link Optional#empty()}, if it hasn't been stored
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public static Optional<ChangeSet> read(final ResourceConfiguration resourceConfig, final @Nonnegative int revision) {
+    final Path file = getFile(checkNotNull(resourceConfig), revision);
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+
+    final Operation[] operations = Operation.values();
+    try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      final ChangeSet changeSet = new ChangeSet();
+      final long size = readVarLong(input);
+      for (long i = 0; i < size; i++) {
+        final Operation operation = operations[input.readByte()];
+        changeSet.mChanges.put(readVarLong(input), operation);
+      }
+      return Optional.of(changeSet);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Read and combine the stored change sets of all revisions after {@code oldRevision} up to and
+   * including {@code newRevision}.
+   *
+   * @param resourceConfig the configuration of the resource
+   * @param oldRevision the old revision number
+   * @param newRevision the new revision number
+   * @return the combined change set or {@link Optional#empty()}, if one of the change sets hasn't
+   *         been stored
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public static Optional<ChangeSet> read(final ResourceConfiguration resourceConfig,
+      final @Nonnegative int oldRevision, final @Nonnegative int newRevision) {
+    checkArgument(oldRevision < newRevision, "oldRevision must be < newRevision!");
+    final ChangeSet changeSet = new ChangeSet();
+    for (int revision = oldRevision + 1; revision <= newRevision; revision++) {
+      final Optional<ChangeSet> changesOfRevision = read(resourceConfig, revision);
+      if (changesOfRevision.isEmpty()) {
+        return Optional.empty();
+      }
+      changeSet.addAll(changesOfRevision.get());
+    }
+    return Optional.of(changeSet);
+  }
+
+  private static void writeVarLong(final DataOutput output, final long value) throws IOException {
+    long remaining = value;
+    while ((remaining & ~0x7FL) != 0) {
+      output.writeByte((int) ((remaining & 0x7F) | 0x80));
+      remaining >>>= 7;
+    }
+    output.writeByte((int) remaining);
+  }
+
+  private static long readVarLong(final DataInput input) throws IOException {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = input.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+}
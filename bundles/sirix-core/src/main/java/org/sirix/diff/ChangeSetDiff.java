@@ -0,0 +1,287 @@
+package org.sirix.diff;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Optional;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.ResourceManager;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.diff.ChangeSet.Operation;
+import org.sirix.diff.DiffFactory.Builder;
+import org.sirix.diff.DiffFactory.DiffType;
+import org.sirix.node.NodeKind;
+import org.sirix.settings.Fixed;
+
+/**
+ * JSON diff between adjacent or near-adjacent revisions, which is based on the change sets stored
+ * by the write transaction on commit instead of traversing the revisions. Thus, the costs are
+ * proportional to the number of changes and the siblings of the changed nodes and their ancestors.
+ * Only the roots of inserted and deleted subtrees are reported. A node, which has been inserted in
+ * place of a deleted node, is reported as a replacement. The diffs are fired in document order.
+ *
+ * @author Johannes Lichtenberger
+ */
+final class ChangeSetDiff extends AbstractDiffObservable {
+
+  /** Maximum number of revisions between the old and the new revision, whose change sets are combined. */
+  static final int MAX_REVISION_DISTANCE = 16;
+
+  /** {@link ResourceManager} reference. */
+  private final ResourceManager<JsonNodeReadOnlyTrx, JsonNodeTrx> mResMgr;
+
+  /** New revision. */
+  private final int mNewRev;
+
+  /** Old revision. */
+  private final int mOldRev;
+
+  /** Start key of both revisions. */
+  private final long mStartKey;
+
+  /** Determines if the change sets can be used for the diff. */
+  private final boolean mApplicable;
+
+  /**
+   * Constructor.
+   *
+   * @param builder {@link Builder} reference
+   */
+  ChangeSetDiff(final Builder<JsonNodeReadOnlyTrx, JsonNodeTrx> builder) {
+    mResMgr = checkNotNull(builder).mResMgr;
+    mNewRev = builder.mNewRev;
+    mOldRev = builder.mOldRev;
+    mStartKey = builder.mNewStartKey;
+    mApplicable = mResMgr.getResourceConfig().storeChangeSets && builder.mSkipSubtrees
+        && builder.mNewStartKey == builder.mOldStartKey && mNewRev > mOldRev
+        && mNewRev - mOldRev <= MAX_REVISION_DISTANCE;
+
+    synchronized (builder.mObservers) {
+      for (final DiffObserver observer : builder.mObservers) {
+        addObserver(observer);
+      }
+    }
+  }
+
+  /**
+   * Do the diff, if the change sets of all revisions after the old revision up to the new revision
+   * are available.
+   *
+   * @return {@code true}, if the diff has been done, {@code false} otherwise
+   */
+  boolean diff() {
+    if (!mApplicable) {
+      return false;
+    }
+
+    final ResourceConfiguration resourceConfig = mResMgr.getResourceConfig();
+    final Optional<ChangeSet> changeSet = ChangeSet.read(resourceConfig, mOldRev, mNewRev);
+    if (changeSet.isEmpty()) {
+      return false;
+    }
+
+    try (final JsonNodeReadOnlyTrx newRtx = mResMgr.beginNodeReadOnlyTrx(mNewRev);
+        final JsonNodeReadOnlyTrx oldRtx = mResMgr.beginNodeReadOnlyTrx(mOldRev)) {
+      if (!newRtx.moveTo(mStartKey).hasMoved() || !oldRtx.moveTo(mStartKey).hasMoved()) {
+        return false;
+      }
+
+      final Map<Long, Operation> changes = changeSet.get().getChanges();
+      final Map<Long, Integer> newChildIndexes = new HashMap<>();
+      final Map<Long, Integer> oldChildIndexes = new HashMap<>();
+      final List<ReportedChange> reportedChanges = new ArrayList<>();
+      final Map<List<Long>, ReportedChange> deletionsBySlot = new HashMap<>();
+
+      for (final Map.Entry<Long, Operation> change : changes.entrySet()) {
+        final long nodeKey = change.getKey();
+        final boolean existsInNew = newRtx.moveTo(nodeKey).hasMoved();
+        final boolean existsInOld = oldRtx.moveTo(nodeKey).hasMoved();
+
+        switch (change.getValue()) {
+          case INSERT:
+            if (existsInNew && !existsInOld) {
+              final int depth = depthIfReported(newRtx, changes, Operation.INSERT);
+              if (depth != -1) {
+                reportedChanges.add(new ReportedChange(DiffType.INSERTED, nodeKey, newRtx.getParentKey(),
+                    new DiffDepth(depth, depth - 1), documentPosition(newRtx, depth, newChildIndexes)));
+              }
+            }
+            break;
+          case REMOVE:
+            if (existsInOld && !existsInNew) {
+              final int depth = depthIfReported(oldRtx, changes, Operation.REMOVE);
+              if (depth != -1) {
+                final ReportedChange deletion = new ReportedChange(DiffType.DELETED, oldRtx.getParentKey(), nodeKey,
+                    new DiffDepth(depth - 1, depth), documentPosition(oldRtx, depth, oldChildIndexes));
+                reportedChanges.add(deletion);
+                deletionsBySlot.putIfAbsent(slot(oldRtx), deletion);
+              }
+            }
+            break;
+          case UPDATE:
+            if (existsInNew && existsInOld && newRtx.getKind() == oldRtx.getKind()
+                && !JsonDiff.checkNamesOrValues(newRtx, oldRtx)) {
+              final int depth = depthIfReported(newRtx, changes, Operation.UPDATE);
+              if (depth != -1) {
+                reportedChanges.add(new ReportedChange(DiffType.UPDATED, nodeKey, nodeKey, new DiffDepth(depth, depth),
+                    documentPosition(newRtx, depth, newChildIndexes)));
+              }
+            }
+            break;
+          default:
+            throw new AssertionError();
+        }
+      }
+
+      // A node, which has been inserted in place of a deleted node, replaces it (as in the traversal diff).
+      if (!deletionsBySlot.isEmpty()) {
+        for (final ListIterator<ReportedChange> iter = reportedChanges.listIterator(); iter.hasNext();) {
+          final ReportedChange insertion = iter.next();
+          if (insertion.mDiffType == DiffType.INSERTED) {
+            newRtx.moveTo(insertion.mNewNodeKey);
+            final ReportedChange deletion = deletionsBySlot.remove(slot(newRtx));
+            if (deletion != null) {
+              deletion.mReplaced = true;
+              iter.set(new ReportedChange(DiffType.REPLACEDNEW, insertion.mNewNodeKey, deletion.mOldNodeKey,
+                  new DiffDepth(insertion.mDepth.getNewDepth(), deletion.mDepth.getOldDepth()), insertion.mPosition));
+            }
+          }
+        }
+        reportedChanges.removeIf(change -> change.mReplaced);
+      }
+
+      // Insertions are anchored to their left siblings, thus the diffs are fired in document order.
+      reportedChanges.sort(Comparator.<ReportedChange, int[]>comparing(change -> change.mPosition, Arrays::compare)
+                                     .thenComparing(change -> change.mDiffType == DiffType.DELETED));
+
+      for (final ReportedChange change : reportedChanges) {
+        if (change.mDiffType == DiffType.REPLACEDNEW) {
+          fireDiff(DiffType.REPLACEDOLD, change.mNewNodeKey, change.mOldNodeKey, change.mDepth);
+        }
+        fireDiff(change.mDiffType, change.mNewNodeKey, change.mOldNodeKey, change.mDepth);
+      }
+    }
+
+    done();
+    return true;
+  }
+
+  /**
+   * Determines the depth of a changed node, if it has to be reported, that is if it's in the subtree
+   * of the start node and, in case of an insert or removal, if none of its ancestors has been
+   * inserted or removed alongside.
+   *
+   * @param rtx transactional cursor located at the changed node, in the new revision for inserts and
+   *        updates, in the old revision for removals
+   * @param changes all changes
+   * @param operation the operation on the node
+   * @return the depth of the node or {@code -1}, if it must not be reported
+   */
+  private int depthIfReported(final JsonNodeReadOnlyTrx rtx, final Map<Long, Operation> changes,
+      final Operation operation) {
+    final long nodeKey = rtx.getNodeKey();
+    boolean inSubtree = nodeKey == mStartKey;
+    boolean reported = true;
+    int depth = 0;
+
+    while (rtx.hasParent()) {
+      rtx.moveToParent();
+      depth++;
+
+      if (!inSubtree && operation != Operation.UPDATE && changes.get(rtx.getNodeKey()) == operation) {
+        reported = false;
+      }
+      if (rtx.getNodeKey() == mStartKey) {
+        inSubtree = true;
+      }
+    }
+
+    rtx.moveTo(nodeKey);
+
+    return inSubtree && reported && rtx.getKind() != NodeKind.JSON_DOCUMENT
+        ? depth
+        : -1;
+  }
+
+  /**
+   * Determines the position of a node in document order, that is the indexes of the node and its
+   * ancestors among their siblings, starting below the document root. The indexes of all children of
+   * a parent are determined at once.
+   *
+   * @param rtx transactional cursor located at the node
+   * @param depth the depth of the node
+   * @param childIndexes the indexes of the nodes among their siblings, which are known so far
+   * @return the position of the node
+   */
+  private static int[] documentPosition(final JsonNodeReadOnlyTrx rtx, final int depth,
+      final Map<Long, Integer> childIndexes) {
+    final long nodeKey = rtx.getNodeKey();
+    final int[] position = new int[depth];
+
+    for (int level = depth - 1; level >= 0; level--) {
+      final long childKey = rtx.getNodeKey();
+      rtx.moveToParent();
+
+      if (!childIndexes.containsKey(childKey)) {
+        final long parentKey = rtx.getNodeKey();
+        rtx.moveToFirstChild();
+        int index = 0;
+        do {
+          childIndexes.put(rtx.getNodeKey(), index++);
+        } while (rtx.moveToRightSibling().hasMoved());
+        rtx.moveTo(parentKey);
+      }
+
+      position[level] = childIndexes.get(childKey);
+    }
+
+    rtx.moveTo(nodeKey);
+    return position;
+  }
+
+  /**
+   * Determines the slot of a node, which is used to detect replaced nodes, that is its parent and
+   * its right sibling or, if it has no right sibling, its left sibling.
+   *
+   * @param rtx transactional cursor located at the node
+   * @return the slot of the node
+   */
+  private static List<Long> slot(final JsonNodeReadOnlyTrx rtx) {
+    return rtx.hasRightSibling()
+        ? List.of(rtx.getParentKey(), rtx.getRightSiblingKey(), Fixed.NULL_NODE_KEY.getStandardProperty())
+        : List.of(rtx.getParentKey(), Fixed.NULL_NODE_KEY.getStandardProperty(), rtx.getLeftSiblingKey());
+  }
+
+  /**
+   * A change, which is reported, together with its position in document order.
+   */
+  private static final class ReportedChange {
+    private final DiffType mDiffType;
+
+    private final long mNewNodeKey;
+
+    private final long mOldNodeKey;
+
+    private final DiffDepth mDepth;
+
+    private final int[] mPosition;
+
+    /** Determines if a deletion is reported as part of a replacement. */
+    private boolean mReplaced;
+
+    ReportedChange(final DiffType diffType, final long newNodeKey, final long oldNodeKey, final DiffDepth depth,
+        final int[] position) {
+      mDiffType = diffType;
+      mNewNodeKey = newNodeKey;
+      mOldNodeKey = oldNodeKey;
+      mDepth = depth;
+      mPosition = position;
+    }
+  }
+}
@@ -122,7 +122,8 @@ public final class DiffFactory {
     },
 
     /**
-     * JSON diff.
+     * JSON diff, which is based on the stored change sets for adjacent or near-adjacent revisions if
+     * available.
      */
     JSON {
       @Override
@@ -131,8 +132,25 @@ public final class DiffFactory {
         @SuppressWarnings("unchecked")
         final Builder<JsonNodeReadOnlyTrx, JsonNodeTrx> jsonDiffBuilder =
             (Builder<JsonNodeReadOnlyTrx, JsonNodeTrx>) builder;
+        if (new ChangeSetDiff(jsonDiffBuilder).diff()) {
+          return;
+        }
         new JsonDiff(jsonDiffBuilder).diffMovement();
       }
+    },
+
+    /**
+     * Hash-pruned, parallel JSON diff.
+     */
+    JSON_HASH_PRUNED {
+      @Override
+      <R extends NodeReadOnlyTrx & NodeCursor, W extends NodeTrx & NodeCursor> void invoke(
+          final Builder<R, W> builder) {
+        @SuppressWarnings("unchecked")
+        final Builder<JsonNodeReadOnlyTrx, JsonNodeTrx> jsonDiffBuilder =
+            (Builder<JsonNodeReadOnlyTrx, JsonNodeTrx>) builder;
+        new HashPrunedJsonDiff(jsonDiffBuilder).diff();
+      }
     };
 
     /**
@@ -326,7 +344,8 @@ public final class DiffFactory {
   }
 
   /**
-   * Do a full JSON diff.
+   * Do a full JSON diff. If subtrees are skipped and the change sets between the revisions are
+   * stored, they are used instead of traversing the revisions.
    *
    * @param builder {@link Builder} reference
    */
@@ -334,6 +353,17 @@ public final class DiffFactory {
     DiffAlgorithm.JSON.invoke(builder);
   }
 
+  /**
+   * Do a JSON diff, which matches nodes by their node keys, skips subtrees with equal hashes and
+   * diffs large changed subtrees concurrently. The diffs are streamed to the observers, which are
+   * never called concurrently, but the order of the diffs of distinct subtrees is unspecified.
+   *
+   * @param builder {@link Builder} reference
+   */
+  public static void invokeHashPrunedJsonDiff(final Builder<JsonNodeReadOnlyTrx, JsonNodeTrx> builder) {
+    DiffAlgorithm.JSON_HASH_PRUNED.invoke(builder);
+  }
+
   /**
    * Do a full diff.
    *
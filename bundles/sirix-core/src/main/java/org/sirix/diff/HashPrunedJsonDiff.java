@@ -0,0 +1,336 @@
+package org.sirix.diff;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.sirix.access.trx.node.HashType;
+import org.sirix.api.ResourceManager;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.diff.DiffFactory.Builder;
+import org.sirix.diff.DiffFactory.DiffOptimized;
+import org.sirix.diff.DiffFactory.DiffType;
+import org.sirix.node.NodeKind;
+
+/**
+ * JSON diff, which matches nodes by their stable node keys. The children of two matching nodes are
+ * compared and subtrees, whose hashes are equal, are skipped wholesale, such that the costs are
+ * proportional to the number of changes instead of the size of the resource. Large changed subtrees
+ * are diffed concurrently on worker threads, each with its own read-only transactions.
+ *
+ * <p>
+ * Diffs are streamed to the observers as they are found. The observers are never called
+ * concurrently, and the diffs of a node are fired before the diffs of its descendants, but the
+ * order between distinct subtrees is unspecified. Moves of nodes are reported as deletes and
+ * inserts.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+final class HashPrunedJsonDiff extends AbstractDiffObservable {
+
+  /** Minimum number of descendants of a changed subtree to diff it on another worker thread. */
+  private static final long FORK_THRESHOLD = 1 << 12;
+
+  /** {@link ResourceManager} reference. */
+  private final ResourceManager<JsonNodeReadOnlyTrx, JsonNodeTrx> mResMgr;
+
+  /** New revision. */
+  private final int mNewRev;
+
+  /** Old revision. */
+  private final int mOldRev;
+
+  /** Start key of new revision. */
+  private final long mNewStartKey;
+
+  /** Start key of old revision. */
+  private final long mOldStartKey;
+
+  /** Depth of "root" node in new revision. */
+  private final int mNewDepth;
+
+  /** Depth of "root" node in old revision. */
+  private final int mOldDepth;
+
+  /** Determines if subtrees with equal hashes are skipped. */
+  private final boolean mPrune;
+
+  /** Determines if only the roots of inserted/deleted/replaced subtrees are emitted. */
+  private final boolean mSkipSubtrees;
+
+  /**
+   * Constructor.
+   *
+   * @param builder {@link Builder} reference
+   */
+  HashPrunedJsonDiff(final Builder<JsonNodeReadOnlyTrx, JsonNodeTrx> builder) {
+    mResMgr = checkNotNull(builder).mResMgr;
+    mNewRev = builder.mNewRev;
+    mOldRev = builder.mOldRev;
+    mNewStartKey = builder.mNewStartKey;
+    mOldStartKey = builder.mOldStartKey;
+    mNewDepth = builder.mNewDepth;
+    mOldDepth = builder.mOldDepth;
+    mPrune = builder.mHashKind != HashType.NONE && builder.mKind == DiffOptimized.HASHED;
+    mSkipSubtrees = builder.mSkipSubtrees;
+
+    synchronized (builder.mObservers) {
+      for (final DiffObserver observer : builder.mObservers) {
+        addObserver(observer);
+      }
+    }
+  }
+
+  /**
+   * Do the diff.
+   */
+  void diff() {
+    ForkJoinPool.commonPool().invoke(new SubtreeDiff(mNewStartKey, mOldStartKey, mNewDepth, mOldDepth, true));
+    done();
+  }
+
+  /**
+   * Diff of the subtrees rooted at two matching nodes.
+   */
+  private final class SubtreeDiff extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final long mNewKey;
+
+    private final long mOldKey;
+
+    private final int mNewDepth;
+
+    private final int mOldDepth;
+
+    /** Determines if it's the diff of the start nodes. */
+    private final boolean mIsRoot;
+
+    /** Subtree diffs forked by this diff. */
+    private final List<SubtreeDiff> mForks;
+
+    SubtreeDiff(final long newKey, final long oldKey, final int newDepth, final int oldDepth, final boolean isRoot) {
+      mNewKey = newKey;
+      mOldKey = oldKey;
+      mNewDepth = newDepth;
+      mOldDepth = oldDepth;
+      mIsRoot = isRoot;
+      mForks = new ArrayList<>();
+    }
+
+    @Override
+    protected void compute() {
+      final JsonNodeReadOnlyTrx newRtx;
+      final JsonNodeReadOnlyTrx oldRtx;
+      synchronized (mResMgr) {
+        newRtx = mResMgr.beginNodeReadOnlyTrx(mNewRev);
+        oldRtx = mResMgr.beginNodeReadOnlyTrx(mOldRev);
+      }
+
+      try (newRtx; oldRtx) {
+        final boolean newRtxMoved = newRtx.moveTo(mNewKey).hasMoved();
+        final boolean oldRtxMoved = oldRtx.moveTo(mOldKey).hasMoved();
+
+        if (mIsRoot && (!newRtxMoved || !oldRtxMoved)) {
+          if (newRtxMoved) {
+            emitSubtree(newRtx, DiffType.INSERTED, mOldKey, mNewDepth, mOldDepth);
+          } else if (oldRtxMoved) {
+            emitSubtree(oldRtx, DiffType.DELETED, mNewKey, mNewDepth, mOldDepth);
+          }
+        } else if (newRtx.getKind() == NodeKind.JSON_DOCUMENT && oldRtx.getKind() == NodeKind.JSON_DOCUMENT) {
+          diffChildren(newRtx, oldRtx, mNewDepth, mOldDepth);
+        } else if (mIsRoot && isSameHash(newRtx, oldRtx)) {
+          emit(DiffType.SAMEHASH, mNewKey, mOldKey, mNewDepth, mOldDepth);
+        } else {
+          diffMatchingNodes(newRtx, oldRtx, mNewDepth, mOldDepth);
+        }
+      }
+
+      for (final SubtreeDiff fork : mForks) {
+        fork.join();
+      }
+    }
+
+    /**
+     * Diff two matching nodes, whose hashes differ, and their subtrees.
+     */
+    private void diffMatchingNodes(final JsonNodeReadOnlyTrx newRtx, final JsonNodeReadOnlyTrx oldRtx,
+        final int newDepth, final int oldDepth) {
+      if (newRtx.getKind() != oldRtx.getKind()) {
+        emitSubtree(oldRtx, DiffType.REPLACEDOLD, newRtx.getNodeKey(), newDepth, oldDepth);
+        emitSubtree(newRtx, DiffType.REPLACEDNEW, oldRtx.getNodeKey(), newDepth, oldDepth);
+        return;
+      }
+
+      final DiffType diff = JsonDiff.checkNamesOrValues(newRtx, oldRtx)
+          ? DiffType.SAME
+          : DiffType.UPDATED;
+      emit(diff, newRtx.getNodeKey(), oldRtx.getNodeKey(), newDepth, oldDepth);
+
+      if (newRtx.hasFirstChild() || oldRtx.hasFirstChild()) {
+        diffChildren(newRtx, oldRtx, newDepth, oldDepth);
+      }
+    }
+
+    /**
+     * Diff the children of two matching nodes. Children with the same node key are matched, all
+     * others are either inserted or deleted.
+     */
+    private void diffChildren(final JsonNodeReadOnlyTrx newRtx, final JsonNodeReadOnlyTrx oldRtx,
+        final int newDepth, final int oldDepth) {
+      final long newParentKey = newRtx.getNodeKey();
+      final long oldParentKey = oldRtx.getNodeKey();
+      final long[] newChildren = childKeys(newRtx);
+      final long[] oldChildren = childKeys(oldRtx);
+
+      // In the common case no children have been inserted or deleted.
+      final Set<Long> newChildSet;
+      final Set<Long> oldChildSet;
+      if (Arrays.equals(newChildren, oldChildren)) {
+        newChildSet = null;
+        oldChildSet = null;
+      } else {
+        newChildSet = toSet(newChildren);
+        oldChildSet = toSet(oldChildren);
+      }
+
+      for (final long childKey : newChildren) {
+        newRtx.moveTo(childKey);
+
+        if (oldChildSet != null && !oldChildSet.contains(childKey)) {
+          emitSubtree(newRtx, DiffType.INSERTED, oldParentKey, newDepth + 1, oldDepth + 1);
+          continue;
+        }
+
+        oldRtx.moveTo(childKey);
+
+        if (isSameHash(newRtx, oldRtx)) {
+          emit(DiffType.SAMEHASH, childKey, childKey, newDepth + 1, oldDepth + 1);
+        } else if (newRtx.getDescendantCount() >= FORK_THRESHOLD || oldRtx.getDescendantCount() >= FORK_THRESHOLD) {
+          final SubtreeDiff fork = new SubtreeDiff(childKey, childKey, newDepth + 1, oldDepth + 1, false);
+          fork.fork();
+          mForks.add(fork);
+        } else {
+          diffMatchingNodes(newRtx, oldRtx, newDepth + 1, oldDepth + 1);
+        }
+      }
+
+      if (newChildSet != null) {
+        for (final long childKey : oldChildren) {
+          if (!newChildSet.contains(childKey)) {
+            oldRtx.moveTo(childKey);
+            emitSubtree(oldRtx, DiffType.DELETED, newParentKey, newDepth + 1, oldDepth + 1);
+          }
+        }
+      }
+
+      newRtx.moveTo(newParentKey);
+      oldRtx.moveTo(oldParentKey);
+    }
+
+    private boolean isSameHash(final JsonNodeReadOnlyTrx newRtx, final JsonNodeReadOnlyTrx oldRtx) {
+      return mPrune && newRtx.getNodeKey() == oldRtx.getNodeKey() && newRtx.getHash().equals(oldRtx.getHash());
+    }
+  }
+
+  /**
+   * Emit a diff for the root of a subtree, which only exists in one of the revisions, and unless
+   * subtrees are skipped, for all of its descendants.
+   *
+   * @param rtx transactional cursor located at the root of the subtree
+   * @param diff the kind of diff
+   * @param otherKey node key in the other revision, which is reported alongside
+   * @param newDepth depth in the new revision
+   * @param oldDepth depth in the old revision
+   */
+  private void emitSubtree(final JsonNodeReadOnlyTrx rtx, final DiffType diff, final long otherKey, final int newDepth,
+      final int oldDepth) {
+    final boolean isNew = diff == DiffType.INSERTED || diff == DiffType.REPLACEDNEW;
+    final long rootKey = rtx.getNodeKey();
+
+    emit(diff, isNew
+        ? rootKey
+        : otherKey, isNew
+            ? otherKey
+            : rootKey,
+        newDepth, oldDepth);
+
+    if (mSkipSubtrees) {
+      return;
+    }
+
+    int depth = 0;
+    while (true) {
+      if (rtx.hasFirstChild()) {
+        rtx.moveToFirstChild();
+        depth++;
+      } else {
+        while (!rtx.hasRightSibling() && depth > 0) {
+          rtx.moveToParent();
+          depth--;
+        }
+        if (depth == 0) {
+          break;
+        }
+        rtx.moveToRightSibling();
+      }
+
+      emit(diff, isNew
+          ? rtx.getNodeKey()
+          : otherKey, isNew
+              ? otherKey
+              : rtx.getNodeKey(),
+          isNew
+              ? newDepth + depth
+              : newDepth,
+          isNew
+              ? oldDepth
+              : oldDepth + depth);
+    }
+
+    rtx.moveTo(rootKey);
+  }
+
+  /**
+   * Fire a diff. The observers are never called concurrently.
+   */
+  private void emit(final DiffType diff, final long newNodeKey, final long oldNodeKey, final int newDepth,
+      final int oldDepth) {
+    final DiffDepth depth = new DiffDepth(newDepth, oldDepth);
+    synchronized (this) {
+      fireDiff(diff, newNodeKey, oldNodeKey, depth);
+    }
+  }
+
+  private static long[] childKeys(final JsonNodeReadOnlyTrx rtx) {
+    final long parentKey = rtx.getNodeKey();
+    long[] childKeys = new long[(int) Math.min(rtx.getChildCount(), Integer.MAX_VALUE - 8)];
+    int size = 0;
+    if (rtx.moveToFirstChild().hasMoved()) {
+      do {
+        if (size == childKeys.length) {
+          childKeys = Arrays.copyOf(childKeys, Math.max(4, size * 2));
+        }
+        childKeys[size++] = rtx.getNodeKey();
+      } while (rtx.moveToRightSibling().hasMoved());
+    }
+    rtx.moveTo(parentKey);
+    return size == childKeys.length
+        ? childKeys
+        : Arrays.copyOf(childKeys, size);
+  }
+
+  private static Set<Long> toSet(final long[] keys) {
+    final Set<Long> set = new HashSet<>(keys.length * 2);
+    for (final long key : keys) {
+      set.add(key);
+    }
+    return set;
+  }
+}
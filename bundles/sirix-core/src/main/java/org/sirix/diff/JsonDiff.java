@@ -59,7 +59,14 @@ final class JsonDiff extends AbstractDiff<JsonNodeReadOnlyTrx, JsonNodeTrx> {
     return found;
   }
 
-  private boolean checkNamesOrValues(final JsonNodeReadOnlyTrx newRtx, final JsonNodeReadOnlyTrx oldRtx) {
+  /**
+   * Check if the names or values of two nodes of the same kind are equal.
+   *
+   * @param newRtx transactional cursor on new revision
+   * @param oldRtx transactional cursor on old revision
+   * @return {@code true}, if the names or values are equal, {@code false} otherwise
+   */
+  static boolean checkNamesOrValues(final JsonNodeReadOnlyTrx newRtx, final JsonNodeReadOnlyTrx oldRtx) {
     boolean found = false;
     switch (newRtx.getKind()) {
       case ARRAY:
@@ -90,7 +97,7 @@ final class JsonDiff extends AbstractDiff<JsonNodeReadOnlyTrx, JsonNodeTrx> {
     return found;
   }
 
-  private boolean checkNamesForEquality(JsonNodeReadOnlyTrx newRtx, JsonNodeReadOnlyTrx oldRtx) {
+  private static boolean checkNamesForEquality(JsonNodeReadOnlyTrx newRtx, JsonNodeReadOnlyTrx oldRtx) {
     return newRtx.getNameKey() == oldRtx.getNameKey();
   }
 
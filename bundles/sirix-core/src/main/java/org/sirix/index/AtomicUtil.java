@@ -1,5 +1,8 @@
 package org.sirix.index;
 
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import javax.annotation.Nullable;
 import org.brackit.xquery.QueryException;
 import org.brackit.xquery.atomic.Atomic;
 import org.brackit.xquery.atomic.Dbl;
@@ -23,6 +26,27 @@ import org.sirix.utils.Calc;
  */
 public final class AtomicUtil {
 
+  /** Comparable key prefix of NaN, which sorts before all other numbers. */
+  private static final byte NUMERIC_NAN = 0x01;
+
+  /** Comparable key prefix of negative infinity. */
+  private static final byte NUMERIC_NEGATIVE_INFINITY = 0x02;
+
+  /** Comparable key prefix of negative numbers. */
+  private static final byte NUMERIC_NEGATIVE = 0x03;
+
+  /** Comparable key prefix of zero. */
+  private static final byte NUMERIC_ZERO = 0x04;
+
+  /** Comparable key prefix of positive numbers. */
+  private static final byte NUMERIC_POSITIVE = 0x05;
+
+  /** Comparable key prefix of positive infinity. */
+  private static final byte NUMERIC_POSITIVE_INFINITY = 0x06;
+
+  /** Comparable key prefix of strings, which sort after all numbers. */
+  private static final byte STRING = 0x10;
+
   // public static Field map(Type type) throws DocumentException {
   // if (!type.isBuiltin()) {
   // throw new DocumentException("%s is not a built-in type", type);
@@ -125,6 +149,93 @@ public final class AtomicUtil {
     throw new SirixRuntimeException("Unsupported type: %s", type);
   }
 
+  /**
+   * Encode an atomic value into a binary key, whose unsigned lexicographic byte order is the order
+   * of the values. All numeric types share one encoding, such that numbers of different types are
+   * comparable, whereas strings are ordered by their Unicode code points and sort after numbers.
+   *
+   * @param atomic the atomic value
+   * @return the binary key or {@code null}, if the type of the value has no binary key encoding
+   */
+  public static @Nullable byte[] toComparableBytes(final Atomic atomic) {
+    if (atomic == null) {
+      return null;
+    }
+    final Type type = atomic.type();
+
+    if (!type.isBuiltin()) {
+      return null;
+    }
+    if (type.instanceOf(Type.STR)) {
+      final byte[] value = Calc.fromString(atomic.stringValue());
+      final byte[] key = new byte[value.length + 1];
+      key[0] = STRING;
+      System.arraycopy(value, 0, key, 1, value.length);
+      return key;
+    }
+    if (type.isNumeric()) {
+      final BigDecimal value;
+      if (type.instanceOf(Type.DBL) || type.instanceOf(Type.FLO)) {
+        final double doubleValue = ((Numeric) atomic).doubleValue();
+        if (Double.isNaN(doubleValue)) {
+          return new byte[] {NUMERIC_NAN};
+        }
+        if (Double.isInfinite(doubleValue)) {
+          return new byte[] {doubleValue < 0
+              ? NUMERIC_NEGATIVE_INFINITY
+              : NUMERIC_POSITIVE_INFINITY};
+        }
+        // Use the shortest decimal representation, such that 1.1 as a double equals 1.1 as a decimal.
+        value = type.instanceOf(Type.FLO)
+            ? new BigDecimal(Float.toString(((Numeric) atomic).floatValue()))
+            : BigDecimal.valueOf(doubleValue);
+      } else {
+        value = ((Numeric) atomic).decimalValue();
+      }
+      return toComparableBytes(value);
+    }
+    return null;
+  }
+
+  /**
+   * Encode a decimal as a sign prefix, followed by the decimal exponent and the significant digits
+   * of its magnitude. The exponent and the digits of negative numbers are inverted, such that larger
+   * magnitudes sort first.
+   *
+   * @param decimal the decimal to encode
+   * @return the binary key
+   */
+  private static byte[] toComparableBytes(final BigDecimal decimal) {
+    if (decimal.signum() == 0) {
+      return new byte[] {NUMERIC_ZERO};
+    }
+
+    final BigDecimal normalized = decimal.stripTrailingZeros();
+    final String digits = normalized.unscaledValue().abs().toString();
+    // The value is 0.<digits> * 10^exponent.
+    final int exponent = digits.length() - normalized.scale();
+    final boolean negative = normalized.signum() < 0;
+    final int invert = negative
+        ? 0xFF
+        : 0x00;
+
+    final ByteArrayOutputStream key = new ByteArrayOutputStream(digits.length() + 6);
+    key.write(negative
+        ? NUMERIC_NEGATIVE
+        : NUMERIC_POSITIVE);
+    final int sortableExponent = exponent ^ Integer.MIN_VALUE;
+    key.write((sortableExponent >>> 24) ^ invert);
+    key.write((sortableExponent >>> 16) ^ invert);
+    key.write((sortableExponent >>> 8) ^ invert);
+    key.write(sortableExponent ^ invert);
+    for (int i = 0; i < digits.length(); i++) {
+      key.write((digits.charAt(i) - '0' + 1) ^ invert);
+    }
+    // Terminate the digits, such that a negative number sorts after the numbers it's a prefix of.
+    key.write(invert);
+    return key.toByteArray();
+  }
+
   public static Atomic toType(Atomic atomic, Type type) {
     try {
       return Cast.cast(null, atomic, type);
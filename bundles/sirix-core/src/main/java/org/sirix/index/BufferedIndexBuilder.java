@@ -0,0 +1,15 @@
+package org.sirix.index;
+
+/**
+ * An index builder, which buffers the collected index entries and writes them into the index once
+ * the traversal has finished.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public interface BufferedIndexBuilder {
+  /**
+   * Write the remaining buffered entries into the index.
+   */
+  void finish();
+}
@@ -0,0 +1,20 @@
+package org.sirix.index;
+
+/**
+ * The order of the keys of a CAS index.
+ *
+ * @author Johannes Lichtenberger
+ */
+public enum CASKeyOrder {
+  /**
+   * Keys are ordered by comparing the atomic values, strings by their UTF-16 code units. Indexes
+   * created before binary keys were introduced are stored in this order.
+   */
+  ATOMIC,
+
+  /**
+   * Keys are ordered by their order-preserving binary encoding, strings by their code points. Types
+   * without a binary encoding are ordered by comparing the atomic values.
+   */
+  BINARY;
+}
@@ -1,9 +1,12 @@
 package org.sirix.index;
 
-import org.sirix.index.avltree.AVLNode;
-import org.sirix.index.avltree.keyvalue.NodeReferences;
-
 public interface Filter {
 
-  <K extends Comparable<? super K>> boolean filter(AVLNode<K, NodeReferences> node);
+  /**
+   * Filter an index entry by its key.
+   *
+   * @param key the key of the index entry
+   * @return {@code true} if the entry has been filtered, {@code false} otherwise
+   */
+  <K extends Comparable<? super K>> boolean filter(K key);
 }
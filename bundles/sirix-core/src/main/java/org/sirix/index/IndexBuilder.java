@@ -9,7 +9,8 @@ import org.sirix.axis.DescendantAxis;
 import org.sirix.axis.NonStructuralWrapperAxis;
 
 /**
- * Build an index by traversing the current revision.
+ * Build an index by traversing the current revision. All indexes are built during a single
+ * traversal.
  *
  * @author Johannes Lichtenberger
  *
@@ -32,6 +33,7 @@ public final class IndexBuilder {
         rtx.acceptVisitor(builder);
       }
     }
+    finish(builders);
     rtx.moveTo(nodeKey);
   }
 
@@ -51,7 +53,22 @@ public final class IndexBuilder {
         rtx.acceptVisitor(builder);
       }
     }
+    finish(builders);
     rtx.moveTo(nodeKey);
   }
 
+  /**
+   * Write the entries, which are still buffered by the index builders, into the indexes. Has to be
+   * called after a traversal with the index builders.
+   *
+   * @param builders the index builders
+   */
+  public static void finish(final Set<?> builders) {
+    for (final Object builder : builders) {
+      if (builder instanceof BufferedIndexBuilder) {
+        ((BufferedIndexBuilder) builder).finish();
+      }
+    }
+  }
+
 }
@@ -33,16 +33,26 @@ public final class IndexDef implements Materializable {
 
   private static final QNm ID_ATTRIBUTE = new QNm("id");
 
+  private static final QNm STRUCTURE_ATTRIBUTE = new QNm("structure");
+
+  private static final QNm KEY_ORDER_ATTRIBUTE = new QNm("keyOrder");
+
   public static final QNm INDEX_TAG = new QNm("index");
 
   private IndexType mType;
 
+  // tree structure, which stores the entries
+  private IndexStructure mStructure = IndexStructure.AVL_TREE;
+
   // unique flag (for CAS indexes)
   private boolean mUnique = false;
 
   // for CAS indexes
   private Type mContentType;
 
+  // key order of CAS indexes, persisted definitions without the attribute use the legacy order
+  private CASKeyOrder mKeyOrder = CASKeyOrder.ATOMIC;
+
   // populated when index is built
   private int mID;
 
@@ -57,8 +67,10 @@ public final class IndexDef implements Materializable {
   /**
    * Name index.
    */
-  IndexDef(final Set<QNm> included, final Set<QNm> excluded, final int indexDefNo) {
+  IndexDef(final Set<QNm> included, final Set<QNm> excluded, final int indexDefNo,
+      final IndexStructure structure) {
     mType = IndexType.NAME;
+    mStructure = checkNotNull(structure);
     mIncluded.addAll(included);
     mExcluded.addAll(excluded);
     mID = indexDefNo;
@@ -67,8 +79,9 @@ public final class IndexDef implements Materializable {
   /**
    * Path index.
    */
-  IndexDef(final Set<Path<QNm>> paths, final int indexDefNo) {
+  IndexDef(final Set<Path<QNm>> paths, final int indexDefNo, final IndexStructure structure) {
     mType = IndexType.PATH;
+    mStructure = checkNotNull(structure);
     mPaths.addAll(paths);
     mID = indexDefNo;
   }
@@ -77,9 +90,11 @@ public final class IndexDef implements Materializable {
    * CAS index.
    */
   IndexDef(final Type contentType, final Set<Path<QNm>> paths, final boolean unique,
-      final int indexDefNo) {
+      final int indexDefNo, final IndexStructure structure) {
     mType = IndexType.CAS;
+    mStructure = checkNotNull(structure);
     mContentType = checkNotNull(contentType);
+    mKeyOrder = CASKeyOrder.BINARY;
     mPaths.addAll(paths);
     mUnique = unique;
     mID = indexDefNo;
@@ -93,10 +108,18 @@ public final class IndexDef implements Materializable {
     tmp.attribute(TYPE_ATTRIBUTE, new Una(mType.toString()));
     tmp.attribute(ID_ATTRIBUTE, new Una(Integer.toString(mID)));
 
+    if (mStructure != IndexStructure.AVL_TREE) {
+      tmp.attribute(STRUCTURE_ATTRIBUTE, new Una(mStructure.toString()));
+    }
+
     if (mContentType != null) {
       tmp.attribute(CONTENT_TYPE_ATTRIBUTE, new Una(mContentType.toString()));
     }
 
+    if (mKeyOrder != CASKeyOrder.ATOMIC) {
+      tmp.attribute(KEY_ORDER_ATTRIBUTE, new Una(mKeyOrder.toString()));
+    }
+
     if (mUnique) {
       tmp.attribute(UNIQUE_ATTRIBUTE, new Una(Boolean.toString(mUnique)));
     }
@@ -163,11 +186,21 @@ public final class IndexDef implements Materializable {
       mType = (IndexType.valueOf(attribute.getValue().stringValue()));
     }
 
+    attribute = root.getAttribute(STRUCTURE_ATTRIBUTE);
+    if (attribute != null) {
+      mStructure = (IndexStructure.valueOf(attribute.getValue().stringValue()));
+    }
+
     attribute = root.getAttribute(CONTENT_TYPE_ATTRIBUTE);
     if (attribute != null) {
       mContentType = (resolveType(attribute.getValue().stringValue()));
     }
 
+    attribute = root.getAttribute(KEY_ORDER_ATTRIBUTE);
+    if (attribute != null) {
+      mKeyOrder = (CASKeyOrder.valueOf(attribute.getValue().stringValue()));
+    }
+
     attribute = root.getAttribute(UNIQUE_ATTRIBUTE);
     if (attribute != null) {
       mUnique = (Boolean.valueOf(attribute.getValue().stringValue()));
@@ -246,6 +279,10 @@ public final class IndexDef implements Materializable {
     return mType;
   }
 
+  public IndexStructure getStructure() {
+    return mStructure;
+  }
+
   public Set<Path<QNm>> getPaths() {
     return Collections.unmodifiableSet(mPaths);
   }
@@ -273,6 +310,15 @@ public final class IndexDef implements Materializable {
     return mContentType;
   }
 
+  /**
+   * Get the key order of a CAS index.
+   *
+   * @return the key order
+   */
+  public CASKeyOrder getKeyOrder() {
+    return mKeyOrder;
+  }
+
   @Override
   public int hashCode() {
     int result = mID;
@@ -24,7 +24,7 @@ public final class IndexDefs {
   }
 
   /**
-   * Create a CAS {@link IndexDef} instance.
+   * Create a CAS {@link IndexDef} instance, whose entries are stored in an AVL tree.
    *
    * @param unique determine if it's unique
    * @param type an optional type
@@ -33,20 +33,46 @@ public final class IndexDefs {
    */
   public static IndexDef createCASIdxDef(final boolean unique, final Optional<Type> optType, final Set<Path<QNm>> paths,
       final int indexDefNo) {
+    return createCASIdxDef(unique, optType, paths, indexDefNo, IndexStructure.AVL_TREE);
+  }
+
+  /**
+   * Create a CAS {@link IndexDef} instance.
+   *
+   * @param unique determine if it's unique
+   * @param type an optional type
+   * @param paths the paths to index
+   * @param structure the tree structure, which stores the entries
+   * @return a new {@link IndexDef} instance
+   */
+  public static IndexDef createCASIdxDef(final boolean unique, final Optional<Type> optType, final Set<Path<QNm>> paths,
+      final int indexDefNo, final IndexStructure structure) {
     final Type type = optType.isPresent()
         ? optType.get()
         : Type.STR;
-    return new IndexDef(type, paths, unique, indexDefNo);
+    return new IndexDef(type, paths, unique, indexDefNo, structure);
   }
 
   /**
-   * Create a path {@link IndexDef}.
+   * Create a path {@link IndexDef}, whose entries are stored in an AVL tree.
    *
    * @param paths the paths to index
    * @return a new path {@link IndexDef} instance
    */
   public static IndexDef createPathIdxDef(final Set<Path<QNm>> paths, final int indexDefNo) {
-    return new IndexDef(paths, indexDefNo);
+    return createPathIdxDef(paths, indexDefNo, IndexStructure.AVL_TREE);
+  }
+
+  /**
+   * Create a path {@link IndexDef}.
+   *
+   * @param paths the paths to index
+   * @param structure the tree structure, which stores the entries
+   * @return a new path {@link IndexDef} instance
+   */
+  public static IndexDef createPathIdxDef(final Set<Path<QNm>> paths, final int indexDefNo,
+      final IndexStructure structure) {
+    return new IndexDef(paths, indexDefNo, structure);
   }
 
   public enum NameIndexType {
@@ -56,47 +82,36 @@ public final class IndexDefs {
   }
 
   public static IndexDef createNameIdxDef(final int indexDefNo, final NameIndexType type) {
-    switch (type) {
-      case JSON:
-        return new IndexDef(ImmutableSet.of(), ImmutableSet.of(), PageConstants.JSON_NAME_INDEX_OFFSET + indexDefNo);
-      case XML:
-        return new IndexDef(ImmutableSet.of(), ImmutableSet.of(), PageConstants.XML_NAME_INDEX_OFFSET + indexDefNo);
-      default:
-        throw new IllegalStateException("Type " + type + " not known.");
-    }
+    return createSelectiveFilteredNameIdxDef(ImmutableSet.of(), ImmutableSet.of(), indexDefNo, type);
+  }
+
+  public static IndexDef createNameIdxDef(final int indexDefNo, final NameIndexType type,
+      final IndexStructure structure) {
+    return createSelectiveFilteredNameIdxDef(ImmutableSet.of(), ImmutableSet.of(), indexDefNo, type, structure);
   }
 
   public static IndexDef createFilteredNameIdxDef(final Set<QNm> excluded, final int indexDefNo,
       final NameIndexType type) {
-    switch (type) {
-      case JSON:
-        return new IndexDef(ImmutableSet.of(), excluded, PageConstants.JSON_NAME_INDEX_OFFSET + indexDefNo);
-      case XML:
-        return new IndexDef(ImmutableSet.of(), excluded, PageConstants.XML_NAME_INDEX_OFFSET + indexDefNo);
-      default:
-        throw new IllegalStateException("Type " + type + " not known.");
-    }
+    return createSelectiveFilteredNameIdxDef(ImmutableSet.of(), excluded, indexDefNo, type);
   }
 
   public static IndexDef createSelectiveNameIdxDef(final Set<QNm> included, final int indexDefNo,
       final NameIndexType type) {
-    switch (type) {
-      case JSON:
-        return new IndexDef(included, ImmutableSet.of(), PageConstants.JSON_NAME_INDEX_OFFSET + indexDefNo);
-      case XML:
-        return new IndexDef(included, ImmutableSet.of(), PageConstants.XML_NAME_INDEX_OFFSET + indexDefNo);
-      default:
-        throw new IllegalStateException("Type " + type + " not known.");
-    }
+    return createSelectiveFilteredNameIdxDef(included, ImmutableSet.of(), indexDefNo, type);
   }
 
   public static IndexDef createSelectiveFilteredNameIdxDef(final Set<QNm> included, final Set<QNm> excluded,
       final int indexDefNo, final NameIndexType type) {
+    return createSelectiveFilteredNameIdxDef(included, excluded, indexDefNo, type, IndexStructure.AVL_TREE);
+  }
+
+  public static IndexDef createSelectiveFilteredNameIdxDef(final Set<QNm> included, final Set<QNm> excluded,
+      final int indexDefNo, final NameIndexType type, final IndexStructure structure) {
     switch (type) {
       case JSON:
-        return new IndexDef(included, excluded, PageConstants.JSON_NAME_INDEX_OFFSET + indexDefNo);
+        return new IndexDef(included, excluded, PageConstants.JSON_NAME_INDEX_OFFSET + indexDefNo, structure);
       case XML:
-        return new IndexDef(included, excluded, PageConstants.XML_NAME_INDEX_OFFSET + indexDefNo);
+        return new IndexDef(included, excluded, PageConstants.XML_NAME_INDEX_OFFSET + indexDefNo, structure);
       default:
         throw new IllegalStateException("Type " + type + " not known.");
     }
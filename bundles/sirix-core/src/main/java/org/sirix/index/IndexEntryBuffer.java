@@ -0,0 +1,185 @@
+package org.sirix.index;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnegative;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import com.google.common.collect.AbstractIterator;
+
+/**
+ * Buffers the (key, node key) pairs collected while building an index and writes them in sorted
+ * runs into the index. A run is sorted in parallel and the node keys of equal keys are grouped into
+ * one {@link NodeReferences} instance, such that each key is looked up and written only once per
+ * run instead of once per node. The first run is bulk loaded, if the index is still empty.
+ *
+ * <p>
+ * All buffers share one memory budget, such that building several indexes at once doesn't buffer
+ * more entries than building a single one. Once the budget is exhausted, the buffer an entry is
+ * added to writes its run.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ *
+ * @param <K> the key type
+ */
+public final class IndexEntryBuffer<K extends Comparable<? super K>> {
+
+  /** Memory budget in bytes of the entries buffered by all buffers. */
+  public static final long MEMORY_BUDGET = Runtime.getRuntime().maxMemory() / 8;
+
+  /** Estimated size in bytes of a buffered entry, including its array slot and a share of its key. */
+  static final int ENTRY_BYTES = 64;
+
+  /** Initial capacity of the entry array. */
+  private static final int INITIAL_CAPACITY = 1 << 10;
+
+  /** Maximum capacity of the entry array. */
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  /** The estimated size in bytes of the entries buffered by all buffers. */
+  private static final AtomicLong BUFFERED_BYTES = new AtomicLong();
+
+  /** The tree writer of the index. */
+  private final IndexTreeWriter<K, NodeReferences> mIndexTreeWriter;
+
+  /** Maximum number of buffered entries of this buffer. */
+  private final int mMaxEntries;
+
+  /** The buffered entries, which are sorted in place once a run is written. */
+  private Entry<K>[] mEntries;
+
+  /** The number of buffered entries. */
+  private int mSize;
+
+  /**
+   * Constructor.
+   *
+   * @param indexTreeWriter the tree writer of the index
+   */
+  public IndexEntryBuffer(final IndexTreeWriter<K, NodeReferences> indexTreeWriter) {
+    this(indexTreeWriter, MAX_CAPACITY);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param indexTreeWriter the tree writer of the index
+   * @param maxEntries maximum number of buffered entries, before a run is written into the index,
+   *        regardless of the shared memory budget
+   */
+  @SuppressWarnings("unchecked")
+  public IndexEntryBuffer(final IndexTreeWriter<K, NodeReferences> indexTreeWriter,
+      final @Nonnegative int maxEntries) {
+    checkArgument(maxEntries > 0, "maxEntries must be > 0!");
+    mIndexTreeWriter = checkNotNull(indexTreeWriter);
+    mMaxEntries = Math.min(maxEntries, MAX_CAPACITY);
+    mEntries = new Entry[Math.min(INITIAL_CAPACITY, mMaxEntries)];
+  }
+
+  /**
+   * Add an entry, which is written into the index with the next run.
+   *
+   * @param key the key
+   * @param nodeKey the key of the referenced node
+   */
+  public void add(final K key, final @Nonnegative long nodeKey) {
+    checkNotNull(key);
+    if (mSize == mEntries.length) {
+      mEntries = Arrays.copyOf(mEntries, (int) Math.min((long) mSize << 1, mMaxEntries));
+    }
+    mEntries[mSize++] = new Entry<>(key, nodeKey);
+    final long bufferedBytes = BUFFERED_BYTES.addAndGet(ENTRY_BYTES);
+    if (mSize == mMaxEntries || bufferedBytes > MEMORY_BUDGET) {
+      flush();
+    }
+  }
+
+  /**
+   * Write the buffered entries into the index.
+   */
+  public void flush() {
+    if (mSize == 0) {
+      return;
+    }
+
+    final int size = mSize;
+    mSize = 0;
+    BUFFERED_BYTES.addAndGet(-(long) size * ENTRY_BYTES);
+    Arrays.parallelSort(mEntries, 0, size,
+        Comparator.<Entry<K>, K>comparing(entry -> entry.mKey).thenComparingLong(entry -> entry.mNodeKey));
+
+    // The postings iterator releases the entries, thus the array is reused for the next run.
+    final Iterator<Map.Entry<K, NodeReferences>> postings = new PostingsIterator<>(mEntries, size);
+    if (mIndexTreeWriter.isEmpty()) {
+      mIndexTreeWriter.bulkLoad(postings);
+      return;
+    }
+
+    while (postings.hasNext()) {
+      final Map.Entry<K, NodeReferences> posting = postings.next();
+      final Optional<NodeReferences> references = mIndexTreeWriter.get(posting.getKey(), SearchMode.EQUAL);
+      mIndexTreeWriter.index(posting.getKey(),
+          references.map(existing -> existing.union(posting.getValue())).orElse(posting.getValue()),
+          MoveCursor.NO_MOVE);
+    }
+  }
+
+  /**
+   * A buffered (key, node key) pair.
+   */
+  private static final class Entry<K> {
+    private final K mKey;
+
+    private final long mNodeKey;
+
+    Entry(final K key, final long nodeKey) {
+      mKey = key;
+      mNodeKey = nodeKey;
+    }
+  }
+
+  /**
+   * Groups the sorted entries by key.
+   */
+  private static final class PostingsIterator<K extends Comparable<? super K>>
+      extends AbstractIterator<Map.Entry<K, NodeReferences>> {
+
+    /** The sorted entries. */
+    private final Entry<K>[] mEntries;
+
+    /** The number of sorted entries. */
+    private final int mSize;
+
+    /** Index of the next entry. */
+    private int mIndex;
+
+    PostingsIterator(final Entry<K>[] entries, final int size) {
+      mEntries = entries;
+      mSize = size;
+    }
+
+    @Override
+    protected Map.Entry<K, NodeReferences> computeNext() {
+      if (mIndex == mSize) {
+        return endOfData();
+      }
+      final K key = mEntries[mIndex].mKey;
+      final Roaring64NavigableMap nodeKeys = new Roaring64NavigableMap();
+      while (mIndex < mSize && key.compareTo(mEntries[mIndex].mKey) == 0) {
+        nodeKeys.addLong(mEntries[mIndex].mNodeKey);
+        // Release the entry as soon as possible.
+        mEntries[mIndex++] = null;
+      }
+      return new AbstractMap.SimpleImmutableEntry<>(key, new NodeReferences(nodeKeys));
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package org.sirix.index;
+
+/**
+ * The tree structure, which stores the entries of an index.
+ *
+ * @author Johannes Lichtenberger
+ */
+public enum IndexStructure {
+  /** Balanced binary search tree, one record per entry. */
+  AVL_TREE,
+
+  /** B+-tree with high fanout, many sorted entries per record. */
+  BPLUS_TREE;
+}
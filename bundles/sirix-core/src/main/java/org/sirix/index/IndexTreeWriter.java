@@ -0,0 +1,100 @@
+package org.sirix.index;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnegative;
+import org.sirix.api.PageTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
+import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.avltree.interfaces.References;
+import org.sirix.index.bplustree.BPlusTreeWriter;
+import org.sirix.node.interfaces.Record;
+import org.sirix.page.UnorderedKeyValuePage;
+
+/**
+ * Writes the entries of an index into the tree structure selected by its {@link IndexDef}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ * @param <K> the key to search for or insert
+ * @param <V> the value
+ */
+public interface IndexTreeWriter<K extends Comparable<? super K>, V extends References> {
+
+  /**
+   * Get a new instance for the structure of an index.
+   *
+   * @param pageWriteTrx {@link PageTrx} for persistent storage
+   * @param indexDef the index definition
+   * @return new tree writer instance
+   */
+  static <K extends Comparable<? super K>, V extends References> IndexTreeWriter<K, V> getInstance(
+      final PageTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx, final IndexDef indexDef) {
+    switch (indexDef.getStructure()) {
+      case BPLUS_TREE:
+        return BPlusTreeWriter.getInstance(pageWriteTrx, indexDef.getType(), indexDef.getID());
+      case AVL_TREE:
+        return AVLTreeWriter.getInstance(pageWriteTrx, indexDef.getType(), indexDef.getID());
+      default:
+        throw new IllegalStateException("Structure " + indexDef.getStructure() + " not known.");
+    }
+  }
+
+  /**
+   * Finds the specified key in the index and returns its value.
+   *
+   * @param key key to be found
+   * @param mode the search mode
+   * @return {@link Optional} reference (with the found value, or a reference which indicates that the
+   *         value hasn't been found)
+   */
+  Optional<V> get(K key, SearchMode mode);
+
+  /**
+   * Checks if the specified token is already indexed; if yes, returns its reference. Otherwise,
+   * creates a new index entry and returns a reference of the indexed token.
+   *
+   * @param key token to be indexed
+   * @param value node key references
+   * @param move determines if the cursor must be moved to the root node or not (if supported)
+   * @return indexed node key references
+   * @throws SirixIOException if an I/O error occurs
+   */
+  V index(K key, V value, MoveCursor move);
+
+  /**
+   * Remove a node key from the value of a key.
+   *
+   * @param key the key for which to search the value
+   * @param nodeKey the nodeKey to remove from the value
+   * @return {@code true}, if the node key has been removed, {@code false} otherwise
+   * @throws SirixIOException if an I/O error occurs
+   */
+  boolean remove(K key, @Nonnegative long nodeKey);
+
+  /**
+   * Determines if the index doesn't contain any entries.
+   *
+   * @return {@code true}, if the index is empty, {@code false} otherwise
+   */
+  boolean isEmpty();
+
+  /**
+   * Loads the entries into an empty index. The default implementation inserts one entry after the
+   * other.
+   *
+   * @param sortedEntries the entries in ascending key order, with distinct keys
+   * @throws IllegalStateException if the index isn't empty
+   */
+  default void bulkLoad(final Iterator<Map.Entry<K, V>> sortedEntries) {
+    if (!isEmpty()) {
+      throw new IllegalStateException("Bulk loading requires an empty index.");
+    }
+    while (sortedEntries.hasNext()) {
+      final Map.Entry<K, V> entry = sortedEntries.next();
+      index(entry.getKey(), entry.getValue(), MoveCursor.TO_DOCUMENT_ROOT);
+    }
+  }
+}
@@ -10,6 +10,7 @@ import org.sirix.api.NodeCursor;
 import org.sirix.api.PageTrx;
 import org.sirix.cache.PageContainer;
 import org.sirix.exception.SirixIOException;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.IndexType;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
@@ -37,7 +38,7 @@ import org.slf4j.LoggerFactory;
  * @param <V> the value
  */
 public final class AVLTreeWriter<K extends Comparable<? super K>, V extends References>
-    extends AbstractForwardingNodeCursor {
+    extends AbstractForwardingNodeCursor implements IndexTreeWriter<K, V> {
   /** Logger. */
   private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(AVLTreeWriter.class));
 
@@ -113,6 +114,7 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
    * @return indexed node key references
    * @throws SirixIOException if an I/O error occurs
    */
+  @Override
   @SuppressWarnings("unchecked")
   public V index(final K key, final V value, final MoveCursor move) throws SirixIOException {
     if (move == MoveCursor.TO_DOCUMENT_ROOT) {
@@ -211,6 +213,7 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
    * @param nodeKey the nodeKey to remove from the value
    * @throws SirixIOException if an I/O error occured
    */
+  @Override
   public boolean remove(final K key, final @Nonnegative long nodeKey) throws SirixIOException {
     checkArgument(nodeKey >= 0, "nodeKey must be >= 0!");
     final Optional<V> searchedValue = mAVLTreeReader.get(checkNotNull(key), SearchMode.EQUAL);
@@ -478,10 +481,16 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
    * @return {@link Optional} reference (with the found value, or a reference which indicates that the
    *         value hasn't been found)
    */
+  @Override
   public Optional<V> get(final K key, final SearchMode mode) {
     return mAVLTreeReader.get(checkNotNull(key), checkNotNull(mode));
   }
 
+  @Override
+  public boolean isEmpty() {
+    return mAVLTreeReader.size() == 0;
+  }
+
   /**
    * Get the {@link AVLTreeReader} used to navigate.
    *
@@ -1,17 +1,20 @@
 package org.sirix.index.avltree.keyvalue;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.Arrays;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.brackit.xquery.QueryException;
 import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.atomic.Numeric;
 import org.brackit.xquery.xdm.Type;
 import org.sirix.exception.SirixException;
 import org.sirix.index.AtomicUtil;
+import org.sirix.index.CASKeyOrder;
+import org.sirix.utils.Calc;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 import com.google.common.base.MoreObjects;
-import com.google.common.base.Objects;
 import com.google.common.collect.ComparisonChain;
 
 /**
@@ -22,6 +25,9 @@ import com.google.common.collect.ComparisonChain;
  */
 public final class CASValue implements Comparable<CASValue> {
 
+  /** Number of bytes of the path node key prefix of a binary key. */
+  private static final int PATH_NODE_KEY_LENGTH = 8;
+
   /** Logger. */
   private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(CASValue.class));
 
@@ -34,18 +40,47 @@ public final class CASValue implements Comparable<CASValue> {
   /** Type of value. */
   private final Type mType;
 
+  /** Order of the keys of the index this value belongs to. */
+  private final CASKeyOrder mKeyOrder;
+
   /**
-   * Constructor.
+   * Binary key of the path node key and the typed value, whose byte order is the key order, or
+   * {@code null} if not computed yet.
+   */
+  private byte[] mComparableKey;
+
+  /** {@code true}, if the typed value has no binary key encoding. */
+  private boolean mNotComparableAsBytes;
+
+  /** The serialized value or {@code null}, if not serialized yet. */
+  private byte[] mBytes;
+
+  /**
+   * Constructor for values, which are ordered by their binary keys.
    *
    * @param value the String value in bytes
    * @param nodeKey the unique node-key
    * @param pathNodeKey the path node-key
    */
   public CASValue(final Atomic value, final Type type, final @Nonnegative long pathNodeKey) {
+    this(value, type, pathNodeKey, CASKeyOrder.BINARY);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param value the String value in bytes
+   * @param nodeKey the unique node-key
+   * @param pathNodeKey the path node-key
+   * @param keyOrder the key order of the index the value is searched in or stored in
+   */
+  public CASValue(final Atomic value, final Type type, final @Nonnegative long pathNodeKey,
+      final CASKeyOrder keyOrder) {
     mValue = checkNotNull(value);
     mType = checkNotNull(type);
     mType.atomicCode();
     mPathNodeKey = pathNodeKey;
+    mKeyOrder = checkNotNull(keyOrder);
   }
 
   /**
@@ -54,13 +89,15 @@ public final class CASValue implements Comparable<CASValue> {
    * @return the value
    */
   public byte[] getValue() {
-    byte[] retVal = new byte[1];
-    try {
-      retVal = AtomicUtil.toBytes(mValue, mType);
-    } catch (final SirixException e) {
-      LOGGER.error(e.getMessage(), e);
+    if (mBytes == null) {
+      try {
+        mBytes = AtomicUtil.toBytes(mValue, mType);
+      } catch (final SirixException e) {
+        LOGGER.error(e.getMessage(), e);
+        return new byte[1];
+      }
     }
-    return retVal;
+    return mBytes;
   }
 
   public Atomic getAtomicValue() {
@@ -72,9 +109,74 @@ public final class CASValue implements Comparable<CASValue> {
     }
   }
 
+  /**
+   * Get the binary key, which consists of the path node key followed by the binary key of the typed
+   * value (see {@link AtomicUtil#toComparableBytes(Atomic)}). Comparing the unsigned bytes of two
+   * keys is equivalent to {@link #compareTo(CASValue)}, if both values use the {@link CASKeyOrder#BINARY}
+   * key order.
+   *
+   * @return the binary key or {@code null}, if the typed value has no binary key encoding
+   */
+  public @Nullable byte[] getComparableKey() {
+    if (mComparableKey == null && !mNotComparableAsBytes) {
+      final Atomic atomic = getAtomicValue();
+      final byte[] value = atomic == null
+          ? null
+          : AtomicUtil.toComparableBytes(atomic);
+      if (value == null) {
+        mNotComparableAsBytes = true;
+      } else {
+        final byte[] key = new byte[PATH_NODE_KEY_LENGTH + value.length];
+        // Flip the sign bit, such that the path node keys are ordered as signed values.
+        Calc.fromLong(mPathNodeKey ^ Long.MIN_VALUE, key, 0);
+        System.arraycopy(value, 0, key, PATH_NODE_KEY_LENGTH, value.length);
+        mComparableKey = key;
+      }
+    }
+    return mComparableKey;
+  }
+
+  /**
+   * Compare the typed value to the binary key of another typed value, ignoring the path node key.
+   *
+   * @param comparableValue a binary key created by {@link AtomicUtil#toComparableBytes(Atomic)}
+   * @return a negative integer, zero, or a positive integer as this value is less than, equal to, or
+   *         greater than the other value
+   * @throws IllegalStateException if this value has no binary key encoding
+   */
+  public int compareValueTo(final byte[] comparableValue) {
+    final byte[] key = getComparableKey();
+    if (key == null) {
+      throw new IllegalStateException("Value " + mValue + " has no binary key encoding.");
+    }
+    return Arrays.compareUnsigned(key, PATH_NODE_KEY_LENGTH, key.length, comparableValue, 0,
+        comparableValue.length);
+  }
+
+  /**
+   * Get the key order of the index this value belongs to.
+   *
+   * @return the key order
+   */
+  public CASKeyOrder getKeyOrder() {
+    return mKeyOrder;
+  }
+
   @Override
   public int compareTo(final @Nullable CASValue other) {
     final CASValue otherValue = other;
+    // Values of indexes stored in the legacy order are always compared as atomic values.
+    if (mKeyOrder == CASKeyOrder.BINARY && otherValue.mKeyOrder == CASKeyOrder.BINARY) {
+      final byte[] thisKey = getComparableKey();
+      final byte[] otherKey = thisKey == null
+          ? null
+          : otherValue.getComparableKey();
+      if (otherKey != null) {
+        return Arrays.compareUnsigned(thisKey, otherKey);
+      }
+    }
+
+    // Fall back to comparing the atomic values, if a type has no binary key encoding.
     Atomic thisAtomic = null;
     Atomic otherAtomic = null;
     try {
@@ -91,15 +193,29 @@ public final class CASValue implements Comparable<CASValue> {
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mValue, mType, mPathNodeKey);
+    // Consistent with compareTo(CASValue) in both key orders: equal numbers of different types and
+    // numbers, which only differ in digits beyond the precision of a double, must have the same hash.
+    final Atomic atomic = getAtomicValue();
+    final int valueHash;
+    if (atomic instanceof Numeric) {
+      valueHash = Long.hashCode((long) Math.floor(((Numeric) atomic).doubleValue()));
+    } else if (atomic != null && (mType.instanceOf(Type.STR) || mType.instanceOf(Type.UNA))) {
+      valueHash = atomic.stringValue().hashCode();
+    } else {
+      valueHash = 0;
+    }
+    return 31 * Long.hashCode(mPathNodeKey) + valueHash;
   }
 
   @Override
   public boolean equals(final @Nullable Object obj) {
     if (obj instanceof CASValue) {
-      final CASValue otherValue = (CASValue) obj;
-      return Objects.equal(otherValue.mValue, mValue) && Objects.equal(otherValue.mType, mType)
-          && otherValue.mPathNodeKey == mPathNodeKey;
+      try {
+        return compareTo((CASValue) obj) == 0;
+      } catch (final ClassCastException e) {
+        // The atomic values aren't comparable.
+        return false;
+      }
     }
     return false;
   }
@@ -118,6 +234,7 @@ public final class CASValue implements Comparable<CASValue> {
     return MoreObjects.toStringHelper(this)
                       .add("value", mValue)
                       .add("pathNodeKey", mPathNodeKey)
+                      .add("keyOrder", mKeyOrder)
                       .toString();
   }
 
@@ -1,29 +1,33 @@
 package org.sirix.index.avltree.keyvalue;
 
-import java.util.Collections;
-import java.util.HashSet;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.Set;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
 import org.sirix.index.avltree.interfaces.References;
 import com.google.common.base.MoreObjects;
-import com.google.common.base.Objects;
 
 /**
- * Text node-ID references.
+ * Text node-ID references. The node keys are stored in a compressed bitmap, such that even postings
+ * of values, which are referenced by millions of nodes, are small, sorted and can be combined with
+ * other postings without building hash sets.
  *
  * @author Johannes Lichtenberger
  *
  */
 public final class NodeReferences implements References {
-  /** A {@link Set} of node-keys. */
-  private final Set<Long> mNodeKeys;
+  /** The compressed, sorted node-keys. */
+  private final Roaring64NavigableMap mNodeKeys;
 
   /**
    * Default constructor.
    */
   public NodeReferences() {
-    mNodeKeys = new HashSet<>();
+    mNodeKeys = new Roaring64NavigableMap();
   }
 
   /**
@@ -32,7 +36,95 @@ public final class NodeReferences implements References {
    * @param nodeKeys node keys
    */
   public NodeReferences(final Set<Long> nodeKeys) {
-    mNodeKeys = nodeKeys;
+    mNodeKeys = new Roaring64NavigableMap();
+    checkNotNull(nodeKeys).forEach(mNodeKeys::addLong);
+    mNodeKeys.runOptimize();
+  }
+
+  /**
+   * Constructor. Runs of consecutive node keys are converted to intervals once, such that the bitmap
+   * isn't modified when it's serialized.
+   *
+   * @param nodeKeys compressed node keys, which are owned by this instance afterwards
+   */
+  public NodeReferences(final Roaring64NavigableMap nodeKeys) {
+    mNodeKeys = checkNotNull(nodeKeys);
+    mNodeKeys.runOptimize();
+  }
+
+  /**
+   * Get the union of all node references.
+   *
+   * @param references the node references to combine, for instance the result of an index scan
+   * @return new node references, which contain all node keys
+   */
+  public static NodeReferences union(final Iterator<? extends NodeReferences> references) {
+    final Roaring64NavigableMap nodeKeys = new Roaring64NavigableMap();
+    while (references.hasNext()) {
+      nodeKeys.or(references.next().getNodeKeyBitmap());
+    }
+    return new NodeReferences(nodeKeys);
+  }
+
+  /**
+   * Get the union of this and other node references.
+   *
+   * @param other the other node references
+   * @return new node references, which contain the node keys of both
+   */
+  public NodeReferences union(final NodeReferences other) {
+    final Roaring64NavigableMap nodeKeys = copyNodeKeys();
+    nodeKeys.or(other.mNodeKeys);
+    return new NodeReferences(nodeKeys);
+  }
+
+  /**
+   * Get the intersection of this and other node references, for instance to combine the postings of
+   * several predicates.
+   *
+   * @param other the other node references
+   * @return new node references, which contain the node keys present in both
+   */
+  public NodeReferences intersection(final NodeReferences other) {
+    final Roaring64NavigableMap nodeKeys = copyNodeKeys();
+    nodeKeys.and(other.mNodeKeys);
+    return new NodeReferences(nodeKeys);
+  }
+
+  /**
+   * Get the node keys of this instance, which are not present in the other node references.
+   *
+   * @param other the other node references
+   * @return new node references, which contain the difference
+   */
+  public NodeReferences difference(final NodeReferences other) {
+    final Roaring64NavigableMap nodeKeys = copyNodeKeys();
+    nodeKeys.andNot(other.mNodeKeys);
+    return new NodeReferences(nodeKeys);
+  }
+
+  private Roaring64NavigableMap copyNodeKeys() {
+    final Roaring64NavigableMap nodeKeys = new Roaring64NavigableMap();
+    nodeKeys.or(mNodeKeys);
+    return nodeKeys;
+  }
+
+  /**
+   * Get the compressed node keys, for instance to serialize them. The bitmap must not be modified.
+   *
+   * @return the compressed node keys
+   */
+  public Roaring64NavigableMap getNodeKeyBitmap() {
+    return mNodeKeys;
+  }
+
+  /**
+   * Get the number of node keys.
+   *
+   * @return number of node keys
+   */
+  public long getNodeKeyCount() {
+    return mNodeKeys.getLongCardinality();
   }
 
   @Override
@@ -40,25 +132,35 @@ public final class NodeReferences implements References {
     return mNodeKeys.contains(nodeKey);
   }
 
+  /**
+   * Get an unmodifiable set view of the node keys, which iterates over the node keys in ascending
+   * order without copying them.
+   *
+   * @return set of all keys
+   */
   @Override
   public Set<Long> getNodeKeys() {
-    return Collections.unmodifiableSet(mNodeKeys);
+    return new NodeKeySet(mNodeKeys);
   }
 
   @Override
   public NodeReferences addNodeKey(final @Nonnegative long nodeKey) {
-    mNodeKeys.add(nodeKey);
+    mNodeKeys.addLong(nodeKey);
     return this;
   }
 
   @Override
   public boolean removeNodeKey(@Nonnegative long nodeKey) {
-    return mNodeKeys.remove(nodeKey);
+    if (!mNodeKeys.contains(nodeKey)) {
+      return false;
+    }
+    mNodeKeys.removeLong(nodeKey);
+    return true;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mNodeKeys);
+    return mNodeKeys.hashCode();
   }
 
   @Override
@@ -73,7 +175,7 @@ public final class NodeReferences implements References {
   @Override
   public String toString() {
     final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this);
-    for (final long nodeKey : mNodeKeys) {
+    for (final long nodeKey : getNodeKeys()) {
       helper.add("referenced node key", nodeKey);
     }
     return helper.toString();
@@ -88,4 +190,48 @@ public final class NodeReferences implements References {
   public boolean contains(@Nonnegative long nodeKey) {
     return mNodeKeys.contains(nodeKey);
   }
+
+  /**
+   * Unmodifiable set view of the compressed node keys.
+   */
+  private static final class NodeKeySet extends AbstractSet<Long> {
+
+    /** The compressed node keys. */
+    private final Roaring64NavigableMap mNodeKeys;
+
+    NodeKeySet(final Roaring64NavigableMap nodeKeys) {
+      mNodeKeys = nodeKeys;
+    }
+
+    @Override
+    public boolean contains(final Object obj) {
+      return obj instanceof Long && mNodeKeys.contains((Long) obj);
+    }
+
+    @Override
+    public int size() {
+      return mNodeKeys.getIntCardinality();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return mNodeKeys.isEmpty();
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+      final LongIterator iter = mNodeKeys.getLongIterator();
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return iter.hasNext();
+        }
+
+        @Override
+        public Long next() {
+          return iter.next();
+        }
+      };
+    }
+  }
 }
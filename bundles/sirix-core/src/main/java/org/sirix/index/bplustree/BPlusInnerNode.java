@@ -0,0 +1,152 @@
+package org.sirix.index.bplustree;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.NodeKind;
+import org.sirix.node.delegates.NodeDelegate;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+/**
+ * Inner node of a B+-tree. It stores {@code n} separator keys and {@code n + 1} child node keys,
+ * whereas the separator key at index {@code i} is the smallest key in the subtree of the child at
+ * index {@code i + 1}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ * @param <K> the key
+ */
+public final class BPlusInnerNode<K extends Comparable<? super K>> extends AbstractForwardingNode {
+
+  /** The sorted separator keys. */
+  private final List<K> mKeys;
+
+  /** The keys of the child nodes. */
+  private final List<Long> mChildKeys;
+
+  /** {@link NodeDelegate} reference. */
+  private final NodeDelegate mNodeDelegate;
+
+  /**
+   * Constructor.
+   *
+   * @param keys the sorted separator keys
+   * @param childKeys the keys of the child nodes, one more than separator keys
+   * @param delegate {@link NodeDelegate} reference
+   */
+  public BPlusInnerNode(final List<K> keys, final List<Long> childKeys, final NodeDelegate delegate) {
+    mKeys = new ArrayList<>(checkNotNull(keys));
+    mChildKeys = new ArrayList<>(checkNotNull(childKeys));
+    mNodeDelegate = checkNotNull(delegate);
+    assert mChildKeys.size() == mKeys.size() + 1 : "one child more than keys expected";
+  }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.BPLUSINNER;
+  }
+
+  @Override
+  protected NodeDelegate delegate() {
+    return mNodeDelegate;
+  }
+
+  /**
+   * Get the number of separator keys.
+   *
+   * @return number of separator keys
+   */
+  public int size() {
+    return mKeys.size();
+  }
+
+  /**
+   * Get the sorted separator keys.
+   *
+   * @return unmodifiable view of the keys
+   */
+  public List<K> getKeys() {
+    return Collections.unmodifiableList(mKeys);
+  }
+
+  /**
+   * Get the keys of the child nodes.
+   *
+   * @return unmodifiable view of the child node keys
+   */
+  public List<Long> getChildKeys() {
+    return Collections.unmodifiableList(mChildKeys);
+  }
+
+  public long getChildKey(final @Nonnegative int index) {
+    return mChildKeys.get(index);
+  }
+
+  /**
+   * Insert a separator key and the node key of its right child, after a child at {@code index} has
+   * been split.
+   *
+   * @param index the index of the split child
+   * @param key the separator key, that is the smallest key of the new right child
+   * @param childKey the node key of the new right child
+   */
+  public void insert(final @Nonnegative int index, final K key, final long childKey) {
+    mKeys.add(index, checkNotNull(key));
+    mChildKeys.add(index + 1, childKey);
+  }
+
+  /**
+   * Move the upper half of the separator keys and children into a new inner node. The middle key
+   * stays as the last key of this node and has to be moved into the parent node with
+   * {@link #removeLastKey()}.
+   *
+   * @param delegate {@link NodeDelegate} of the new inner node
+   * @return the new inner node
+   */
+  public BPlusInnerNode<K> split(final NodeDelegate delegate) {
+    final int middle = mKeys.size() >>> 1;
+    final List<K> keys = mKeys.subList(middle + 1, mKeys.size());
+    final List<Long> childKeys = mChildKeys.subList(middle + 1, mChildKeys.size());
+    final BPlusInnerNode<K> sibling = new BPlusInnerNode<>(keys, childKeys, delegate);
+    keys.clear();
+    childKeys.clear();
+    return sibling;
+  }
+
+  /**
+   * Remove and return the last separator key, which is moved into the parent node after a split.
+   *
+   * @return the last separator key
+   */
+  public K removeLastKey() {
+    return mKeys.remove(mKeys.size() - 1);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(mNodeDelegate.getNodeKey());
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object obj) {
+    if (obj instanceof BPlusInnerNode) {
+      final BPlusInnerNode<?> other = (BPlusInnerNode<?>) obj;
+      return mNodeDelegate.getNodeKey() == other.mNodeDelegate.getNodeKey();
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("node delegate", mNodeDelegate)
+                      .add("keys", mKeys)
+                      .add("children", mChildKeys)
+                      .toString();
+  }
+}
@@ -0,0 +1,188 @@
+package org.sirix.index.bplustree;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.NodeKind;
+import org.sirix.node.delegates.NodeDelegate;
+import org.sirix.settings.Fixed;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+/**
+ * Leaf node of a B+-tree, which stores a sorted run of index entries. Leaf nodes are chained from
+ * left to right, such that range scans don't have to ascend into inner nodes.
+ *
+ * @author Johannes Lichtenberger
+ *
+ * @param <K> the key
+ * @param <V> the value
+ */
+public final class BPlusLeafNode<K extends Comparable<? super K>, V> extends AbstractForwardingNode {
+
+  /** The sorted keys. */
+  private final List<K> mKeys;
+
+  /** The values, in the order of their keys. */
+  private final List<V> mValues;
+
+  /** Key of the right sibling leaf. */
+  private long mRightSiblingKey;
+
+  /** {@link NodeDelegate} reference. */
+  private final NodeDelegate mNodeDelegate;
+
+  /**
+   * Constructor.
+   *
+   * @param keys the sorted keys
+   * @param values the values, in the order of their keys
+   * @param rightSiblingKey key of the right sibling leaf
+   * @param delegate {@link NodeDelegate} reference
+   */
+  public BPlusLeafNode(final List<K> keys, final List<V> values, final long rightSiblingKey,
+      final NodeDelegate delegate) {
+    mKeys = new ArrayList<>(checkNotNull(keys));
+    mValues = new ArrayList<>(checkNotNull(values));
+    mRightSiblingKey = rightSiblingKey;
+    mNodeDelegate = checkNotNull(delegate);
+  }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.BPLUSLEAF;
+  }
+
+  @Override
+  protected NodeDelegate delegate() {
+    return mNodeDelegate;
+  }
+
+  /**
+   * Get the number of entries.
+   *
+   * @return number of entries
+   */
+  public int size() {
+    return mKeys.size();
+  }
+
+  /**
+   * Get the sorted keys.
+   *
+   * @return unmodifiable view of the keys
+   */
+  public List<K> getKeys() {
+    return Collections.unmodifiableList(mKeys);
+  }
+
+  /**
+   * Get the values, in the order of their keys.
+   *
+   * @return unmodifiable view of the values
+   */
+  public List<V> getValues() {
+    return Collections.unmodifiableList(mValues);
+  }
+
+  public K getKey(final @Nonnegative int index) {
+    return mKeys.get(index);
+  }
+
+  public V getValue(final @Nonnegative int index) {
+    return mValues.get(index);
+  }
+
+  /**
+   * Search for a key.
+   *
+   * @param key the key to search for
+   * @return the index of the key, if it's stored, otherwise {@code (-(insertion point) - 1)}
+   */
+  public int search(final K key) {
+    return Collections.binarySearch(mKeys, key);
+  }
+
+  /**
+   * Insert an entry.
+   *
+   * @param index the index, at which the entry is inserted
+   * @param key the key
+   * @param value the value
+   */
+  public void insert(final @Nonnegative int index, final K key, final V value) {
+    mKeys.add(index, checkNotNull(key));
+    mValues.add(index, checkNotNull(value));
+  }
+
+  public void setValue(final @Nonnegative int index, final V value) {
+    mValues.set(index, checkNotNull(value));
+  }
+
+  /**
+   * Remove an entry.
+   *
+   * @param index the index of the entry
+   */
+  public void remove(final @Nonnegative int index) {
+    mKeys.remove(index);
+    mValues.remove(index);
+  }
+
+  /**
+   * Move the upper half of the entries into a new leaf, which becomes the right sibling of this leaf.
+   *
+   * @param delegate {@link NodeDelegate} of the new leaf
+   * @return the new leaf
+   */
+  public BPlusLeafNode<K, V> split(final NodeDelegate delegate) {
+    final int from = mKeys.size() >>> 1;
+    final List<K> keys = mKeys.subList(from, mKeys.size());
+    final List<V> values = mValues.subList(from, mValues.size());
+    final BPlusLeafNode<K, V> sibling = new BPlusLeafNode<>(keys, values, mRightSiblingKey, delegate);
+    keys.clear();
+    values.clear();
+    mRightSiblingKey = sibling.getNodeKey();
+    return sibling;
+  }
+
+  public boolean hasRightSibling() {
+    return mRightSiblingKey != Fixed.NULL_NODE_KEY.getStandardProperty();
+  }
+
+  public long getRightSiblingKey() {
+    return mRightSiblingKey;
+  }
+
+  public void setRightSiblingKey(final long rightSiblingKey) {
+    mRightSiblingKey = rightSiblingKey;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(mNodeDelegate.getNodeKey());
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object obj) {
+    if (obj instanceof BPlusLeafNode) {
+      final BPlusLeafNode<?, ?> other = (BPlusLeafNode<?, ?>) obj;
+      return mNodeDelegate.getNodeKey() == other.mNodeDelegate.getNodeKey();
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("node delegate", mNodeDelegate)
+                      .add("right sibling", mRightSiblingKey)
+                      .add("keys", mKeys)
+                      .add("values", mValues)
+                      .toString();
+  }
+}
@@ -0,0 +1,352 @@
+package org.sirix.index.bplustree;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.index.Filter;
+import org.sirix.index.IndexType;
+import org.sirix.index.SearchMode;
+import org.sirix.index.avltree.interfaces.References;
+import org.sirix.node.interfaces.Record;
+import org.sirix.node.xml.XmlDocumentRootNode;
+import org.sirix.page.PageKind;
+import org.sirix.settings.Fixed;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+
+/**
+ * Reads a B+-tree, whose nodes are stored as records in the record pages of an index. The document
+ * root node of the index references the root node of the tree and counts the index entries. A
+ * lookup thus fetches one node per level of the tree, whereas range scans iterate over the chained
+ * leaf nodes.
+ *
+ * @author Johannes Lichtenberger
+ *
+ * @param <K> the key to search for
+ * @param <V> the value
+ */
+public final class BPlusTreeReader<K extends Comparable<? super K>, V extends References> {
+
+  /** {@link PageReadOnlyTrx} for persistent storage. */
+  final PageReadOnlyTrx mPageReadTrx;
+
+  /** Page kind. */
+  final PageKind mPageKind;
+
+  /** Index number. */
+  final int mIndex;
+
+  /**
+   * Private constructor.
+   *
+   * @param pageReadTrx {@link PageReadOnlyTrx} for persistent storage
+   * @param type kind of index
+   * @param index the index number
+   */
+  private BPlusTreeReader(final PageReadOnlyTrx pageReadTrx, final IndexType type, final int index) {
+    mPageReadTrx = checkNotNull(pageReadTrx);
+    switch (type) {
+      case PATH:
+        mPageKind = PageKind.PATHPAGE;
+        break;
+      case CAS:
+        mPageKind = PageKind.CASPAGE;
+        break;
+      case NAME:
+        mPageKind = PageKind.NAMEPAGE;
+        break;
+      default:
+        throw new IllegalStateException();
+    }
+    mIndex = index;
+  }
+
+  /**
+   * Get a new instance.
+   *
+   * @param pageReadTrx {@link PageReadOnlyTrx} for persistent storage
+   * @param type type of index
+   * @param index the index number
+   * @return new tree instance
+   */
+  public static <K extends Comparable<? super K>, V extends References> BPlusTreeReader<K, V> getInstance(
+      final PageReadOnlyTrx pageReadTrx, final IndexType type, final @Nonnegative int index) {
+    return new BPlusTreeReader<>(pageReadTrx, type, index);
+  }
+
+  /**
+   * Returns the number of index entries.
+   *
+   * @return number of index entries
+   */
+  public long size() {
+    return getDocumentRoot().getDescendantCount();
+  }
+
+  /**
+   * Finds the first key in key order, which matches the specified key in the search mode, and
+   * returns its value.
+   *
+   * @param key key to be found
+   * @param mode the search mode
+   * @return {@link Optional} reference (with the found value, or a reference which indicates that the
+   *         value hasn't been found)
+   */
+  public Optional<V> get(final K key, final SearchMode mode) {
+    checkNotNull(key);
+    if (checkNotNull(mode) == SearchMode.EQUAL) {
+      final BPlusLeafNode<K, V> leaf = getLeaf(key, Comparator.naturalOrder(), false);
+      if (leaf == null) {
+        return Optional.empty();
+      }
+      final int index = leaf.search(key);
+      return index >= 0
+          ? Optional.of(leaf.getValue(index))
+          : Optional.empty();
+    }
+
+    final Iterator<Map.Entry<K, V>> iter;
+    if (mode == SearchMode.LESS || mode == SearchMode.LESS_OR_EQUAL) {
+      // The first matching key is the first key greater than (or equal to) the search key, thus
+      // descend to its leaf instead of scanning the leaf chain.
+      final boolean inclusive = mode == SearchMode.LESS_OR_EQUAL;
+      final BPlusLeafNode<K, V> leaf = getLeaf(key, Comparator.naturalOrder(), inclusive);
+      if (leaf == null) {
+        return Optional.empty();
+      }
+      final int index = inclusive
+          ? lowerBound(leaf.getKeys(), key, Comparator.naturalOrder())
+          : upperBound(leaf.getKeys(), key, Comparator.naturalOrder());
+      iter = new EntryIterator(leaf, index, null, null, Comparator.naturalOrder());
+    } else {
+      // The matching keys are less than the search key, thus the first key matches, if any does.
+      iter = iterator();
+    }
+
+    if (iter.hasNext()) {
+      final Map.Entry<K, V> entry = iter.next();
+      if (mode.compare(key, entry.getKey()) == 0) {
+        return Optional.of(entry.getValue());
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Iterate over all index entries in key order.
+   *
+   * @return iterator over the entries
+   */
+  public Iterator<Map.Entry<K, V>> iterator() {
+    final long rootKey = getDocumentRoot().getFirstChildKey();
+    if (rootKey == Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      return new EntryIterator(null, 0, null, null, Comparator.naturalOrder());
+    }
+
+    Record node = getNode(rootKey);
+    while (node instanceof BPlusInnerNode) {
+      node = getNode(((BPlusInnerNode<?>) node).getChildKey(0));
+    }
+    return new EntryIterator(leaf(node), 0, null, null, Comparator.naturalOrder());
+  }
+
+  /**
+   * Iterate over the index entries in key order, whose keys are in a range.
+   *
+   * @param fromKey the inclusive lower bound
+   * @param toKey the inclusive upper bound or {@code null}, if unbounded
+   * @param comparator the comparator, which defines the range, it must be consistent with the order
+   *        of the keys, but may consider keys as equal, which aren't equal in key order
+   * @return iterator over the entries
+   */
+  public Iterator<Map.Entry<K, V>> iterator(final K fromKey, final @Nullable K toKey,
+      final Comparator<? super K> comparator) {
+    checkNotNull(fromKey);
+    checkNotNull(comparator);
+    final BPlusLeafNode<K, V> leaf = getLeaf(fromKey, comparator, true);
+    if (leaf == null) {
+      return new EntryIterator(null, 0, null, null, comparator);
+    }
+    final int index = lowerBound(leaf.getKeys(), fromKey, comparator);
+    return new EntryIterator(leaf, index, fromKey, toKey, comparator);
+  }
+
+  /**
+   * Get the values of the entries, whose keys pass all filters.
+   *
+   * @param entries the index entries
+   * @param filters the filters to apply on the keys
+   * @return iterator over the values
+   */
+  public static <K extends Comparable<? super K>, V> Iterator<V> filterValues(
+      final Iterator<Map.Entry<K, V>> entries, final Set<? extends Filter> filters) {
+    checkNotNull(filters);
+    final Iterator<Map.Entry<K, V>> filteredEntries = Iterators.filter(checkNotNull(entries),
+        entry -> filters.stream().allMatch(filter -> filter.filter(entry.getKey())));
+    return Iterators.transform(filteredEntries, Map.Entry::getValue);
+  }
+
+  /**
+   * Get the document root node of the index.
+   *
+   * @return the document root node
+   */
+  XmlDocumentRootNode getDocumentRoot() {
+    final Optional<? extends Record> documentRoot =
+        mPageReadTrx.getRecord(Fixed.DOCUMENT_NODE_KEY.getStandardProperty(), mPageKind, mIndex);
+    return (XmlDocumentRootNode) documentRoot.orElseThrow(
+        () -> new IllegalStateException("Node couldn't be fetched from persistent storage!"));
+  }
+
+  /**
+   * Get a node of the tree.
+   *
+   * @param nodeKey the key of the node
+   * @return the node
+   */
+  Record getNode(final long nodeKey) {
+    return mPageReadTrx.getRecord(nodeKey, mPageKind, mIndex)
+                       .orElseThrow(() -> new IllegalStateException(
+                           "Node " + nodeKey + " couldn't be fetched from persistent storage!"));
+  }
+
+  /**
+   * Descend to the leaf, which might contain a key.
+   *
+   * @param key the key
+   * @param comparator the comparator to use
+   * @param lowerBound {@code true}, to descend to the leftmost leaf, which might contain keys equal to
+   *        the key according to the comparator, {@code false} to descend to the leaf, which contains
+   *        the key in key order
+   * @return the leaf or {@code null}, if the tree is empty
+   */
+  private BPlusLeafNode<K, V> getLeaf(final K key, final Comparator<? super K> comparator,
+      final boolean lowerBound) {
+    final long rootKey = getDocumentRoot().getFirstChildKey();
+    if (rootKey == Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      return null;
+    }
+
+    Record node = getNode(rootKey);
+    while (node instanceof BPlusInnerNode) {
+      @SuppressWarnings("unchecked")
+      final BPlusInnerNode<K> inner = (BPlusInnerNode<K>) node;
+      final int childIndex = lowerBound
+          ? lowerBound(inner.getKeys(), key, comparator)
+          : upperBound(inner.getKeys(), key, comparator);
+      node = getNode(inner.getChildKey(childIndex));
+    }
+    return leaf(node);
+  }
+
+  @SuppressWarnings("unchecked")
+  private BPlusLeafNode<K, V> leaf(final Record node) {
+    return (BPlusLeafNode<K, V>) node;
+  }
+
+  /**
+   * Get the index of the first key, which is not less than the specified key.
+   *
+   * @param keys the sorted keys
+   * @param key the key
+   * @param comparator the comparator to use
+   * @return the index
+   */
+  static <K> int lowerBound(final List<K> keys, final K key, final Comparator<? super K> comparator) {
+    int low = 0;
+    int high = keys.size();
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (comparator.compare(keys.get(mid), key) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Get the index of the first key, which is greater than the specified key.
+   *
+   * @param keys the sorted keys
+   * @param key the key
+   * @param comparator the comparator to use
+   * @return the index
+   */
+  static <K> int upperBound(final List<K> keys, final K key, final Comparator<? super K> comparator) {
+    int low = 0;
+    int high = keys.size();
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (comparator.compare(keys.get(mid), key) <= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Iterator over the entries of the chained leaf nodes.
+   */
+  private final class EntryIterator extends AbstractIterator<Map.Entry<K, V>> {
+
+    /** The current leaf node or {@code null}, if the iteration is done. */
+    private BPlusLeafNode<K, V> mLeaf;
+
+    /** The index of the next entry in the current leaf. */
+    private int mIndex;
+
+    /** The inclusive lower bound or {@code null}, if unbounded. */
+    private final K mFromKey;
+
+    /** The inclusive upper bound or {@code null}, if unbounded. */
+    private final K mToKey;
+
+    /** The comparator of the bounds. */
+    private final Comparator<? super K> mComparator;
+
+    EntryIterator(final @Nullable BPlusLeafNode<K, V> leaf, final int index, final @Nullable K fromKey,
+        final @Nullable K toKey, final Comparator<? super K> comparator) {
+      mLeaf = leaf;
+      mIndex = index;
+      mFromKey = fromKey;
+      mToKey = toKey;
+      mComparator = comparator;
+    }
+
+    @Override
+    protected Map.Entry<K, V> computeNext() {
+      while (mLeaf != null) {
+        if (mIndex < mLeaf.size()) {
+          final K key = mLeaf.getKey(mIndex);
+          final V value = mLeaf.getValue(mIndex);
+          mIndex++;
+          if (mFromKey != null && mComparator.compare(key, mFromKey) < 0) {
+            continue;
+          }
+          if (mToKey != null && mComparator.compare(key, mToKey) > 0) {
+            mLeaf = null;
+            break;
+          }
+          return Map.entry(key, value);
+        }
+
+        mLeaf = mLeaf.hasRightSibling()
+            ? leaf(getNode(mLeaf.getRightSiblingKey()))
+            : null;
+        mIndex = 0;
+      }
+      return endOfData();
+    }
+  }
+}
@@ -1,146 +1,383 @@
-// package org.sirix.index.bplustree;
-//
-// import static com.google.common.base.Preconditions.checkNotNull;
-//
-// import javax.annotation.Nonnull;
-//
-// import org.sirix.api.PageWriteTrx;
-// import org.sirix.exception.SirixIOException;
-// import org.sirix.page.PageKind;
-//
-// public final class BPlusTreeWriter<K extends Comparable<? super K>, V> implements
-// AutoCloseable {
-//
-// private final BPlusTreePageWriteTrx mPageWriteTrx;
-// private final PageKind mKind;
-//
-// private BPlusTreeWriter(final BPlusTreePageWriteTrx pageWriteTrx,
-// final PageKind kind) {
-// mPageWriteTrx = pageWriteTrx;
-// mKind = kind;
-// }
-//
-// /**
-// * Get a new instance.
-// *
-// * @param pageWriteTrx
-// * {@link PageWriteTrx} for persistent storage
-// * @param kind
-// * kind of page
-// * @return new tree instance
-// */
-// public static <KE extends Comparable<? super KE>, VA> BPlusTreeWriter<KE, VA> getInstance(
-// final BPlusTreePageWriteTrx pageWriteTrx, final PageKind kind) {
-// return new BPlusTreeWriter<KE, VA>(checkNotNull(pageWriteTrx), checkNotNull(kind));
-// }
-//
-// /**
-// * Closes the tree storage.
-// *
-// * @throws SirixIOException
-// * I/O exception if closing the BPlusTree fails
-// */
-// @Override
-// public void close() throws SirixIOException {
-//
-// }
-//
-// //
-// // /* ======================== Class Methods ======================== */
-// //
-// // /**
-// // * Returns true if the specified value was found.
-// // * @param value value to be found
-// // * @return true if the value was found
-// // * @throws IOException I/O exception
-// // */
-// // public boolean contains(final V value) throws IOException {
-// // return contains(value, 0);
-// // }
-// //
-// // /**
-// // * Inserts a value into the tree structure.
-// // * If -1 is returned, everything went alright.
-// // * If -2 is returned, the value is already stored.
-// // * @param value value to be added
-// // * @throws IOException I/O exception
-// // */
-// // public void insert(final V value) throws IOException {
-// // if(insert(value, 0) == -1) storage.nrValues++;
-// // }
-// //
-// // /**
-// // * Deletes a value from the tree structure.
-// // * If -1 is returned, everything went alright.
-// // * If -2 is returned, the value was not found.
-// // * @param value value to be deleted
-// // * @throws IOException I/O exception
-// // */
-// // public void delete(final V value) throws IOException {
-// // if(delete(value, storage.root) == -1) storage.nrValues--;
-// // }
-// //
-// // /**
-// // * Returns the number of currently stored values.
-// // * @return number of stored values
-// // */
-// // public int nrValues() {
-// // return storage.nrValues;
-// // }
-// //
-// //
-// // /**
-// // * Dumps the contents of the disk storage to the specified output stream.
-// // * @param out output stream
-// // * @throws IOException I/O exception
-// // */
-// // public void dump(final PrintStream out) throws IOException {
-// // storage.dump(out);
-// // }
-// //
-// // /**
-// // * Recursive method for finding the specified value. The boolean
-// // * value <code>true</code> is returned if the specified value was found
-// // * in a leaf node.
-// // * @param value value to be found
-// // * @param pointer pointer to the current block
-// // * @return true if value has been found; false otherwise
-// // * @throws IOException I/O exception
-// // */
-// // private boolean contains(final V value, final long pointer) throws
-// // IOException {
-// // // get block from disk
-// // mPageWriteTrx.
-// // final BTreeBlock block = storage.read(pointer);
-// // final int size = block.nrValues;
-// //
-// // // check if the current block is a leaf node
-// // if(block.leaf) {
-// // // check if the leaf value is found
-// // int pos = -1;
-// // while(++pos < size) {
-// // // value was found - unpin block and return true
-// // if(value == block.getLeaf(pos)) {
-// // block.unpin();
-// // return true;
-// // }
-// // }
-// // // value was not found - unpin block and return false
-// // block.unpin();
-// // return false;
-// // }
-// //
-// // // no leaf - find child block
-// // int pos = -1;
-// // while(++pos < size) {
-// // // found value is smaller or equal - stop searching
-// // if(value < block.getValue(pos)) break;
-// // }
-// //
-// // // continue with child block
-// // final int child = block.getChild(pos);
-// // block.unpin();
-// // return contains(value, child);
-// // }
-// //
-// }
+package org.sirix.index.bplustree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnegative;
+import org.sirix.api.PageTrx;
+import org.sirix.cache.PageContainer;
+import org.sirix.exception.SirixIOException;
+import org.sirix.index.IndexTreeWriter;
+import org.sirix.index.IndexType;
+import org.sirix.index.SearchMode;
+import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
+import org.sirix.index.avltree.interfaces.References;
+import org.sirix.node.delegates.NodeDelegate;
+import org.sirix.node.interfaces.Record;
+import org.sirix.node.xml.XmlDocumentRootNode;
+import org.sirix.page.CASPage;
+import org.sirix.page.NamePage;
+import org.sirix.page.PageReference;
+import org.sirix.page.PathPage;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.UnorderedKeyValuePage;
+import org.sirix.settings.Fixed;
+
+/**
+ * Writes a B+-tree, whose nodes are stored as records in the record pages of an index, such that
+ * they are versioned like all other records. Each node holds up to {@link #MAX_LEAF_ENTRIES}
+ * entries respectively {@link #MAX_INNER_ENTRIES} separator keys, thus the tree is very flat and
+ * inserts only modify the nodes on the path to the leaf (and the nodes created by splits). Leaves
+ * are kept small, as every insert copies the whole modified leaf into the next revision, whereas
+ * inner nodes are only modified on splits.
+ * Underfull nodes are not merged, as keys are only removed once no node references them anymore.
+ *
+ * @author Johannes Lichtenberger
+ *
+ * @param <K> the key to search for or insert
+ * @param <V> the value
+ */
+public final class BPlusTreeWriter<K extends Comparable<? super K>, V extends References>
+    implements IndexTreeWriter<K, V> {
+
+  /** Maximum number of entries of a leaf node. */
+  public static final int MAX_LEAF_ENTRIES = 32;
+
+  /** Maximum number of separator keys of an inner node. */
+  public static final int MAX_INNER_ENTRIES = 256;
+
+  /** {@link BPlusTreeReader} instance. */
+  private final BPlusTreeReader<K, V> mReader;
+
+  /** {@link PageTrx} instance. */
+  private final PageTrx<Long, Record, UnorderedKeyValuePage> mPageWriteTrx;
+
+  /**
+   * Private constructor.
+   *
+   * @param pageWriteTrx {@link PageTrx} for persistent storage
+   * @param type type of index
+   * @param index the index number
+   */
+  private BPlusTreeWriter(final PageTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx, final IndexType type,
+      final @Nonnegative int index) {
+    final RevisionRootPage revisionRootPage = pageWriteTrx.getActualRevisionRootPage();
+    final PageReference reference;
+    switch (type) {
+      case PATH:
+        // Create path index tree if needed.
+        final PathPage pathPage = pageWriteTrx.getPathPage(revisionRootPage);
+        reference = revisionRootPage.getPathPageReference();
+        pageWriteTrx.appendLogRecord(reference, PageContainer.getInstance(pathPage, pathPage));
+        pathPage.createPathIndexTree(pageWriteTrx, index, pageWriteTrx.getLog());
+        break;
+      case CAS:
+        // Create CAS index tree if needed.
+        final CASPage casPage = pageWriteTrx.getCASPage(revisionRootPage);
+        reference = revisionRootPage.getCASPageReference();
+        pageWriteTrx.appendLogRecord(reference, PageContainer.getInstance(casPage, casPage));
+        casPage.createCASIndexTree(pageWriteTrx, index, pageWriteTrx.getLog());
+        break;
+      case NAME:
+        // Create name index tree if needed.
+        final NamePage namePage = pageWriteTrx.getNamePage(revisionRootPage);
+        reference = revisionRootPage.getNamePageReference();
+        pageWriteTrx.appendLogRecord(reference, PageContainer.getInstance(namePage, namePage));
+        namePage.createNameIndexTree(pageWriteTrx, index, pageWriteTrx.getLog());
+        break;
+      default:
+        throw new IllegalStateException();
+    }
+    mReader = BPlusTreeReader.getInstance(pageWriteTrx, type, index);
+    mPageWriteTrx = pageWriteTrx;
+  }
+
+  /**
+   * Get a new instance.
+   *
+   * @param pageWriteTrx {@link PageTrx} for persistent storage
+   * @param type type of index
+   * @param index the index number
+   * @return new tree instance
+   */
+  public static <K extends Comparable<? super K>, V extends References> BPlusTreeWriter<K, V> getInstance(
+      final PageTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx, final IndexType type, final int index) {
+    return new BPlusTreeWriter<>(checkNotNull(pageWriteTrx), checkNotNull(type), index);
+  }
+
+  /**
+   * Get the {@link BPlusTreeReader} used to search.
+   *
+   * @return {@link BPlusTreeReader} reference
+   */
+  public BPlusTreeReader<K, V> getReader() {
+    return mReader;
+  }
+
+  @Override
+  public Optional<V> get(final K key, final SearchMode mode) {
+    return mReader.get(checkNotNull(key), checkNotNull(mode));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * The cursor movement is ignored, as each insert descends from the root node.
+   */
+  @Override
+  public V index(final K key, final V value, final MoveCursor move) {
+    checkNotNull(key);
+    checkNotNull(value);
+    final long rootKey = mReader.getDocumentRoot().getFirstChildKey();
+    if (rootKey == Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      // Index is empty.. create root node.
+      final long nodeKey = getNewNodeKey();
+      mPageWriteTrx.createEntry(nodeKey, new BPlusLeafNode<>(List.of(key), List.of(value),
+          Fixed.NULL_NODE_KEY.getStandardProperty(), newNodeDelegate(nodeKey)), mReader.mPageKind, mReader.mIndex);
+      final XmlDocumentRootNode document = prepareDocumentRoot();
+      document.setFirstChildKey(nodeKey);
+      document.incrementChildCount();
+      document.incrementDescendantCount();
+      return value;
+    }
+
+    // Descend to the leaf and remember the path.
+    final Deque<Long> path = new ArrayDeque<>();
+    final Deque<Integer> childIndexes = new ArrayDeque<>();
+    Record node = mReader.getNode(rootKey);
+    while (node instanceof BPlusInnerNode) {
+      @SuppressWarnings("unchecked")
+      final BPlusInnerNode<K> inner = (BPlusInnerNode<K>) node;
+      final int childIndex = BPlusTreeReader.upperBound(inner.getKeys(), key, Comparable::compareTo);
+      path.push(inner.getNodeKey());
+      childIndexes.push(childIndex);
+      node = mReader.getNode(inner.getChildKey(childIndex));
+    }
+
+    @SuppressWarnings("unchecked")
+    final BPlusLeafNode<K, V> leaf = (BPlusLeafNode<K, V>) node;
+    final int index = leaf.search(key);
+    if (index >= 0) {
+      // The value might be the stored instance, which has been modified in place, thus the leaf is
+      // prepared for modification in any case.
+      final V oldValue = leaf.getValue(index);
+      prepareLeaf(leaf.getNodeKey()).setValue(index, value);
+      return oldValue;
+    }
+
+    final BPlusLeafNode<K, V> modifiedLeaf = prepareLeaf(leaf.getNodeKey());
+    modifiedLeaf.insert(-index - 1, key, value);
+    prepareDocumentRoot().incrementDescendantCount();
+
+    if (modifiedLeaf.size() > MAX_LEAF_ENTRIES) {
+      final long siblingKey = getNewNodeKey();
+      final BPlusLeafNode<K, V> sibling = modifiedLeaf.split(newNodeDelegate(siblingKey));
+      mPageWriteTrx.createEntry(siblingKey, sibling, mReader.mPageKind, mReader.mIndex);
+      insertIntoParent(path, childIndexes, modifiedLeaf.getNodeKey(), sibling.getKey(0), siblingKey);
+    }
+
+    return value;
+  }
+
+  /**
+   * Insert the separator key and the new right node after a split into the parent nodes, splitting
+   * them in turn if necessary.
+   *
+   * @param path the keys of the inner nodes from the parent node up to the root node
+   * @param childIndexes the indexes of the children on the path
+   * @param leftKey the key of the split node
+   * @param separator the separator key
+   * @param rightKey the key of the new right node
+   */
+  private void insertIntoParent(final Deque<Long> path, final Deque<Integer> childIndexes, final long leftKey,
+      final K separator, final long rightKey) {
+    long currentLeftKey = leftKey;
+    K currentSeparator = separator;
+    long currentRightKey = rightKey;
+
+    while (!path.isEmpty()) {
+      final BPlusInnerNode<K> parent = prepareInner(path.pop());
+      parent.insert(childIndexes.pop(), currentSeparator, currentRightKey);
+
+      if (parent.size() <= MAX_INNER_ENTRIES) {
+        return;
+      }
+
+      final long siblingKey = getNewNodeKey();
+      final BPlusInnerNode<K> sibling = parent.split(newNodeDelegate(siblingKey));
+      mPageWriteTrx.createEntry(siblingKey, sibling, mReader.mPageKind, mReader.mIndex);
+      currentLeftKey = parent.getNodeKey();
+      currentSeparator = parent.removeLastKey();
+      currentRightKey = siblingKey;
+    }
+
+    // The root node has been split.
+    final long newRootKey = getNewNodeKey();
+    mPageWriteTrx.createEntry(newRootKey, new BPlusInnerNode<>(Collections.singletonList(currentSeparator),
+        List.of(currentLeftKey, currentRightKey), newNodeDelegate(newRootKey)), mReader.mPageKind, mReader.mIndex);
+    prepareDocumentRoot().setFirstChildKey(newRootKey);
+  }
+
+  /**
+   * Remove a node key from the value, or remove the whole entry, if no keys are stored anymore.
+   *
+   * @param key the key for which to search the value
+   * @param nodeKey the nodeKey to remove from the value
+   * @throws SirixIOException if an I/O error occured
+   */
+  @Override
+  public boolean remove(final K key, final @Nonnegative long nodeKey) {
+    checkNotNull(key);
+    checkArgument(nodeKey >= 0, "nodeKey must be >= 0!");
+    final long rootKey = mReader.getDocumentRoot().getFirstChildKey();
+    if (rootKey == Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      return false;
+    }
+
+    Record node = mReader.getNode(rootKey);
+    while (node instanceof BPlusInnerNode) {
+      @SuppressWarnings("unchecked")
+      final BPlusInnerNode<K> inner = (BPlusInnerNode<K>) node;
+      node = mReader.getNode(inner.getChildKey(BPlusTreeReader.upperBound(inner.getKeys(), key, Comparable::compareTo)));
+    }
+
+    @SuppressWarnings("unchecked")
+    final BPlusLeafNode<K, V> leaf = (BPlusLeafNode<K, V>) node;
+    final int index = leaf.search(key);
+    if (index < 0 || !leaf.getValue(index).contains(nodeKey)) {
+      return false;
+    }
+
+    final BPlusLeafNode<K, V> modifiedLeaf = prepareLeaf(leaf.getNodeKey());
+    final V value = modifiedLeaf.getValue(index);
+    value.removeNodeKey(nodeKey);
+    if (!value.hasNodeKeys()) {
+      modifiedLeaf.remove(index);
+      prepareDocumentRoot().decrementDescendantCount();
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return mReader.getDocumentRoot().getFirstChildKey() == Fixed.NULL_NODE_KEY.getStandardProperty();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * The tree is built bottom-up: the leaves are filled completely in key order and each level of
+   * inner nodes is built from the first keys of the nodes of the level below, until a single root
+   * node remains. Thus, no node is split and every node is written only once (apart from setting the
+   * right sibling of the leaves).
+   */
+  @Override
+  public void bulkLoad(final Iterator<Map.Entry<K, V>> sortedEntries) {
+    checkNotNull(sortedEntries);
+    checkState(isEmpty(), "Bulk loading requires an empty index.");
+    if (!sortedEntries.hasNext()) {
+      return;
+    }
+
+    // The first key and the node key of each node of the current level.
+    List<K> firstKeys = new ArrayList<>();
+    List<Long> nodeKeys = new ArrayList<>();
+
+    final List<K> keys = new ArrayList<>(MAX_LEAF_ENTRIES);
+    final List<V> values = new ArrayList<>(MAX_LEAF_ENTRIES);
+    long numberOfEntries = 0;
+    K previousKey = null;
+    while (sortedEntries.hasNext()) {
+      final Map.Entry<K, V> entry = sortedEntries.next();
+      checkArgument(previousKey == null || previousKey.compareTo(entry.getKey()) < 0,
+          "The keys must be distinct and in ascending order.");
+      previousKey = entry.getKey();
+      keys.add(entry.getKey());
+      values.add(entry.getValue());
+      numberOfEntries++;
+      if (keys.size() == MAX_LEAF_ENTRIES || !sortedEntries.hasNext()) {
+        final long nodeKey = getNewNodeKey();
+        mPageWriteTrx.createEntry(nodeKey,
+            new BPlusLeafNode<>(keys, values, Fixed.NULL_NODE_KEY.getStandardProperty(), newNodeDelegate(nodeKey)),
+            mReader.mPageKind, mReader.mIndex);
+        if (!nodeKeys.isEmpty()) {
+          prepareLeaf(nodeKeys.get(nodeKeys.size() - 1)).setRightSiblingKey(nodeKey);
+        }
+        firstKeys.add(keys.get(0));
+        nodeKeys.add(nodeKey);
+        keys.clear();
+        values.clear();
+      }
+    }
+
+    while (nodeKeys.size() > 1) {
+      final List<K> parentFirstKeys = new ArrayList<>();
+      final List<Long> parentNodeKeys = new ArrayList<>();
+      for (int from = 0; from < nodeKeys.size(); from += MAX_INNER_ENTRIES + 1) {
+        final int to = Math.min(from + MAX_INNER_ENTRIES + 1, nodeKeys.size());
+        final long nodeKey = getNewNodeKey();
+        mPageWriteTrx.createEntry(nodeKey, new BPlusInnerNode<>(firstKeys.subList(from + 1, to),
+            nodeKeys.subList(from, to), newNodeDelegate(nodeKey)), mReader.mPageKind, mReader.mIndex);
+        parentFirstKeys.add(firstKeys.get(from));
+        parentNodeKeys.add(nodeKey);
+      }
+      firstKeys = parentFirstKeys;
+      nodeKeys = parentNodeKeys;
+    }
+
+    final XmlDocumentRootNode document = prepareDocumentRoot();
+    document.setFirstChildKey(nodeKeys.get(0));
+    document.incrementChildCount();
+    document.setDescendantCount(numberOfEntries);
+  }
+
+  @SuppressWarnings("unchecked")
+  private BPlusLeafNode<K, V> prepareLeaf(final long nodeKey) {
+    return (BPlusLeafNode<K, V>) mPageWriteTrx.prepareEntryForModification(nodeKey, mReader.mPageKind,
+        mReader.mIndex);
+  }
+
+  @SuppressWarnings("unchecked")
+  private BPlusInnerNode<K> prepareInner(final long nodeKey) {
+    return (BPlusInnerNode<K>) mPageWriteTrx.prepareEntryForModification(nodeKey, mReader.mPageKind,
+        mReader.mIndex);
+  }
+
+  private XmlDocumentRootNode prepareDocumentRoot() {
+    return (XmlDocumentRootNode) mPageWriteTrx.prepareEntryForModification(
+        Fixed.DOCUMENT_NODE_KEY.getStandardProperty(), mReader.mPageKind, mReader.mIndex);
+  }
+
+  private NodeDelegate newNodeDelegate(final long nodeKey) {
+    return new NodeDelegate(nodeKey, Fixed.DOCUMENT_NODE_KEY.getStandardProperty(), null, null,
+        mPageWriteTrx.getRevisionNumber(), null);
+  }
+
+  /**
+   * Get the new maximum node key.
+   *
+   * @return maximum node key
+   */
+  private long getNewNodeKey() {
+    final RevisionRootPage root = mPageWriteTrx.getActualRevisionRootPage();
+    switch (mReader.mPageKind) {
+      case PATHPAGE:
+        return mPageWriteTrx.getPathPage(root).getMaxNodeKey(mReader.mIndex) + 1;
+      case CASPAGE:
+        return mPageWriteTrx.getCASPage(root).getMaxNodeKey(mReader.mIndex) + 1;
+      case NAMEPAGE:
+        return mPageWriteTrx.getNamePage(root).getMaxNodeKey(mReader.mIndex) + 1;
+      // $CASES-OMITTED$
+      default:
+        throw new IllegalStateException();
+    }
+  }
+}
@@ -7,9 +7,7 @@ import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.util.path.Path;
 import org.sirix.index.Filter;
 import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.keyvalue.CASValue;
-import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.PCRCollector;
 import org.sirix.index.path.PathFilter;
 
@@ -67,17 +65,16 @@ public final class CASFilter implements Filter {
   }
 
   /**
-   * Filter the node.
+   * Filter the key of an index entry.
    *
-   * @param node node to filter
-   * @return {@code true} if the node has been filtered, {@code false} otherwise
+   * @param key key to filter
+   * @return {@code true} if the key has been filtered, {@code false} otherwise
    */
   @Override
-  public <K extends Comparable<? super K>> boolean filter(final AVLNode<K, NodeReferences> node) {
-    final K key = node.getKey();
+  public <K extends Comparable<? super K>> boolean filter(final K key) {
     if (key instanceof CASValue) {
       final CASValue casValue = (CASValue) key;
-      if (mPathFilter.filter(node) && mMode.compare(mKey, casValue.getAtomicValue()) == 0) {
+      if (mPathFilter.filter(key) && mMode.compare(mKey, casValue.getAtomicValue()) == 0) {
         return true;
       }
     }
@@ -5,10 +5,10 @@ import java.util.Set;
 import org.brackit.xquery.atomic.Atomic;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.util.path.Path;
+import org.sirix.index.AtomicUtil;
+import org.sirix.index.CASKeyOrder;
 import org.sirix.index.Filter;
-import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.keyvalue.CASValue;
-import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.PCRCollector;
 import org.sirix.index.path.PathFilter;
 
@@ -32,6 +32,12 @@ public final class CASFilterRange implements Filter {
   /** The maximum value. */
   private final Atomic mMax;
 
+  /** Binary key of the minimum value or {@code null}, if it has no binary key encoding. */
+  private final byte[] mMinKey;
+
+  /** Binary key of the maximum value or {@code null}, if it has no binary key encoding. */
+  private final byte[] mMaxKey;
+
   /** {@code true} if the minimum should be included, {@code false} otherwise */
   private final boolean mIncMin;
 
@@ -55,28 +61,73 @@ public final class CASFilterRange implements Filter {
     mPathFilter = new PathFilter(mPaths, pcrCollector);
     mMin = checkNotNull(min);
     mMax = checkNotNull(max);
+    mMinKey = AtomicUtil.toComparableBytes(mMin);
+    mMaxKey = AtomicUtil.toComparableBytes(mMax);
     mIncMin = incMin;
     mIncMax = incMax;
   }
 
+  private CASFilterRange(final CASFilterRange filter, final byte[] minKey, final byte[] maxKey) {
+    mPaths = filter.mPaths;
+    mPathFilter = filter.mPathFilter;
+    mMin = filter.mMin;
+    mMax = filter.mMax;
+    mMinKey = minKey;
+    mMaxKey = maxKey;
+    mIncMin = filter.mIncMin;
+    mIncMax = filter.mIncMax;
+  }
+
+  /**
+   * Get a filter, which compares the values in the given key order.
+   *
+   * @param keyOrder the key order of the index to filter
+   * @return this filter or a filter, which compares the atomic values
+   */
+  public CASFilterRange withKeyOrder(final CASKeyOrder keyOrder) {
+    if (checkNotNull(keyOrder) == CASKeyOrder.BINARY || (mMinKey == null && mMaxKey == null)) {
+      return this;
+    }
+    return new CASFilterRange(this, null, null);
+  }
+
+  public Atomic getMin() {
+    return mMin;
+  }
+
+  public Atomic getMax() {
+    return mMax;
+  }
+
+  public Set<Long> getPCRs() {
+    return mPathFilter.getPCRs();
+  }
+
   @Override
-  public <K extends Comparable<? super K>> boolean filter(final AVLNode<K, NodeReferences> node) {
-    final K key = node.getKey();
+  public <K extends Comparable<? super K>> boolean filter(final K key) {
     if (key instanceof CASValue) {
       final CASValue casValue = (CASValue) key;
-      final boolean filtered = mPathFilter.filter(node);
+      final boolean filtered = mPathFilter.filter(key);
 
       if (filtered) {
+        if (mMinKey != null && mMaxKey != null && casValue.getComparableKey() != null) {
+          // Compare the binary keys without converting the values.
+          return inRange(-casValue.compareValueTo(mMinKey), -casValue.compareValueTo(mMaxKey));
+        }
         return inRange(casValue.getAtomicValue());
       }
     }
     return false;
   }
 
-  private <K extends Comparable<? super K>> boolean inRange(Atomic key) {
+  private boolean inRange(Atomic key) {
     final int minKeyCompare = (mMin != null) ? mMin.compareTo(key) : -1;
     final int maxKeyCompare = (mMax != null) ? mMax.compareTo(key) : 1;
 
+    return inRange(minKeyCompare, maxKeyCompare);
+  }
+
+  private boolean inRange(final int minKeyCompare, final int maxKeyCompare) {
     final boolean lowerBoundValid = ((minKeyCompare == 0) && (mIncMin)) || (minKeyCompare < 0);
     final boolean upperBoundValid = ((maxKeyCompare == 0) && (mIncMax)) || (maxKeyCompare > 0);
 
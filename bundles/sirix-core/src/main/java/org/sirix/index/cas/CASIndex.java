@@ -1,6 +1,7 @@
 package org.sirix.index.cas;
 
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
@@ -12,11 +13,13 @@ import org.sirix.api.PageTrx;
 import org.sirix.index.ChangeListener;
 import org.sirix.index.IndexDef;
 import org.sirix.index.IndexFilterAxis;
+import org.sirix.index.IndexStructure;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.AVLTreeReader;
 import org.sirix.index.avltree.keyvalue.CASValue;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.BPlusTreeReader;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.UnorderedKeyValuePage;
@@ -32,16 +35,64 @@ public interface CASIndex<B, L extends ChangeListener, R extends NodeReadOnlyTrx
       IndexDef indexDef);
 
   default Iterator<NodeReferences> openIndex(PageReadOnlyTrx pageReadTrx, IndexDef indexDef, CASFilterRange filter) {
+    if (indexDef.getStructure() == IndexStructure.BPLUS_TREE) {
+      final BPlusTreeReader<CASValue, NodeReferences> reader =
+          BPlusTreeReader.getInstance(pageReadTrx, indexDef.getType(), indexDef.getID());
+
+      final Set<Long> pcrsRequested = filter.getPCRs();
+
+      if (pcrsRequested.size() == 1) {
+        // Only scan the leaves, which store the keys of the requested path in the requested range.
+        final long pcr = pcrsRequested.iterator().next();
+        final CASValue min = new CASValue(filter.getMin(), filter.getMin().type(), pcr, indexDef.getKeyOrder());
+        final CASValue max = new CASValue(filter.getMax(), filter.getMax().type(), pcr, indexDef.getKeyOrder());
+        return BPlusTreeReader.filterValues(reader.iterator(min, max, Comparator.naturalOrder()),
+            ImmutableSet.of(filter));
+      }
+
+      return BPlusTreeReader.filterValues(reader.iterator(), ImmutableSet.of(filter));
+    }
+
     final AVLTreeReader<CASValue, NodeReferences> reader =
         AVLTreeReader.getInstance(pageReadTrx, indexDef.getType(), indexDef.getID());
 
     final Iterator<AVLNode<CASValue, NodeReferences>> iter =
         reader.new AVLNodeIterator(Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
 
-    return new IndexFilterAxis<CASValue>(iter, ImmutableSet.of(filter));
+    return new IndexFilterAxis<CASValue>(iter, ImmutableSet.of(filter.withKeyOrder(indexDef.getKeyOrder())));
   }
 
   default Iterator<NodeReferences> openIndex(PageReadOnlyTrx pageReadTrx, IndexDef indexDef, CASFilter filter) {
+    if (indexDef.getStructure() == IndexStructure.BPLUS_TREE) {
+      final BPlusTreeReader<CASValue, NodeReferences> reader =
+          BPlusTreeReader.getInstance(pageReadTrx, indexDef.getType(), indexDef.getID());
+
+      final Set<Long> pcrsRequested = filter.getPCRs();
+
+      if (pcrsRequested.size() == 1) {
+        final Atomic atomic = filter.getKey();
+        final CASValue value =
+            new CASValue(atomic, atomic.type(), pcrsRequested.iterator().next(), indexDef.getKeyOrder());
+
+        if (filter.getMode() == SearchMode.EQUAL) {
+          // Compare for equality by PCR and atomic value.
+          final Optional<NodeReferences> references = reader.get(value, SearchMode.EQUAL);
+
+          if (references.isPresent()) {
+            return Iterators.forArray(references.get());
+          }
+
+          return Collections.emptyIterator();
+        }
+
+        // Only scan the leaves, which store the keys of the requested path.
+        return BPlusTreeReader.filterValues(reader.iterator(value, value, CASIndex::comparePCRs),
+            ImmutableSet.of(filter));
+      }
+
+      return BPlusTreeReader.filterValues(reader.iterator(), ImmutableSet.of(filter));
+    }
+
     final AVLTreeReader<CASValue, NodeReferences> reader =
         AVLTreeReader.getInstance(pageReadTrx, indexDef.getType(), indexDef.getID());
 
@@ -57,7 +108,7 @@ public interface CASIndex<B, L extends ChangeListener, R extends NodeReadOnlyTrx
       final long pcr = pcrsRequested.iterator().next();
       final SearchMode mode = filter.getMode();
 
-      final CASValue value = new CASValue(atomic, atomic.type(), pcr);
+      final CASValue value = new CASValue(atomic, atomic.type(), pcr, indexDef.getKeyOrder());
 
       if (mode == SearchMode.EQUAL) {
         // Compare for equality by PCR and atomic value.
@@ -87,7 +138,7 @@ public interface CASIndex<B, L extends ChangeListener, R extends NodeReadOnlyTrx
       final long pcr = pcrsRequested.iterator().next();
       final SearchMode mode = filter.getMode();
 
-      final CASValue value = new CASValue(atomic, atomic.type(), pcr);
+      final CASValue value = new CASValue(atomic, atomic.type(), pcr, indexDef.getKeyOrder());
 
       if (mode == SearchMode.EQUAL) {
         // Compare for equality by PCR and atomic value.
@@ -134,4 +185,8 @@ public interface CASIndex<B, L extends ChangeListener, R extends NodeReadOnlyTrx
       return new IndexFilterAxis<CASValue>(iter, ImmutableSet.of(filter));
     }
   }
+
+  private static int comparePCRs(final CASValue firstValue, final CASValue secondValue) {
+    return Long.compare(firstValue.getPathNodeKey(), secondValue.getPathNodeKey());
+  }
 }
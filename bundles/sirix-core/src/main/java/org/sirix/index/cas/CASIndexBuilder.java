@@ -1,6 +1,5 @@
 package org.sirix.index.cas;
 
-import java.util.Optional;
 import java.util.Set;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.atomic.Str;
@@ -12,9 +11,9 @@ import org.sirix.api.visitor.VisitResultType;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixRuntimeException;
 import org.sirix.index.AtomicUtil;
-import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.CASKeyOrder;
+import org.sirix.index.IndexEntryBuffer;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.avltree.keyvalue.CASValue;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
@@ -26,7 +25,7 @@ import org.slf4j.LoggerFactory;
 public final class CASIndexBuilder {
   private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(CASIndexBuilder.class));
 
-  private final AVLTreeWriter<CASValue, NodeReferences> mAVLTreeWriter;
+  private final IndexEntryBuffer<CASValue> mIndexEntries;
 
   private final PathSummaryReader mPathSummaryReader;
 
@@ -34,17 +33,24 @@ public final class CASIndexBuilder {
 
   private final Type mType;
 
-  public CASIndexBuilder(final AVLTreeWriter<CASValue, NodeReferences> avlTreeWriter,
-      final PathSummaryReader pathSummaryReader, final Set<Path<QNm>> paths, final Type type) {
+  private final CASKeyOrder mKeyOrder;
+
+  /** The path class records of the indexed paths, which don't change during the build. */
+  private Set<Long> mPCRs;
+
+  public CASIndexBuilder(final IndexTreeWriter<CASValue, NodeReferences> indexTreeWriter,
+      final PathSummaryReader pathSummaryReader, final Set<Path<QNm>> paths, final Type type,
+      final CASKeyOrder keyOrder) {
     mPathSummaryReader = pathSummaryReader;
     mPaths = paths;
-    mAVLTreeWriter = avlTreeWriter;
+    mIndexEntries = new IndexEntryBuffer<>(indexTreeWriter);
     mType = type;
+    mKeyOrder = keyOrder;
   }
 
   public VisitResult process(final ImmutableNode node, final long pathNodeKey) {
     try {
-      if (mPaths.isEmpty() || mPathSummaryReader.getPCRsForPaths(mPaths, true).contains(pathNodeKey)) {
+      if (mPaths.isEmpty() || getPCRs().contains(pathNodeKey)) {
         final Str strValue = new Str(((ImmutableValueNode) node).getValue());
 
         boolean isOfType = false;
@@ -56,13 +62,7 @@ public final class CASIndexBuilder {
         }
 
         if (isOfType) {
-          final CASValue value = new CASValue(strValue, mType, pathNodeKey);
-          final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(value, SearchMode.EQUAL);
-          if (textReferences.isPresent()) {
-            setNodeReferences(node, textReferences.get(), value);
-          } else {
-            setNodeReferences(node, new NodeReferences(), value);
-          }
+          mIndexEntries.add(new CASValue(strValue, mType, pathNodeKey, mKeyOrder), node.getNodeKey());
         }
       }
     } catch (final PathException | SirixIOException e) {
@@ -71,8 +71,17 @@ public final class CASIndexBuilder {
     return VisitResultType.CONTINUE;
   }
 
-  private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final CASValue value)
-      throws SirixIOException {
-    mAVLTreeWriter.index(value, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
+  private Set<Long> getPCRs() throws PathException {
+    if (mPCRs == null) {
+      mPCRs = mPathSummaryReader.getPCRsForPaths(mPaths, true);
+    }
+    return mPCRs;
+  }
+
+  /**
+   * Write the buffered entries into the index.
+   */
+  public void finish() {
+    mIndexEntries.flush();
   }
 }
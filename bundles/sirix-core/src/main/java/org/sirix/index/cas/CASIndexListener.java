@@ -11,9 +11,10 @@ import org.sirix.access.trx.node.xml.XmlIndexController.ChangeType;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixRuntimeException;
 import org.sirix.index.AtomicUtil;
+import org.sirix.index.CASKeyOrder;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
 import org.sirix.index.avltree.keyvalue.CASValue;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
@@ -21,17 +22,20 @@ import org.sirix.node.interfaces.immutable.ImmutableNode;
 
 public final class CASIndexListener {
 
-  private final AVLTreeWriter<CASValue, NodeReferences> mAVLTreeWriter;
+  private final IndexTreeWriter<CASValue, NodeReferences> mIndexTreeWriter;
   private final PathSummaryReader mPathSummaryReader;
   private final Set<Path<QNm>> mPaths;
   private final Type mType;
+  private final CASKeyOrder mKeyOrder;
 
   public CASIndexListener(final PathSummaryReader pathSummaryReader,
-      final AVLTreeWriter<CASValue, NodeReferences> avlTreeWriter, final Set<Path<QNm>> paths, final Type type) {
+      final IndexTreeWriter<CASValue, NodeReferences> indexTreeWriter, final Set<Path<QNm>> paths, final Type type,
+      final CASKeyOrder keyOrder) {
     mPathSummaryReader = pathSummaryReader;
-    mAVLTreeWriter = avlTreeWriter;
+    mIndexTreeWriter = indexTreeWriter;
     mPaths = paths;
     mType = type;
+    mKeyOrder = keyOrder;
   }
 
   public void listen(final ChangeType type, final ImmutableNode node, final long pathNodeKey, final Str value) {
@@ -45,7 +49,7 @@ public final class CASIndexListener {
           break;
         case DELETE:
           if (mPathSummaryReader.getPCRsForPaths(mPaths, false).contains(pathNodeKey)) {
-            mAVLTreeWriter.remove(new CASValue(value, mType, pathNodeKey), node.getNodeKey());
+            mIndexTreeWriter.remove(new CASValue(value, mType, pathNodeKey, mKeyOrder), node.getNodeKey());
           }
           break;
         default:
@@ -64,8 +68,8 @@ public final class CASIndexListener {
     }
 
     if (isOfType) {
-      final CASValue indexValue = new CASValue(value, mType, pathNodeKey);
-      final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(indexValue, SearchMode.EQUAL);
+      final CASValue indexValue = new CASValue(value, mType, pathNodeKey, mKeyOrder);
+      final Optional<NodeReferences> textReferences = mIndexTreeWriter.get(indexValue, SearchMode.EQUAL);
       if (textReferences.isPresent()) {
         setNodeReferences(node, textReferences.get(), indexValue);
       } else {
@@ -75,6 +79,6 @@ public final class CASIndexListener {
   }
 
   private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final CASValue indexValue) {
-    mAVLTreeWriter.index(indexValue, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
+    mIndexTreeWriter.index(indexValue, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
   }
 }
@@ -3,6 +3,7 @@ package org.sirix.index.cas.json;
 import org.sirix.access.trx.node.json.AbstractJsonNodeVisitor;
 import org.sirix.api.json.JsonNodeReadOnlyTrx;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.index.BufferedIndexBuilder;
 import org.sirix.index.cas.CASIndexBuilder;
 import org.sirix.node.immutable.json.ImmutableBooleanNode;
 import org.sirix.node.immutable.json.ImmutableNumberNode;
@@ -16,7 +17,7 @@ import org.sirix.node.json.ObjectKeyNode;
  * @author Johannes Lichtenberger
  *
  */
-final class JsonCASIndexBuilder extends AbstractJsonNodeVisitor {
+final class JsonCASIndexBuilder extends AbstractJsonNodeVisitor implements BufferedIndexBuilder {
 
   private final CASIndexBuilder mIndexBuilderDelegate;
 
@@ -60,4 +61,8 @@ final class JsonCASIndexBuilder extends AbstractJsonNodeVisitor {
     return PCR;
   }
 
+  @Override
+  public void finish() {
+    mIndexBuilderDelegate.finish();
+  }
 }
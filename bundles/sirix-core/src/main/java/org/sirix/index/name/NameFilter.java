@@ -5,8 +5,6 @@ import java.util.Collections;
 import java.util.Set;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.index.Filter;
-import org.sirix.index.avltree.AVLNode;
-import org.sirix.index.avltree.keyvalue.NodeReferences;
 
 public final class NameFilter implements Filter {
 
@@ -27,12 +25,12 @@ public final class NameFilter implements Filter {
   }
 
   @Override
-  public <K extends Comparable<? super K>> boolean filter(final AVLNode<K, NodeReferences> node) {
+  public <K extends Comparable<? super K>> boolean filter(final K key) {
 
-    if (!(node.getKey() instanceof QNm))
+    if (!(key instanceof QNm))
       throw new IllegalStateException("Key is not of type QNm!");
 
-    final QNm name = (QNm) node.getKey();
+    final QNm name = (QNm) key;
     final boolean included = (mIncludes.isEmpty() || mIncludes.contains(name));
     final boolean excluded = (!mExcludes.isEmpty() && mExcludes.contains(name));
 
@@ -1,13 +1,11 @@
 package org.sirix.index.name;
 
-import java.util.Optional;
 import java.util.Set;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.exception.SirixIOException;
-import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.IndexEntryBuffer;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.node.interfaces.immutable.ImmutableNode;
 import org.sirix.utils.LogWrapper;
@@ -18,13 +16,13 @@ public final class NameIndexBuilder {
 
   public Set<QNm> mIncludes;
   public Set<QNm> mExcludes;
-  public AVLTreeWriter<QNm, NodeReferences> mAVLTreeWriter;
+  public IndexEntryBuffer<QNm> mIndexEntries;
 
   public NameIndexBuilder(final Set<QNm> includes, final Set<QNm> excludes,
-      final AVLTreeWriter<QNm, NodeReferences> avlTreeWriter) {
+      final IndexTreeWriter<QNm, NodeReferences> indexTreeWriter) {
     mIncludes = includes;
     mExcludes = excludes;
-    mAVLTreeWriter = avlTreeWriter;
+    mIndexEntries = new IndexEntryBuffer<>(indexTreeWriter);
   }
 
   public VisitResultType build(QNm name, ImmutableNode node) {
@@ -35,19 +33,19 @@ public final class NameIndexBuilder {
       return VisitResultType.CONTINUE;
     }
 
-    final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(name, SearchMode.EQUAL);
+    mIndexEntries.add(name, node.getNodeKey());
 
+    return VisitResultType.CONTINUE;
+  }
+
+  /**
+   * Write the buffered entries into the index.
+   */
+  public void finish() {
     try {
-      textReferences.ifPresentOrElse(nodeReferences -> setNodeReferences(node, nodeReferences, name),
-          () -> setNodeReferences(node, new NodeReferences(), name));
+      mIndexEntries.flush();
     } catch (final SirixIOException e) {
       LOGGER.error(e.getMessage(), e);
     }
-
-    return VisitResultType.CONTINUE;
-  }
-
-  private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final QNm name) {
-    mAVLTreeWriter.index(name, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
   }
 }
@@ -3,10 +3,11 @@ package org.sirix.index.name.xdm;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.access.trx.node.xml.AbstractXdmNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.index.BufferedIndexBuilder;
 import org.sirix.index.name.NameIndexBuilder;
 import org.sirix.node.immutable.xdm.ImmutableElement;
 
-final class XdmNameIndexBuilder extends AbstractXdmNodeVisitor {
+final class XdmNameIndexBuilder extends AbstractXdmNodeVisitor implements BufferedIndexBuilder {
   private final NameIndexBuilder mBuilder;
 
   XdmNameIndexBuilder(final NameIndexBuilder builder) {
@@ -19,4 +20,9 @@ final class XdmNameIndexBuilder extends AbstractXdmNodeVisitor {
 
     return mBuilder.build(name, node);
   }
+
+  @Override
+  public void finish() {
+    mBuilder.finish();
+  }
 }
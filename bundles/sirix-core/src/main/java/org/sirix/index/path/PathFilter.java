@@ -6,9 +6,7 @@ import java.util.Set;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.util.path.Path;
 import org.sirix.index.Filter;
-import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.keyvalue.CASValue;
-import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
 
 /**
@@ -60,19 +58,17 @@ public final class PathFilter implements Filter {
   }
 
   /**
-   * Filter the node.
+   * Filter the key of an index entry.
    *
-   * @param node node to filter
-   * @return {@code true} if the node has been filtered, {@code false} otherwise
+   * @param key key to filter
+   * @return {@code true} if the key has been filtered, {@code false} otherwise
    */
   @Override
-  public <K extends Comparable<? super K>> boolean filter(final AVLNode<K, NodeReferences> node) {
+  public <K extends Comparable<? super K>> boolean filter(final K key) {
     if (mGenericPath) {
       return true;
     }
 
-    final K key = node.getKey();
-
     long pcr = 0;
     if (key instanceof Long)
       pcr = (Long) key;
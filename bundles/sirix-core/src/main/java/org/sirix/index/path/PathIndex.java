@@ -9,10 +9,12 @@ import org.sirix.index.ChangeListener;
 import org.sirix.index.Filter;
 import org.sirix.index.IndexDef;
 import org.sirix.index.IndexFilterAxis;
+import org.sirix.index.IndexStructure;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.AVLTreeReader;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.BPlusTreeReader;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.UnorderedKeyValuePage;
@@ -29,6 +31,19 @@ public interface PathIndex<B, L extends ChangeListener> {
 
   default Iterator<NodeReferences> openIndex(final PageReadOnlyTrx pageRtx, final IndexDef indexDef,
       final PathFilter filter) {
+    if (indexDef.getStructure() == IndexStructure.BPLUS_TREE) {
+      final BPlusTreeReader<Long, NodeReferences> reader =
+          BPlusTreeReader.getInstance(pageRtx, indexDef.getType(), indexDef.getID());
+
+      if (filter.getPCRs().size() == 1) {
+        final Optional<NodeReferences> optionalNodeReferences =
+            reader.get(filter.getPCRs().iterator().next(), SearchMode.EQUAL);
+        return Iterators.forArray(optionalNodeReferences.orElse(new NodeReferences()));
+      }
+
+      return BPlusTreeReader.filterValues(reader.iterator(), ImmutableSet.of(filter));
+    }
+
     final AVLTreeReader<Long, NodeReferences> reader =
         AVLTreeReader.getInstance(pageRtx, indexDef.getType(), indexDef.getID());
 
@@ -1,6 +1,5 @@
 package org.sirix.index.path;
 
-import java.util.Optional;
 import java.util.Set;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.util.path.Path;
@@ -8,9 +7,8 @@ import org.brackit.xquery.util.path.PathException;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.exception.SirixIOException;
-import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.IndexEntryBuffer;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.immutable.ImmutableNode;
@@ -24,25 +22,23 @@ public final class PathIndexBuilder {
   private final Set<Path<QNm>> mPaths;
   private final PathSummaryReader mPathSummaryReader;
 
-  private final AVLTreeWriter<Long, NodeReferences> mAVLTreeWriter;
+  private final IndexEntryBuffer<Long> mIndexEntries;
 
-  public PathIndexBuilder(final AVLTreeWriter<Long, NodeReferences> avlTreeWriter,
+  /** The path class records of the indexed paths, which don't change during the build. */
+  private Set<Long> mPCRs;
+
+  public PathIndexBuilder(final IndexTreeWriter<Long, NodeReferences> indexTreeWriter,
       final PathSummaryReader pathSummaryReader, final Set<Path<QNm>> paths) {
     mPathSummaryReader = pathSummaryReader;
     mPaths = paths;
-    mAVLTreeWriter = avlTreeWriter;
+    mIndexEntries = new IndexEntryBuffer<>(indexTreeWriter);
   }
 
   public VisitResult process(final ImmutableNode node, final long pathNodeKey) {
     try {
       final long PCR = pathNodeKey;
-      if (mPathSummaryReader.getPCRsForPaths(mPaths, true).contains(PCR) || mPaths.isEmpty()) {
-        final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(PCR, SearchMode.EQUAL);
-        if (textReferences.isPresent()) {
-          setNodeReferences(node, textReferences.get(), PCR);
-        } else {
-          setNodeReferences(node, new NodeReferences(), PCR);
-        }
+      if (mPaths.isEmpty() || getPCRs().contains(PCR)) {
+        mIndexEntries.add(PCR, node.getNodeKey());
       }
     } catch (final PathException | SirixIOException e) {
       LOGGER.error(e.getMessage(), e);
@@ -50,9 +46,18 @@ public final class PathIndexBuilder {
     return VisitResultType.CONTINUE;
   }
 
-  private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final long pathNodeKey)
-      throws SirixIOException {
-    mAVLTreeWriter.index(pathNodeKey, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
+  private Set<Long> getPCRs() throws PathException {
+    if (mPCRs == null) {
+      mPCRs = mPathSummaryReader.getPCRsForPaths(mPaths, true);
+    }
+    return mPCRs;
+  }
+
+  /**
+   * Write the buffered entries into the index.
+   */
+  public void finish() {
+    mIndexEntries.flush();
   }
 
 }
@@ -7,22 +7,22 @@ import org.brackit.xquery.util.path.Path;
 import org.brackit.xquery.util.path.PathException;
 import org.sirix.access.trx.node.xml.XmlIndexController.ChangeType;
 import org.sirix.exception.SirixIOException;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.immutable.ImmutableNode;
 
 public final class PathIndexListener {
 
-  private final AVLTreeWriter<Long, NodeReferences> mAVLTreeWriter;
+  private final IndexTreeWriter<Long, NodeReferences> mIndexTreeWriter;
   private final PathSummaryReader mPathSummaryReader;
   private final Set<Path<QNm>> mPaths;
 
   public PathIndexListener(final Set<Path<QNm>> paths, final PathSummaryReader pathSummaryReader,
-      final AVLTreeWriter<Long, NodeReferences> avlTreeWriter) {
-    mAVLTreeWriter = avlTreeWriter;
+      final IndexTreeWriter<Long, NodeReferences> indexTreeWriter) {
+    mIndexTreeWriter = indexTreeWriter;
     mPathSummaryReader = pathSummaryReader;
     mPaths = paths;
   }
@@ -33,7 +33,7 @@ public final class PathIndexListener {
       switch (type) {
         case INSERT:
           if (mPathSummaryReader.getPCRsForPaths(mPaths, false).contains(pathNodeKey)) {
-            final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(pathNodeKey, SearchMode.EQUAL);
+            final Optional<NodeReferences> textReferences = mIndexTreeWriter.get(pathNodeKey, SearchMode.EQUAL);
             if (textReferences.isPresent()) {
               setNodeReferences(node, textReferences.get(), pathNodeKey);
             } else {
@@ -43,7 +43,7 @@ public final class PathIndexListener {
           break;
         case DELETE:
           if (mPathSummaryReader.getPCRsForPaths(mPaths, false).contains(pathNodeKey)) {
-            mAVLTreeWriter.remove(pathNodeKey, node.getNodeKey());
+            mIndexTreeWriter.remove(pathNodeKey, node.getNodeKey());
           }
           break;
         default:
@@ -55,6 +55,6 @@ public final class PathIndexListener {
 
   private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final long pathNodeKey)
       throws SirixIOException {
-    mAVLTreeWriter.index(pathNodeKey, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
+    mIndexTreeWriter.index(pathNodeKey, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
   }
 }
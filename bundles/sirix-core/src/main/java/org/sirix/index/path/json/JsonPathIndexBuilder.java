@@ -2,10 +2,11 @@ package org.sirix.index.path.json;
 
 import org.sirix.access.trx.node.json.AbstractJsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.index.BufferedIndexBuilder;
 import org.sirix.index.path.PathIndexBuilder;
 import org.sirix.node.immutable.json.ImmutableObjectKeyNode;
 
-public final class JsonPathIndexBuilder extends AbstractJsonNodeVisitor {
+public final class JsonPathIndexBuilder extends AbstractJsonNodeVisitor implements BufferedIndexBuilder {
 
   private final PathIndexBuilder mPathIndexBuilder;
 
@@ -17,4 +18,9 @@ public final class JsonPathIndexBuilder extends AbstractJsonNodeVisitor {
   public VisitResult visit(ImmutableObjectKeyNode node) {
     return mPathIndexBuilder.process(node, node.getPathNodeKey());
   }
+
+  @Override
+  public void finish() {
+    mPathIndexBuilder.finish();
+  }
 }
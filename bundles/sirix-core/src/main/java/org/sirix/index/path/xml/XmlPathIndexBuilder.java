@@ -2,11 +2,12 @@ package org.sirix.index.path.xml;
 
 import org.sirix.access.trx.node.xml.AbstractXdmNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.index.BufferedIndexBuilder;
 import org.sirix.index.path.PathIndexBuilder;
 import org.sirix.node.immutable.xdm.ImmutableAttributeNode;
 import org.sirix.node.immutable.xdm.ImmutableElement;
 
-public final class XmlPathIndexBuilder extends AbstractXdmNodeVisitor {
+public final class XmlPathIndexBuilder extends AbstractXdmNodeVisitor implements BufferedIndexBuilder {
 
   private final PathIndexBuilder mPathIndexBuilder;
 
@@ -24,4 +25,8 @@ public final class XmlPathIndexBuilder extends AbstractXdmNodeVisitor {
     return mPathIndexBuilder.process(node, node.getPathNodeKey());
   }
 
+  @Override
+  public void finish() {
+    mPathIndexBuilder.finish();
+  }
 }
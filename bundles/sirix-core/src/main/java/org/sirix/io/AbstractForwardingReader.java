@@ -1,5 +1,6 @@
 package org.sirix.io;
 
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nullable;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.exception.SirixIOException;
@@ -25,6 +26,16 @@ public abstract class AbstractForwardingReader extends ForwardingObject implemen
     return delegate().read(reference, pageReadTrx);
   }
 
+  @Override
+  public byte[] readPageBytes(PageReference reference) throws SirixIOException {
+    return delegate().readPageBytes(reference);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> readPageBytesAsync(PageReference reference) {
+    return delegate().readPageBytesAsync(reference);
+  }
+
   @Override
   public PageReference readUberPageReference() throws SirixIOException {
     return delegate().readUberPageReference();
@@ -35,6 +46,11 @@ public abstract class AbstractForwardingReader extends ForwardingObject implemen
     return delegate().readRevisionRootPage(revision, pageReadTrx);
   }
 
+  @Override
+  public long[] readRevisionTimestamps() {
+    return delegate().readRevisionTimestamps();
+  }
+
   @Override
   protected abstract Reader delegate();
 }
@@ -0,0 +1,178 @@
+package org.sirix.io;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import javax.annotation.Nonnegative;
+
+/**
+ * {@link DataInput} which decodes the bytes of a {@link ByteBuffer} in place. In contrast to a
+ * {@link DataInputStream} chain, records embedded in a page can be decoded without copying them into
+ * separate arrays first, as the position can be set to the end of a record after decoding it.
+ */
+public final class ByteBufferDataInput implements DataInput {
+
+  /** The buffer to read from (big endian, like the {@link DataInput} contract). */
+  private final ByteBuffer mBuffer;
+
+  /**
+   * Constructor.
+   *
+   * @param buffer the buffer to read from, starting at its current position
+   */
+  public ByteBufferDataInput(final ByteBuffer buffer) {
+    mBuffer = checkNotNull(buffer).slice().order(ByteOrder.BIG_ENDIAN);
+  }
+
+  /**
+   * Create a new instance, which reads the given bytes.
+   *
+   * @param bytes the bytes to read
+   * @return the new instance
+   */
+  public static ByteBufferDataInput wrap(final byte[] bytes) {
+    return new ByteBufferDataInput(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Get the current position.
+   *
+   * @return the current position
+   */
+  public int position() {
+    return mBuffer.position();
+  }
+
+  /**
+   * Set the current position.
+   *
+   * @param position the new position
+   * @return this instance
+   */
+  public ByteBufferDataInput position(final @Nonnegative int position) {
+    mBuffer.position(position);
+    return this;
+  }
+
+  /**
+   * Get the number of bytes, which can still be read.
+   *
+   * @return the number of remaining bytes
+   */
+  public int remaining() {
+    return mBuffer.remaining();
+  }
+
+  private void ensureRemaining(final int length) throws EOFException {
+    if (mBuffer.remaining() < length) {
+      throw new EOFException();
+    }
+  }
+
+  @Override
+  public void readFully(final byte[] bytes) throws IOException {
+    readFully(bytes, 0, bytes.length);
+  }
+
+  @Override
+  public void readFully(final byte[] bytes, final int offset, final int length) throws IOException {
+    ensureRemaining(length);
+    mBuffer.get(bytes, offset, length);
+  }
+
+  @Override
+  public int skipBytes(final int n) {
+    final int skipped = Math.max(0, Math.min(n, mBuffer.remaining()));
+    mBuffer.position(mBuffer.position() + skipped);
+    return skipped;
+  }
+
+  @Override
+  public boolean readBoolean() throws IOException {
+    return readByte() != 0;
+  }
+
+  @Override
+  public byte readByte() throws IOException {
+    ensureRemaining(Byte.BYTES);
+    return mBuffer.get();
+  }
+
+  @Override
+  public int readUnsignedByte() throws IOException {
+    return readByte() & 0xFF;
+  }
+
+  @Override
+  public short readShort() throws IOException {
+    ensureRemaining(Short.BYTES);
+    return mBuffer.getShort();
+  }
+
+  @Override
+  public int readUnsignedShort() throws IOException {
+    return readShort() & 0xFFFF;
+  }
+
+  @Override
+  public char readChar() throws IOException {
+    ensureRemaining(Character.BYTES);
+    return mBuffer.getChar();
+  }
+
+  @Override
+  public int readInt() throws IOException {
+    ensureRemaining(Integer.BYTES);
+    return mBuffer.getInt();
+  }
+
+  @Override
+  public long readLong() throws IOException {
+    ensureRemaining(Long.BYTES);
+    return mBuffer.getLong();
+  }
+
+  @Override
+  public float readFloat() throws IOException {
+    ensureRemaining(Float.BYTES);
+    return mBuffer.getFloat();
+  }
+
+  @Override
+  public double readDouble() throws IOException {
+    ensureRemaining(Double.BYTES);
+    return mBuffer.getDouble();
+  }
+
+  @Override
+  public String readLine() {
+    if (!mBuffer.hasRemaining()) {
+      return null;
+    }
+
+    final StringBuilder line = new StringBuilder();
+    while (mBuffer.hasRemaining()) {
+      final char c = (char) (mBuffer.get() & 0xFF);
+      if (c == '\n') {
+        break;
+      }
+      if (c == '\r') {
+        if (mBuffer.hasRemaining() && mBuffer.get(mBuffer.position()) == '\n') {
+          mBuffer.get();
+        }
+        break;
+      }
+      line.append(c);
+    }
+    return line.toString();
+  }
+
+  @Override
+  public String readUTF() throws IOException {
+    return DataInputStream.readUTF(this);
+  }
+}
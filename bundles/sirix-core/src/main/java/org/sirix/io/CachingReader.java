@@ -0,0 +1,112 @@
+package org.sirix.io;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.cache.Cache;
+import org.sirix.exception.SirixIOException;
+import org.sirix.page.PagePersister;
+import org.sirix.page.PageReference;
+import org.sirix.page.SerializationType;
+import org.sirix.page.interfaces.Page;
+import org.sirix.settings.Constants;
+
+/**
+ * Reader, which caches the decompressed bytes of the pages read from the data file in a
+ * second-level cache, such that pages, which are evicted from the in-memory caches, can be
+ * deserialized again without reading and decompressing them.
+ */
+public final class CachingReader extends AbstractForwardingReader {
+
+  /** The reader to delegate to. */
+  private final Reader mReader;
+
+  /** Caches the decompressed bytes of pages. */
+  private final Cache<PageReference, byte[]> mCache;
+
+  /** Used to deserialize pages. */
+  private final PagePersister mPagePersister;
+
+  /**
+   * Constructor.
+   *
+   * @param reader the reader of the data file to delegate to
+   * @param cache caches the decompressed bytes of pages
+   */
+  public CachingReader(final Reader reader, final Cache<PageReference, byte[]> cache) {
+    mReader = checkNotNull(reader);
+    mCache = checkNotNull(cache);
+    mPagePersister = new PagePersister();
+  }
+
+  @Override
+  public Page read(final PageReference reference, final @Nullable PageReadOnlyTrx pageReadTrx) {
+    if (reference.getKey() == Constants.NULL_ID_LONG) {
+      return mReader.read(reference, pageReadTrx);
+    }
+
+    final byte[] page = readPageBytes(reference);
+
+    if (page == null) {
+      return mReader.read(reference, pageReadTrx);
+    }
+
+    try {
+      return mPagePersister.deserializePage(ByteBuffer.wrap(page), pageReadTrx, SerializationType.DATA);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public byte[] readPageBytes(final PageReference reference) {
+    byte[] page = mCache.get(reference);
+
+    if (page == null) {
+      page = mReader.readPageBytes(reference);
+
+      if (page != null) {
+        mCache.put(reference, page);
+      }
+    }
+
+    return page;
+  }
+
+  @Override
+  public CompletableFuture<byte[]> readPageBytesAsync(final PageReference reference) {
+    final byte[] page = mCache.get(reference);
+
+    if (page != null) {
+      return CompletableFuture.completedFuture(page);
+    }
+
+    final CompletableFuture<byte[]> read = mReader.readPageBytesAsync(reference);
+    final CompletableFuture<byte[]> cachedRead = read.thenApply(readPage -> {
+      if (readPage != null) {
+        mCache.put(reference, readPage);
+      }
+      return readPage;
+    });
+    // Skip the read, if it's not needed anymore.
+    cachedRead.whenComplete((readPage, e) -> {
+      if (cachedRead.isCancelled()) {
+        read.cancel(false);
+      }
+    });
+    return cachedRead;
+  }
+
+  @Override
+  public void close() {
+    mReader.close();
+  }
+
+  @Override
+  protected Reader delegate() {
+    return mReader;
+  }
+}
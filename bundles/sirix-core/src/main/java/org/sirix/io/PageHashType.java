@@ -0,0 +1,94 @@
+package org.sirix.io;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+import javax.annotation.Nullable;
+import org.sirix.exception.SirixIOException;
+import org.sirix.page.PageReference;
+import com.google.common.hash.Hashing;
+
+/**
+ * The hash function, which is used to compute the integrity hash of a page as it's stored, that is
+ * its length beacon followed by the serialized page. The hash is stored in the references to the
+ * page.
+ *
+ * @author Johannes Lichtenberger
+ */
+public enum PageHashType {
+  /** No hash is computed. */
+  NONE {
+    @Override
+    public byte[] hash(final byte[] bytes, final int offset, final int length) {
+      return null;
+    }
+  },
+
+  /** Cryptographic SHA-256 hash (32 bytes). */
+  SHA256 {
+    @Override
+    public byte[] hash(final byte[] bytes, final int offset, final int length) {
+      return Hashing.sha256().hashBytes(bytes, offset, length).asBytes();
+    }
+  },
+
+  /** CRC32C checksum (4 bytes), which is computed with hardware intrinsics on most platforms. */
+  CRC32C {
+    @Override
+    public byte[] hash(final byte[] bytes, final int offset, final int length) {
+      final CRC32C checksum = new CRC32C();
+      checksum.update(bytes, offset, length);
+      return ByteBuffer.allocate(Integer.BYTES).putInt((int) checksum.getValue()).array();
+    }
+  },
+
+  /** Non-cryptographic 64 bit FarmHash fingerprint (8 bytes). */
+  FARMHASH64 {
+    @Override
+    public byte[] hash(final byte[] bytes, final int offset, final int length) {
+      return Hashing.farmHashFingerprint64().hashBytes(bytes, offset, length).asBytes();
+    }
+  };
+
+  /**
+   * Hash the bytes of a page as it's stored.
+   *
+   * @param bytes the bytes
+   * @param offset the offset of the first byte to hash
+   * @param length the number of bytes to hash
+   * @return the hash or {@code null}, if no hash is computed
+   */
+  @Nullable
+  public abstract byte[] hash(byte[] bytes, int offset, int length);
+
+  /**
+   * Hash the bytes of a page as it's stored.
+   *
+   * @param bytes the bytes
+   * @return the hash or {@code null}, if no hash is computed
+   */
+  @Nullable
+  public byte[] hash(final byte[] bytes) {
+    return hash(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Verify the hash of a page, which has been read, against the hash stored in the reference to the
+   * page. Nothing is verified, if the reference doesn't store a hash.
+   *
+   * @param reference the reference to the page
+   * @param page the page bytes as stored after the length beacon
+   * @throws SirixIOException if the hashes don't match
+   */
+  public void verify(final PageReference reference, final byte[] page) {
+    final byte[] expectedHash = reference.getHash();
+    if (expectedHash == null || this == NONE) {
+      return;
+    }
+
+    final byte[] storedPage = ByteBuffer.allocate(Integer.BYTES + page.length).putInt(page.length).put(page).array();
+    if (!Arrays.equals(expectedHash, hash(storedPage))) {
+      throw new SirixIOException("The hash of the page at offset " + reference.getKey() + " doesn't match.");
+    }
+  }
+}
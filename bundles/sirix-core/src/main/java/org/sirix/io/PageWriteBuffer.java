@@ -0,0 +1,173 @@
+package org.sirix.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import javax.annotation.Nonnegative;
+
+/**
+ * Collects serialized pages, which are appended to the end of a file, in direct buffers. The
+ * buffers are written with a single gathering write once they are full or once the pages have to
+ * be visible, that is before a page is read back or once the uber page of a revision is written.
+ * The end of the file is tracked in memory, such that determining the offset of a page does not
+ * require a system call.
+ */
+public final class PageWriteBuffer {
+
+  /** Size of a single direct buffer (1 MiB). */
+  private static final int CHUNK_SIZE = 1 << 20;
+
+  /** Maximum number of bytes buffered before the buffers are flushed (16 MiB). */
+  private static final int MAX_BUFFERED_BYTES = 16 * CHUNK_SIZE;
+
+  /** The channel to append to. */
+  private final FileChannel mChannel;
+
+  /** Buffers, which are ready to be written (flipped). */
+  private final List<ByteBuffer> mPending;
+
+  /** Direct buffers, which can be reused. */
+  private final Deque<ByteBuffer> mFreeChunks;
+
+  /** The direct buffer, which is currently filled. */
+  private ByteBuffer mCurrentChunk;
+
+  /** Offset in the file up to which all pages are written. */
+  private long mFlushedOffset;
+
+  /** Offset in the file of the next page to append. */
+  private long mOffset;
+
+  /**
+   * Constructor.
+   *
+   * @param channel the channel of the file to append to
+   * @param offset the offset of the end of the file
+   */
+  public PageWriteBuffer(final FileChannel channel, final @Nonnegative long offset) {
+    mChannel = checkNotNull(channel);
+    mPending = new ArrayList<>();
+    mFreeChunks = new ArrayDeque<>();
+    reset(offset);
+  }
+
+  /**
+   * Append a serialized page.
+   *
+   * @param page the serialized page
+   * @return the offset of the page in the file
+   * @throws IOException if the buffers have to be flushed and an I/O error occurs
+   */
+  public long append(final byte[] page) throws IOException {
+    final long offset = mOffset;
+
+    if (page.length > CHUNK_SIZE) {
+      finishCurrentChunk();
+      mPending.add(ByteBuffer.wrap(page));
+    } else {
+      if (mCurrentChunk == null || mCurrentChunk.remaining() < page.length) {
+        finishCurrentChunk();
+        mCurrentChunk = mFreeChunks.isEmpty()
+            ? ByteBuffer.allocateDirect(CHUNK_SIZE)
+            : mFreeChunks.pop();
+      }
+      mCurrentChunk.put(page);
+    }
+
+    mOffset += page.length;
+
+    if (mOffset - mFlushedOffset >= MAX_BUFFERED_BYTES) {
+      flush();
+    }
+
+    return offset;
+  }
+
+  /**
+   * Write all buffered pages to the file (without forcing them to the storage device).
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  public void flush() throws IOException {
+    finishCurrentChunk();
+
+    if (mPending.isEmpty()) {
+      return;
+    }
+
+    final ByteBuffer[] buffers = mPending.toArray(new ByteBuffer[mPending.size()]);
+    mChannel.position(mFlushedOffset);
+
+    long remaining = mOffset - mFlushedOffset;
+    while (remaining > 0) {
+      remaining -= mChannel.write(buffers);
+    }
+
+    for (final ByteBuffer buffer : buffers) {
+      if (buffer.isDirect()) {
+        buffer.clear();
+        mFreeChunks.push(buffer);
+      }
+    }
+
+    mPending.clear();
+    mFlushedOffset = mOffset;
+  }
+
+  /**
+   * Determines if pages are buffered, which are not yet written to the file.
+   *
+   * @return {@code true}, if pages are buffered, {@code false} otherwise
+   */
+  public boolean hasPendingPages() {
+    return mOffset != mFlushedOffset;
+  }
+
+  /**
+   * Discard all buffered pages and set the end of the file, for instance after the file has been
+   * truncated.
+   *
+   * @param offset the offset of the end of the file
+   */
+  public void reset(final @Nonnegative long offset) {
+    checkArgument(offset >= 0, "offset must be >= 0!");
+
+    for (final ByteBuffer buffer : mPending) {
+      if (buffer.isDirect()) {
+        buffer.clear();
+        mFreeChunks.push(buffer);
+      }
+    }
+    mPending.clear();
+
+    if (mCurrentChunk != null) {
+      mCurrentChunk.clear();
+    }
+
+    mFlushedOffset = offset;
+    mOffset = offset;
+  }
+
+  /**
+   * Get the offset in the file of the next page to append.
+   *
+   * @return the offset of the end of the file including the buffered pages
+   */
+  public long getOffset() {
+    return mOffset;
+  }
+
+  private void finishCurrentChunk() {
+    if (mCurrentChunk != null && mCurrentChunk.position() > 0) {
+      mCurrentChunk.flip();
+      mPending.add(mCurrentChunk);
+      mCurrentChunk = null;
+    }
+  }
+}
@@ -21,6 +21,7 @@
 
 package org.sirix.io;
 
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nullable;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.exception.SirixIOException;
@@ -56,6 +57,35 @@ public interface Reader extends AutoCloseable {
    */
   Page read(PageReference key, @Nullable PageReadOnlyTrx pageReadTrx) throws SirixIOException;
 
+  /**
+   * Read the bytes of a page after the byte handler pipeline has been applied, that is the
+   * decompressed and decrypted bytes, which can be deserialized with the
+   * {@link org.sirix.page.PagePersister}. The length of the stored page is set on the reference.
+   *
+   * @param key the reference for the page to be read
+   * @return the bytes of the page or {@code null} if the reader doesn't store pages as bytes
+   * @throws SirixIOException if something bad happens during read
+   */
+  default byte[] readPageBytes(PageReference key) throws SirixIOException {
+    return null;
+  }
+
+  /**
+   * Read the bytes of a page (see {@link #readPageBytes(PageReference)}) asynchronously, such that
+   * several pages, for instance the fragments of a record page, can be read concurrently. By default
+   * the page is read synchronously.
+   *
+   * @param key the reference for the page to be read
+   * @return the future bytes of the page or {@code null} if the reader doesn't store pages as bytes
+   */
+  default CompletableFuture<byte[]> readPageBytesAsync(PageReference key) {
+    try {
+      return CompletableFuture.completedFuture(readPageBytes(key));
+    } catch (final SirixIOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
   /**
    * Closing the storage.
    *
@@ -72,4 +102,14 @@ public interface Reader extends AutoCloseable {
    * @return the revision root page
    */
   RevisionRootPage readRevisionRootPage(int revision, PageReadOnlyTrx pageReadTrx);
+
+  /**
+   * Read the commit timestamps of the revisions, which are stored in a file next to the revision
+   * root pages, such that slot {@code i} holds the timestamp of revision {@code i}. The array might
+   * be shorter than the number of revisions or contain zeros, if the timestamps of older revisions
+   * haven't been recorded.
+   *
+   * @return the timestamps in milliseconds since the epoch, indexed by the revision number
+   */
+  long[] readRevisionTimestamps();
 }
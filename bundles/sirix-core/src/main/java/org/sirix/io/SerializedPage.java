@@ -0,0 +1,50 @@
+package org.sirix.io;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import javax.annotation.Nullable;
+
+/**
+ * A page, which has been serialized by a {@link Writer}, that is the bytes which are appended to
+ * the storage including the page's length beacon, and the hash of these bytes.
+ */
+public final class SerializedPage {
+
+  /** Serialized page, which is kept in memory by storages, which don't serialize pages at all. */
+  public static final SerializedPage IN_MEMORY = new SerializedPage(new byte[0], null);
+
+  /** The bytes, which are appended to the storage. */
+  private final byte[] mBytes;
+
+  /** The hash of the bytes (might be {@code null}). */
+  private final byte[] mHash;
+
+  /**
+   * Constructor.
+   *
+   * @param bytes the bytes, which are appended to the storage
+   * @param hash the hash of the bytes (might be {@code null})
+   */
+  public SerializedPage(final byte[] bytes, final @Nullable byte[] hash) {
+    mBytes = checkNotNull(bytes);
+    mHash = hash;
+  }
+
+  /**
+   * Get the bytes, which are appended to the storage.
+   *
+   * @return the bytes
+   */
+  public byte[] getBytes() {
+    return mBytes;
+  }
+
+  /**
+   * Get the hash of the bytes.
+   *
+   * @return the hash of the bytes or {@code null}
+   */
+  @Nullable
+  public byte[] getHash() {
+    return mHash;
+  }
+}
@@ -40,6 +40,27 @@ public interface Writer extends Reader {
    */
   Writer write(PageReference pageReference) throws SirixIOException;
 
+  /**
+   * Serialize the page related to the reference, that is run it through the byte handler pipeline
+   * and hash it, without writing it. The state of the writer isn't changed, such that distinct pages
+   * can be serialized concurrently.
+   *
+   * @param pageReference that points to a page
+   * @throws SirixIOException execption to be thrown if something bad happens
+   * @return the serialized page, which is written by {@link #write(PageReference, SerializedPage)}
+   */
+  SerializedPage serialize(PageReference pageReference) throws SirixIOException;
+
+  /**
+   * Writing a page related to the reference, which has already been serialized.
+   *
+   * @param pageReference that points to a page
+   * @param serializedPage the page serialized by {@link #serialize(PageReference)}
+   * @throws SirixIOException execption to be thrown if something bad happens
+   * @return this writer instance
+   */
+  Writer write(PageReference pageReference, SerializedPage serializedPage) throws SirixIOException;
+
   /**
    * Write beacon for the first reference.
    *
@@ -3,6 +3,7 @@
  */
 package org.sirix.io.bytepipe;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
@@ -66,6 +67,14 @@ public final class ByteHandlePipeline implements ByteHandler {
     return pipeData;
   }
 
+  @Override
+  public byte[] deserialize(final byte[] toDeserialize) throws IOException {
+    if (mParts.isEmpty()) {
+      return toDeserialize;
+    }
+    return ByteHandler.super.deserialize(toDeserialize);
+  }
+
   /**
    * Get byte handler components.
    *
@@ -1,8 +1,10 @@
 package org.sirix.io.bytepipe;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import com.google.common.io.ByteStreams;
 
 /**
  * Interface for the decorator, representing any byte representation to be serialized or to
@@ -30,6 +32,20 @@ public interface ByteHandler {
    */
   InputStream deserialize(InputStream toDeserialize);
 
+  /**
+   * Method to deserialize a complete byte-chunk at once.
+   *
+   * @param toDeserialize to deserialize
+   * @return result of the deserialization (might be the given array, if no bytes have to be
+   *         transformed)
+   * @throws IOException if a byte handling exception occurs
+   */
+  default byte[] deserialize(byte[] toDeserialize) throws IOException {
+    try (final InputStream in = deserialize(new ByteArrayInputStream(toDeserialize))) {
+      return ByteStreams.toByteArray(in);
+    }
+  }
+
   /**
    * Method to retrieve a new instance.
    *
@@ -22,14 +22,17 @@
 package org.sirix.io.file;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.PageHashType;
 import org.sirix.io.Reader;
 import org.sirix.io.bytepipe.ByteHandler;
 import org.sirix.page.PagePersister;
@@ -38,8 +41,6 @@ import org.sirix.page.RevisionRootPage;
 import org.sirix.page.SerializationType;
 import org.sirix.page.UberPage;
 import org.sirix.page.interfaces.Page;
-import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hashing;
 
 /**
  * File Reader. Used for {@link PageReadOnlyTrx} to provide read only access on a RandomAccessFile.
@@ -61,7 +62,10 @@ public final class FileReader implements Reader {
   final ByteHandler mByteHandler;
 
   /** The hash function used to hash pages/page fragments. */
-  final HashFunction mHashFunction;
+  final PageHashType mPageHashType;
+
+  /** Determines if the hashes of read pages are verified. */
+  private final boolean mVerifyPageHashes;
 
   /** Data file. */
   private final RandomAccessFile mDataFile;
@@ -69,6 +73,9 @@ public final class FileReader implements Reader {
   /** Revisions offset file. */
   private final RandomAccessFile mRevisionsOffsetFile;
 
+  /** Revision timestamps file (might be {@code null}). */
+  private final RandomAccessFile mRevisionTimestampsFile;
+
   /** The type of data to serialize. */
   private final SerializationType mType;
 
@@ -86,11 +93,35 @@ public final class FileReader implements Reader {
   public FileReader(final RandomAccessFile dataFile, final RandomAccessFile revisionsOffsetFile,
       final ByteHandler handler, final SerializationType type,
       final PagePersister pagePersistenter) {
-    mHashFunction = Hashing.sha256();
+    this(dataFile, revisionsOffsetFile, null, handler, type, pagePersistenter, PageHashType.SHA256, false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the data file
+   * @param revisionsOffsetFile the file, which holds pointers to the revision root pages
+   * @param revisionTimestampsFile the file, which holds the commit timestamps of the revisions (might
+   *        be {@code null})
+   * @param handler {@link ByteHandler} instance
+   * @param pageHashType the hash function used to hash pages
+   * @param verifyPageHashes {@code true}, if the hashes of read pages should be verified against the
+   *        hashes stored in their references, {@code false} otherwise
+   * @throws SirixIOException if something bad happens
+   */
+  public FileReader(final RandomAccessFile dataFile, final RandomAccessFile revisionsOffsetFile,
+      final @Nullable RandomAccessFile revisionTimestampsFile, final ByteHandler handler,
+      final SerializationType type, final PagePersister pagePersistenter, final PageHashType pageHashType,
+      final boolean verifyPageHashes) {
+    mPageHashType = checkNotNull(pageHashType);
+    mVerifyPageHashes = verifyPageHashes;
     mDataFile = checkNotNull(dataFile);
     mRevisionsOffsetFile = type == SerializationType.DATA
         ? checkNotNull(revisionsOffsetFile)
         : null;
+    mRevisionTimestampsFile = type == SerializationType.DATA
+        ? revisionTimestampsFile
+        : null;
     mByteHandler = checkNotNull(handler);
     mType = checkNotNull(type);
     mPagePersiter = checkNotNull(pagePersistenter);
@@ -99,6 +130,18 @@ public final class FileReader implements Reader {
   @Override
   public Page read(final @Nonnull PageReference reference,
       final @Nullable PageReadOnlyTrx pageReadTrx) {
+    try {
+      final ByteBuffer input = ByteBuffer.wrap(readPageBytes(reference));
+
+      // Return reader required to instantiate and deserialize page.
+      return mPagePersiter.deserializePage(input, pageReadTrx, mType);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public byte[] readPageBytes(final @Nonnull PageReference reference) {
     try {
       // Read page from file.
       switch (mType) {
@@ -115,19 +158,58 @@ public final class FileReader implements Reader {
       final int dataLength = mDataFile.readInt();
       reference.setLength(dataLength + FileReader.OTHER_BEACON);
       final byte[] page = new byte[dataLength];
-      mDataFile.read(page);
+      mDataFile.readFully(page);
+
+      if (mVerifyPageHashes) {
+        mPageHashType.verify(reference, page);
+      }
 
       // Perform byte operations.
-      final DataInputStream input =
-          new DataInputStream(mByteHandler.deserialize(new ByteArrayInputStream(page)));
+      return mByteHandler.deserialize(page);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
 
-      // Return reader required to instantiate and deserialize page.
-      return mPagePersiter.deserializePage(input, pageReadTrx, mType);
+  @Override
+  public CompletableFuture<byte[]> readPageBytesAsync(final @Nonnull PageReference reference) {
+    // Positional reads don't change the file pointer, thus pages can be read concurrently.
+    return CompletableFuture.supplyAsync(() -> readPageBytesAt(reference));
+  }
+
+  private byte[] readPageBytesAt(final PageReference reference) {
+    try {
+      final long position = mType == SerializationType.TRANSACTION_INTENT_LOG
+          ? reference.getPersistentLogKey()
+          : reference.getKey();
+      final FileChannel dataFile = mDataFile.getChannel();
+
+      final ByteBuffer dataLength = ByteBuffer.allocate(Integer.BYTES);
+      readFully(dataFile, dataLength, position);
+      reference.setLength(dataLength.getInt(0) + FileReader.OTHER_BEACON);
+      final ByteBuffer page = ByteBuffer.allocate(dataLength.getInt(0));
+      readFully(dataFile, page, position + Integer.BYTES);
+
+      if (mVerifyPageHashes) {
+        mPageHashType.verify(reference, page.array());
+      }
+
+      // Perform byte operations.
+      return mByteHandler.deserialize(page.array());
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
   }
 
+  private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) == -1) {
+        throw new EOFException();
+      }
+    }
+  }
+
   @Override
   public PageReference readUberPageReference() {
     final PageReference uberPageReference = new PageReference();
@@ -155,8 +237,7 @@ public final class FileReader implements Reader {
       mDataFile.read(page);
 
       // Perform byte operations.
-      final DataInputStream input =
-          new DataInputStream(mByteHandler.deserialize(new ByteArrayInputStream(page)));
+      final ByteBuffer input = ByteBuffer.wrap(mByteHandler.deserialize(page));
 
       // Return reader required to instantiate and deserialize page.
       return (RevisionRootPage) mPagePersiter.deserializePage(input, pageReadTrx, mType);
@@ -165,12 +246,34 @@ public final class FileReader implements Reader {
     }
   }
 
+  @Override
+  public long[] readRevisionTimestamps() {
+    if (mRevisionTimestampsFile == null) {
+      return new long[0];
+    }
+
+    try {
+      final byte[] bytes = new byte[(int) (mRevisionTimestampsFile.length() / Long.BYTES) * Long.BYTES];
+      mRevisionTimestampsFile.seek(0);
+      mRevisionTimestampsFile.readFully(bytes);
+
+      final long[] timestamps = new long[bytes.length / Long.BYTES];
+      ByteBuffer.wrap(bytes).asLongBuffer().get(timestamps);
+      return timestamps;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
   @Override
   public void close() throws SirixIOException {
     try {
       if (mRevisionsOffsetFile != null) {
         mRevisionsOffsetFile.close();
       }
+      if (mRevisionTimestampsFile != null) {
+        mRevisionTimestampsFile.close();
+      }
       mDataFile.close();
     } catch (final IOException e) {
       throw new SirixIOException(e);
@@ -27,6 +27,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.PageHashType;
 import org.sirix.io.Reader;
 import org.sirix.io.Storage;
 import org.sirix.io.Writer;
@@ -49,12 +50,24 @@ public final class FileStorage implements Storage {
   /** Revisions file name. */
   private static final String REVISIONS_FILENAME = "sirix.revisions";
 
+  /** Revision timestamps file name. */
+  private static final String REVISION_TIMESTAMPS_FILENAME = "sirix.revisiontimestamps";
+
   /** Instance to storage. */
   private final Path mFile;
 
   /** Byte handler pipeline. */
   private final ByteHandlePipeline mByteHandler;
 
+  /** Determines if pages are written in batches. */
+  private final boolean mBatchPageWrites;
+
+  /** The hash function used to hash pages. */
+  private final PageHashType mPageHashType;
+
+  /** Determines if the hashes of read pages are verified. */
+  private final boolean mVerifyPageHashes;
+
   /**
    * Constructor.
    *
@@ -65,25 +78,30 @@ public final class FileStorage implements Storage {
     assert resourceConfig != null : "resourceConfig must not be null!";
     mFile = resourceConfig.resourcePath;
     mByteHandler = resourceConfig.byteHandlePipeline;
+    mBatchPageWrites = resourceConfig.batchPageWrites;
+    mPageHashType = resourceConfig.pageHashType;
+    mVerifyPageHashes = resourceConfig.verifyPageHashes;
   }
 
   @Override
   public Reader createReader() throws SirixIOException {
     try {
-      final Path dataFilePath = createDirectoriesAndFile();
+      final Path dataFilePath = createDirectoriesAndFile(getDataFilePath());
       final Path revisionsOffsetFilePath = getRevisionFilePath();
+      // Resources created before the timestamps have been recorded don't have the file yet.
+      final Path revisionTimestampsFilePath = createDirectoriesAndFile(getRevisionTimestampsFilePath());
 
       return new FileReader(new RandomAccessFile(dataFilePath.toFile(), "r"),
           new RandomAccessFile(revisionsOffsetFilePath.toFile(), "r"),
-          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister());
+          new RandomAccessFile(revisionTimestampsFilePath.toFile(), "r"),
+          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister(), mPageHashType,
+          mVerifyPageHashes);
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
   }
 
-  private Path createDirectoriesAndFile() throws IOException {
-    final Path concreteStorage = getDataFilePath();
-
+  private static Path createDirectoriesAndFile(final Path concreteStorage) throws IOException {
     if (!Files.exists(concreteStorage)) {
       Files.createDirectories(concreteStorage.getParent());
       Files.createFile(concreteStorage);
@@ -95,12 +113,14 @@ public final class FileStorage implements Storage {
   @Override
   public Writer createWriter() throws SirixIOException {
     try {
-      final Path dataFilePath = createDirectoriesAndFile();
+      final Path dataFilePath = createDirectoriesAndFile(getDataFilePath());
       final Path revisionsOffsetFilePath = getRevisionFilePath();
 
       return new FileWriter(new RandomAccessFile(dataFilePath.toFile(), "rw"),
           new RandomAccessFile(revisionsOffsetFilePath.toFile(), "rw"),
-          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister());
+          new RandomAccessFile(getRevisionTimestampsFilePath().toFile(), "rw"),
+          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister(),
+          mBatchPageWrites, mPageHashType, mVerifyPageHashes);
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
@@ -130,6 +150,16 @@ public final class FileStorage implements Storage {
                 .resolve(REVISIONS_FILENAME);
   }
 
+  /**
+   * Getting path for the file, which holds the commit timestamps of the revisions.
+   *
+   * @return the path for the revision timestamps file
+   */
+  private Path getRevisionTimestampsFilePath() {
+    return mFile.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath())
+                .resolve(REVISION_TIMESTAMPS_FILENAME);
+  }
+
   @Override
   public boolean exists() throws SirixIOException {
     final Path storage = getDataFilePath();
@@ -28,9 +28,15 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.AbstractForwardingReader;
+import org.sirix.io.PageHashType;
+import org.sirix.io.PageWriteBuffer;
 import org.sirix.io.Reader;
+import org.sirix.io.SerializedPage;
 import org.sirix.io.Writer;
 import org.sirix.io.bytepipe.ByteHandler;
 import org.sirix.page.PagePersister;
@@ -41,7 +47,9 @@ import org.sirix.page.UberPage;
 import org.sirix.page.interfaces.Page;
 
 /**
- * File Writer for providing read/write access for file as a Sirix backend.
+ * File Writer for providing read/write access for file as a Sirix backend. Pages are either written
+ * immediately or, if batching is enabled, collected in a {@link PageWriteBuffer} and flushed with a
+ * single gathering write and one {@code fsync} once the uber page of a revision is written.
  *
  * @author Marc Kramis, Seabix
  * @author Sebastian Graf, University of Konstanz
@@ -59,8 +67,17 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
 
   private final RandomAccessFile mRevisionsOffsetFile;
 
+  /** File, which holds the commit timestamps of the revisions (might be {@code null}). */
+  private final RandomAccessFile mRevisionTimestampsFile;
+
   private final PagePersister mPagePersister;
 
+  /** Buffers the pages to append and tracks the end of the data file. */
+  private final PageWriteBuffer mWriteBuffer;
+
+  /** Determines if pages are written in batches or immediately. */
+  private final boolean mBatchPageWrites;
+
   /**
    * Constructor.
    *
@@ -73,18 +90,57 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
   public FileWriter(final RandomAccessFile dataFile, final RandomAccessFile revisionsOffsetFile,
       final ByteHandler handler, final SerializationType serializationType,
       final PagePersister pagePersister) {
+    this(dataFile, revisionsOffsetFile, null, handler, serializationType, pagePersister, false,
+        PageHashType.SHA256, false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the data file
+   * @param revisionsOffsetFile the file, which holds pointers to the revision root pages
+   * @param revisionTimestampsFile the file, which holds the commit timestamps of the revisions (might
+   *        be {@code null})
+   * @param handler the byte handler
+   * @param serializationType the serialization type (for the transaction log or the data file)
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param batchPageWrites {@code true}, if pages should be buffered and written in batches,
+   *        {@code false} if every page should be written immediately
+   * @param pageHashType the hash function used to hash pages
+   * @param verifyPageHashes {@code true}, if the hashes of read pages should be verified against the
+   *        hashes stored in their references, {@code false} otherwise
+   */
+  public FileWriter(final RandomAccessFile dataFile, final RandomAccessFile revisionsOffsetFile,
+      final @Nullable RandomAccessFile revisionTimestampsFile, final ByteHandler handler,
+      final SerializationType serializationType, final PagePersister pagePersister,
+      final boolean batchPageWrites, final PageHashType pageHashType, final boolean verifyPageHashes) {
     mDataFile = checkNotNull(dataFile);
     mType = checkNotNull(serializationType);
     mRevisionsOffsetFile = mType == SerializationType.DATA
         ? checkNotNull(revisionsOffsetFile)
         : null;
+    mRevisionTimestampsFile = mType == SerializationType.DATA
+        ? revisionTimestampsFile
+        : null;
     mPagePersister = checkNotNull(pagePersister);
-    mReader =
-        new FileReader(dataFile, revisionsOffsetFile, handler, serializationType, pagePersister);
+    mReader = new FileReader(dataFile, revisionsOffsetFile, revisionTimestampsFile, handler,
+        serializationType, pagePersister, pageHashType, verifyPageHashes);
+    mBatchPageWrites = batchPageWrites;
+
+    try {
+      final long fileSize = mDataFile.length();
+      mWriteBuffer = new PageWriteBuffer(mDataFile.getChannel(), fileSize == 0
+          ? FileReader.FIRST_BEACON
+          : fileSize);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
   }
 
   @Override
   public Writer truncateTo(final int revision) {
+    flushPendingPages();
+
     UberPage uberPage = (UberPage) mReader.readUberPageReference().getPage();
 
     while (uberPage.getRevisionNumber() != revision) {
@@ -93,6 +149,7 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
       if (uberPage.getRevisionNumber() == revision) {
         try {
           mDataFile.setLength(uberPage.getPreviousUberPageKey());
+          mWriteBuffer.reset(uberPage.getPreviousUberPageKey());
         } catch (final IOException e) {
           throw new UncheckedIOException(e);
         }
@@ -111,6 +168,11 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
    */
   @Override
   public FileWriter write(final PageReference pageReference) throws SirixIOException {
+    return write(pageReference, serialize(pageReference));
+  }
+
+  @Override
+  public SerializedPage serialize(final PageReference pageReference) throws SirixIOException {
     // Perform byte operations.
     try {
       // Serialize page.
@@ -134,13 +196,25 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
       buffer.position(0);
       buffer.get(writtenPage, 0, writtenPage.length);
 
-      // Getting actual offset and appending to the end of the current file.
-      final long fileSize = mDataFile.length();
-      final long offset = fileSize == 0
-          ? FileReader.FIRST_BEACON
-          : fileSize;
-      mDataFile.seek(offset);
-      mDataFile.write(writtenPage);
+      return new SerializedPage(writtenPage, mReader.mPageHashType.hash(writtenPage));
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public FileWriter write(final PageReference pageReference, final SerializedPage serializedPage)
+      throws SirixIOException {
+    try {
+      final Page page = pageReference.getPage();
+      final byte[] writtenPage = serializedPage.getBytes();
+
+      // Appending to the end of the current file.
+      final long offset = mWriteBuffer.append(writtenPage);
+
+      if (!mBatchPageWrites) {
+        mWriteBuffer.flush();
+      }
 
       // Remember page coordinates.
       switch (mType) {
@@ -155,11 +229,26 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
       }
 
       pageReference.setLength(writtenPage.length);
-      pageReference.setHash(mReader.mHashFunction.hashBytes(writtenPage).asBytes());
+      pageReference.setHash(serializedPage.getHash());
 
       if (mType == SerializationType.DATA && page instanceof RevisionRootPage) {
         mRevisionsOffsetFile.seek(mRevisionsOffsetFile.length());
         mRevisionsOffsetFile.writeLong(offset);
+
+        if (mRevisionTimestampsFile != null) {
+          final RevisionRootPage revisionRootPage = (RevisionRootPage) page;
+          final long position = (long) revisionRootPage.getRevision() * Long.BYTES;
+          final long length = mRevisionTimestampsFile.length();
+
+          // Zero the slots of revisions, whose timestamps haven't been recorded (filled in on load).
+          if (length < position) {
+            mRevisionTimestampsFile.seek(length);
+            mRevisionTimestampsFile.write(new byte[(int) (position - length)]);
+          }
+
+          mRevisionTimestampsFile.seek(position);
+          mRevisionTimestampsFile.writeLong(revisionRootPage.getRevisionTimestamp());
+        }
       }
 
       return this;
@@ -171,12 +260,19 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
   @Override
   public void close() throws SirixIOException {
     try {
+      if (mWriteBuffer.hasPendingPages()) {
+        mWriteBuffer.flush();
+        mDataFile.getChannel().force(false);
+      }
       if (mDataFile != null) {
         mDataFile.close();
       }
       if (mRevisionsOffsetFile != null) {
         mRevisionsOffsetFile.close();
       }
+      if (mRevisionTimestampsFile != null) {
+        mRevisionTimestampsFile.close();
+      }
       if (mReader != null) {
         mReader.close();
       }
@@ -189,15 +285,64 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
   public Writer writeUberPageReference(final PageReference pageReference) throws SirixIOException {
     try {
       write(pageReference);
+      mWriteBuffer.flush();
       mDataFile.seek(0);
       mDataFile.writeLong(pageReference.getKey());
 
+      if (mBatchPageWrites) {
+        // Group commit: make all pages of the revision durable at once.
+        mDataFile.getChannel().force(false);
+      }
+
       return this;
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
   }
 
+  @Override
+  public Page read(final PageReference reference, final @Nullable PageReadOnlyTrx pageReadTrx) {
+    flushPendingPages();
+    return super.read(reference, pageReadTrx);
+  }
+
+  @Override
+  public byte[] readPageBytes(final PageReference reference) {
+    flushPendingPages();
+    return super.readPageBytes(reference);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> readPageBytesAsync(final PageReference reference) {
+    flushPendingPages();
+    return super.readPageBytesAsync(reference);
+  }
+
+  @Override
+  public PageReference readUberPageReference() {
+    flushPendingPages();
+    return super.readUberPageReference();
+  }
+
+  @Override
+  public RevisionRootPage readRevisionRootPage(final int revision, final PageReadOnlyTrx pageReadTrx) {
+    flushPendingPages();
+    return super.readRevisionRootPage(revision, pageReadTrx);
+  }
+
+  /**
+   * Buffered pages have to be written before pages are read back.
+   */
+  private void flushPendingPages() {
+    if (mWriteBuffer.hasPendingPages()) {
+      try {
+        mWriteBuffer.flush();
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    }
+  }
+
   @Override
   protected Reader delegate() {
     return mReader;
@@ -207,9 +352,13 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
   public Writer truncate() {
     try {
       mDataFile.setLength(0);
+      mWriteBuffer.reset(FileReader.FIRST_BEACON);
 
       if (mRevisionsOffsetFile != null)
         mRevisionsOffsetFile.setLength(0);
+
+      if (mRevisionTimestampsFile != null)
+        mRevisionTimestampsFile.setLength(0);
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
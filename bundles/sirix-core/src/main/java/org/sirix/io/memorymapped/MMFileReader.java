@@ -0,0 +1,207 @@
+package org.sirix.io.memorymapped;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.PageHashType;
+import org.sirix.io.Reader;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.page.PagePersister;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.SerializationType;
+import org.sirix.page.UberPage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Reader, which reads pages from a memory mapped data file. Pages are read using absolute
+ * positions from segments shared by all readers of a resource, such that many
+ * {@link PageReadOnlyTrx}s are able to read concurrently without contending for a file pointer.
+ * The file format is the same as the one of the {@link org.sirix.io.file.FileReader}.
+ */
+public final class MMFileReader implements Reader {
+
+  /** Beacon of first references. */
+  final static int FIRST_BEACON = 12;
+
+  /** Beacon of the other references. */
+  final static int OTHER_BEACON = 4;
+
+  /** Inflater to decompress. */
+  final ByteHandler mByteHandler;
+
+  /** The hash function used to hash pages/page fragments. */
+  final PageHashType mPageHashType;
+
+  /** Determines if the hashes of read pages are verified. */
+  private final boolean mVerifyPageHashes;
+
+  /** Memory mapped data file (shared between readers). */
+  private final MappedDataFile mDataFile;
+
+  /** Revisions offset file channel (shared between readers). */
+  private final FileChannel mRevisionsOffsetFile;
+
+  /** Revision timestamps file channel (shared between readers, might be {@code null}). */
+  private final FileChannel mRevisionTimestampsFile;
+
+  /** The type of data to serialize. */
+  private final SerializationType mType;
+
+  /** Used to serialize/deserialze pages. */
+  private final PagePersister mPagePersiter;
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the memory mapped data file
+   * @param revisionsOffsetFile the channel of the file, which holds pointers to the revision root
+   *        pages
+   * @param revisionTimestampsFile the channel of the file, which holds the commit timestamps of the
+   *        revisions (might be {@code null})
+   * @param handler {@link ByteHandler} instance
+   * @param type the serialization type (for the transaction log or the data file)
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param pageHashType the hash function used to hash pages
+   * @param verifyPageHashes {@code true}, if the hashes of read pages should be verified against the
+   *        hashes stored in their references, {@code false} otherwise
+   */
+  MMFileReader(final MappedDataFile dataFile, final FileChannel revisionsOffsetFile,
+      final @Nullable FileChannel revisionTimestampsFile, final ByteHandler handler, final SerializationType type,
+      final PagePersister pagePersister, final PageHashType pageHashType, final boolean verifyPageHashes) {
+    mPageHashType = checkNotNull(pageHashType);
+    mVerifyPageHashes = verifyPageHashes;
+    mDataFile = checkNotNull(dataFile);
+    mRevisionsOffsetFile = type == SerializationType.DATA
+        ? checkNotNull(revisionsOffsetFile)
+        : null;
+    mRevisionTimestampsFile = type == SerializationType.DATA
+        ? revisionTimestampsFile
+        : null;
+    mByteHandler = checkNotNull(handler);
+    mType = checkNotNull(type);
+    mPagePersiter = checkNotNull(pagePersister);
+  }
+
+  @Override
+  public Page read(final @Nonnull PageReference reference, final @Nullable PageReadOnlyTrx pageReadTrx) {
+    try {
+      // Return reader required to instantiate and deserialize page.
+      return mPagePersiter.deserializePage(ByteBuffer.wrap(readPageBytes(reference)), pageReadTrx, mType);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public byte[] readPageBytes(final @Nonnull PageReference reference) {
+    try {
+      final long offset;
+
+      switch (mType) {
+        case DATA:
+          offset = reference.getKey();
+          break;
+        case TRANSACTION_INTENT_LOG:
+          offset = reference.getPersistentLogKey();
+          break;
+        default:
+          throw new AssertionError();
+      }
+
+      final byte[] page = readPage(offset);
+      reference.setLength(page.length + MMFileReader.OTHER_BEACON);
+
+      if (mVerifyPageHashes) {
+        mPageHashType.verify(reference, page);
+      }
+
+      // Perform byte operations.
+      return mByteHandler.deserialize(page);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public PageReference readUberPageReference() {
+    final PageReference uberPageReference = new PageReference();
+    try {
+      // Read primary beacon.
+      uberPageReference.setKey(mDataFile.readLong(0));
+
+      final UberPage page = (UberPage) read(uberPageReference, null);
+      uberPageReference.setPage(page);
+      return uberPageReference;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public RevisionRootPage readRevisionRootPage(final int revision, final PageReadOnlyTrx pageReadTrx) {
+    try {
+      final ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+
+      while (offset.hasRemaining()) {
+        if (mRevisionsOffsetFile.read(offset, (long) revision * Long.BYTES + offset.position()) == -1) {
+          throw new EOFException("Revision " + revision + " not found in the revisions offset file.");
+        }
+      }
+
+      return (RevisionRootPage) deserialize(readPage(offset.getLong(0)), pageReadTrx);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public long[] readRevisionTimestamps() {
+    if (mRevisionTimestampsFile == null) {
+      return new long[0];
+    }
+
+    try {
+      final ByteBuffer buffer =
+          ByteBuffer.allocate((int) (mRevisionTimestampsFile.size() / Long.BYTES) * Long.BYTES);
+
+      while (buffer.hasRemaining()) {
+        if (mRevisionTimestampsFile.read(buffer, buffer.position()) == -1) {
+          break;
+        }
+      }
+
+      final long[] timestamps = new long[buffer.position() / Long.BYTES];
+      buffer.flip();
+      buffer.asLongBuffer().get(timestamps);
+      return timestamps;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private byte[] readPage(final long offset) throws IOException {
+    final byte[] page = new byte[mDataFile.readInt(offset)];
+    mDataFile.read(offset + MMFileReader.OTHER_BEACON, page);
+    return page;
+  }
+
+  private Page deserialize(final byte[] page, final @Nullable PageReadOnlyTrx pageReadTrx) throws IOException {
+    // Perform byte operations.
+    final ByteBuffer input = ByteBuffer.wrap(mByteHandler.deserialize(page));
+
+    // Return reader required to instantiate and deserialize page.
+    return mPagePersiter.deserializePage(input, pageReadTrx, mType);
+  }
+
+  @Override
+  public void close() {
+    // The mapped data file and the revisions files are shared and closed by the storage.
+  }
+}
@@ -0,0 +1,323 @@
+package org.sirix.io.memorymapped;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.AbstractForwardingReader;
+import org.sirix.io.PageWriteBuffer;
+import org.sirix.io.Reader;
+import org.sirix.io.SerializedPage;
+import org.sirix.io.Writer;
+import org.sirix.page.PagePersister;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.SerializationType;
+import org.sirix.page.UberPage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Writer, which appends pages to the data file using {@link FileChannel} writes. Pages are read
+ * back through the memory mapped segments of the associated {@link MMFileReader}. If batching is
+ * enabled, pages are collected in a {@link PageWriteBuffer} and flushed with a single gathering
+ * write and one {@code fsync} once the uber page of a revision is written.
+ */
+public final class MMFileWriter extends AbstractForwardingReader implements Writer {
+
+  /** Channel of the data file to write to. */
+  private final FileChannel mDataFile;
+
+  /** Memory mapped data file, which is shared with all readers. */
+  private final MappedDataFile mMappedDataFile;
+
+  /** {@link MMFileReader} reference for this writer. */
+  private final MMFileReader mReader;
+
+  private final SerializationType mType;
+
+  private final FileChannel mRevisionsOffsetFile;
+
+  /** Channel of the file, which holds the commit timestamps of the revisions (might be {@code null}). */
+  private final FileChannel mRevisionTimestampsFile;
+
+  private final PagePersister mPagePersister;
+
+  /** Buffers the pages to append and tracks the end of the data file. */
+  private final PageWriteBuffer mWriteBuffer;
+
+  /** Determines if pages are written in batches or immediately. */
+  private final boolean mBatchPageWrites;
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the channel of the data file
+   * @param revisionsOffsetFile the channel of the file, which holds pointers to the revision root
+   *        pages
+   * @param revisionTimestampsFile the channel of the file, which holds the commit timestamps of the
+   *        revisions (might be {@code null})
+   * @param reader the reader to read pages from the memory mapped data file
+   * @param mappedDataFile the memory mapped data file
+   * @param serializationType the serialization type (for the transaction log or the data file)
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param batchPageWrites {@code true}, if pages should be buffered and written in batches,
+   *        {@code false} if every page should be written immediately
+   * @throws IOException if the size of the data file can't be determined
+   */
+  MMFileWriter(final FileChannel dataFile, final FileChannel revisionsOffsetFile,
+      final @Nullable FileChannel revisionTimestampsFile, final MMFileReader reader,
+      final MappedDataFile mappedDataFile, final SerializationType serializationType,
+      final PagePersister pagePersister, final boolean batchPageWrites) throws IOException {
+    mDataFile = checkNotNull(dataFile);
+    mType = checkNotNull(serializationType);
+    mRevisionsOffsetFile = mType == SerializationType.DATA
+        ? checkNotNull(revisionsOffsetFile)
+        : null;
+    mRevisionTimestampsFile = mType == SerializationType.DATA
+        ? revisionTimestampsFile
+        : null;
+    mPagePersister = checkNotNull(pagePersister);
+    mReader = checkNotNull(reader);
+    mMappedDataFile = checkNotNull(mappedDataFile);
+    mBatchPageWrites = batchPageWrites;
+
+    final long fileSize = mDataFile.size();
+    mWriteBuffer = new PageWriteBuffer(mDataFile, fileSize == 0
+        ? MMFileReader.FIRST_BEACON
+        : fileSize);
+  }
+
+  @Override
+  public Writer truncateTo(final int revision) {
+    flushPendingPages();
+
+    UberPage uberPage = (UberPage) mReader.readUberPageReference().getPage();
+
+    while (uberPage.getRevisionNumber() != revision) {
+      uberPage = (UberPage) mReader.read(new PageReference().setKey(uberPage.getPreviousUberPageKey()), null);
+      if (uberPage.getRevisionNumber() == revision) {
+        try {
+          mDataFile.truncate(uberPage.getPreviousUberPageKey());
+          mWriteBuffer.reset(uberPage.getPreviousUberPageKey());
+          mMappedDataFile.invalidate();
+        } catch (final IOException e) {
+          throw new SirixIOException(e);
+        }
+        break;
+      }
+    }
+
+    return this;
+  }
+
+  /**
+   * Write page contained in page reference to storage.
+   *
+   * @param pageReference page reference to write
+   * @throws SirixIOException if errors during writing occur
+   */
+  @Override
+  public MMFileWriter write(final PageReference pageReference) {
+    return write(pageReference, serialize(pageReference));
+  }
+
+  @Override
+  public SerializedPage serialize(final PageReference pageReference) {
+    try {
+      // Serialize page.
+      final Page page = pageReference.getPage();
+      assert page != null;
+
+      final byte[] serializedPage;
+
+      try (final ByteArrayOutputStream output = new ByteArrayOutputStream();
+          final DataOutputStream dataOutput = new DataOutputStream(mReader.mByteHandler.serialize(output))) {
+        mPagePersister.serializePage(dataOutput, page, mType);
+        dataOutput.flush();
+        serializedPage = output.toByteArray();
+      }
+
+      final ByteBuffer buffer = ByteBuffer.allocate(serializedPage.length + MMFileReader.OTHER_BEACON);
+      buffer.putInt(serializedPage.length);
+      buffer.put(serializedPage);
+
+      return new SerializedPage(buffer.array(), mReader.mPageHashType.hash(buffer.array()));
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public MMFileWriter write(final PageReference pageReference, final SerializedPage serializedPage) {
+    try {
+      final Page page = pageReference.getPage();
+      final byte[] writtenPage = serializedPage.getBytes();
+
+      // Appending to the end of the current file.
+      final long offset = mWriteBuffer.append(writtenPage);
+
+      if (!mBatchPageWrites) {
+        mWriteBuffer.flush();
+      }
+
+      // Remember page coordinates.
+      switch (mType) {
+        case DATA:
+          pageReference.setKey(offset);
+          break;
+        case TRANSACTION_INTENT_LOG:
+          pageReference.setPersistentLogKey(offset);
+          break;
+        default:
+          // Must not happen.
+      }
+
+      pageReference.setLength(writtenPage.length);
+      pageReference.setHash(serializedPage.getHash());
+
+      if (mType == SerializationType.DATA && page instanceof RevisionRootPage) {
+        final ByteBuffer revisionOffset = ByteBuffer.allocate(Long.BYTES).putLong(0, offset);
+        writeFully(mRevisionsOffsetFile, revisionOffset, mRevisionsOffsetFile.size());
+
+        if (mRevisionTimestampsFile != null) {
+          final RevisionRootPage revisionRootPage = (RevisionRootPage) page;
+          final long position = (long) revisionRootPage.getRevision() * Long.BYTES;
+          final long size = mRevisionTimestampsFile.size();
+
+          // Zero the slots of revisions, whose timestamps haven't been recorded (filled in on load).
+          if (size < position) {
+            writeFully(mRevisionTimestampsFile, ByteBuffer.allocate((int) (position - size)), size);
+          }
+
+          final ByteBuffer timestamp =
+              ByteBuffer.allocate(Long.BYTES).putLong(0, revisionRootPage.getRevisionTimestamp());
+          writeFully(mRevisionTimestampsFile, timestamp, position);
+        }
+      }
+
+      return this;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, position + buffer.position());
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      if (mWriteBuffer.hasPendingPages()) {
+        mWriteBuffer.flush();
+        mDataFile.force(false);
+      }
+      mDataFile.close();
+      if (mRevisionsOffsetFile != null) {
+        mRevisionsOffsetFile.close();
+      }
+      if (mRevisionTimestampsFile != null) {
+        mRevisionTimestampsFile.close();
+      }
+      mReader.close();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public Writer writeUberPageReference(final PageReference pageReference) {
+    try {
+      write(pageReference);
+      mWriteBuffer.flush();
+      writeFully(mDataFile, ByteBuffer.allocate(Long.BYTES).putLong(0, pageReference.getKey()), 0);
+
+      if (mBatchPageWrites) {
+        // Group commit: make all pages of the revision durable at once.
+        mDataFile.force(false);
+      }
+
+      return this;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public Page read(final PageReference reference, final @Nullable PageReadOnlyTrx pageReadTrx) {
+    flushPendingPages();
+    return super.read(reference, pageReadTrx);
+  }
+
+  @Override
+  public byte[] readPageBytes(final PageReference reference) {
+    flushPendingPages();
+    return super.readPageBytes(reference);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> readPageBytesAsync(final PageReference reference) {
+    flushPendingPages();
+    return super.readPageBytesAsync(reference);
+  }
+
+  @Override
+  public PageReference readUberPageReference() {
+    flushPendingPages();
+    return super.readUberPageReference();
+  }
+
+  @Override
+  public RevisionRootPage readRevisionRootPage(final int revision, final PageReadOnlyTrx pageReadTrx) {
+    flushPendingPages();
+    return super.readRevisionRootPage(revision, pageReadTrx);
+  }
+
+  /**
+   * Buffered pages have to be written before pages are read back.
+   */
+  private void flushPendingPages() {
+    if (mWriteBuffer.hasPendingPages()) {
+      try {
+        mWriteBuffer.flush();
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    }
+  }
+
+  @Override
+  protected Reader delegate() {
+    return mReader;
+  }
+
+  @Override
+  public Writer truncate() {
+    try {
+      mDataFile.truncate(0);
+
+      mWriteBuffer.reset(MMFileReader.FIRST_BEACON);
+
+      if (mRevisionsOffsetFile != null)
+        mRevisionsOffsetFile.truncate(0);
+
+      if (mRevisionTimestampsFile != null)
+        mRevisionTimestampsFile.truncate(0);
+
+      mMappedDataFile.invalidate();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+
+    return this;
+  }
+}
@@ -0,0 +1,187 @@
+package org.sirix.io.memorymapped;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.PageHashType;
+import org.sirix.io.Reader;
+import org.sirix.io.Storage;
+import org.sirix.io.Writer;
+import org.sirix.io.bytepipe.ByteHandlePipeline;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.page.PagePersister;
+import org.sirix.page.SerializationType;
+
+/**
+ * Factory to provide memory mapped file access as a backend. The data file is mapped once per
+ * storage and shared by all readers. The on-disk format is the same as the format of the
+ * {@link org.sirix.io.file.FileStorage}.
+ */
+public final class MMStorage implements Storage {
+
+  /** Data file name. */
+  private static final String FILENAME = "sirix.data";
+
+  /** Revisions file name. */
+  private static final String REVISIONS_FILENAME = "sirix.revisions";
+
+  /** Revision timestamps file name. */
+  private static final String REVISION_TIMESTAMPS_FILENAME = "sirix.revisiontimestamps";
+
+  /** Instance to storage. */
+  private final Path mFile;
+
+  /** Byte handler pipeline. */
+  private final ByteHandlePipeline mByteHandler;
+
+  /** Determines if pages are written in batches. */
+  private final boolean mBatchPageWrites;
+
+  /** The hash function used to hash pages. */
+  private final PageHashType mPageHashType;
+
+  /** Determines if the hashes of read pages are verified. */
+  private final boolean mVerifyPageHashes;
+
+  /** The memory mapped data file, shared between all readers. */
+  private MappedDataFile mDataFile;
+
+  /** The revisions offset file channel, shared between all readers. */
+  private FileChannel mRevisionsOffsetFile;
+
+  /** The revision timestamps file channel, shared between all readers. */
+  private FileChannel mRevisionTimestampsFile;
+
+  /**
+   * Constructor.
+   *
+   * @param resourceConfig the resource configuration
+   */
+  public MMStorage(final ResourceConfiguration resourceConfig) {
+    assert resourceConfig != null : "resourceConfig must not be null!";
+    mFile = resourceConfig.resourcePath;
+    mByteHandler = resourceConfig.byteHandlePipeline;
+    mBatchPageWrites = resourceConfig.batchPageWrites;
+    mPageHashType = resourceConfig.pageHashType;
+    mVerifyPageHashes = resourceConfig.verifyPageHashes;
+  }
+
+  @Override
+  public Reader createReader() {
+    try {
+      instantiate();
+
+      return new MMFileReader(mDataFile, mRevisionsOffsetFile, mRevisionTimestampsFile,
+          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister(), mPageHashType,
+          mVerifyPageHashes);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public Writer createWriter() {
+    try {
+      instantiate();
+
+      final MMFileReader reader = new MMFileReader(mDataFile, mRevisionsOffsetFile, mRevisionTimestampsFile,
+          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister(), mPageHashType,
+          mVerifyPageHashes);
+
+      return new MMFileWriter(FileChannel.open(getDataFilePath(), StandardOpenOption.READ, StandardOpenOption.WRITE),
+          FileChannel.open(getRevisionFilePath(), StandardOpenOption.READ, StandardOpenOption.WRITE),
+          FileChannel.open(getRevisionTimestampsFilePath(), StandardOpenOption.READ, StandardOpenOption.WRITE), reader,
+          mDataFile,
+          SerializationType.DATA, new PagePersister(), mBatchPageWrites);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private synchronized void instantiate() throws IOException {
+    if (mDataFile == null) {
+      final Path dataFilePath = createDirectoriesAndFile(getDataFilePath());
+      final Path revisionsOffsetFilePath = createDirectoriesAndFile(getRevisionFilePath());
+      final Path revisionTimestampsFilePath = createDirectoriesAndFile(getRevisionTimestampsFilePath());
+
+      mDataFile = new MappedDataFile(FileChannel.open(dataFilePath, StandardOpenOption.READ));
+      mRevisionsOffsetFile = FileChannel.open(revisionsOffsetFilePath, StandardOpenOption.READ);
+      mRevisionTimestampsFile = FileChannel.open(revisionTimestampsFilePath, StandardOpenOption.READ);
+    }
+  }
+
+  private static Path createDirectoriesAndFile(final Path concreteStorage) throws IOException {
+    if (!Files.exists(concreteStorage)) {
+      Files.createDirectories(concreteStorage.getParent());
+      Files.createFile(concreteStorage);
+    }
+
+    return concreteStorage;
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      if (mDataFile != null) {
+        mDataFile.close();
+        mDataFile = null;
+      }
+      if (mRevisionsOffsetFile != null) {
+        mRevisionsOffsetFile.close();
+        mRevisionsOffsetFile = null;
+      }
+      if (mRevisionTimestampsFile != null) {
+        mRevisionTimestampsFile.close();
+        mRevisionTimestampsFile = null;
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Getting path for data file.
+   *
+   * @return the path for this data file
+   */
+  private Path getDataFilePath() {
+    return mFile.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(FILENAME);
+  }
+
+  /**
+   * Getting concrete storage for this file.
+   *
+   * @return the concrete storage for this database
+   */
+  private Path getRevisionFilePath() {
+    return mFile.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(REVISIONS_FILENAME);
+  }
+
+  /**
+   * Getting path for the file, which holds the commit timestamps of the revisions.
+   *
+   * @return the path for the revision timestamps file
+   */
+  private Path getRevisionTimestampsFilePath() {
+    return mFile.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(REVISION_TIMESTAMPS_FILENAME);
+  }
+
+  @Override
+  public boolean exists() {
+    final Path storage = getDataFilePath();
+    try {
+      return Files.exists(storage) && Files.size(storage) > 0;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public ByteHandler getByteHandler() {
+    return mByteHandler;
+  }
+}
@@ -0,0 +1,146 @@
+package org.sirix.io.memorymapped;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Read-only view of a data file, which is mapped into memory in fixed size segments. Segments are
+ * mapped lazily and the last, partially mapped segment is remapped as soon as the file has grown
+ * past its end. All reads use absolute positions, thus a single instance is shared between all
+ * readers of a resource.
+ */
+final class MappedDataFile implements AutoCloseable {
+
+  /** Size of a single mapped segment (1 GiB). */
+  static final int SEGMENT_SIZE = 1 << 30;
+
+  /** The channel to map segments from. */
+  private final FileChannel mChannel;
+
+  /** The currently mapped segments (copy on write). */
+  private volatile MappedByteBuffer[] mSegments;
+
+  /**
+   * Constructor.
+   *
+   * @param channel the channel of the data file, which has to be opened for reading
+   */
+  MappedDataFile(final FileChannel channel) {
+    mChannel = checkNotNull(channel);
+    mSegments = new MappedByteBuffer[0];
+  }
+
+  /**
+   * Read a big-endian integer at the given position.
+   *
+   * @param position the absolute position in the file
+   * @return the integer value
+   * @throws IOException if the position is beyond the end of the file
+   */
+  int readInt(final long position) throws IOException {
+    final int offset = (int) (position % SEGMENT_SIZE);
+
+    if (offset + Integer.BYTES <= SEGMENT_SIZE) {
+      return segment((int) (position / SEGMENT_SIZE), offset + Integer.BYTES).getInt(offset);
+    }
+
+    final byte[] bytes = new byte[Integer.BYTES];
+    read(position, bytes);
+    return (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF);
+  }
+
+  /**
+   * Read a big-endian long at the given position.
+   *
+   * @param position the absolute position in the file
+   * @return the long value
+   * @throws IOException if the position is beyond the end of the file
+   */
+  long readLong(final long position) throws IOException {
+    final int offset = (int) (position % SEGMENT_SIZE);
+
+    if (offset + Long.BYTES <= SEGMENT_SIZE) {
+      return segment((int) (position / SEGMENT_SIZE), offset + Long.BYTES).getLong(offset);
+    }
+
+    return ((long) readInt(position) << 32) | (readInt(position + Integer.BYTES) & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Fill the given array with the bytes starting at the given position. Reads crossing a segment
+   * boundary are assembled from both segments.
+   *
+   * @param position the absolute position in the file
+   * @param bytes the array to fill
+   * @throws IOException if the requested range is beyond the end of the file
+   */
+  void read(final long position, final byte[] bytes) throws IOException {
+    int copied = 0;
+
+    while (copied < bytes.length) {
+      final long currentPosition = position + copied;
+      final int offset = (int) (currentPosition % SEGMENT_SIZE);
+      final int length = Math.min(bytes.length - copied, SEGMENT_SIZE - offset);
+
+      segment((int) (currentPosition / SEGMENT_SIZE), offset + length).get(offset, bytes, copied, length);
+      copied += length;
+    }
+  }
+
+  /**
+   * Forget about all mapped segments, for instance after the file has been truncated.
+   */
+  synchronized void invalidate() {
+    mSegments = new MappedByteBuffer[0];
+  }
+
+  private MappedByteBuffer segment(final int index, final int requiredLimit) throws IOException {
+    final MappedByteBuffer[] segments = mSegments;
+
+    if (index < segments.length) {
+      final MappedByteBuffer segment = segments[index];
+
+      if (segment != null && segment.capacity() >= requiredLimit) {
+        return segment;
+      }
+    }
+
+    return mapSegment(index, requiredLimit);
+  }
+
+  private synchronized MappedByteBuffer mapSegment(final int index, final int requiredLimit) throws IOException {
+    MappedByteBuffer[] segments = mSegments;
+
+    // Another reader might have mapped the segment in the meantime.
+    if (index < segments.length && segments[index] != null && segments[index].capacity() >= requiredLimit) {
+      return segments[index];
+    }
+
+    final long start = (long) index * SEGMENT_SIZE;
+    final long size = Math.min(SEGMENT_SIZE, mChannel.size() - start);
+
+    if (size < requiredLimit) {
+      throw new EOFException("Position " + (start + requiredLimit) + " is beyond the end of the data file.");
+    }
+
+    final MappedByteBuffer segment = mChannel.map(FileChannel.MapMode.READ_ONLY, start, size);
+
+    segments = index < segments.length
+        ? segments.clone()
+        : Arrays.copyOf(segments, index + 1);
+    segments[index] = segment;
+    mSegments = segments;
+
+    return segment;
+  }
+
+  @Override
+  public void close() throws IOException {
+    invalidate();
+    mChannel.close();
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * Memory mapped file backend. Pages are read from segments of the data file mapped into memory,
+ * such that concurrent readers do not contend for a shared file pointer.
+ */
+package org.sirix.io.memorymapped;
@@ -7,6 +7,7 @@ import org.sirix.access.ResourceConfiguration;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.Reader;
+import org.sirix.io.SerializedPage;
 import org.sirix.io.Storage;
 import org.sirix.io.Writer;
 import org.sirix.io.bytepipe.ByteHandlePipeline;
@@ -136,6 +137,18 @@ public final class RAMStorage implements Storage {
       return this;
     }
 
+    @Override
+    public SerializedPage serialize(final PageReference pageReference) throws SirixIOException {
+      // Pages are kept in memory as they are.
+      return SerializedPage.IN_MEMORY;
+    }
+
+    @Override
+    public Writer write(final PageReference pageReference, final SerializedPage serializedPage)
+        throws SirixIOException {
+      return write(pageReference);
+    }
+
     @Override
     public Writer writeUberPageReference(final PageReference pageReference) throws SirixIOException {
       final Page page = pageReference.getPage();
@@ -174,5 +187,11 @@ public final class RAMStorage implements Storage {
     public RevisionRootPage readRevisionRootPage(int revision, PageReadOnlyTrx pageReadTrx) {
       return mResourceRevisionRootsStorage.get(revision);
     }
+
+    @Override
+    public long[] readRevisionTimestamps() {
+      // Revision timestamps are only recorded during serialization.
+      return new long[0];
+    }
   }
 }
@@ -1,6 +1,5 @@
 package org.sirix.node;
 
-import java.math.BigInteger;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.sirix.node.delegates.NodeDelegate;
@@ -32,7 +31,7 @@ public abstract class AbstractForwardingNode extends ForwardingObject implements
   }
 
   @Override
-  public BigInteger computeHash() {
+  public Hash128 computeHash() {
     return delegate().computeHash();
   }
 
@@ -62,12 +61,12 @@ public abstract class AbstractForwardingNode extends ForwardingObject implements
   }
 
   @Override
-  public BigInteger getHash() {
+  public Hash128 getHash() {
     return delegate().getHash();
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
+  public void setHash(final Hash128 hash) {
     delegate().setHash(hash);
   }
 
@@ -0,0 +1,240 @@
+package org.sirix.node;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.math.BigInteger;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+/**
+ * Immutable 128-bit node hash, which is stored in two {@code long}s. All arithmetic is done modulo
+ * {@code 2^128 - 1} (ones' complement arithmetic with an end-around carry), which yields the same
+ * values as the former {@link BigInteger} based computations, but without allocating any arrays and
+ * without division. The value {@code 2^128 - 1} is congruent to zero and therefore always normalized
+ * to zero.
+ *
+ * @author Johannes Lichtenberger
+ */
+public final class Hash128 {
+
+  /** The zero hash. */
+  public static final Hash128 ZERO = new Hash128(0, 0);
+
+  /** The hash with value one. */
+  public static final Hash128 ONE = new Hash128(0, 1);
+
+  /** The upper 64 bits. */
+  private final long mHigh;
+
+  /** The lower 64 bits. */
+  private final long mLow;
+
+  private Hash128(final long high, final long low) {
+    mHigh = high;
+    mLow = low;
+  }
+
+  /**
+   * Get a hash from its upper and lower 64 bits.
+   *
+   * @param high the upper 64 bits
+   * @param low the lower 64 bits
+   * @return the hash
+   */
+  public static Hash128 of(final long high, final long low) {
+    return normalize(high, low);
+  }
+
+  /**
+   * Get a hash from a non-negative {@code long} value.
+   *
+   * @param value the value
+   * @return the hash
+   */
+  public static Hash128 valueOf(final @Nonnegative long value) {
+    checkArgument(value >= 0, "value must be >= 0!");
+    return new Hash128(0, value);
+  }
+
+  /**
+   * Get a hash from the unsigned big-endian representation of a number of arbitrary length, which is
+   * reduced modulo {@code 2^128 - 1}. This is the case for instance for the output of hash functions.
+   *
+   * @param bytes the bytes of the number
+   * @return the hash
+   */
+  public static Hash128 fromBytes(final byte[] bytes) {
+    checkNotNull(bytes);
+    Hash128 hash = ZERO;
+    for (int end = bytes.length; end > 0; end -= 16) {
+      final int start = Math.max(0, end - 16);
+      final int lowStart = Math.max(start, end - 8);
+      long high = 0;
+      long low = 0;
+      for (int i = start; i < lowStart; i++) {
+        high = (high << 8) | (bytes[i] & 0xFF);
+      }
+      for (int i = lowStart; i < end; i++) {
+        low = (low << 8) | (bytes[i] & 0xFF);
+      }
+
+      // 2^128 is congruent to 1, thus the 128 bit chunks are simply added.
+      hash = add(hash.mHigh, hash.mLow, high, low);
+    }
+    return hash;
+  }
+
+  /**
+   * Get the upper 64 bits.
+   *
+   * @return the upper 64 bits
+   */
+  public long getHigh() {
+    return mHigh;
+  }
+
+  /**
+   * Get the lower 64 bits.
+   *
+   * @return the lower 64 bits
+   */
+  public long getLow() {
+    return mLow;
+  }
+
+  /**
+   * Determines if the hash is zero.
+   *
+   * @return {@code true}, if it's zero, {@code false} otherwise
+   */
+  public boolean isZero() {
+    return mHigh == 0 && mLow == 0;
+  }
+
+  /**
+   * Add another hash.
+   *
+   * @param other the hash to add
+   * @return {@code this + other mod 2^128 - 1}
+   */
+  public Hash128 add(final Hash128 other) {
+    return add(mHigh, mLow, other.mHigh, other.mLow);
+  }
+
+  /**
+   * Subtract another hash.
+   *
+   * @param other the hash to subtract
+   * @return {@code this - other mod 2^128 - 1}
+   */
+  public Hash128 subtract(final Hash128 other) {
+    // The bitwise complement is the additive inverse modulo 2^128 - 1.
+    return add(mHigh, mLow, ~other.mHigh, ~other.mLow);
+  }
+
+  /**
+   * Multiply with a non-negative factor.
+   *
+   * @param factor the factor
+   * @return {@code this * factor mod 2^128 - 1}
+   */
+  public Hash128 multiply(final @Nonnegative long factor) {
+    assert factor >= 0;
+    final long lowProduct = mLow * factor;
+    final long lowProductHigh = unsignedMultiplyHigh(mLow, factor);
+    final long highProduct = mHigh * factor;
+    final long highProductHigh = unsignedMultiplyHigh(mHigh, factor);
+
+    final long middle = lowProductHigh + highProduct;
+    final long carry = Long.compareUnsigned(middle, lowProductHigh) < 0
+        ? 1
+        : 0;
+
+    // The bits above 2^128 are congruent to themselves shifted by 128 bits.
+    return add(middle, lowProduct, 0, highProductHigh + carry);
+  }
+
+  private static long unsignedMultiplyHigh(final long first, final long second) {
+    return Math.multiplyHigh(first, second) + ((first >> 63) & second) + ((second >> 63) & first);
+  }
+
+  private static Hash128 add(final long firstHigh, final long firstLow, final long secondHigh,
+      final long secondLow) {
+    long low = firstLow + secondLow;
+    final long carry = Long.compareUnsigned(low, firstLow) < 0
+        ? 1
+        : 0;
+    final long partialHigh = firstHigh + secondHigh;
+    long high = partialHigh + carry;
+    final boolean overflow =
+        Long.compareUnsigned(partialHigh, firstHigh) < 0 || (carry == 1 && high == 0);
+
+    if (overflow) {
+      // End-around carry, as 2^128 is congruent to 1.
+      low++;
+      if (low == 0) {
+        high++;
+      }
+    }
+
+    return normalize(high, low);
+  }
+
+  private static Hash128 normalize(final long high, final long low) {
+    if ((high == -1 && low == -1) || (high == 0 && low == 0)) {
+      return ZERO;
+    }
+    return new Hash128(high, low);
+  }
+
+  /**
+   * Get the minimal big-endian two's complement representation, which is the same as the one of
+   * {@link BigInteger#toByteArray()}.
+   *
+   * @return the bytes of the hash
+   */
+  public byte[] toByteArray() {
+    final int leadingZeros = mHigh == 0
+        ? 64 + Long.numberOfLeadingZeros(mLow)
+        : Long.numberOfLeadingZeros(mHigh);
+    final int bitLength = 128 - leadingZeros;
+    final byte[] bytes = new byte[bitLength / 8 + 1];
+    for (int i = 0, shift = 0; i < bytes.length && i < 16; i++, shift += 8) {
+      final long word = i < 8
+          ? mLow
+          : mHigh;
+      bytes[bytes.length - 1 - i] = (byte) (word >>> (shift % 64));
+    }
+    return bytes;
+  }
+
+  /**
+   * Get the hash as a {@link BigInteger}.
+   *
+   * @return the hash as a {@link BigInteger}
+   */
+  public BigInteger toBigInteger() {
+    return new BigInteger(1, toByteArray());
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(mHigh) * 31 + Long.hashCode(mLow);
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if (other instanceof Hash128) {
+      final Hash128 otherHash = (Hash128) other;
+      return otherHash.mHigh == mHigh && otherHash.mLow == mLow;
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return mHigh == 0
+        ? Long.toUnsignedString(mLow)
+        : toBigInteger().toString();
+  }
+}
@@ -30,18 +30,16 @@ import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import javax.annotation.Nonnegative;
 import org.brackit.xquery.atomic.Atomic;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.module.Namespaces;
 import org.brackit.xquery.xdm.Type;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.access.trx.node.HashType;
 import org.sirix.api.PageReadOnlyTrx;
@@ -49,6 +47,8 @@ import org.sirix.index.AtomicUtil;
 import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.keyvalue.CASValue;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.BPlusInnerNode;
+import org.sirix.index.bplustree.BPlusLeafNode;
 import org.sirix.index.path.summary.PathNode;
 import org.sirix.node.delegates.NameNodeDelegate;
 import org.sirix.node.delegates.NodeDelegate;
@@ -93,7 +93,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -162,7 +162,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -209,7 +209,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -248,7 +248,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -288,7 +288,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -327,7 +327,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -583,16 +583,7 @@ public enum NodeKind implements NodePersistenter {
       final int typeSize = source.readInt();
       final byte[] type = new byte[typeSize];
       source.readFully(type, 0, typeSize);
-      final int keySize = source.readInt();
-      final Set<Long> nodeKeys = new HashSet<>(keySize);
-      long key = getVarLong(source);
-      nodeKeys.add(key);
-      for (int i = 1; i < keySize; i++) {
-        if (i + 1 < keySize) {
-          key += getVarLong(source);
-          nodeKeys.add(key);
-        }
-      }
+      final NodeReferences nodeReferences = deserializeNodeReferences(source, LegacyNodeKeys.DELTA_ENCODED);
       final Type atomicType = resolveType(new String(type, Constants.DEFAULT_ENCODING));
 
       // Node delegate.
@@ -604,8 +595,8 @@ public enum NodeKind implements NodePersistenter {
 
       final Atomic atomic = AtomicUtil.fromBytes(value, atomicType);
       AVLNode<CASValue, NodeReferences> node;
-      node = new AVLNode<CASValue, NodeReferences>(new CASValue(atomic, atomicType, pathNodeKey),
-          new NodeReferences(nodeKeys), nodeDel);
+      node = new AVLNode<CASValue, NodeReferences>(new CASValue(atomic, atomicType, pathNodeKey), nodeReferences,
+          nodeDel);
 
       node.setLeftChildKey(leftChild);
       node.setRightChildKey(rightChild);
@@ -625,20 +616,7 @@ public enum NodeKind implements NodePersistenter {
       final byte[] type = key.getType().toString().getBytes(Constants.DEFAULT_ENCODING);
       sink.writeInt(type.length);
       sink.write(type);
-      final NodeReferences value = node.getValue();
-      final Set<Long> nodeKeys = value.getNodeKeys();
-
-      // Store in a list and sort the list.
-      final List<Long> listNodeKeys = new ArrayList<>(nodeKeys);
-      Collections.sort(listNodeKeys);
-      sink.writeInt(listNodeKeys.size());
-      putVarLong(sink, listNodeKeys.get(0));
-      for (int i = 0; i < listNodeKeys.size(); i++) {
-        if (i + 1 < listNodeKeys.size()) {
-          final long diff = listNodeKeys.get(i + 1) - listNodeKeys.get(i);
-          putVarLong(sink, diff);
-        }
-      }
+      serializeNodeReferences(sink, node.getValue());
       serializeDelegate(node.getNodeDelegate(), sink);
       putVarLong(sink, node.getLeftChildKey());
       putVarLong(sink, node.getRightChildKey());
@@ -657,17 +635,6 @@ public enum NodeKind implements NodePersistenter {
         ResourceConfiguration resourceConfig) throws IOException {
       throw new UnsupportedOperationException();
     }
-
-    private Type resolveType(final String s) {
-      final QNm name =
-          new QNm(Namespaces.XS_NSURI, Namespaces.XS_PREFIX, s.substring(Namespaces.XS_PREFIX.length() + 1));
-      for (final Type type : Type.builtInTypes) {
-        if (type.getName().getLocalName().equals(name.getLocalName())) {
-          return type;
-        }
-      }
-      throw new IllegalStateException("Unknown content type: " + name);
-    }
   },
 
   /** Node kind is a PATH-AVL node. */
@@ -676,17 +643,13 @@ public enum NodeKind implements NodePersistenter {
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
       final long key = getVarLong(source);
-      final int keySize = source.readInt();
-      final Set<Long> nodeKeys = new HashSet<>(keySize);
-      for (int i = 0; i < keySize; i++) {
-        nodeKeys.add(source.readLong());
-      }
+      final NodeReferences nodeReferences = deserializeNodeReferences(source, LegacyNodeKeys.FIXED_LENGTH);
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegateWithoutIDs(source, recordID, pageReadTrx);
       final long leftChild = getVarLong(source);
       final long rightChild = getVarLong(source);
       final boolean isChanged = source.readBoolean();
-      final AVLNode<Long, NodeReferences> node = new AVLNode<>(key, new NodeReferences(nodeKeys), nodeDel);
+      final AVLNode<Long, NodeReferences> node = new AVLNode<>(key, nodeReferences, nodeDel);
       node.setLeftChildKey(leftChild);
       node.setRightChildKey(rightChild);
       node.setChanged(isChanged);
@@ -699,12 +662,7 @@ public enum NodeKind implements NodePersistenter {
       @SuppressWarnings("unchecked")
       final AVLNode<Long, NodeReferences> node = (AVLNode<Long, NodeReferences>) record;
       putVarLong(sink, node.getKey().longValue());
-      final NodeReferences value = node.getValue();
-      final Set<Long> nodeKeys = value.getNodeKeys();
-      sink.writeInt(nodeKeys.size());
-      for (final long nodeKey : nodeKeys) {
-        sink.writeLong(nodeKey);
-      }
+      serializeNodeReferences(sink, node.getValue());
       serializeDelegate(node.getNodeDelegate(), sink);
       putVarLong(sink, node.getLeftChildKey());
       putVarLong(sink, node.getRightChildKey());
@@ -737,17 +695,13 @@ public enum NodeKind implements NodePersistenter {
       source.readFully(localNameBytes);
       final QNm name = new QNm(new String(nspBytes, Constants.DEFAULT_ENCODING),
           new String(prefixBytes, Constants.DEFAULT_ENCODING), new String(localNameBytes, Constants.DEFAULT_ENCODING));
-      final int keySize = source.readInt();
-      final Set<Long> nodeKeys = new HashSet<>(keySize);
-      for (int i = 0; i < keySize; i++) {
-        nodeKeys.add(source.readLong());
-      }
+      final NodeReferences nodeReferences = deserializeNodeReferences(source, LegacyNodeKeys.FIXED_LENGTH);
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegateWithoutIDs(source, recordID, pageReadTrx);
       final long leftChild = getVarLong(source);
       final long rightChild = getVarLong(source);
       final boolean isChanged = source.readBoolean();
-      final AVLNode<QNm, NodeReferences> node = new AVLNode<>(name, new NodeReferences(nodeKeys), nodeDel);
+      final AVLNode<QNm, NodeReferences> node = new AVLNode<>(name, nodeReferences, nodeDel);
       node.setLeftChildKey(leftChild);
       node.setRightChildKey(rightChild);
       node.setChanged(isChanged);
@@ -768,12 +722,7 @@ public enum NodeKind implements NodePersistenter {
       final byte[] localNameBytes = node.getKey().getLocalName().getBytes();
       sink.writeInt(localNameBytes.length);
       sink.write(localNameBytes);
-      final NodeReferences value = node.getValue();
-      final Set<Long> nodeKeys = value.getNodeKeys();
-      sink.writeInt(nodeKeys.size());
-      for (final long nodeKey : nodeKeys) {
-        sink.writeLong(nodeKey);
-      }
+      serializeNodeReferences(sink, node.getValue());
       serializeDelegate(node.getNodeDelegate(), sink);
       putVarLong(sink, node.getLeftChildKey());
       putVarLong(sink, node.getRightChildKey());
@@ -793,6 +742,123 @@ public enum NodeKind implements NodePersistenter {
     }
   },
 
+  /** Node kind is a leaf node of a B+-tree index. */
+  BPLUSLEAF((byte) 34, BPlusLeafNode.class) {
+    @Override
+    public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
+        final PageReadOnlyTrx pageReadTrx) throws IOException {
+      final int size = source.readInt();
+      final List<Object> keys = new ArrayList<>(size);
+      final List<NodeReferences> values = new ArrayList<>(size);
+      if (size > 0) {
+        final byte keyKind = source.readByte();
+        for (int i = 0; i < size; i++) {
+          keys.add(deserializeIndexKey(source, keyKind));
+          values.add(deserializeNodeReferences(source, LegacyNodeKeys.NONE));
+        }
+      }
+      final long rightSibling = source.readBoolean()
+          ? getVarLong(source)
+          : Fixed.NULL_NODE_KEY.getStandardProperty();
+
+      // Node delegate.
+      final NodeDelegate nodeDel = deserializeNodeDelegateWithoutIDs(source, recordID, pageReadTrx);
+      @SuppressWarnings({"unchecked", "rawtypes"})
+      final BPlusLeafNode<?, NodeReferences> node = new BPlusLeafNode(keys, values, rightSibling, nodeDel);
+      return node;
+    }
+
+    @Override
+    public void serialize(final DataOutput sink, final Record record, final PageReadOnlyTrx pageReadTrx)
+        throws IOException {
+      final BPlusLeafNode<?, ?> node = (BPlusLeafNode<?, ?>) record;
+      final int size = node.size();
+      sink.writeInt(size);
+      if (size > 0) {
+        final byte keyKind = getIndexKeyKind(node.getKey(0));
+        sink.writeByte(keyKind);
+        for (int i = 0; i < size; i++) {
+          serializeIndexKey(sink, keyKind, node.getKey(i));
+          serializeNodeReferences(sink, (NodeReferences) node.getValue(i));
+        }
+      }
+      sink.writeBoolean(node.hasRightSibling());
+      if (node.hasRightSibling()) {
+        putVarLong(sink, node.getRightSiblingKey());
+      }
+      serializeDelegate(node.getNodeDelegate(), sink);
+    }
+
+    @Override
+    public Optional<SirixDeweyID> deserializeDeweyID(DataInput source, SirixDeweyID previousDeweyID,
+        ResourceConfiguration resourceConfig) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void serializeDeweyID(DataOutput sink, NodeKind nodeKind, SirixDeweyID deweyID, SirixDeweyID prevDeweyID,
+        ResourceConfiguration resourceConfig) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+  },
+
+  /** Node kind is an inner node of a B+-tree index. */
+  BPLUSINNER((byte) 35, BPlusInnerNode.class) {
+    @Override
+    public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
+        final PageReadOnlyTrx pageReadTrx) throws IOException {
+      final int size = source.readInt();
+      final List<Object> keys = new ArrayList<>(size);
+      if (size > 0) {
+        final byte keyKind = source.readByte();
+        for (int i = 0; i < size; i++) {
+          keys.add(deserializeIndexKey(source, keyKind));
+        }
+      }
+      final List<Long> childKeys = new ArrayList<>(size + 1);
+      for (int i = 0; i <= size; i++) {
+        childKeys.add(getVarLong(source));
+      }
+
+      // Node delegate.
+      final NodeDelegate nodeDel = deserializeNodeDelegateWithoutIDs(source, recordID, pageReadTrx);
+      @SuppressWarnings({"unchecked", "rawtypes"})
+      final BPlusInnerNode<?> node = new BPlusInnerNode(keys, childKeys, nodeDel);
+      return node;
+    }
+
+    @Override
+    public void serialize(final DataOutput sink, final Record record, final PageReadOnlyTrx pageReadTrx)
+        throws IOException {
+      final BPlusInnerNode<?> node = (BPlusInnerNode<?>) record;
+      final List<?> keys = node.getKeys();
+      sink.writeInt(keys.size());
+      if (!keys.isEmpty()) {
+        final byte keyKind = getIndexKeyKind(keys.get(0));
+        sink.writeByte(keyKind);
+        for (final Object key : keys) {
+          serializeIndexKey(sink, keyKind, key);
+        }
+      }
+      for (final long childKey : node.getChildKeys()) {
+        putVarLong(sink, childKey);
+      }
+      serializeDelegate(node.getNodeDelegate(), sink);
+    }
+
+    @Override
+    public Optional<SirixDeweyID> deserializeDeweyID(DataInput source, SirixDeweyID previousDeweyID,
+        ResourceConfiguration resourceConfig) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void serializeDeweyID(DataOutput sink, NodeKind nodeKind, SirixDeweyID deweyID, SirixDeweyID prevDeweyID,
+        ResourceConfiguration resourceConfig) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+  },
+
   /** Node includes a deweyID <=> nodeKey mapping. */
   DEWEYIDMAPPING((byte) 23, DeweyIDMappingNode.class) {
     @Override
@@ -824,7 +890,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -864,7 +930,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
 
       final long pathNodeKey = source.readLong();
 
@@ -907,7 +973,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
 
       final int nameKey = source.readInt();
       final long pathNodeKey = getVarLong(source);
@@ -956,7 +1022,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -1003,7 +1069,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
 
       final boolean boolValue = source.readBoolean();
       // Node delegate.
@@ -1045,7 +1111,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
       final byte valueType = source.readByte();
       final Number number;
 
@@ -1151,7 +1217,7 @@ public enum NodeKind implements NodePersistenter {
     @Override
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
-      final BigInteger hashCode = getHash(source, pageReadTrx);
+      final Hash128 hashCode = getHash(source, pageReadTrx);
 
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
@@ -1432,9 +1498,152 @@ public enum NodeKind implements NodePersistenter {
     }
   }
 
-  private static final BigInteger getHash(final DataInput source, final PageReadOnlyTrx pageReadTrx)
+  /** Kind of the keys of a path index, that is path class records. */
+  private static final byte PATH_INDEX_KEY = 0;
+
+  /** Kind of the keys of a name index, that is names. */
+  private static final byte NAME_INDEX_KEY = 1;
+
+  /** Kind of the keys of a CAS index, that is {@link CASValue}s. */
+  private static final byte CAS_INDEX_KEY = 2;
+
+  private static byte getIndexKeyKind(final Object key) {
+    if (key instanceof Long) {
+      return PATH_INDEX_KEY;
+    }
+    if (key instanceof QNm) {
+      return NAME_INDEX_KEY;
+    }
+    if (key instanceof CASValue) {
+      return CAS_INDEX_KEY;
+    }
+    throw new IllegalStateException("Unknown index key: " + key);
+  }
+
+  private static void serializeIndexKey(final DataOutput sink, final byte keyKind, final Object key)
       throws IOException {
-    final BigInteger hashCode;
+    switch (keyKind) {
+      case PATH_INDEX_KEY:
+        putVarLong(sink, (Long) key);
+        break;
+      case NAME_INDEX_KEY:
+        final QNm name = (QNm) key;
+        writeBytes(sink, name.getNamespaceURI().getBytes(Constants.DEFAULT_ENCODING));
+        writeBytes(sink, name.getPrefix().getBytes(Constants.DEFAULT_ENCODING));
+        writeBytes(sink, name.getLocalName().getBytes(Constants.DEFAULT_ENCODING));
+        break;
+      case CAS_INDEX_KEY:
+        final CASValue casValue = (CASValue) key;
+        writeBytes(sink, casValue.getValue());
+        writeBytes(sink, casValue.getType().toString().getBytes(Constants.DEFAULT_ENCODING));
+        putVarLong(sink, casValue.getPathNodeKey());
+        break;
+      default:
+        throw new IllegalStateException("Unknown index key kind: " + keyKind);
+    }
+  }
+
+  private static Object deserializeIndexKey(final DataInput source, final byte keyKind) throws IOException {
+    switch (keyKind) {
+      case PATH_INDEX_KEY:
+        return getVarLong(source);
+      case NAME_INDEX_KEY:
+        final String namespaceURI = new String(readBytes(source), Constants.DEFAULT_ENCODING);
+        final String prefix = new String(readBytes(source), Constants.DEFAULT_ENCODING);
+        final String localName = new String(readBytes(source), Constants.DEFAULT_ENCODING);
+        return new QNm(namespaceURI, prefix, localName);
+      case CAS_INDEX_KEY:
+        final byte[] value = readBytes(source);
+        final Type type = resolveType(new String(readBytes(source), Constants.DEFAULT_ENCODING));
+        final long pathNodeKey = getVarLong(source);
+        return new CASValue(AtomicUtil.fromBytes(value, type), type, pathNodeKey);
+      default:
+        throw new IllegalStateException("Unknown index key kind: " + keyKind);
+    }
+  }
+
+  /**
+   * Marks node keys, which are stored as a compressed bitmap. Formerly, the node keys have been
+   * stored after their number as a (non-negative) {@code int}, whose first byte therefore never
+   * equals the marker.
+   */
+  private static final byte NODE_KEY_BITMAP = (byte) 0xFF;
+
+  /** The layout of the node keys of index entries, which have been written without a marker. */
+  private enum LegacyNodeKeys {
+    /** The first node key and the differences to the following node keys as variable length longs. */
+    DELTA_ENCODED,
+
+    /** The node keys as longs. */
+    FIXED_LENGTH,
+
+    /** There's no layout without a marker. */
+    NONE
+  }
+
+  private static void serializeNodeReferences(final DataOutput sink, final NodeReferences references)
+      throws IOException {
+    sink.writeByte(NODE_KEY_BITMAP);
+    references.getNodeKeyBitmap().serialize(sink);
+  }
+
+  private static NodeReferences deserializeNodeReferences(final DataInput source, final LegacyNodeKeys legacyNodeKeys)
+      throws IOException {
+    final byte marker = source.readByte();
+    final Roaring64NavigableMap nodeKeys = new Roaring64NavigableMap();
+    if (marker == NODE_KEY_BITMAP) {
+      nodeKeys.deserialize(source);
+      return new NodeReferences(nodeKeys);
+    }
+
+    // The marker is the first byte of the number of node keys.
+    final int size = ((marker & 0xFF) << 24) | (source.readUnsignedShort() << 8) | source.readUnsignedByte();
+    switch (legacyNodeKeys) {
+      case DELTA_ENCODED:
+        long nodeKey = getVarLong(source);
+        nodeKeys.addLong(nodeKey);
+        for (int i = 1; i < size; i++) {
+          nodeKey += getVarLong(source);
+          nodeKeys.addLong(nodeKey);
+        }
+        break;
+      case FIXED_LENGTH:
+        for (int i = 0; i < size; i++) {
+          nodeKeys.addLong(source.readLong());
+        }
+        break;
+      case NONE:
+      default:
+        throw new IllegalStateException("Unknown node key format: " + marker);
+    }
+    return new NodeReferences(nodeKeys);
+  }
+
+  private static void writeBytes(final DataOutput sink, final byte[] bytes) throws IOException {
+    sink.writeInt(bytes.length);
+    sink.write(bytes);
+  }
+
+  private static byte[] readBytes(final DataInput source) throws IOException {
+    final byte[] bytes = new byte[source.readInt()];
+    source.readFully(bytes);
+    return bytes;
+  }
+
+  private static Type resolveType(final String s) {
+    final QNm name =
+        new QNm(Namespaces.XS_NSURI, Namespaces.XS_PREFIX, s.substring(Namespaces.XS_PREFIX.length() + 1));
+    for (final Type type : Type.builtInTypes) {
+      if (type.getName().getLocalName().equals(name.getLocalName())) {
+        return type;
+      }
+    }
+    throw new IllegalStateException("Unknown content type: " + name);
+  }
+
+  private static final Hash128 getHash(final DataInput source, final PageReadOnlyTrx pageReadTrx)
+      throws IOException {
+    final Hash128 hashCode;
     if (pageReadTrx.getResourceManager().getResourceConfig().hashType == HashType.NONE)
       hashCode = null;
     else
@@ -1533,28 +1742,23 @@ public enum NodeKind implements NodePersistenter {
     sink.write(value);
   }
 
-  private static BigInteger readHash(final DataInput source) throws IOException {
-    final byte[] hashBytes = new byte[source.readByte()];
-    source.readFully(hashBytes);
-    return new BigInteger(1, hashBytes);
-  }
-
-  private static void writeHash(final DataOutput sink, final BigInteger hashCode) throws IOException {
-    assert !BigInteger.ZERO.equals(hashCode);
-    final byte[] bigIntegerBytes = hashCode.toByteArray();
-    final List<Byte> bytes = new ArrayList<>();
-    final int maxLength = bigIntegerBytes.length < 17
-        ? bigIntegerBytes.length
-        : 17;
-
-    for (int i = 1; i < maxLength; i++) {
-      bytes.add(bigIntegerBytes[i]);
+  private static Hash128 readHash(final DataInput source) throws IOException {
+    // Stored in the big-endian two's complement representation of BigInteger (with a sign byte).
+    final int length = source.readByte();
+    long high = 0;
+    long low = 0;
+    for (int i = 0; i < length; i++) {
+      high = (high << 8) | (low >>> 56);
+      low = (low << 8) | source.readUnsignedByte();
     }
+    return Hash128.of(high, low);
+  }
 
-    assert bytes.size() < 17;
-
-    sink.writeByte(bigIntegerBytes.length);
-    sink.write(bigIntegerBytes);
+  private static void writeHash(final DataOutput sink, final Hash128 hashCode) throws IOException {
+    assert !hashCode.isZero();
+    final byte[] hashBytes = hashCode.toByteArray();
+    sink.writeByte(hashBytes.length);
+    sink.write(hashBytes);
   }
 
   /**
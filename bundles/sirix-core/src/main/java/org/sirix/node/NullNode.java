@@ -22,7 +22,6 @@
 package org.sirix.node;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.math.BigInteger;
 import javax.annotation.Nullable;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.StructNode;
@@ -52,7 +51,7 @@ public final class NullNode implements StructNode {
   }
 
   @Override
-  public BigInteger computeHash() {
+  public Hash128 computeHash() {
     throw new UnsupportedOperationException();
   }
 
@@ -77,12 +76,12 @@ public final class NullNode implements StructNode {
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
+  public void setHash(final Hash128 hash) {
     throw new UnsupportedOperationException();
   }
 
   @Override
-  public BigInteger getHash() {
+  public Hash128 getHash() {
     throw new UnsupportedOperationException();
   }
 
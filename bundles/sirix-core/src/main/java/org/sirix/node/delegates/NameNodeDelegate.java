@@ -23,14 +23,13 @@
  */
 package org.sirix.node.delegates;
 
-import java.math.BigInteger;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.Hash128;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.NameNode;
-import org.sirix.node.interfaces.Node;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.hash.Funnel;
@@ -101,7 +100,7 @@ public class NameNodeDelegate extends AbstractForwardingNode implements NameNode
   }
 
   @Override
-  public BigInteger computeHash() {
+  public Hash128 computeHash() {
     final Funnel<NameNode> nodeFunnel = (NameNode node, PrimitiveSink into) -> {
       into.putInt(node.getURIKey())
           .putInt(node.getPrefixKey())
@@ -109,17 +108,17 @@ public class NameNodeDelegate extends AbstractForwardingNode implements NameNode
           .putLong(node.getPathNodeKey());
     };
 
-    return Node.to128BitsAtMaximumBigInteger(
-        new BigInteger(1, mDelegate.getHashFunction().hashObject(this, nodeFunnel).asBytes()));
+    return 
+        Hash128.fromBytes(mDelegate.getHashFunction().hashObject(this, nodeFunnel).asBytes());
   }
 
   @Override
-  public BigInteger getHash() {
+  public Hash128 getHash() {
     throw new UnsupportedOperationException();
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
+  public void setHash(final Hash128 hash) {
     throw new UnsupportedOperationException();
   }
 
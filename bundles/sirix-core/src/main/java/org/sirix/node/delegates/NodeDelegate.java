@@ -20,13 +20,13 @@
  */
 package org.sirix.node.delegates;
 
-import java.math.BigInteger;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.api.visitor.XmlNodeVisitor;
+import org.sirix.node.Hash128;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.interfaces.Node;
@@ -59,7 +59,7 @@ public class NodeDelegate implements Node {
   private long mParentKey;
 
   /** Hash of the parent node. */
-  private BigInteger mHashCode;
+  private Hash128 mHashCode;
 
   /**
    * TypeKey of the parent node. Can be referenced later on over special pages.
@@ -86,7 +86,7 @@ public class NodeDelegate implements Node {
    * @param deweyID optional DeweyID
    */
   public NodeDelegate(final @Nonnegative long nodeKey, final long parentKey, final HashFunction hashFunction,
-      final BigInteger hashCode, final @Nonnegative long revision, final SirixDeweyID deweyID) {
+      final Hash128 hashCode, final @Nonnegative long revision, final SirixDeweyID deweyID) {
     assert nodeKey >= 0 : "nodeKey must be >= 0!";
     assert parentKey >= Fixed.NULL_NODE_KEY.getStandardProperty();
     mNodeKey = nodeKey;
@@ -124,21 +124,21 @@ public class NodeDelegate implements Node {
   }
 
   @Override
-  public BigInteger computeHash() {
+  public Hash128 computeHash() {
     final Funnel<Node> nodeFunnel = (Node node, PrimitiveSink into) -> {
       into.putLong(node.getNodeKey()).putLong(node.getParentKey()).putByte(node.getKind().getId());
     };
 
-    return Node.to128BitsAtMaximumBigInteger(new BigInteger(1, mHashFunction.hashObject(this, nodeFunnel).asBytes()));
+    return Hash128.fromBytes(mHashFunction.hashObject(this, nodeFunnel).asBytes());
   }
 
   @Override
-  public BigInteger getHash() {
+  public Hash128 getHash() {
     throw new UnsupportedOperationException();
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
+  public void setHash(final Hash128 hash) {
     throw new UnsupportedOperationException();
   }
 
@@ -20,10 +20,10 @@
  */
 package org.sirix.node.delegates;
 
-import java.math.BigInteger;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.Hash128;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.StructNode;
@@ -158,7 +158,7 @@ public class StructNodeDelegate extends AbstractForwardingNode implements Struct
   }
 
   @Override
-  public BigInteger computeHash() {
+  public Hash128 computeHash() {
     final Funnel<StructNode> nodeFunnel = (StructNode node, PrimitiveSink into) -> {
       into.putLong(node.getChildCount())
           .putLong(node.getDescendantCount())
@@ -167,18 +167,18 @@ public class StructNodeDelegate extends AbstractForwardingNode implements Struct
           .putLong(node.getFirstChildKey());
     };
 
-    final BigInteger hash = new BigInteger(1, mDelegate.getHashFunction().hashObject(this, nodeFunnel).asBytes());
+    final Hash128 hash = Hash128.fromBytes(mDelegate.getHashFunction().hashObject(this, nodeFunnel).asBytes());
 
-    return Node.to128BitsAtMaximumBigInteger(hash);
+    return hash;
   }
 
   @Override
-  public BigInteger getHash() {
+  public Hash128 getHash() {
     throw new UnsupportedOperationException();
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
+  public void setHash(final Hash128 hash) {
     throw new UnsupportedOperationException();
   }
 
@@ -20,11 +20,11 @@
  */
 package org.sirix.node.delegates;
 
-import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.zip.Deflater;
 import javax.annotation.Nullable;
 import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.Hash128;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.ValueNode;
@@ -67,17 +67,17 @@ public class ValueNodeDelegate extends AbstractForwardingNode implements ValueNo
   }
 
   @Override
-  public BigInteger computeHash() {
-    return Node.to128BitsAtMaximumBigInteger(new BigInteger(1, mDelegate.getHashFunction().hashBytes(getRawValue()).asBytes()));
+  public Hash128 computeHash() {
+    return Hash128.fromBytes(mDelegate.getHashFunction().hashBytes(getRawValue()).asBytes());
   }
 
   @Override
-  public BigInteger getHash() {
+  public Hash128 getHash() {
     throw new UnsupportedOperationException();
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
+  public void setHash(final Hash128 hash) {
     throw new UnsupportedOperationException();
   }
 
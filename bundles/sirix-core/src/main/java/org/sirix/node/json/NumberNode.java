@@ -21,14 +21,13 @@
 
 package org.sirix.node.json;
 
-import java.math.BigInteger;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.node.Hash128;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.immutable.json.ImmutableNumberNode;
-import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.StructNode;
 import org.sirix.node.interfaces.immutable.ImmutableJsonNode;
 import org.sirix.node.xml.AbstractStructForwardingNode;
@@ -48,7 +47,7 @@ public final class NumberNode extends AbstractStructForwardingNode implements Im
 
   private Number mNumber;
 
-  private BigInteger mHash;
+  private Hash128 mHash;
 
   /**
    * Constructor.
@@ -57,7 +56,7 @@ public final class NumberNode extends AbstractStructForwardingNode implements Im
    * @param number the number value
    * @param structDel delegate for {@link StructNode} implementation
    */
-  public NumberNode(final BigInteger hashCode, final Number number, final StructNodeDelegate structDel) {
+  public NumberNode(final Hash128 hashCode, final Number number, final StructNodeDelegate structDel) {
     mHash = hashCode;
     mNumber = number;
     assert structDel != null;
@@ -83,25 +82,25 @@ public final class NumberNode extends AbstractStructForwardingNode implements Im
   }
 
   @Override
-  public BigInteger computeHash() {
+  public Hash128 computeHash() {
     final HashCode valueHashCode = mStructNodeDel.getNodeDelegate().getHashFunction().hashInt(mNumber.hashCode());
 
-    BigInteger result = BigInteger.ONE;
+    Hash128 result = Hash128.ONE;
 
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(new BigInteger(1, valueHashCode.asBytes()));
+    result = result.multiply(31).add(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.multiply(31).add(mStructNodeDel.computeHash());
+    result = result.multiply(31).add(Hash128.fromBytes(valueHashCode.asBytes()));
 
-    return Node.to128BitsAtMaximumBigInteger(result);
+    return result;
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
+  public void setHash(final Hash128 hash) {
+    mHash = hash;
   }
 
   @Override
-  public BigInteger getHash() {
+  public Hash128 getHash() {
     return mHash;
   }
 
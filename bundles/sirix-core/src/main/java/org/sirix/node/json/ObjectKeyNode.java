@@ -21,17 +21,16 @@
 
 package org.sirix.node.json;
 
-import java.math.BigInteger;
 import javax.annotation.Nonnegative;
 
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.visitor.JsonNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
+import org.sirix.node.Hash128;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.immutable.json.ImmutableObjectKeyNode;
-import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.immutable.ImmutableJsonNode;
 import org.sirix.node.interfaces.immutable.ImmutableNameNode;
 import org.sirix.node.xml.AbstractStructForwardingNode;
@@ -60,7 +59,7 @@ public final class ObjectKeyNode extends AbstractStructForwardingNode implements
 
   private long mPathNodeKey;
 
-  private BigInteger mHash;
+  private Hash128 mHash;
 
   /**
    * Constructor
@@ -86,7 +85,7 @@ public final class ObjectKeyNode extends AbstractStructForwardingNode implements
    * @param name the String name
    * @param pathNodeKey the path node key
    */
-  public ObjectKeyNode(final BigInteger hashCode, final StructNodeDelegate structDel, final int nameKey, final String name,
+  public ObjectKeyNode(final Hash128 hashCode, final StructNodeDelegate structDel, final int nameKey, final String name,
       final long pathNodeKey) {
     mHash = hashCode;
     assert structDel != null;
@@ -102,25 +101,25 @@ public final class ObjectKeyNode extends AbstractStructForwardingNode implements
   }
 
   @Override
-  public BigInteger computeHash() {
+  public Hash128 computeHash() {
     final HashCode hashCode = mStructNodeDel.getNodeDelegate().getHashFunction().hashString(mName, Constants.DEFAULT_ENCODING);
 
-    BigInteger result = BigInteger.ONE;
+    Hash128 result = Hash128.ONE;
 
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(new BigInteger(1, hashCode.asBytes()));
+    result = result.multiply(31).add(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.multiply(31).add(mStructNodeDel.computeHash());
+    result = result.multiply(31).add(Hash128.fromBytes(hashCode.asBytes()));
 
-    return Node.to128BitsAtMaximumBigInteger(result);
+    return result;
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
+  public void setHash(final Hash128 hash) {
+    mHash = hash;
   }
 
   @Override
-  public BigInteger getHash() {
+  public Hash128 getHash() {
     return mHash;
   }
 
@@ -1,8 +1,8 @@
 package org.sirix.node.xml;
 
-import java.math.BigInteger;
 import javax.annotation.Nonnegative;
 import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.Hash128;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.interfaces.StructNode;
@@ -33,7 +33,7 @@ public abstract class AbstractStructForwardingNode extends AbstractForwardingNod
   }
 
   @Override
-  public BigInteger getHash() {
+  public Hash128 getHash() {
     return structDelegate().getHash();
   }
 
@@ -21,7 +21,6 @@
 
 package org.sirix.node.xml;
 
-import java.math.BigInteger;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
@@ -29,6 +28,7 @@ import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
 import org.sirix.node.AbstractForwardingNode;
+import org.sirix.node.Hash128;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NameNodeDelegate;
@@ -37,7 +37,6 @@ import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.delegates.ValueNodeDelegate;
 import org.sirix.node.immutable.xdm.ImmutableAttributeNode;
 import org.sirix.node.interfaces.NameNode;
-import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.ValueNode;
 import org.sirix.node.interfaces.immutable.ImmutableXmlNode;
 import org.sirix.settings.Constants;
@@ -66,7 +65,7 @@ public final class AttributeNode extends AbstractForwardingNode implements Value
   /** The qualified name. */
   private final QNm mQNm;
 
-  private BigInteger mHash;
+  private Hash128 mHash;
 
   /**
    * Creating an attribute.
@@ -94,7 +93,7 @@ public final class AttributeNode extends AbstractForwardingNode implements Value
    * @param nodeDel {@link StructNodeDelegate} to be set
    * @param valDel {@link ValueNodeDelegate} to be set
    */
-  public AttributeNode(final BigInteger hashCode, final NodeDelegate nodeDel, final NameNodeDelegate nameDel,
+  public AttributeNode(final Hash128 hashCode, final NodeDelegate nodeDel, final NameNodeDelegate nameDel,
       final ValueNodeDelegate valDel, final QNm qNm) {
     mHash = hashCode;
     assert nodeDel != null : "nodeDel must not be null!";
@@ -113,27 +112,27 @@ public final class AttributeNode extends AbstractForwardingNode implements Value
   }
 
   @Override
-  public BigInteger computeHash() {
+  public Hash128 computeHash() {
     final HashCode valueHashCode = mNodeDel.getHashFunction().hashBytes(getRawValue());
 
-    final BigInteger valueBigInteger = new BigInteger(1, valueHashCode.asBytes());
+    final Hash128 valueHash = Hash128.fromBytes(valueHashCode.asBytes());
 
-    BigInteger result = BigInteger.ONE;
+    Hash128 result = Hash128.ONE;
 
-    result = BigInteger.valueOf(31).multiply(result).add(mNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mNameDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(valueBigInteger);
+    result = result.multiply(31).add(mNodeDel.computeHash());
+    result = result.multiply(31).add(mNameDel.computeHash());
+    result = result.multiply(31).add(valueHash);
 
-    return Node.to128BitsAtMaximumBigInteger(result);
+    return result;
   }
 
   @Override
-  public void setHash(BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
+  public void setHash(Hash128 hash) {
+    mHash = hash;
   }
 
   @Override
-  public BigInteger getHash() {
+  public Hash128 getHash() {
     return mHash;
   }
 
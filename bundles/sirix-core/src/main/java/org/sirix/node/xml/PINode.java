@@ -1,6 +1,5 @@
 package org.sirix.node.xml;
 
-import java.math.BigInteger;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
@@ -8,6 +7,7 @@ import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.XmlNodeVisitor;
+import org.sirix.node.Hash128;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NameNodeDelegate;
@@ -16,7 +16,6 @@ import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.delegates.ValueNodeDelegate;
 import org.sirix.node.immutable.xdm.ImmutablePI;
 import org.sirix.node.interfaces.NameNode;
-import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.ValueNode;
 import org.sirix.node.interfaces.immutable.ImmutableXmlNode;
 import org.sirix.settings.Constants;
@@ -44,7 +43,7 @@ public final class PINode extends AbstractStructForwardingNode implements ValueN
   /** {@link PageReadOnlyTrx} reference. */
   private final PageReadOnlyTrx mPageReadTrx;
 
-  private BigInteger mHash;
+  private Hash128 mHash;
 
   /**
    * Creating a processing instruction.
@@ -53,7 +52,7 @@ public final class PINode extends AbstractStructForwardingNode implements ValueN
    * @param nameDel {@link NameNodeDelegate} to be set
    * @param valDel {@link ValueNodeDelegate} to be set
    */
-  public PINode(final BigInteger hashCode, final StructNodeDelegate structDel, final NameNodeDelegate nameDel,
+  public PINode(final Hash128 hashCode, final StructNodeDelegate structDel, final NameNodeDelegate nameDel,
       final ValueNodeDelegate valDel, final PageReadOnlyTrx pageReadTrx) {
     mHash = hashCode;
     assert structDel != null : "structDel must not be null!";
@@ -92,24 +91,24 @@ public final class PINode extends AbstractStructForwardingNode implements ValueN
   }
 
   @Override
-  public BigInteger computeHash() {
-    BigInteger result = BigInteger.ONE;
+  public Hash128 computeHash() {
+    Hash128 result = Hash128.ONE;
 
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.getNodeDelegate().computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mStructNodeDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mNameDel.computeHash());
-    result = BigInteger.valueOf(31).multiply(result).add(mValDel.computeHash());
+    result = result.multiply(31).add(mStructNodeDel.getNodeDelegate().computeHash());
+    result = result.multiply(31).add(mStructNodeDel.computeHash());
+    result = result.multiply(31).add(mNameDel.computeHash());
+    result = result.multiply(31).add(mValDel.computeHash());
 
-    return Node.to128BitsAtMaximumBigInteger(result);
+    return result;
   }
 
   @Override
-  public void setHash(final BigInteger hash) {
-    mHash = Node.to128BitsAtMaximumBigInteger(hash);
+  public void setHash(final Hash128 hash) {
+    mHash = hash;
   }
 
   @Override
-  public BigInteger getHash() {
+  public Hash128 getHash() {
     return mHash;
   }
 
@@ -24,8 +24,10 @@ package org.sirix.page;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import javax.annotation.Nonnull;
 import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.io.ByteBufferDataInput;
 import org.sirix.page.interfaces.Page;
 
 /**
@@ -49,6 +51,19 @@ public final class PagePersister {
     return PageKind.getKind(source.readByte()).deserializePage(source, pageReadTrx, type);
   }
 
+  /**
+   * Deserialize page. The bytes are decoded in place, that is without copying them.
+   *
+   * @param source buffer to read from, starting at its current position
+   * @param pageReadTrx instance of class, which implements the {@link PageReadOnlyTrx} interface
+   * @return {@link Page} instance
+   * @throws IOException if an exception during deserialization of a page occurs
+   */
+  public @Nonnull Page deserializePage(final ByteBuffer source, final PageReadOnlyTrx pageReadTrx,
+      final SerializationType type) throws IOException {
+    return deserializePage(new ByteBufferDataInput(source), pageReadTrx, type);
+  }
+
   /**
    * Serialize page.
    *
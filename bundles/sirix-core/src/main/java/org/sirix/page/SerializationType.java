@@ -55,6 +55,15 @@ public enum SerializationType {
 
         for (final PageReference pageReference : pageReferences) {
           out.writeInt(pageReference.getLogKey());
+          out.writeLong(pageReference.getKey());
+
+          if (pageReference.getHash() == null) {
+            out.writeInt(-1);
+          } else {
+            final byte[] hash = pageReference.getHash();
+            out.writeInt(hash.length);
+            out.write(hash);
+          }
         }
       } catch (final IOException e) {
         throw new SirixIOException(e);
@@ -73,9 +82,20 @@ public enum SerializationType {
         final List<PageReference> references = new GapList<>(length);
 
         for (int offset = 0; offset < length; offset++) {
-          final int key = in.readInt();
+          final int logKey = in.readInt();
+          final long key = in.readLong();
           final PageReference reference = new PageReference();
-          reference.setLogKey(key);
+          reference.setLogKey(logKey);
+          reference.setKey(key);
+
+          final int hashLength = in.readInt();
+          if (hashLength != -1) {
+            final byte[] hash = new byte[hashLength];
+            in.readFully(hash);
+
+            reference.setHash(hash);
+          }
+
           references.add(offset, reference);
         }
 
@@ -22,30 +22,36 @@ package org.sirix.page;
 
 import static org.sirix.node.Utils.getVarLong;
 import static org.sirix.node.Utils.putVarLong;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
-import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.AbstractCollection;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.api.PageTrx;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.ByteBufferDataInput;
 import org.sirix.node.NodeKind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.interfaces.NodePersistenter;
@@ -64,6 +70,8 @@ import com.google.common.collect.PeekingIterator;
  *
  * <p>
  * An UnorderedKeyValuePage stores a set of records, commonly nodes in an unordered datastructure.
+ * The records are stored in arrays, which are indexed by the offset of the record key in the page,
+ * that is {@code recordKey & (Constants.NDP_NODE_COUNT - 1)}.
  * </p>
  * <p>
  * The page currently is not thread safe (might have to be for concurrent write-transactions)!
@@ -71,19 +79,22 @@ import com.google.common.collect.PeekingIterator;
  */
 public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
-  private boolean mAddedReferences;
+  /** Flag, which denotes that the page has a reference to its previous version. */
+  private static final byte HAS_PREVIOUS_REFERENCE = 1;
+
+  /**
+   * Flag, which denotes that the keys of the older page fragments follow the previous reference.
+   * Pages written before the keys have been stored only set {@link #HAS_PREVIOUS_REFERENCE}.
+   */
+  private static final byte HAS_PREVIOUS_FRAGMENT_KEYS = 2;
 
-  /** References to overflow pages. */
-  private final Map<Long, PageReference> mReferences;
+  private boolean mAddedReferences;
 
   /** Key of record page. This is the base key of all contained nodes. */
   private final long mRecordPageKey;
 
-  /** Records (must be a {@link LinkedHashMap} to provide consistent iteration order). */
-  private final LinkedHashMap<Long, Record> mRecords;
-
-  /** Slots which have to be serialized. */
-  private final Map<Long, byte[]> mSlots;
+  /** Records, slots and references (shared with pages cloned from this page). */
+  private final Entries mEntries;
 
   /** Dewey IDs which have to be serialized. */
   private final Map<SirixDeweyID, Long> mDeweyIDs;
@@ -100,20 +111,118 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   /** Reference key to the previous page if any. */
   private long mPreviousPageRefKey;
 
+  /**
+   * Reference keys to the page fragments of older revisions, which are needed to reconstruct the
+   * page, starting with the previous page.
+   */
+  private long[] mPreviousFragmentKeys;
+
   /** The resource configuration. */
   private final ResourceConfiguration mResourceConfig;
 
+  /**
+   * The entries of a page, indexed by the offset of the record key in the page. Arrays, which
+   * might not be needed, are allocated on demand.
+   */
+  private static final class Entries {
+    /** Records. */
+    final Record[] mRecords = new Record[Constants.NDP_NODE_COUNT];
+
+    /** Serialized records, which are deserialized on first access. */
+    byte[][] mLazySlots;
+
+    /** Slots which have to be serialized. */
+    byte[][] mSlots;
+
+    /** References to overflow pages. */
+    PageReference[] mReferences;
+
+    int mRecordCount;
+
+    int mLazySlotCount;
+
+    int mReferenceCount;
+
+    byte[][] lazySlots() {
+      if (mLazySlots == null) {
+        mLazySlots = new byte[Constants.NDP_NODE_COUNT][];
+      }
+      return mLazySlots;
+    }
+
+    byte[][] slots() {
+      if (mSlots == null) {
+        mSlots = new byte[Constants.NDP_NODE_COUNT][];
+      }
+      return mSlots;
+    }
+
+    PageReference[] references() {
+      if (mReferences == null) {
+        mReferences = new PageReference[Constants.NDP_NODE_COUNT];
+      }
+      return mReferences;
+    }
+
+    byte[] getLazySlot(final int offset) {
+      return mLazySlots == null
+          ? null
+          : mLazySlots[offset];
+    }
+
+    byte[] getSlot(final int offset) {
+      return mSlots == null
+          ? null
+          : mSlots[offset];
+    }
+
+    PageReference getReference(final int offset) {
+      return mReferences == null
+          ? null
+          : mReferences[offset];
+    }
+
+    void setRecord(final int offset, final Record record) {
+      if (mRecords[offset] == null) {
+        mRecordCount++;
+      }
+      mRecords[offset] = record;
+    }
+
+    void setLazySlot(final int offset, final byte[] slot) {
+      final byte[][] lazySlots = lazySlots();
+      if (lazySlots[offset] == null) {
+        mLazySlotCount++;
+      }
+      lazySlots[offset] = slot;
+    }
+
+    void removeLazySlot(final int offset) {
+      if (mLazySlots != null && mLazySlots[offset] != null) {
+        mLazySlots[offset] = null;
+        mLazySlotCount--;
+      }
+    }
+
+    void setReference(final int offset, final PageReference reference) {
+      final PageReference[] references = references();
+      if (references[offset] == null) {
+        mReferenceCount++;
+      }
+      references[offset] = reference;
+    }
+  }
+
   public UnorderedKeyValuePage(final PageReadOnlyTrx pageTrx, final UnorderedKeyValuePage pageToClone) {
     mAddedReferences = pageToClone.mAddedReferences;
-    mReferences = pageToClone.mReferences;
     mRecordPageKey = pageToClone.mRecordPageKey;
-    mRecords = pageToClone.mRecords;
-    mSlots = pageToClone.mSlots;
+    mEntries = pageToClone.mEntries;
     mDeweyIDs = pageToClone.mDeweyIDs;
     mPageReadTrx = pageTrx;
     mPageKind = pageToClone.mPageKind;
     mRecordPersister = pageToClone.mRecordPersister;
     mPreviousPageRefKey = pageToClone.mPreviousPageRefKey;
+    mPreviousFragmentKeys = pageToClone.mPreviousFragmentKeys;
     mResourceConfig = pageToClone.mResourceConfig;
   }
 
@@ -132,15 +241,14 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
     assert recordPageKey >= 0 : "recordPageKey must not be negative!";
     assert pageReadTrx != null : "The page reading trx must not be null!";
 
-    mReferences = new LinkedHashMap<>();
     mRecordPageKey = recordPageKey;
-    mRecords = new LinkedHashMap<>();
-    mSlots = new LinkedHashMap<>();
+    mEntries = new Entries();
     mPageReadTrx = pageReadTrx;
     mPageKind = pageKind;
     mResourceConfig = pageReadTrx.getResourceManager().getResourceConfig();
     mRecordPersister = mResourceConfig.recordPersister;
     mPreviousPageRefKey = previousPageRefKey;
+    mPreviousFragmentKeys = new long[0];
 
     if (mPageReadTrx.getResourceManager().getResourceConfig().areDeweyIDsStored
         && mRecordPersister instanceof NodePersistenter) {
@@ -161,14 +269,13 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
     mResourceConfig = pageReadTrx.getResourceManager().getResourceConfig();
     mRecordPersister = mResourceConfig.recordPersister;
     mPageReadTrx = pageReadTrx;
-    mSlots = new LinkedHashMap<>();
+    mEntries = new Entries();
 
     if (mResourceConfig.areDeweyIDsStored && mRecordPersister instanceof NodePersistenter) {
       mDeweyIDs = new LinkedHashMap<>();
       final NodePersistenter persistenter = (NodePersistenter) mRecordPersister;
       final int deweyIDSize = in.readInt();
 
-      mRecords = new LinkedHashMap<>(deweyIDSize);
       Optional<SirixDeweyID> id = Optional.empty();
 
       for (int index = 0; index < deweyIDSize; index++) {
@@ -177,12 +284,7 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
         id.ifPresent(deweyId -> {
           try {
             final long key = getVarLong(in);
-            final int dataSize = in.readInt();
-            final byte[] data = new byte[dataSize];
-            in.readFully(data);
-            final Record record = mRecordPersister.deserialize(new DataInputStream(new ByteArrayInputStream(data)), key,
-                deweyId, mPageReadTrx);
-            mRecords.put(key, record);
+            mEntries.setRecord(offset(key), deserializeRecord(in, key, deweyId));
           } catch (final IOException e) {
             throw new SirixIOException(e);
           }
@@ -190,37 +292,92 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
       }
     } else {
       mDeweyIDs = Collections.emptyMap();
-      mRecords = new LinkedHashMap<>();
     }
 
+    // Normal entries are deserialized on first access.
     final int normalEntrySize = in.readInt();
     for (int index = 0; index < normalEntrySize; index++) {
       final long key = getVarLong(in);
-      final int dataSize = in.readInt();
-      final byte[] data = new byte[dataSize];
+      final byte[] data = new byte[in.readInt()];
       in.readFully(data);
-      final Record record =
-          mRecordPersister.deserialize(new DataInputStream(new ByteArrayInputStream(data)), key, null, mPageReadTrx);
-      mRecords.put(key, record);
+      mEntries.setLazySlot(offset(key), data);
     }
     final int overlongEntrySize = in.readInt();
-    mReferences = new LinkedHashMap<>(overlongEntrySize);
     for (int index = 0; index < overlongEntrySize; index++) {
       final long key = in.readLong();
       final PageReference reference = new PageReference();
       reference.setKey(in.readLong());
-      mReferences.put(key, reference);
+      mEntries.setReference(offset(key), reference);
     }
     assert pageReadTrx != null : "pageReadTrx must not be null!";
-    final boolean hasPreviousReference = in.readBoolean();
-    if (hasPreviousReference) {
+    final byte previousReferenceFlags = in.readByte();
+    if ((previousReferenceFlags & HAS_PREVIOUS_REFERENCE) != 0) {
       mPreviousPageRefKey = in.readLong();
     } else {
       mPreviousPageRefKey = Constants.NULL_ID_LONG;
     }
+    if ((previousReferenceFlags & HAS_PREVIOUS_FRAGMENT_KEYS) != 0) {
+      final int previousFragmentKeysSize = in.readInt();
+      mPreviousFragmentKeys = new long[previousFragmentKeysSize];
+      for (int index = 0; index < previousFragmentKeysSize; index++) {
+        mPreviousFragmentKeys[index] = in.readLong();
+      }
+    } else {
+      // Either no older fragments or a page written without the fragment keys.
+      mPreviousFragmentKeys = new long[0];
+    }
     mPageKind = PageKind.getKind(in.readByte());
   }
 
+  /**
+   * Get the offset of a record in the page.
+   *
+   * @param key the record key
+   * @return the offset of the record in the page
+   */
+  private int offset(final long key) {
+    assert key >> Constants.NDP_NODE_COUNT_EXPONENT == mRecordPageKey : "key " + key + " not stored in page "
+        + mRecordPageKey;
+    return (int) (key & (Constants.NDP_NODE_COUNT - 1));
+  }
+
+  /**
+   * Get the record key of an offset in the page.
+   *
+   * @param offset the offset in the page
+   * @return the record key
+   */
+  private long key(final int offset) {
+    return (mRecordPageKey << Constants.NDP_NODE_COUNT_EXPONENT) + offset;
+  }
+
+  /**
+   * Deserialize a length-prefixed record. If the page is read from a {@link ByteBufferDataInput},
+   * the record is decoded in place, otherwise its bytes are copied first.
+   *
+   * @param in input bytes to read the record from
+   * @param key the record key
+   * @param deweyId the optional DeweyID of the record
+   * @return the deserialized record
+   * @throws IOException if the record can't be read
+   */
+  private Record deserializeRecord(final DataInput in, final long key, final @Nullable SirixDeweyID deweyId)
+      throws IOException {
+    final int dataSize = in.readInt();
+
+    if (in instanceof ByteBufferDataInput) {
+      final ByteBufferDataInput input = (ByteBufferDataInput) in;
+      final int endOfRecord = input.position() + dataSize;
+      final Record record = mRecordPersister.deserialize(input, key, deweyId, mPageReadTrx);
+      input.position(endOfRecord);
+      return record;
+    }
+
+    final byte[] data = new byte[dataSize];
+    in.readFully(data);
+    return mRecordPersister.deserialize(ByteBufferDataInput.wrap(data), key, deweyId, mPageReadTrx);
+  }
+
   @Override
   public long getPageKey() {
     return mRecordPageKey;
@@ -228,36 +385,118 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   @Override
   public Record getValue(final Long key) {
+    return getValue(key, mPageReadTrx);
+  }
+
+  /**
+   * Get the record with the specified key. A record, which is not deserialized yet, is deserialized
+   * with the given transaction, as the transaction, which has read the page, might be closed in the
+   * meantime if the page is cached.
+   *
+   * @param key the record key
+   * @param pageReadTrx the transaction used to deserialize the record
+   * @return the record with the given key, or {@code null} if not present
+   */
+  @Override
+  public Record getValue(final Long key, final PageReadOnlyTrx pageReadTrx) {
     assert key != null : "key must not be null!";
-    Record record = mRecords.get(key);
-    if (record == null) {
-      byte[] data = null;
-      try {
-        final PageReference reference = mReferences.get(key);
-        if (reference != null && reference.getKey() != Constants.NULL_ID_LONG) {
-          data = ((OverflowPage) mPageReadTrx.getReader().read(reference, mPageReadTrx)).getData();
-        } else {
+    final int offset = offset(key);
+    synchronized (mEntries) {
+      Record record = mEntries.mRecords[offset];
+      if (record == null) {
+        final byte[] slot = mEntries.getLazySlot(offset);
+        if (slot != null) {
+          return deserializeLazySlot(offset, slot, pageReadTrx);
+        }
+
+        byte[] data = null;
+        try {
+          final PageReference reference = mEntries.getReference(offset);
+          if (reference != null && reference.getKey() != Constants.NULL_ID_LONG) {
+            data = ((OverflowPage) pageReadTrx.getReader().read(reference, pageReadTrx)).getData();
+          } else {
+            return null;
+          }
+        } catch (final SirixIOException e) {
           return null;
         }
-      } catch (final SirixIOException e) {
-        return null;
-      }
-      final InputStream in = new ByteArrayInputStream(data);
-      try {
-        record = mRecordPersister.deserialize(new DataInputStream(in), key, null, null);
-      } catch (final IOException e) {
-        return null;
+        try {
+          record = mRecordPersister.deserialize(ByteBufferDataInput.wrap(data), key, null, null);
+        } catch (final IOException e) {
+          return null;
+        }
+        mEntries.setRecord(offset, record);
       }
-      mRecords.put(key, record);
+      return record;
     }
+  }
+
+  private Record deserializeLazySlot(final int offset, final byte[] slot, final PageReadOnlyTrx pageReadTrx) {
+    final Record record;
+    try {
+      record = mRecordPersister.deserialize(ByteBufferDataInput.wrap(slot), key(offset), null, pageReadTrx);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    mEntries.setRecord(offset, record);
+    mEntries.removeLazySlot(offset);
     return record;
   }
 
+  // Deserialize all records, which are not deserialized yet.
+  private void deserializeLazySlots(final PageReadOnlyTrx pageReadTrx) {
+    synchronized (mEntries) {
+      if (mEntries.mLazySlotCount > 0) {
+        for (int offset = 0; offset < Constants.NDP_NODE_COUNT; offset++) {
+          final byte[] slot = mEntries.mLazySlots[offset];
+          if (slot != null) {
+            deserializeLazySlot(offset, slot, pageReadTrx);
+          }
+        }
+      }
+    }
+  }
+
   @Override
   public void setEntry(final Long key, final Record value) {
     assert value != null : "record must not be null!";
+    final int offset = offset(key);
     mAddedReferences = false;
-    mRecords.put(key, value);
+    mEntries.removeLazySlot(offset);
+    mEntries.setRecord(offset, value);
+  }
+
+  @Override
+  public boolean setEntryIfAbsent(final Long key, final KeyValuePage<Long, Record> page) {
+    assert key != null : "key must not be null!";
+    final int offset = offset(key);
+    if (mEntries.mRecords[offset] != null || mEntries.getLazySlot(offset) != null
+        || mEntries.getReference(offset) != null) {
+      return false;
+    }
+
+    final byte[] slot = page instanceof UnorderedKeyValuePage
+        ? ((UnorderedKeyValuePage) page).getLazySlot(offset)
+        : null;
+
+    if (slot != null) {
+      mAddedReferences = false;
+      mEntries.setLazySlot(offset, slot);
+    } else {
+      final Record record = page.getValue(key);
+      if (record == null) {
+        return false;
+      }
+      setEntry(key, record);
+    }
+
+    return true;
+  }
+
+  private byte[] getLazySlot(final int offset) {
+    synchronized (mEntries) {
+      return mEntries.getLazySlot(offset);
+    }
   }
 
   @Override
@@ -289,73 +528,157 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
       }
     }
     // Write normal entries.
-    out.writeInt(mSlots.size());
-    for (final Entry<Long, byte[]> entry : mSlots.entrySet()) {
-      putVarLong(out, entry.getKey());
-      final byte[] data = entry.getValue();
-      final int length = data.length;
-      out.writeInt(length);
-      out.write(data);
+    final byte[][] slots = mEntries.slots();
+    int slotCount = 0;
+    for (final byte[] data : slots) {
+      if (data != null) {
+        slotCount++;
+      }
+    }
+    out.writeInt(slotCount);
+    for (int offset = 0; offset < Constants.NDP_NODE_COUNT; offset++) {
+      final byte[] data = slots[offset];
+      if (data != null) {
+        putVarLong(out, key(offset));
+        final int length = data.length;
+        out.writeInt(length);
+        out.write(data);
+      }
     }
     // Write overlong entries.
-    out.writeInt(mReferences.size());
-    for (final Map.Entry<Long, PageReference> entry : mReferences.entrySet()) {
-      // Write record ID.
-      out.writeLong(entry.getKey());
-      // Write key in persistent storage.
-      out.writeLong(entry.getValue().getKey());
+    out.writeInt(mEntries.mReferenceCount);
+    for (int offset = 0; mEntries.mReferenceCount > 0 && offset < Constants.NDP_NODE_COUNT; offset++) {
+      final PageReference reference = mEntries.mReferences[offset];
+      if (reference != null) {
+        // Write record ID.
+        out.writeLong(key(offset));
+        // Write key in persistent storage.
+        out.writeLong(reference.getKey());
+      }
     }
     // Write previous reference if it has any reference.
     final boolean hasPreviousReference = mPreviousPageRefKey != Constants.NULL_ID_LONG;
-    out.writeBoolean(hasPreviousReference);
+    final boolean hasPreviousFragmentKeys = hasPreviousReference && mPreviousFragmentKeys.length > 0;
+    out.writeByte((hasPreviousReference
+        ? HAS_PREVIOUS_REFERENCE
+        : 0) | (hasPreviousFragmentKeys
+            ? HAS_PREVIOUS_FRAGMENT_KEYS
+            : 0));
     if (hasPreviousReference) {
       out.writeLong(mPreviousPageRefKey);
     }
+    if (hasPreviousFragmentKeys) {
+      // Write the keys of all fragments needed to reconstruct the page.
+      out.writeInt(mPreviousFragmentKeys.length);
+      for (final long previousFragmentKey : mPreviousFragmentKeys) {
+        out.writeLong(previousFragmentKey);
+      }
+    }
     out.writeByte(mPageKind.getID());
   }
 
   private void serializeDeweyRecord(SirixDeweyID id, DataOutput out) throws IOException {
     final long recordKey = mDeweyIDs.get(id);
     putVarLong(out, recordKey);
-    final byte[] data = mSlots.get(recordKey);
+    final int offset = offset(recordKey);
+    final byte[] data = mEntries.slots()[offset];
     final int length = data.length;
     out.writeInt(length);
     out.write(data);
-    mSlots.remove(recordKey);
+    mEntries.slots()[offset] = null;
   }
 
   @Override
   public String toString() {
     final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this).add("pagekey", mRecordPageKey);
-    for (final Record record : mRecords.values()) {
-      helper.add("record", record);
+    for (final Record record : mEntries.mRecords) {
+      if (record != null) {
+        helper.add("record", record);
+      }
     }
-    for (final PageReference reference : mReferences.values()) {
-      helper.add("reference", reference);
+    // Records, which are not deserialized yet, are not deserialized for debugging output.
+    helper.add("serializedRecords", mEntries.mLazySlotCount);
+    for (final Entry<Long, PageReference> reference : referenceEntrySet()) {
+      helper.add("reference", reference.getValue());
     }
     return helper.toString();
   }
 
   @Override
   public Set<Entry<Long, Record>> entrySet() {
-    return mRecords.entrySet();
+    return entrySet(mPageReadTrx);
   }
 
+  @Override
+  public Set<Entry<Long, Record>> entrySet(final PageReadOnlyTrx pageReadTrx) {
+    deserializeLazySlots(pageReadTrx);
+    return new EntrySet<>(() -> mEntries.mRecords, () -> mEntries.mRecordCount);
+  }
+
+  @Override
+  public Set<Long> keySet() {
+    synchronized (mEntries) {
+      final Set<Long> keys = new LinkedHashSet<>();
+      for (int offset = 0; offset < Constants.NDP_NODE_COUNT; offset++) {
+        if (mEntries.mRecords[offset] != null || mEntries.getLazySlot(offset) != null) {
+          keys.add(key(offset));
+        }
+      }
+      return keys;
+    }
+  }
+
+  // Records, which are not deserialized yet, are compared by their serialized form in order not to
+  // deserialize them (with a transaction, which might be closed in the meantime).
   @Override
   public int hashCode() {
-    return Objects.hashCode(mRecordPageKey, mRecords, mReferences);
+    synchronized (mEntries) {
+      return Objects.hashCode(mRecordPageKey, entriesHashCode(mEntries.mRecords),
+          entriesHashCode(mEntries.mLazySlots), entriesHashCode(mEntries.mReferences));
+    }
   }
 
   @Override
   public boolean equals(final @Nullable Object obj) {
     if (obj instanceof UnorderedKeyValuePage) {
       final UnorderedKeyValuePage other = (UnorderedKeyValuePage) obj;
-      return mRecordPageKey == other.mRecordPageKey && Objects.equal(mRecords, other.mRecords)
-          && Objects.equal(mReferences, other.mReferences);
+      return mRecordPageKey == other.mRecordPageKey && entriesEqual(mEntries.mRecords, other.mEntries.mRecords)
+          && entriesEqual(mEntries.mLazySlots, other.mEntries.mLazySlots)
+          && entriesEqual(mEntries.mReferences, other.mEntries.mReferences);
     }
     return false;
   }
 
+  // Compare arrays of entries, whereas a missing array equals an array without entries.
+  private static boolean entriesEqual(final @Nullable Object[] first, final @Nullable Object[] second) {
+    for (int offset = 0; offset < Constants.NDP_NODE_COUNT; offset++) {
+      final Object firstEntry = first == null
+          ? null
+          : first[offset];
+      final Object secondEntry = second == null
+          ? null
+          : second[offset];
+      if (!Objects.equal(firstEntry, secondEntry) && !(firstEntry instanceof byte[] && secondEntry instanceof byte[]
+          && Arrays.equals((byte[]) firstEntry, (byte[]) secondEntry))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int entriesHashCode(final @Nullable Object[] entries) {
+    int hashCode = 0;
+    for (int offset = 0; entries != null && offset < Constants.NDP_NODE_COUNT; offset++) {
+      final Object entry = entries[offset];
+      if (entry != null) {
+        hashCode += offset ^ (entry instanceof byte[]
+            ? Arrays.hashCode((byte[]) entry)
+            : entry.hashCode());
+      }
+    }
+    return hashCode;
+  }
+
   @Override
   public List<PageReference> getReferences() {
     throw new UnsupportedOperationException();
@@ -372,7 +695,8 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
       }
     }
 
-    for (final PageReference reference : mReferences.values()) {
+    for (final Entry<Long, PageReference> entry : referenceEntrySet()) {
+      final PageReference reference = entry.getValue();
       if (!(reference.getPage() == null && reference.getKey() == Constants.NULL_ID_LONG
           && reference.getLogKey() == Constants.NULL_ID_LONG)) {
         pageWriteTrx.commit(reference);
@@ -382,15 +706,25 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   // Add references to OverflowPages.
   private void addReferences() throws IOException {
-    final boolean storeDeweyIDs = mPageReadTrx.getResourceManager().getResourceConfig().areDeweyIDsStored;
+    final boolean storeDeweyIDs = mResourceConfig.areDeweyIDsStored;
+    final byte[][] slots = mEntries.slots();
 
+    // Records, which are not deserialized, are unchanged, thus their slots can be written as is.
+    for (int offset = 0; mEntries.mLazySlotCount > 0 && offset < Constants.NDP_NODE_COUNT; offset++) {
+      if (slots[offset] == null) {
+        slots[offset] = mEntries.mLazySlots[offset];
+      }
+    }
+
+    // Only the deserialized records have to be serialized.
     final List<Entry<Long, Record>> entries = sort();
     final Iterator<Entry<Long, Record>> it = entries.iterator();
     while (it.hasNext()) {
       final Entry<Long, Record> entry = it.next();
       final Record record = entry.getValue();
       final long recordID = record.getNodeKey();
-      if (mSlots.get(recordID) == null) {
+      final int offset = offset(recordID);
+      if (slots[offset] == null) {
         // Must be either a normal record or one which requires an
         // Overflow page.
         final ByteArrayOutputStream output = new ByteArrayOutputStream();
@@ -400,12 +734,12 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
         if (data.length > PageConstants.MAX_RECORD_SIZE) {
           final PageReference reference = new PageReference();
           reference.setPage(new OverflowPage(data));
-          mReferences.put(recordID, reference);
+          mEntries.setReference(offset, reference);
         } else {
           if (storeDeweyIDs && mRecordPersister instanceof NodePersistenter && record instanceof ImmutableXmlNode
               && ((ImmutableXmlNode) record).getDeweyID().isPresent() && record.getNodeKey() != 0)
             mDeweyIDs.put(((ImmutableXmlNode) record).getDeweyID().get(), record.getNodeKey());
-          mSlots.put(recordID, data);
+          slots[offset] = data;
         }
       }
     }
@@ -415,8 +749,9 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   private List<Entry<Long, Record>> sort() {
     // Sort entries which have deweyIDs according to their byte-length.
-    final List<Map.Entry<Long, Record>> entries = new ArrayList<>(mRecords.entrySet());
-    final boolean storeDeweyIDs = mPageReadTrx.getResourceManager().getResourceConfig().areDeweyIDsStored;
+    final List<Map.Entry<Long, Record>> entries =
+        new ArrayList<>(new EntrySet<>(() -> mEntries.mRecords, () -> mEntries.mRecordCount));
+    final boolean storeDeweyIDs = mResourceConfig.areDeweyIDsStored;
     if (storeDeweyIDs && mRecordPersister instanceof NodePersistenter) {
       entries.sort((a, b) -> {
         if (a.getValue() instanceof ImmutableXmlNode && b.getValue() instanceof ImmutableXmlNode) {
@@ -445,7 +780,30 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   @Override
   public Collection<Record> values() {
-    return mRecords.values();
+    deserializeLazySlots(mPageReadTrx);
+    final Set<Entry<Long, Record>> entries = new EntrySet<>(() -> mEntries.mRecords, () -> mEntries.mRecordCount);
+    return new AbstractCollection<Record>() {
+      @Override
+      public Iterator<Record> iterator() {
+        final Iterator<Entry<Long, Record>> iterator = entries.iterator();
+        return new Iterator<Record>() {
+          @Override
+          public boolean hasNext() {
+            return iterator.hasNext();
+          }
+
+          @Override
+          public Record next() {
+            return iterator.next().getValue();
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return entries.size();
+      }
+    };
   }
 
   @Override
@@ -477,24 +835,24 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   @Override
   public int size() {
-    return mRecords.size() + mReferences.size();
+    return mEntries.mRecordCount + mEntries.mLazySlotCount + mEntries.mReferenceCount;
   }
 
   @Override
   public void setPageReference(final Long key, final PageReference reference) {
     assert key != null;
-    mReferences.put(key, reference);
+    mEntries.setReference(offset(key), reference);
   }
 
   @Override
   public Set<Entry<Long, PageReference>> referenceEntrySet() {
-    return mReferences.entrySet();
+    return new EntrySet<>(() -> mEntries.mReferences, () -> mEntries.mReferenceCount);
   }
 
   @Override
   public PageReference getPageReference(final Long key) {
     assert key != null;
-    return mReferences.get(key);
+    return mEntries.getReference(offset(key));
   }
 
   @Override
@@ -502,4 +860,78 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
     return mPreviousPageRefKey;
   }
 
+  @Override
+  public long[] getPreviousFragmentKeys() {
+    return mPreviousFragmentKeys;
+  }
+
+  /**
+   * Set the reference keys to the page fragments of older revisions, which are needed to
+   * reconstruct the page, starting with the previous page.
+   *
+   * @param previousFragmentKeys the reference keys of the older page fragments
+   */
+  public void setPreviousFragmentKeys(final long[] previousFragmentKeys) {
+    assert previousFragmentKeys != null;
+    assert previousFragmentKeys.length == 0 || previousFragmentKeys[0] == mPreviousPageRefKey;
+    mPreviousFragmentKeys = previousFragmentKeys;
+  }
+
+  /**
+   * Read-only view of the entries of an array, which is indexed by the offset of the record key.
+   *
+   * @param <V> the type of the entries
+   */
+  private final class EntrySet<V> extends AbstractSet<Entry<Long, V>> {
+    /** Supplies the entries (might supply {@code null} if no entry has been stored so far). */
+    private final Supplier<V[]> mValues;
+
+    /** Supplies the number of entries. */
+    private final IntSupplier mSize;
+
+    EntrySet(final Supplier<V[]> values, final IntSupplier size) {
+      mValues = values;
+      mSize = size;
+    }
+
+    @Override
+    public Iterator<Entry<Long, V>> iterator() {
+      final V[] values = mValues.get();
+
+      return new Iterator<Entry<Long, V>>() {
+        private int mOffset = nextOffset(0);
+
+        private int nextOffset(final int offset) {
+          if (values == null) {
+            return Constants.NDP_NODE_COUNT;
+          }
+          int nextOffset = offset;
+          while (nextOffset < Constants.NDP_NODE_COUNT && values[nextOffset] == null) {
+            nextOffset++;
+          }
+          return nextOffset;
+        }
+
+        @Override
+        public boolean hasNext() {
+          return mOffset < Constants.NDP_NODE_COUNT;
+        }
+
+        @Override
+        public Entry<Long, V> next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          final Entry<Long, V> entry = new SimpleImmutableEntry<>(key(mOffset), values[mOffset]);
+          mOffset = nextOffset(mOffset + 1);
+          return entry;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return mSize.getAsInt();
+    }
+  }
 }
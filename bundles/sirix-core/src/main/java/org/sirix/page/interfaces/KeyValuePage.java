@@ -25,6 +25,25 @@ public interface KeyValuePage<K extends Comparable<? super K>, V extends Record>
    */
   Set<Entry<K, V>> entrySet();
 
+  /**
+   * Entry set of all nodes in the page. Records, which are not deserialized yet, are deserialized
+   * with the given transaction, as the transaction, which has read the page, might be closed in the
+   * meantime if the page is cached.
+   *
+   * @param pageReadTrx the transaction used to deserialize records
+   * @return an entry set
+   */
+  default Set<Entry<K, V>> entrySet(PageReadOnlyTrx pageReadTrx) {
+    return entrySet();
+  }
+
+  /**
+   * Keys of all records in the page, including the records which are not deserialized yet.
+   *
+   * @return the record keys
+   */
+  Set<K> keySet();
+
   /**
    * All available records.
    *
@@ -47,6 +66,18 @@ public interface KeyValuePage<K extends Comparable<? super K>, V extends Record>
    */
   V getValue(K key);
 
+  /**
+   * Get value with the specified key. A record, which is not deserialized yet, is deserialized with
+   * the given transaction.
+   *
+   * @param key the key
+   * @param pageReadTrx the transaction used to deserialize the record
+   * @return value with given key, or {@code null} if not present
+   */
+  default V getValue(K key, PageReadOnlyTrx pageReadTrx) {
+    return getValue(key);
+  }
+
   /**
    * Store or overwrite a single entry. The implementation must make sure if the key must be
    * permitted, the value or none.
@@ -56,6 +87,16 @@ public interface KeyValuePage<K extends Comparable<? super K>, V extends Record>
    */
   void setEntry(K key, @Nonnull V value);
 
+  /**
+   * Store the entry with the given key of another page, if no entry with the key is stored yet. A
+   * record, which is not deserialized in the other page, is not deserialized either.
+   *
+   * @param key key of the entry to store
+   * @param page the page to copy the entry from
+   * @return {@code true}, if the entry has been stored, {@code false} otherwise
+   */
+  boolean setEntryIfAbsent(K key, @Nonnull KeyValuePage<K, V> page);
+
   Set<Entry<K, PageReference>> referenceEntrySet();
 
   /**
@@ -109,4 +150,13 @@ public interface KeyValuePage<K extends Comparable<? super K>, V extends Record>
    * @return optional {@link PageReference} pointing to the previous version of the page
    */
   long getPreviousReferenceKey();
+
+  /**
+   * Get the keys of the page fragments of older revisions, which are needed to reconstruct the
+   * page, starting with the previous version of the page. The array might be empty if the keys are
+   * not known up front, in which case the previous reference keys have to be followed.
+   *
+   * @return the keys of the page fragments of older revisions
+   */
+  long[] getPreviousFragmentKeys();
 }
@@ -235,6 +235,11 @@ public final class BasicJsonDiff implements DiffObserver, JsonDiff {
   @Override
   public void diffListener(@Nonnull final DiffFactory.DiffType diffType, final long newNodeKey, final long oldNodeKey,
       @Nonnull final DiffDepth depth) {
+    // Unchanged nodes are never serialized, thus don't keep them.
+    if (diffType == DiffFactory.DiffType.SAME || diffType == DiffFactory.DiffType.SAMEHASH
+        || diffType == DiffFactory.DiffType.REPLACEDOLD) {
+      return;
+    }
     diffs.add(new DiffTuple(diffType, newNodeKey, oldNodeKey, depth));
   }
 
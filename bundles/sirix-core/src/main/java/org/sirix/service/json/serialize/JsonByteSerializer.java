@@ -0,0 +1,777 @@
+package org.sirix.service.json.serialize;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import org.sirix.api.ResourceManager;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.api.json.JsonResourceManager;
+import org.sirix.exception.SirixException;
+import org.sirix.exception.SirixIOException;
+import org.sirix.service.AbstractSerializer;
+import org.sirix.settings.Constants;
+import org.sirix.settings.Fixed;
+
+/**
+ * <h1>JsonByteSerializer</h1>
+ *
+ * <p>
+ * Serializes a subtree just like the {@link JsonSerializer}, but emits the UTF-8 encoded bytes
+ * directly into a pooled {@link ByteBuffer} instead of building strings, which are appended to an
+ * {@link Appendable}. Whenever the buffer is full, it is handed as a chunk to a consumer, which
+ * might block in order to exert backpressure. The chunk is reused afterwards, thus the consumer has
+ * to copy or write out its content before returning.
+ * </p>
+ *
+ * <p>
+ * The encoded names of object keys are cached per name key and strings are escaped and encoded in
+ * a single pass.
+ * </p>
+ */
+public final class JsonByteSerializer extends AbstractSerializer<JsonNodeReadOnlyTrx, JsonNodeTrx> {
+
+  /** Default size of a chunk in bytes. */
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+  /** Maximum number of buffers with the default chunk size, which are kept in the pool. */
+  private static final int MAX_POOLED_BUFFERS = 16;
+
+  /** Pool of buffers with the default chunk size. */
+  private static final Queue<ByteBuffer> BUFFER_POOL = new ConcurrentLinkedQueue<>();
+
+  private static final byte[] TRUE = bytes("true");
+
+  private static final byte[] FALSE = bytes("false");
+
+  private static final byte[] NULL = bytes("null");
+
+  private static final byte[] METADATA_NODE_KEY = bytes("{\"metadata\":{\"nodeKey\":");
+
+  private static final byte[] METADATA_HASH = bytes(",\"hash\":");
+
+  private static final byte[] METADATA_DESCENDANT_COUNT = bytes(",\"descendantCount\":");
+
+  private static final byte[] METADATA_CHILDREN = bytes("},\"children\":");
+
+  private static final byte[] SIRIX = bytes("{\"sirix\":[");
+
+  private static final byte[] REVISION_NUMBER = bytes("{\"revisionNumber\":");
+
+  private static final byte[] REVISION_TIMESTAMP = bytes(",\"revisionTimestamp\":\"");
+
+  private static final byte[] REVISION = bytes("\"revision\":");
+
+  private static final byte[] HEX_DIGITS = bytes("0123456789ABCDEF");
+
+  /** Consumer of the chunks. */
+  private final Consumer<ByteBuffer> mConsumer;
+
+  /** Size of a chunk in bytes. */
+  private final int mChunkSize;
+
+  /** Indent output. */
+  private final boolean mIndent;
+
+  /** Number of spaces to indent. */
+  private final int mIndentSpaces;
+
+  /** Determines if serializing with initial indentation. */
+  private final boolean mWithInitialIndent;
+
+  private final boolean mEmitXQueryResultSequence;
+
+  private final boolean mSerializeTimestamp;
+
+  private final boolean mWithMetaData;
+
+  /** Encoded object key names including the quotes and the colon, per name key. */
+  private final Map<Integer, byte[]> mNames;
+
+  /** Scratch space to encode numbers. */
+  private final byte[] mDigits;
+
+  private boolean mHadToAddBracket;
+
+  /** The current chunk (only set during serialization). */
+  private ByteBuffer mBuffer;
+
+  /** The backing array of the current chunk. */
+  private byte[] mChunk;
+
+  /** The position in the current chunk. */
+  private int mPosition;
+
+  /**
+   * Constructor.
+   *
+   * @param resourceMgr resource manager to read the resource
+   * @param nodeKey start node key
+   * @param builder builder of the serializer
+   * @param revision revision to serialize
+   * @param revisions further revisions to serialize
+   */
+  private JsonByteSerializer(final JsonResourceManager resourceMgr, final @Nonnegative long nodeKey,
+      final Builder builder, final @Nonnegative int revision, final int... revisions) {
+    super(resourceMgr, builder.mMaxLevel == -1
+        ? null
+        : new JsonMaxLevelVisitor(builder.mMaxLevel), nodeKey, revision, revisions);
+    mConsumer = builder.mConsumer;
+    mChunkSize = builder.mChunkSize;
+    mIndent = builder.mIndent;
+    mIndentSpaces = builder.mIndentSpaces;
+    mWithInitialIndent = builder.mInitialIndent;
+    mEmitXQueryResultSequence = builder.mEmitXQueryResultSequence;
+    mSerializeTimestamp = builder.mSerializeTimestamp;
+    mWithMetaData = builder.mWithMetaData;
+    mNames = new HashMap<>();
+    mDigits = new byte[20];
+  }
+
+  /**
+   * Serialize the storage and hand the last (partially filled) chunk to the consumer.
+   *
+   * @return null.
+   * @throws SirixException if can't call serializer
+   */
+  @Override
+  public Void call() throws SirixException {
+    mBuffer = acquireBuffer(mChunkSize);
+    mChunk = mBuffer.array();
+    mPosition = 0;
+    try {
+      super.call();
+      flush();
+    } finally {
+      releaseBuffer(mBuffer);
+      mBuffer = null;
+      mChunk = null;
+      mNames.clear();
+    }
+    return null;
+  }
+
+  /**
+   * Emit node.
+   *
+   * @param rtx Sirix {@link JsonNodeReadOnlyTrx}
+   */
+  @Override
+  protected void emitNode(final JsonNodeReadOnlyTrx rtx) {
+    switch (rtx.getKind()) {
+      case JSON_DOCUMENT:
+        break;
+      case OBJECT:
+        indent();
+        write('{');
+        if (!rtx.hasFirstChild() || (mVisitor != null && currentLevel() + 1 >= maxLevel())) {
+          write('}');
+          if (rtx.hasRightSibling() && rtx.getNodeKey() != mStartNodeKey)
+            write(',');
+        }
+        break;
+      case ARRAY:
+        write('[');
+        if (!rtx.hasFirstChild() || (mVisitor != null && currentLevel() + 1 >= maxLevel())) {
+          write(']');
+          if (rtx.hasRightSibling())
+            write(',');
+        }
+        break;
+      case OBJECT_KEY:
+        if (mStartNodeKey != Fixed.NULL_NODE_KEY.getStandardProperty() && rtx.getNodeKey() == mStartNodeKey) {
+          write('{');
+          mHadToAddBracket = true;
+        }
+        write(mNames.computeIfAbsent(rtx.getNameKey(), nameKey -> encodeName(rtx.getName().stringValue())));
+        if (mWithMetaData) {
+          write(METADATA_NODE_KEY);
+          write(rtx.getNodeKey());
+          write(METADATA_HASH);
+          writeAscii(String.valueOf(rtx.getHash()));
+          write(METADATA_DESCENDANT_COUNT);
+          write(rtx.getDescendantCount());
+          write(METADATA_CHILDREN);
+        }
+        break;
+      case BOOLEAN_VALUE:
+        write(Boolean.parseBoolean(rtx.getValue())
+            ? TRUE
+            : FALSE);
+        writeCommaIfNeeded(rtx);
+        break;
+      case NULL_VALUE:
+        write(NULL);
+        writeCommaIfNeeded(rtx);
+        break;
+      case NUMBER_VALUE:
+        writeAscii(rtx.getValue());
+        writeCommaIfNeeded(rtx);
+        break;
+      case STRING_VALUE:
+        write('"');
+        writeEscaped(rtx.getValue());
+        write('"');
+        writeCommaIfNeeded(rtx);
+        break;
+      // $CASES-OMITTED$
+      default:
+        throw new IllegalStateException("Node kind not known!");
+    }
+  }
+
+  @Override
+  protected void setTrxForVisitor(JsonNodeReadOnlyTrx rtx) {
+    castVisitor().setTrx(rtx);
+  }
+
+  private long maxLevel() {
+    return castVisitor().getMaxLevel();
+  }
+
+  private JsonMaxLevelVisitor castVisitor() {
+    return (JsonMaxLevelVisitor) mVisitor;
+  }
+
+  private long currentLevel() {
+    return castVisitor().getCurrentLevel();
+  }
+
+  @Override
+  protected boolean isSubtreeGoingToBeVisited(final JsonNodeReadOnlyTrx rtx) {
+    if (rtx.isObjectKey())
+      return true;
+    return mVisitor == null || currentLevel() + 1 < maxLevel();
+  }
+
+  @Override
+  protected boolean isSubtreeGoingToBePruned(final JsonNodeReadOnlyTrx rtx) {
+    if (rtx.isObjectKey())
+      return false;
+    if (mVisitor == null) {
+      return false;
+    } else {
+      return currentLevel() + 1 >= maxLevel();
+    }
+  }
+
+  private void writeCommaIfNeeded(final JsonNodeReadOnlyTrx rtx) {
+    if (rtx.hasRightSibling() && rtx.getNodeKey() != mStartNodeKey)
+      write(',');
+  }
+
+  /**
+   * Emit end element.
+   *
+   * @param rtx Sirix {@link JsonNodeReadOnlyTrx}
+   */
+  @Override
+  protected void emitEndNode(final JsonNodeReadOnlyTrx rtx) {
+    indent();
+    switch (rtx.getKind()) {
+      case ARRAY:
+        write(']');
+        break;
+      case OBJECT:
+        write('}');
+        if (rtx.hasRightSibling() && rtx.getNodeKey() != mStartNodeKey)
+          write(',');
+        break;
+      case OBJECT_KEY:
+        if (mWithMetaData) {
+          write('}');
+        }
+        if (rtx.hasRightSibling() && rtx.getNodeKey() != mStartNodeKey) {
+          write(',');
+        }
+        if (mHadToAddBracket && rtx.getNodeKey() == mStartNodeKey) {
+          write('}');
+        }
+        break;
+      // $CASES-OMITTED$
+      default:
+    }
+  }
+
+  @Override
+  protected void emitStartDocument() {
+    if (numberOfRevisions() > 1) {
+      if (mIndent) {
+        mStack.push(Constants.NULL_ID_LONG);
+      }
+
+      write(SIRIX);
+    }
+  }
+
+  @Override
+  protected void emitEndDocument() {
+    if (numberOfRevisions() > 1) {
+      if (mIndent) {
+        mStack.pop();
+      }
+      indent();
+
+      write(']');
+
+      indent();
+
+      write('}');
+    }
+  }
+
+  @Override
+  protected void emitRevisionStartNode(final @Nonnull JsonNodeReadOnlyTrx rtx) {
+    // Name keys are only guaranteed to be stable within a revision.
+    mNames.clear();
+
+    if (mEmitXQueryResultSequence || numberOfRevisions() > 1) {
+      indent();
+
+      write(REVISION_NUMBER);
+      write(rtx.getRevisionNumber());
+      write(',');
+
+      if (mSerializeTimestamp) {
+        write(REVISION_TIMESTAMP);
+        writeAscii(DateTimeFormatter.ISO_INSTANT.withZone(ZoneOffset.UTC).format(rtx.getRevisionTimestamp()));
+        write('"');
+        write(',');
+      }
+
+      write(REVISION);
+
+      if (rtx.hasFirstChild())
+        mStack.push(Constants.NULL_ID_LONG);
+    }
+  }
+
+  @Override
+  protected void emitRevisionEndNode(final @Nonnull JsonNodeReadOnlyTrx rtx) {
+    if (mEmitXQueryResultSequence || numberOfRevisions() > 1) {
+      if (rtx.moveToDocumentRoot().trx().hasFirstChild())
+        mStack.pop();
+      indent();
+      write('}');
+
+      if (hasMoreRevisionsToSerialize(rtx))
+        write(',');
+    }
+  }
+
+  private int numberOfRevisions() {
+    return (mRevisions.length == 1 && mRevisions[0] < 0)
+        ? mResMgr.getMostRecentRevisionNumber()
+        : mRevisions.length;
+  }
+
+  private boolean hasMoreRevisionsToSerialize(final JsonNodeReadOnlyTrx rtx) {
+    return rtx.getRevisionNumber() < mRevisions[mRevisions.length - 1] || (mRevisions.length == 1 && mRevisions[0] == -1
+        && rtx.getRevisionNumber() < rtx.getResourceManager().getMostRecentRevisionNumber());
+  }
+
+  /**
+   * Indentation of output.
+   */
+  private void indent() {
+    if (mIndent) {
+      final int indentSpaces = mWithInitialIndent
+          ? (mStack.size() + 1) * mIndentSpaces
+          : mStack.size() * mIndentSpaces;
+      for (int i = 0; i < indentSpaces; i++) {
+        write(' ');
+      }
+    }
+  }
+
+  /**
+   * Hand the current chunk to the consumer, if it's not empty.
+   */
+  private void flush() {
+    if (mPosition > 0) {
+      mBuffer.clear();
+      mBuffer.limit(mPosition);
+      mConsumer.accept(mBuffer);
+      mPosition = 0;
+    }
+  }
+
+  private void write(final char ch) {
+    if (mPosition == mChunk.length) {
+      flush();
+    }
+    mChunk[mPosition++] = (byte) ch;
+  }
+
+  private void write(final byte[] bytes) {
+    int offset = 0;
+    while (offset < bytes.length) {
+      if (mPosition == mChunk.length) {
+        flush();
+      }
+      final int length = Math.min(bytes.length - offset, mChunk.length - mPosition);
+      System.arraycopy(bytes, offset, mChunk, mPosition, length);
+      mPosition += length;
+      offset += length;
+    }
+  }
+
+  private void write(final long value) {
+    if (value == Long.MIN_VALUE) {
+      writeAscii(Long.toString(value));
+      return;
+    }
+
+    long remaining = value;
+    if (remaining < 0) {
+      write('-');
+      remaining = -remaining;
+    }
+
+    int index = mDigits.length;
+    do {
+      mDigits[--index] = (byte) ('0' + remaining % 10);
+      remaining /= 10;
+    } while (remaining != 0);
+
+    for (; index < mDigits.length; index++) {
+      write((char) mDigits[index]);
+    }
+  }
+
+  /**
+   * Write a string, which consists of ASCII characters only (numbers and timestamps).
+   *
+   * @param value the string to write
+   */
+  private void writeAscii(final String value) {
+    for (int i = 0, length = value.length(); i < length; i++) {
+      write(value.charAt(i));
+    }
+  }
+
+  /**
+   * Escape a string the same way as {@link StringValue#escape(String)} and encode it as UTF-8 in a
+   * single pass.
+   *
+   * @param value the string to write
+   */
+  private void writeEscaped(final String value) {
+    final int length = value.length();
+    for (int i = 0; i < length; i++) {
+      final char ch = value.charAt(i);
+      switch (ch) {
+        case '"':
+          writeEscape('"');
+          break;
+        case '\\':
+          writeEscape('\\');
+          break;
+        case '\b':
+          writeEscape('b');
+          break;
+        case '\f':
+          writeEscape('f');
+          break;
+        case '\n':
+          writeEscape('n');
+          break;
+        case '\r':
+          writeEscape('r');
+          break;
+        case '\t':
+          writeEscape('t');
+          break;
+        case '/':
+          writeEscape('/');
+          break;
+        default:
+          if (ch <= '\u001F' || (ch >= '\u007F' && ch <= '\u009F') || (ch >= '\u2000' && ch <= '\u20FF')) {
+            writeEscape('u');
+            write((char) HEX_DIGITS[(ch >> 12) & 0xF]);
+            write((char) HEX_DIGITS[(ch >> 8) & 0xF]);
+            write((char) HEX_DIGITS[(ch >> 4) & 0xF]);
+            write((char) HEX_DIGITS[ch & 0xF]);
+          } else if (ch < 0x80) {
+            write(ch);
+          } else if (ch < 0x800) {
+            writeByte(0xC0 | (ch >> 6));
+            writeByte(0x80 | (ch & 0x3F));
+          } else if (Character.isHighSurrogate(ch) && i + 1 < length
+              && Character.isLowSurrogate(value.charAt(i + 1))) {
+            final int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+            writeByte(0xF0 | (codePoint >> 18));
+            writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+            writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+            writeByte(0x80 | (codePoint & 0x3F));
+          } else if (Character.isSurrogate(ch)) {
+            // Unpaired surrogate, replaced just like String.getBytes(UTF_8) does.
+            write('?');
+          } else {
+            writeByte(0xE0 | (ch >> 12));
+            writeByte(0x80 | ((ch >> 6) & 0x3F));
+            writeByte(0x80 | (ch & 0x3F));
+          }
+      }
+    }
+  }
+
+  private void writeEscape(final char ch) {
+    write('\\');
+    write(ch);
+  }
+
+  private void writeByte(final int b) {
+    if (mPosition == mChunk.length) {
+      flush();
+    }
+    mChunk[mPosition++] = (byte) b;
+  }
+
+  private static byte[] encodeName(final String name) {
+    return bytes("\"" + StringValue.escape(name) + "\":");
+  }
+
+  private static byte[] bytes(final String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static ByteBuffer acquireBuffer(final int chunkSize) {
+    if (chunkSize == DEFAULT_CHUNK_SIZE) {
+      final ByteBuffer buffer = BUFFER_POOL.poll();
+      if (buffer != null) {
+        return buffer;
+      }
+    }
+    return ByteBuffer.allocate(chunkSize);
+  }
+
+  private static void releaseBuffer(final ByteBuffer buffer) {
+    if (buffer.capacity() == DEFAULT_CHUNK_SIZE && BUFFER_POOL.size() < MAX_POOLED_BUFFERS) {
+      buffer.clear();
+      BUFFER_POOL.offer(buffer);
+    }
+  }
+
+  /**
+   * Create a new builder, which writes the chunks to an output stream.
+   *
+   * @param resMgr Sirix {@link ResourceManager}
+   * @param stream {@link OutputStream} to write to (not closed)
+   * @param revisions revisions to serialize
+   * @return the builder
+   */
+  public static Builder newBuilder(final JsonResourceManager resMgr, final OutputStream stream,
+      final int... revisions) {
+    checkNotNull(stream);
+    return new Builder(resMgr, chunk -> {
+      try {
+        stream.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    }, revisions);
+  }
+
+  /**
+   * Create a new builder, which hands the chunks to a consumer. The consumer might block in order
+   * to exert backpressure. The chunk is reused after the consumer returned.
+   *
+   * @param resMgr Sirix {@link ResourceManager}
+   * @param consumer consumer of the chunks
+   * @param revisions revisions to serialize
+   * @return the builder
+   */
+  public static Builder newBuilder(final JsonResourceManager resMgr, final Consumer<ByteBuffer> consumer,
+      final int... revisions) {
+    return new Builder(resMgr, consumer, revisions);
+  }
+
+  /**
+   * Builder to setup the JsonByteSerializer.
+   */
+  public static final class Builder {
+    /** Intermediate boolean for indendation, not necessary. */
+    private boolean mIndent;
+
+    /** Intermediate number of spaces to indent, not necessary. */
+    private int mIndentSpaces = 2;
+
+    /** Consumer of the chunks. */
+    private final Consumer<ByteBuffer> mConsumer;
+
+    /** Size of a chunk in bytes. */
+    private int mChunkSize = DEFAULT_CHUNK_SIZE;
+
+    /** Resource manager to use. */
+    private final JsonResourceManager mResourceMgr;
+
+    /** Further revisions to serialize. */
+    private int[] mVersions;
+
+    /** Revision to serialize. */
+    private int mVersion;
+
+    /** Node key of subtree to shredder. */
+    private long mNodeKey;
+
+    /** Determines if an initial indent is needed or not. */
+    private boolean mInitialIndent;
+
+    /** Determines if it's an XQuery result sequence. */
+    private boolean mEmitXQueryResultSequence;
+
+    /** Determines if a timestamp should be serialized or not. */
+    private boolean mSerializeTimestamp;
+
+    /** Determines if SirixDB meta data should be serialized for JSON object key nodes or not. */
+    private boolean mWithMetaData;
+
+    /** Determines the maximum level to up to which to skip subtrees from serialization. */
+    private long mMaxLevel;
+
+    /**
+     * Constructor, setting the necessary stuff.
+     *
+     * @param resourceMgr Sirix {@link ResourceManager}
+     * @param consumer consumer of the chunks
+     * @param revisions revisions to serialize
+     */
+    public Builder(final JsonResourceManager resourceMgr, final Consumer<ByteBuffer> consumer,
+        final int... revisions) {
+      mMaxLevel = -1;
+      mNodeKey = 0;
+      mResourceMgr = checkNotNull(resourceMgr);
+      mConsumer = checkNotNull(consumer);
+      if (revisions == null || revisions.length == 0) {
+        mVersion = mResourceMgr.getMostRecentRevisionNumber();
+      } else {
+        mVersion = revisions[0];
+        mVersions = new int[revisions.length - 1];
+        System.arraycopy(revisions, 1, mVersions, 0, revisions.length - 1);
+      }
+    }
+
+    /**
+     * Specify the start node key.
+     *
+     * @param nodeKey node key to start serialization from (the root of the subtree to serialize)
+     * @return this {@link Builder} instance
+     */
+    public Builder startNodeKey(final long nodeKey) {
+      mNodeKey = nodeKey;
+      return this;
+    }
+
+    /**
+     * Specify the maximum level.
+     *
+     * @param maxLevel the maximum level until which to serialize
+     * @return this {@link Builder} instance
+     */
+    public Builder maxLevel(final long maxLevel) {
+      mMaxLevel = maxLevel;
+      return this;
+    }
+
+    /**
+     * Specify the size of the chunks, which are handed to the consumer.
+     *
+     * @param chunkSize the size of a chunk in bytes
+     * @return this {@link Builder} instance
+     */
+    public Builder chunkSize(final @Nonnegative int chunkSize) {
+      checkArgument(chunkSize > 0, "chunkSize must be > 0!");
+      mChunkSize = chunkSize;
+      return this;
+    }
+
+    /**
+     * Sets an initial indentation.
+     *
+     * @return this {@link Builder} instance
+     */
+    public Builder withInitialIndent() {
+      mInitialIndent = true;
+      return this;
+    }
+
+    /**
+     * Sets if the serialization is used for XQuery result sets.
+     *
+     * @return this {@link Builder} instance
+     */
+    public Builder isXQueryResultSequence() {
+      mEmitXQueryResultSequence = true;
+      return this;
+    }
+
+    /**
+     * Sets if the serialization of timestamps of the revision(s) is used or not.
+     *
+     * @return this {@link Builder} instance
+     */
+    public Builder serializeTimestamp(boolean serializeTimestamp) {
+      mSerializeTimestamp = serializeTimestamp;
+      return this;
+    }
+
+    /**
+     * Sets if metadata should be serialized or not.
+     *
+     * @return this {@link Builder} instance
+     */
+    public Builder withMetaData(boolean withMetaData) {
+      mWithMetaData = withMetaData;
+      return this;
+    }
+
+    /**
+     * Pretty prints the output.
+     *
+     * @return this {@link Builder} instance
+     */
+    public Builder prettyPrint() {
+      mIndent = true;
+      return this;
+    }
+
+    /**
+     * The versions to serialize.
+     *
+     * @param revisions the versions to serialize
+     * @return this {@link Builder} instance
+     */
+    public Builder revisions(final int[] revisions) {
+      checkNotNull(revisions);
+
+      mVersion = revisions[0];
+
+      mVersions = new int[revisions.length - 1];
+      System.arraycopy(revisions, 1, mVersions, 0, revisions.length - 1);
+
+      return this;
+    }
+
+    /**
+     * Building new {@link JsonByteSerializer} instance.
+     *
+     * @return a new {@link JsonByteSerializer} instance
+     */
+    public JsonByteSerializer build() {
+      return new JsonByteSerializer(mResourceMgr, mNodeKey, this, mVersion, mVersions);
+    }
+  }
+}
@@ -0,0 +1,484 @@
+package org.sirix.service.json.shredder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnegative;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.json.JsonResourceManager;
+import org.sirix.exception.SirixThreadedException;
+import org.sirix.exception.SirixUsageException;
+import org.sirix.utils.LogWrapper;
+import org.slf4j.LoggerFactory;
+import com.google.common.base.MoreObjects;
+
+/**
+ * Imports a set of JSON files into a database, each file into a new resource named after the file
+ * (without the {@code .json} extension). The files are tokenized and decoded by a pool of tokenizer
+ * threads, whereas the single writer of each resource consumes the ready batches of tokens and
+ * bulk-loads them via {@link org.sirix.api.json.JsonNodeTrx#insertSubtreeAsFirstChild}. A resource
+ * is only tokenized once its writer has been started, such that the bounded queues between the
+ * tokenizers and the writers can't block each other.
+ *
+ * @author Johannes Lichtenberger
+ */
+public final class JsonImporter implements Callable<JsonImporter.Statistics> {
+
+  /** {@link LogWrapper} reference. */
+  private static final LogWrapper LOGWRAPPER = new LogWrapper(LoggerFactory.getLogger(JsonImporter.class));
+
+  /** The file extension of JSON files. */
+  private static final String JSON_EXTENSION = ".json";
+
+  /** The database to import the files into. */
+  private final Database<JsonResourceManager> mDatabase;
+
+  /** The files to import. */
+  private final List<Path> mFiles;
+
+  /** Creates the configuration of a resource from its name. */
+  private final Function<String, ResourceConfiguration> mResourceConfiguration;
+
+  /** The number of tokenizer threads. */
+  private final int mTokenizerThreads;
+
+  /** The number of writer threads. */
+  private final int mWriterThreads;
+
+  /** The maximum number of tokens per batch. */
+  private final int mBatchSize;
+
+  /** The maximum number of ready batches per resource. */
+  private final int mQueueCapacity;
+
+  /** Notified with the current statistics whenever a file has been imported. */
+  private final Consumer<Statistics> mProgressListener;
+
+  /** The number of imported files. */
+  private final AtomicLong mImportedFiles = new AtomicLong();
+
+  /** The number of bytes of the imported files. */
+  private final AtomicLong mImportedBytes = new AtomicLong();
+
+  /** The number of tokenized tokens. */
+  private final AtomicLong mTokens = new AtomicLong();
+
+  /** The start time in nanoseconds. */
+  private long mStartTime;
+
+  /**
+   * Builder to build a {@link JsonImporter} instance.
+   */
+  public static final class Builder {
+
+    /** The database to import the files into. */
+    private final Database<JsonResourceManager> mDatabase;
+
+    /** The files to import. */
+    private final Set<Path> mFiles = new LinkedHashSet<>();
+
+    /** Creates the configuration of a resource from its name. */
+    private Function<String, ResourceConfiguration> mResourceConfiguration =
+        name -> ResourceConfiguration.newBuilder(name).build();
+
+    /** The number of tokenizer threads. */
+    private int mTokenizerThreads = Runtime.getRuntime().availableProcessors();
+
+    /** The number of writer threads. */
+    private int mWriterThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** The maximum number of tokens per batch. */
+    private int mBatchSize = 8_192;
+
+    /** The maximum number of ready batches per resource. */
+    private int mQueueCapacity = 16;
+
+    /** Notified with the current statistics whenever a file has been imported. */
+    private Consumer<Statistics> mProgressListener = statistics -> LOGWRAPPER.info(statistics.toString());
+
+    /**
+     * Constructor.
+     *
+     * @param database the database to import the files into
+     * @throws NullPointerException if {@code database} is {@code null}
+     */
+    public Builder(final Database<JsonResourceManager> database) {
+      mDatabase = checkNotNull(database);
+    }
+
+    /**
+     * Add a JSON file to import.
+     *
+     * @param file the JSON file
+     * @return this builder instance
+     */
+    public Builder addFile(final Path file) {
+      mFiles.add(checkNotNull(file));
+      return this;
+    }
+
+    /**
+     * Add all JSON files (files with the extension {@code .json}) of a directory to import.
+     *
+     * @param directory the directory
+     * @return this builder instance
+     * @throws UncheckedIOException if the directory can not be listed
+     */
+    public Builder addDirectory(final Path directory) {
+      checkArgument(Files.isDirectory(checkNotNull(directory)), "directory must be a directory!");
+      try (final Stream<Path> files = Files.list(directory)) {
+        mFiles.addAll(files.filter(file -> file.getFileName().toString().endsWith(JSON_EXTENSION))
+                           .sorted()
+                           .collect(Collectors.toList()));
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return this;
+    }
+
+    /**
+     * Set the function, which creates the configuration of a resource from its name.
+     *
+     * @param resourceConfiguration creates the configuration of a resource from its name
+     * @return this builder instance
+     */
+    public Builder resourceConfiguration(final Function<String, ResourceConfiguration> resourceConfiguration) {
+      mResourceConfiguration = checkNotNull(resourceConfiguration);
+      return this;
+    }
+
+    /**
+     * Set the number of threads, which tokenize and decode the files.
+     *
+     * @param threads the number of threads
+     * @return this builder instance
+     */
+    public Builder tokenizerThreads(final @Nonnegative int threads) {
+      checkArgument(threads > 0, "threads must be > 0!");
+      mTokenizerThreads = threads;
+      return this;
+    }
+
+    /**
+     * Set the number of threads, which write the resources, that is the number of resources written
+     * concurrently.
+     *
+     * @param threads the number of threads
+     * @return this builder instance
+     */
+    public Builder writerThreads(final @Nonnegative int threads) {
+      checkArgument(threads > 0, "threads must be > 0!");
+      mWriterThreads = threads;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of tokens per batch.
+     *
+     * @param batchSize the maximum number of tokens per batch
+     * @return this builder instance
+     */
+    public Builder batchSize(final @Nonnegative int batchSize) {
+      checkArgument(batchSize > 0, "batchSize must be > 0!");
+      mBatchSize = batchSize;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of ready batches per resource, which have not been consumed by the
+     * writer.
+     *
+     * @param queueCapacity the maximum number of ready batches
+     * @return this builder instance
+     */
+    public Builder queueCapacity(final @Nonnegative int queueCapacity) {
+      checkArgument(queueCapacity > 0, "queueCapacity must be > 0!");
+      mQueueCapacity = queueCapacity;
+      return this;
+    }
+
+    /**
+     * Set the listener, which is notified with the current statistics whenever a file has been
+     * imported. By default the statistics are logged.
+     *
+     * @param progressListener the listener
+     * @return this builder instance
+     */
+    public Builder progressListener(final Consumer<Statistics> progressListener) {
+      mProgressListener = checkNotNull(progressListener);
+      return this;
+    }
+
+    /**
+     * Build an instance.
+     *
+     * @return {@link JsonImporter} instance
+     */
+    public JsonImporter build() {
+      return new JsonImporter(this);
+    }
+  }
+
+  /**
+   * Private constructor.
+   *
+   * @param builder builder reference
+   */
+  private JsonImporter(final Builder builder) {
+    mDatabase = builder.mDatabase;
+    mFiles = new ArrayList<>(builder.mFiles);
+    mResourceConfiguration = builder.mResourceConfiguration;
+    mTokenizerThreads = builder.mTokenizerThreads;
+    mWriterThreads = builder.mWriterThreads;
+    mBatchSize = builder.mBatchSize;
+    mQueueCapacity = builder.mQueueCapacity;
+    mProgressListener = builder.mProgressListener;
+  }
+
+  /**
+   * Import the files.
+   *
+   * @return the final statistics
+   * @throws SirixUsageException if a resource already exists
+   * @throws SirixThreadedException if a file could not be imported (its resource is removed again) or the import
+   *         was interrupted
+   */
+  @Override
+  public Statistics call() {
+    for (final Path file : mFiles) {
+      final String resource = resourceName(file);
+      if (mDatabase.existsResource(resource))
+        throw new SirixUsageException("Resource already exists: " + resource);
+    }
+
+    mStartTime = System.nanoTime();
+    final ExecutorService tokenizers = Executors.newFixedThreadPool(mTokenizerThreads);
+    final ExecutorService writers = Executors.newFixedThreadPool(mWriterThreads);
+
+    try {
+      final List<Future<?>> imports = new ArrayList<>(mFiles.size());
+      for (final Path file : mFiles) {
+        imports.add(writers.submit(() -> importFile(file, tokenizers)));
+      }
+
+      for (final Future<?> fileImport : imports) {
+        fileImport.get();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SirixThreadedException(e);
+    } catch (final ExecutionException e) {
+      throw new SirixThreadedException(e);
+    } finally {
+      writers.shutdownNow();
+      tokenizers.shutdownNow();
+    }
+
+    return getStatistics();
+  }
+
+  private void importFile(final Path file, final ExecutorService tokenizers) {
+    final String resource = resourceName(file);
+    final BlockingQueue<TokenBatchJsonReader.Batch> batches = new ArrayBlockingQueue<>(mQueueCapacity);
+    final Future<?> tokenizer = tokenizers.submit(new JsonTokenizer(file, batches, mBatchSize, mTokens));
+
+    try {
+      mDatabase.createResource(mResourceConfiguration.apply(resource));
+      try {
+        insert(resource, batches);
+      } catch (final RuntimeException | Error e) {
+        tokenizer.cancel(true);
+        removeResource(resource, e);
+        throw e;
+      }
+      mImportedBytes.addAndGet(Files.size(file));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      // Stops the tokenizer, if it's still waiting for the writer.
+      tokenizer.cancel(true);
+    }
+
+    mImportedFiles.incrementAndGet();
+    synchronized (mProgressListener) {
+      mProgressListener.accept(getStatistics());
+    }
+  }
+
+  private void insert(final String resource, final BlockingQueue<TokenBatchJsonReader.Batch> batches) {
+    try (final JsonResourceManager manager = mDatabase.openResourceManager(resource);
+        final var wtx = manager.beginNodeTrx();
+        final var reader = new TokenBatchJsonReader(batches)) {
+      try {
+        wtx.insertSubtreeAsFirstChild(reader);
+      } catch (final RuntimeException | Error e) {
+        // Otherwise the transaction can't be closed.
+        wtx.rollback();
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Remove a partially imported resource.
+   *
+   * @param resource the name of the resource
+   * @param failure the failure of the import, to which a failure of the removal is added
+   */
+  private void removeResource(final String resource, final Throwable failure) {
+    try {
+      mDatabase.removeResource(resource);
+    } catch (final RuntimeException e) {
+      failure.addSuppressed(e);
+    }
+  }
+
+  private static String resourceName(final Path file) {
+    final String fileName = file.getFileName().toString();
+    return fileName.endsWith(JSON_EXTENSION)
+        ? fileName.substring(0, fileName.length() - JSON_EXTENSION.length())
+        : fileName;
+  }
+
+  /**
+   * Get the current statistics.
+   *
+   * @return the current statistics
+   */
+  public Statistics getStatistics() {
+    return new Statistics(mFiles.size(), mImportedFiles.get(), mImportedBytes.get(), mTokens.get(),
+        System.nanoTime() - mStartTime);
+  }
+
+  /**
+   * Progress and throughput of an import.
+   */
+  public static final class Statistics {
+    /** The number of files to import. */
+    private final long mFiles;
+
+    /** The number of imported files. */
+    private final long mImportedFiles;
+
+    /** The number of bytes of the imported files. */
+    private final long mImportedBytes;
+
+    /** The number of tokenized tokens. */
+    private final long mTokens;
+
+    /** The elapsed time in nanoseconds. */
+    private final long mElapsedNanos;
+
+    private Statistics(final long files, final long importedFiles, final long importedBytes, final long tokens,
+        final long elapsedNanos) {
+      mFiles = files;
+      mImportedFiles = importedFiles;
+      mImportedBytes = importedBytes;
+      mTokens = tokens;
+      mElapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get the number of files to import.
+     *
+     * @return the number of files to import
+     */
+    public long getFiles() {
+      return mFiles;
+    }
+
+    /**
+     * Get the number of imported files.
+     *
+     * @return the number of imported files
+     */
+    public long getImportedFiles() {
+      return mImportedFiles;
+    }
+
+    /**
+     * Get the number of bytes of the imported files.
+     *
+     * @return the number of bytes of the imported files
+     */
+    public long getImportedBytes() {
+      return mImportedBytes;
+    }
+
+    /**
+     * Get the number of tokenized tokens (including the ones of files, which are not imported yet).
+     *
+     * @return the number of tokenized tokens
+     */
+    public long getTokens() {
+      return mTokens;
+    }
+
+    /**
+     * Get the elapsed time.
+     *
+     * @param unit the time unit
+     * @return the elapsed time
+     */
+    public long getElapsedTime(final TimeUnit unit) {
+      return unit.convert(mElapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the throughput of the tokenizers.
+     *
+     * @return the number of tokens per second
+     */
+    public double getTokensPerSecond() {
+      return perSecond(mTokens);
+    }
+
+    /**
+     * Get the throughput of the writers.
+     *
+     * @return the number of imported bytes per second
+     */
+    public double getBytesPerSecond() {
+      return perSecond(mImportedBytes);
+    }
+
+    private double perSecond(final long count) {
+      return mElapsedNanos == 0
+          ? 0
+          : count * (double) TimeUnit.SECONDS.toNanos(1) / mElapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+                        .add("importedFiles", mImportedFiles + "/" + mFiles)
+                        .add("importedBytes", mImportedBytes)
+                        .add("tokens", mTokens)
+                        .add("elapsedMillis", getElapsedTime(TimeUnit.MILLISECONDS))
+                        .add("tokensPerSecond", (long) getTokensPerSecond())
+                        .add("bytesPerSecond", (long) getBytesPerSecond())
+                        .toString();
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package org.sirix.service.json.shredder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnegative;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Tokenizes and decodes a JSON file into batches of tokens, which are consumed by a
+ * {@link TokenBatchJsonReader} on another thread.
+ *
+ * @author Johannes Lichtenberger
+ */
+final class JsonTokenizer implements Runnable {
+
+  /** The JSON file. */
+  private final Path mFile;
+
+  /** The queue, the batches are put into. */
+  private final BlockingQueue<TokenBatchJsonReader.Batch> mBatches;
+
+  /** The maximum number of tokens per batch. */
+  private final int mBatchSize;
+
+  /** The counter of the tokenized tokens. */
+  private final AtomicLong mTokenCount;
+
+  /**
+   * Constructor.
+   *
+   * @param file the JSON file
+   * @param batches the queue, the batches are put into
+   * @param batchSize the maximum number of tokens per batch
+   * @param tokenCount the counter of the tokenized tokens
+   */
+  JsonTokenizer(final Path file, final BlockingQueue<TokenBatchJsonReader.Batch> batches,
+      final @Nonnegative int batchSize, final AtomicLong tokenCount) {
+    checkArgument(batchSize > 0, "batchSize must be > 0!");
+    mFile = checkNotNull(file);
+    mBatches = checkNotNull(batches);
+    mBatchSize = batchSize;
+    mTokenCount = checkNotNull(tokenCount);
+  }
+
+  @Override
+  public void run() {
+    try {
+      try (final JsonReader reader = new JsonReader(Files.newBufferedReader(mFile, StandardCharsets.UTF_8))) {
+        tokenize(reader);
+      } catch (final InterruptedException e) {
+        throw e;
+      } catch (final Throwable e) {
+        // Any failure terminates the batches, as the consumer would otherwise wait forever.
+        mBatches.put(new TokenBatchJsonReader.Batch(e));
+      }
+    } catch (final InterruptedException e) {
+      // The consumer has given up.
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void tokenize(final JsonReader reader) throws IOException, InterruptedException {
+    TokenBatchJsonReader.Batch batch = new TokenBatchJsonReader.Batch(mBatchSize);
+    int level = 0;
+
+    while (true) {
+      final JsonToken token = reader.peek();
+      String value = null;
+
+      switch (token) {
+        case BEGIN_OBJECT:
+          reader.beginObject();
+          level++;
+          break;
+        case END_OBJECT:
+          reader.endObject();
+          level--;
+          break;
+        case BEGIN_ARRAY:
+          reader.beginArray();
+          level++;
+          break;
+        case END_ARRAY:
+          reader.endArray();
+          level--;
+          break;
+        case NAME:
+          value = reader.nextName();
+          break;
+        case STRING:
+        case NUMBER:
+          value = reader.nextString();
+          break;
+        case BOOLEAN:
+          value = Boolean.toString(reader.nextBoolean());
+          break;
+        case NULL:
+          reader.nextNull();
+          break;
+        case END_DOCUMENT:
+        default:
+          break;
+      }
+
+      batch.add(token, value);
+
+      // Only a single JSON value is read, as it's done by the shredder.
+      final boolean isLastToken = token == JsonToken.END_DOCUMENT || level == 0;
+      if (isLastToken && token != JsonToken.END_DOCUMENT) {
+        if (batch.isFull()) {
+          put(batch);
+          batch = new TokenBatchJsonReader.Batch(mBatchSize);
+        }
+        batch.add(JsonToken.END_DOCUMENT, null);
+      }
+
+      if (isLastToken || batch.isFull()) {
+        put(batch);
+        if (isLastToken)
+          return;
+        batch = new TokenBatchJsonReader.Batch(mBatchSize);
+      }
+    }
+  }
+
+  private void put(final TokenBatchJsonReader.Batch batch) throws InterruptedException {
+    mTokenCount.addAndGet(batch.size());
+    mBatches.put(batch);
+  }
+}
@@ -0,0 +1,241 @@
+package org.sirix.service.json.shredder;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.concurrent.BlockingQueue;
+import javax.annotation.Nonnegative;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * A {@link JsonReader}, which doesn't parse any characters itself, but consumes batches of tokens,
+ * which have already been tokenized and decoded by a {@link JsonTokenizer} on another thread.
+ *
+ * @author Johannes Lichtenberger
+ */
+final class TokenBatchJsonReader extends JsonReader {
+
+  /** The reader passed to the superclass, which is never read. */
+  private static final Reader UNUSED_READER = new StringReader("");
+
+  /** The ready batches. */
+  private final BlockingQueue<Batch> mBatches;
+
+  /** The current batch. */
+  private Batch mBatch;
+
+  /** The index of the current token in the current batch. */
+  private int mIndex;
+
+  /**
+   * Constructor.
+   *
+   * @param batches the queue of ready batches, which is terminated by a batch containing the
+   *        {@link JsonToken#END_DOCUMENT} token or a failure
+   */
+  TokenBatchJsonReader(final BlockingQueue<Batch> batches) {
+    super(UNUSED_READER);
+    mBatches = checkNotNull(batches);
+  }
+
+  @Override
+  public JsonToken peek() throws IOException {
+    if (mBatch == null || mIndex == mBatch.mSize) {
+      // A failure batch terminates the queue and is rethrown on every further call.
+      if (mBatch == null || mBatch.mFailure == null) {
+        try {
+          mBatch = mBatches.take();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException(e.getMessage());
+        }
+        mIndex = 0;
+      }
+      if (mBatch.mFailure != null)
+        rethrow(mBatch.mFailure);
+    }
+    return mBatch.mTokens[mIndex];
+  }
+
+  private static void rethrow(final Throwable failure) throws IOException {
+    if (failure instanceof IOException)
+      throw (IOException) failure;
+    if (failure instanceof RuntimeException)
+      throw (RuntimeException) failure;
+    if (failure instanceof Error)
+      throw (Error) failure;
+    throw new IOException(failure);
+  }
+
+  private String next(final JsonToken expected) throws IOException {
+    final JsonToken token = peek();
+    if (token != expected)
+      throw new IllegalStateException("Expected " + expected + " but was " + token + ".");
+    return mBatch.mValues[mIndex++];
+  }
+
+  @Override
+  public void beginArray() throws IOException {
+    next(JsonToken.BEGIN_ARRAY);
+  }
+
+  @Override
+  public void endArray() throws IOException {
+    next(JsonToken.END_ARRAY);
+  }
+
+  @Override
+  public void beginObject() throws IOException {
+    next(JsonToken.BEGIN_OBJECT);
+  }
+
+  @Override
+  public void endObject() throws IOException {
+    next(JsonToken.END_OBJECT);
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    final JsonToken token = peek();
+    return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+  }
+
+  @Override
+  public String nextName() throws IOException {
+    return next(JsonToken.NAME);
+  }
+
+  @Override
+  public String nextString() throws IOException {
+    final JsonToken token = peek();
+    if (token == JsonToken.NUMBER)
+      return next(JsonToken.NUMBER);
+    return next(JsonToken.STRING);
+  }
+
+  @Override
+  public boolean nextBoolean() throws IOException {
+    return Boolean.parseBoolean(next(JsonToken.BOOLEAN));
+  }
+
+  @Override
+  public void nextNull() throws IOException {
+    next(JsonToken.NULL);
+  }
+
+  @Override
+  public double nextDouble() throws IOException {
+    return Double.parseDouble(nextString());
+  }
+
+  @Override
+  public long nextLong() throws IOException {
+    return Long.parseLong(nextString());
+  }
+
+  @Override
+  public int nextInt() throws IOException {
+    return Integer.parseInt(nextString());
+  }
+
+  @Override
+  public void skipValue() throws IOException {
+    int depth = 0;
+    do {
+      final JsonToken token = peek();
+      if (token == JsonToken.BEGIN_ARRAY || token == JsonToken.BEGIN_OBJECT)
+        depth++;
+      else if (token == JsonToken.END_ARRAY || token == JsonToken.END_OBJECT)
+        depth--;
+      mIndex++;
+    } while (depth > 0);
+  }
+
+  @Override
+  public void close() {
+    mBatch = null;
+    mBatches.clear();
+  }
+
+  @Override
+  public String getPath() {
+    return "$";
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName();
+  }
+
+  /**
+   * A batch of tokens and their decoded values.
+   */
+  static final class Batch {
+    /** The tokens. */
+    private final JsonToken[] mTokens;
+
+    /** The values of the tokens (names, strings, numbers and booleans). */
+    private final String[] mValues;
+
+    /** The number of tokens. */
+    private int mSize;
+
+    /** The failure, if the input could not be tokenized. */
+    private final Throwable mFailure;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the maximum number of tokens
+     */
+    Batch(final @Nonnegative int capacity) {
+      mTokens = new JsonToken[capacity];
+      mValues = new String[capacity];
+      mFailure = null;
+    }
+
+    /**
+     * Constructor for a batch, which signals a failure.
+     *
+     * @param failure the failure
+     */
+    Batch(final Throwable failure) {
+      mTokens = new JsonToken[0];
+      mValues = new String[0];
+      mFailure = checkNotNull(failure);
+    }
+
+    /**
+     * Add a token.
+     *
+     * @param token the token
+     * @param value the value of the token, or {@code null}
+     */
+    void add(final JsonToken token, final String value) {
+      mTokens[mSize] = token;
+      mValues[mSize] = value;
+      mSize++;
+    }
+
+    /**
+     * Determines if the batch is full.
+     *
+     * @return {@code true}, if no more tokens can be added, {@code false} otherwise
+     */
+    boolean isFull() {
+      return mSize == mTokens.length;
+    }
+
+    /**
+     * Get the number of tokens.
+     *
+     * @return the number of tokens
+     */
+    int size() {
+      return mSize;
+    }
+  }
+}
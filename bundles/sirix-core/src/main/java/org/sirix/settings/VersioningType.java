@@ -68,7 +68,7 @@ public enum VersioningType {
           firstPage.<T>newInstance(
               recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx));
 
-      for (final Map.Entry<K, V> entry : pages.get(0).entrySet()) {
+      for (final Map.Entry<K, V> entry : pages.get(0).entrySet(pageReadTrx)) {
         returnVal.get(0).setEntry(entry.getKey(), entry.getValue());
         returnVal.get(1).setEntry(entry.getKey(), entry.getValue());
       }
@@ -105,8 +105,8 @@ public enum VersioningType {
       assert latest.getPageKey() == recordPageKey;
       assert fullDump.getPageKey() == recordPageKey;
 
-      for (final Map.Entry<K, V> entry : latest.entrySet()) {
-        returnVal.setEntry(entry.getKey(), entry.getValue());
+      for (final K recordKey : latest.keySet()) {
+        returnVal.setEntryIfAbsent(recordKey, latest);
       }
       for (final Map.Entry<K, PageReference> entry : latest.referenceEntrySet()) {
         returnVal.setPageReference(entry.getKey(), entry.getValue());
@@ -114,9 +114,8 @@ public enum VersioningType {
 
       // Skip full dump if not needed (fulldump equals latest page).
       if (pages.size() == 2) {
-        for (final Entry<K, V> entry : fullDump.entrySet()) {
-          if (returnVal.getValue(entry.getKey()) == null) {
-            returnVal.setEntry(entry.getKey(), entry.getValue());
+        for (final K recordKey : fullDump.keySet()) {
+          if (returnVal.setEntryIfAbsent(recordKey, fullDump)) {
             if (returnVal.size() == Constants.NDP_NODE_COUNT) {
               break;
             }
@@ -157,7 +156,7 @@ public enum VersioningType {
       final boolean isFullDump = revision % revToRestore == 0;
 
       // Iterate through all nodes of the latest revision.
-      for (final Map.Entry<K, V> entry : latest.entrySet()) {
+      for (final Map.Entry<K, V> entry : latest.entrySet(pageReadTrx)) {
         returnVal.get(0).setEntry(entry.getKey(), entry.getValue());
         returnVal.get(1).setEntry(entry.getKey(), entry.getValue());
       }
@@ -170,7 +169,7 @@ public enum VersioningType {
       // If not all entries are filled.
       if (latest.size() != Constants.NDP_NODE_COUNT) {
         // Iterate through the full dump.
-        for (final Map.Entry<K, V> entry : fullDump.entrySet()) {
+        for (final Map.Entry<K, V> entry : fullDump.entrySet(pageReadTrx)) {
           if (returnVal.get(0).getValue(entry.getKey()) == null) {
             returnVal.get(0).setEntry(entry.getKey(), entry.getValue());
           }
@@ -241,10 +240,8 @@ public enum VersioningType {
         if (filledPage) {
           break;
         }
-        for (final Entry<K, V> entry : page.entrySet()) {
-          final K recordKey = entry.getKey();
-          if (returnVal.getValue(recordKey) == null) {
-            returnVal.setEntry(recordKey, entry.getValue());
+        for (final K recordKey : page.keySet()) {
+          if (returnVal.setEntryIfAbsent(recordKey, page)) {
             if (returnVal.size() == Constants.NDP_NODE_COUNT) {
               filledPage = true;
               break;
@@ -290,7 +287,7 @@ public enum VersioningType {
           break;
         }
 
-        for (final Entry<K, V> entry : page.entrySet()) {
+        for (final Entry<K, V> entry : page.entrySet(pageReadTrx)) {
           // Caching the complete page.
           final K key = entry.getKey();
           assert key != null;
@@ -375,10 +372,8 @@ public enum VersioningType {
         if (filledPage) {
           break;
         }
-        for (final Entry<K, V> entry : page.entrySet()) {
-          final K recordKey = entry.getKey();
-          if (returnVal.getValue(recordKey) == null) {
-            returnVal.setEntry(recordKey, entry.getValue());
+        for (final K recordKey : page.keySet()) {
+          if (returnVal.setEntryIfAbsent(recordKey, page)) {
             if (returnVal.size() == Constants.NDP_NODE_COUNT) {
               filledPage = true;
               break;
@@ -426,7 +421,7 @@ public enum VersioningType {
 
         final boolean pageToSerialize = (i == pages.size() - 1 && revToRestore == pages.size());
 
-        for (final Entry<K, V> entry : page.entrySet()) {
+        for (final Entry<K, V> entry : page.entrySet(pageReadTrx)) {
           // Caching the complete page.
           final K key = entry.getKey();
           assert key != null;
@@ -32,6 +32,7 @@ import org.sirix.io.Storage;
 import org.sirix.io.Writer;
 import org.sirix.io.bytepipe.ByteHandler;
 import org.sirix.io.file.FileStorage;
+import org.sirix.io.memorymapped.MMStorage;
 import org.sirix.io.ram.RAMStorage;
 import org.sirix.page.PageReference;
 import org.sirix.page.UberPage;
@@ -113,7 +114,8 @@ public final class StorageTest {
     final DatabaseConfiguration dbConfig = new DatabaseConfiguration(XmlTestHelper.PATHS.PATH1.getFile());
     Object[][] returnVal =
         {{Storage.class, new Storage[] {new FileStorage(mResourceConfig.setDatabaseConfiguration(dbConfig)),
-            new RAMStorage(mResourceConfig.setDatabaseConfiguration(dbConfig))}}};
+            new RAMStorage(mResourceConfig.setDatabaseConfiguration(dbConfig)),
+            new MMStorage(mResourceConfig.setDatabaseConfiguration(dbConfig))}}};
     return returnVal;
   }
 
@@ -1,16 +1,29 @@
 package org.sirix.access.node.json;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sirix.JsonTestHelper;
 import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.axis.IncludeSelf;
+import org.sirix.node.Hash128;
 import org.sirix.service.json.shredder.JsonShredder;
+import org.sirix.service.xml.shredder.InsertPosition;
+import org.sirix.settings.Fixed;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public final class JsonNodeTrxInsertTest {
+  private static final Path JSON = Paths.get("src", "test", "resources", "json");
+
+  private static final long PRIME = 77081;
+
   @Before
   public void setUp() {
     JsonTestHelper.deleteEverything();
@@ -21,6 +34,107 @@ public final class JsonNodeTrxInsertTest {
     JsonTestHelper.closeEverything();
   }
 
+  @Test
+  public void deferredAncestorUpdatesYieldSameHashesAndDescendantCounts() {
+    try (final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+        final var manager = database.openResourceManager(JsonTestHelper.RESOURCE);
+        final var wtx = manager.beginNodeTrx();
+        final var deferredDatabase = JsonTestHelper.getDatabase(PATHS.PATH2.getFile());
+        final var deferredManager = deferredDatabase.openResourceManager(JsonTestHelper.RESOURCE);
+        final var deferredWtx = deferredManager.beginNodeTrx()) {
+      insertNodes(wtx);
+      wtx.commit();
+
+      deferredWtx.deferAncestorUpdates(true);
+      insertNodes(deferredWtx);
+      deferredWtx.moveToDocumentRoot();
+      wtx.moveToDocumentRoot();
+      assertEquals(wtx.getHash(), deferredWtx.getHash());
+      deferredWtx.commit();
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx();
+          final var deferredRtx = deferredManager.beginNodeReadOnlyTrx()) {
+        assertSameHashesAndDescendantCounts(rtx, deferredRtx);
+      }
+    }
+  }
+
+  private static void insertNodes(final JsonNodeTrx wtx) {
+    wtx.insertArrayAsFirstChild();
+    wtx.insertArrayAsFirstChild();
+    final long innerArrayKey = wtx.getNodeKey();
+    wtx.insertStringValueAsFirstChild("a");
+    final long stringKey = wtx.getNodeKey();
+    wtx.insertStringValueAsRightSibling("b");
+    wtx.insertNumberValueAsRightSibling(1);
+    wtx.moveTo(stringKey);
+    wtx.setStringValue("c");
+    wtx.moveTo(innerArrayKey);
+    wtx.insertArrayAsRightSibling();
+    wtx.insertBooleanValueAsFirstChild(true);
+  }
+
+  private static void assertSameHashesAndDescendantCounts(final JsonNodeReadOnlyTrx rtx,
+      final JsonNodeReadOnlyTrx deferredRtx) {
+    rtx.moveToDocumentRoot();
+    for (final long nodeKey : new DescendantAxis(rtx, IncludeSelf.YES)) {
+      assertTrue(deferredRtx.moveTo(nodeKey).hasMoved());
+      assertEquals(rtx.getHash(), deferredRtx.getHash());
+      assertEquals(rtx.getDescendantCount(), deferredRtx.getDescendantCount());
+    }
+  }
+
+  @Test
+  public void insertSubtreeIntoEmptyResourceYieldsSameNodesAsShredder() {
+    final var jsonPath = JSON.resolve("complex1.json");
+
+    try (final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+        final var manager = database.openResourceManager(JsonTestHelper.RESOURCE);
+        final var wtx = manager.beginNodeTrx();
+        final var bulkDatabase = JsonTestHelper.getDatabase(PATHS.PATH2.getFile());
+        final var bulkManager = bulkDatabase.openResourceManager(JsonTestHelper.RESOURCE);
+        final var bulkWtx = bulkManager.beginNodeTrx()) {
+      new JsonShredder.Builder(wtx, JsonShredder.createFileReader(jsonPath),
+          InsertPosition.AS_FIRST_CHILD).commitAfterwards().build().call();
+      bulkWtx.insertSubtreeAsFirstChild(JsonShredder.createFileReader(jsonPath));
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx();
+          final var bulkRtx = bulkManager.beginNodeReadOnlyTrx()) {
+        rtx.moveToDocumentRoot();
+        for (final long nodeKey : new DescendantAxis(rtx, IncludeSelf.YES)) {
+          assertTrue(bulkRtx.moveTo(nodeKey).hasMoved());
+          assertEquals(rtx.getKind(), bulkRtx.getKind());
+          assertEquals(rtx.getParentKey(), bulkRtx.getParentKey());
+          assertEquals(rtx.getLeftSiblingKey(), bulkRtx.getLeftSiblingKey());
+          assertEquals(rtx.getRightSiblingKey(), bulkRtx.getRightSiblingKey());
+          assertEquals(rtx.getFirstChildKey(), bulkRtx.getFirstChildKey());
+          assertEquals(rtx.getChildCount(), bulkRtx.getChildCount());
+          assertEquals(rtx.getDescendantCount(), bulkRtx.getDescendantCount());
+          if (rtx.isObjectKey() || rtx.isArray())
+            assertEquals(rtx.getPathNodeKey(), bulkRtx.getPathNodeKey());
+          if (rtx.isObjectKey())
+            assertEquals(rtx.getName(), bulkRtx.getName());
+          if (rtx.isStringValue() || rtx.isNumberValue() || rtx.isBooleanValue())
+            assertEquals(rtx.getValue(), bulkRtx.getValue());
+          if (nodeKey != Fixed.DOCUMENT_NODE_KEY.getStandardProperty())
+            assertRollingHash(bulkRtx);
+        }
+      }
+    }
+  }
+
+  private static void assertRollingHash(final JsonNodeReadOnlyTrx rtx) {
+    final long nodeKey = rtx.getNodeKey();
+    Hash128 childHashes = Hash128.ZERO;
+    if (rtx.moveToFirstChild().hasMoved()) {
+      do {
+        childHashes = childHashes.add(rtx.getHash());
+      } while (rtx.moveToRightSibling().hasMoved());
+    }
+    rtx.moveTo(nodeKey);
+    assertEquals(rtx.getNode().computeHash().add(childHashes.multiply(PRIME)), rtx.getHash());
+  }
+
   @Test
   public void insertSubtreeIntoObjectAsFirstChild() {
     JsonTestHelper.createTestDocument();
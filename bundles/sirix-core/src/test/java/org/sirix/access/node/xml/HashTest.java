@@ -23,7 +23,6 @@ package org.sirix.access.node.xml;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
-import java.math.BigInteger;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
@@ -35,6 +34,7 @@ import org.sirix.access.trx.node.HashType;
 import org.sirix.api.xml.XmlNodeTrx;
 import org.sirix.api.xml.XmlResourceManager;
 import org.sirix.exception.SirixException;
+import org.sirix.node.Hash128;
 
 public class HashTest {
 
@@ -105,20 +105,20 @@ public class HashTest {
     // inserting a element as root
     wtx.insertElementAsFirstChild(new QNm(NAME1));
     final long rootKey = wtx.getNodeKey();
-    final BigInteger firstRootHash = wtx.getHash();
+    final Hash128 firstRootHash = wtx.getHash();
 
     // inserting a text as second child of root
     wtx.moveTo(rootKey);
     wtx.insertTextAsFirstChild(NAME1);
     wtx.moveToParent();
-    final BigInteger secondRootHash = wtx.getHash();
+    final Hash128 secondRootHash = wtx.getHash();
 
     // inserting a second element on level 2 under the only element
     wtx.moveToFirstChild();
     wtx.insertElementAsRightSibling(new QNm(NAME2));
     wtx.insertAttribute(new QNm(NAME2), NAME1);
     wtx.moveTo(rootKey);
-    final BigInteger thirdRootHash = wtx.getHash();
+    final Hash128 thirdRootHash = wtx.getHash();
 
     // Checking that all hashes are different
     assertFalse(firstRootHash.equals(secondRootHash));
@@ -153,7 +153,7 @@ public class HashTest {
   private void testDeepTree(final XmlNodeTrx wtx) throws SirixException {
 
     wtx.insertElementAsFirstChild(new QNm(NAME1));
-    final BigInteger oldHash = wtx.getHash();
+    final Hash128 oldHash = wtx.getHash();
 
     wtx.insertElementAsFirstChild(new QNm(NAME1));
     wtx.insertElementAsFirstChild(new QNm(NAME2));
@@ -180,32 +180,32 @@ public class HashTest {
     wtx.insertElementAsFirstChild(new QNm(NAME1));
     wtx.moveToDocumentRoot();
     wtx.moveToFirstChild();
-    final BigInteger hashRoot1 = wtx.getHash();
+    final Hash128 hashRoot1 = wtx.getHash();
     wtx.moveToFirstChild();
     wtx.moveToFirstChild();
-    final BigInteger hashLeaf1 = wtx.getHash();
+    final Hash128 hashLeaf1 = wtx.getHash();
     wtx.setName(new QNm(NAME2));
-    final BigInteger hashLeaf2 = wtx.getHash();
+    final Hash128 hashLeaf2 = wtx.getHash();
     wtx.moveToDocumentRoot();
     wtx.moveToFirstChild();
-    final BigInteger hashRoot2 = wtx.getHash();
+    final Hash128 hashRoot2 = wtx.getHash();
     assertFalse(hashRoot1.equals(hashRoot2));
     assertFalse(hashLeaf1.equals(hashLeaf2));
     wtx.moveToFirstChild();
     wtx.moveToFirstChild();
     wtx.setName(new QNm(NAME1));
-    final BigInteger hashLeaf3 = wtx.getHash();
+    final Hash128 hashLeaf3 = wtx.getHash();
     assertEquals(hashLeaf1, hashLeaf3);
     wtx.moveToDocumentRoot();
     wtx.moveToFirstChild();
-    final BigInteger hashRoot3 = wtx.getHash();
+    final Hash128 hashRoot3 = wtx.getHash();
     assertEquals(hashRoot1, hashRoot3);
 
     // Testing root inheritance
     wtx.moveToDocumentRoot();
     wtx.moveToFirstChild();
     wtx.setName(new QNm(NAME2));
-    final BigInteger hashRoot4 = wtx.getHash();
+    final Hash128 hashRoot4 = wtx.getHash();
     assertFalse(hashRoot4.equals(hashRoot2));
     assertFalse(hashRoot4.equals(hashRoot1));
     assertFalse(hashRoot4.equals(hashRoot3));
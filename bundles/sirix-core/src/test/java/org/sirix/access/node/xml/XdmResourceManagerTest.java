@@ -26,14 +26,19 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.concurrent.TimeUnit;
+import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sirix.Holder;
 import org.sirix.XmlTestHelper;
 import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.access.ResourceConfiguration;
 import org.sirix.api.NodeReadOnlyTrx;
 import org.sirix.api.xml.XmlResourceManager;
 import org.sirix.api.xml.XmlNodeReadOnlyTrx;
@@ -275,4 +280,74 @@ public class XdmResourceManagerTest {
       assertEquals(holder.getResourceManager().getMostRecentRevisionNumber(), rtx.getRevisionNumber());
     }
   }
+
+  @Test
+  public void testRevisionNumberOfRevisionTimestamps() {
+    final XmlResourceManager manager = holder.getResourceManager();
+
+    try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      XmlDocumentCreator.create(wtx);
+      wtx.commit();
+      wtx.commit();
+      wtx.commit();
+    }
+
+    assertRevisionNumbersOfRevisionTimestamps(manager);
+  }
+
+  @Test
+  public void testRevisionNumberWithoutRevisionTimestampsFile() throws IOException {
+    try (final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx()) {
+      XmlDocumentCreator.create(wtx);
+      wtx.commit();
+      wtx.commit();
+    }
+
+    final Path revisionTimestampsFile = holder.getResourceManager()
+                                              .getResourceConfig()
+                                              .getResource()
+                                              .resolve(ResourceConfiguration.ResourcePaths.DATA.getPath())
+                                              .resolve("sirix.revisiontimestamps");
+
+    // Reopen the resource as if its revisions had been committed before the timestamps were recorded.
+    holder.close();
+    XmlTestHelper.closeEverything();
+    Files.delete(revisionTimestampsFile);
+    holder = Holder.generateRtx();
+
+    final XmlResourceManager manager = holder.getResourceManager();
+
+    try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      wtx.moveToDocumentRoot();
+      wtx.moveToFirstChild();
+      wtx.insertElementAsFirstChild(new QNm("foo"));
+      wtx.commit();
+    }
+
+    // The timestamp of the new revision is stored in its own slot.
+    assertEquals((manager.getMostRecentRevisionNumber() + 1) * Long.BYTES, Files.size(revisionTimestampsFile));
+
+    assertRevisionNumbersOfRevisionTimestamps(manager);
+  }
+
+  private static void assertRevisionNumbersOfRevisionTimestamps(final XmlResourceManager manager) {
+    final int mostRecentRevision = manager.getMostRecentRevisionNumber();
+    final Instant[] revisionTimestamps = new Instant[mostRecentRevision + 1];
+
+    for (int revision = 0; revision <= mostRecentRevision; revision++) {
+      try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx(revision)) {
+        revisionTimestamps[revision] = rtx.getRevisionTimestamp();
+      }
+    }
+
+    for (int revision = 0; revision <= mostRecentRevision; revision++) {
+      try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx(revisionTimestamps[revision])) {
+        // Revisions might have been committed within the same millisecond.
+        assertEquals(revisionTimestamps[revision], rtx.getRevisionTimestamp());
+      }
+    }
+
+    assertEquals(mostRecentRevision, manager.getRevisionNumber(revisionTimestamps[mostRecentRevision].plusSeconds(60)));
+    assertEquals(0, manager.getRevisionNumber(revisionTimestamps[0].minusSeconds(60)));
+  }
 }
@@ -0,0 +1,80 @@
+package org.sirix.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.sirix.page.IndirectPage;
+import org.sirix.page.PageReference;
+import org.sirix.page.interfaces.Page;
+
+public final class BufferPoolTest {
+  @Test
+  public void testPagesOfResourcesAreSeparated() {
+    final BufferPool bufferPool = new BufferPool(1 << 20);
+    final PageCache firstCache = new PageCache(bufferPool, 0);
+    final PageCache secondCache = new PageCache(bufferPool, 1);
+
+    final PageReference reference = new PageReference().setKey(1).setLength(100);
+    final Page page = new IndirectPage();
+    firstCache.put(reference, page);
+
+    assertSame(page, firstCache.get(reference));
+    assertNull(secondCache.get(reference));
+    assertEquals(1, bufferPool.getStatistics().hitCount());
+    assertEquals(1, bufferPool.getStatistics().missCount());
+
+    secondCache.put(reference, new IndirectPage());
+    firstCache.clear();
+    assertNull(firstCache.get(reference));
+    assertEquals(100, bufferPool.getWeightedSize());
+  }
+
+  @Test
+  public void testPagesAreEvictedByWeight() {
+    final BufferPool bufferPool = new BufferPool(1_000);
+    final PageCache cache = new PageCache(bufferPool, 0);
+
+    for (int i = 0; i < 10; i++) {
+      cache.put(new PageReference().setKey(i).setLength(300), new IndirectPage());
+    }
+
+    assertTrue(bufferPool.getWeightedSize() <= 1_000);
+    assertTrue(bufferPool.getStatistics().evictionCount() >= 7);
+  }
+
+  @Test
+  public void testRecordPagesAreWeighedByTheirDeserializedSize() {
+    final BufferPool bufferPool = new BufferPool(1 << 20);
+    final RecordPageCache cache = new RecordPageCache(bufferPool, 0);
+
+    // The serialized length is not the size of the page in memory.
+    final Page page = new IndirectPage();
+    cache.put(new PageReference().setKey(1).setLength(100), PageContainer.getInstance(page, page));
+
+    assertEquals(PageWeights.PAGE_WEIGHT, bufferPool.getWeightedSize());
+  }
+
+  @Test
+  public void testPagesOfDatabasesSharingTheGlobalBufferAreSeparated() {
+    final BufferPool firstBufferPool = BufferPool.shareGlobalBuffer();
+    final BufferPool secondBufferPool = BufferPool.shareGlobalBuffer();
+    final PageCache firstCache = new PageCache(firstBufferPool, 0);
+    final PageCache secondCache = new PageCache(secondBufferPool, 0);
+
+    final PageReference reference = new PageReference().setKey(1).setLength(100);
+    final Page page = new IndirectPage();
+    firstCache.put(reference, page);
+
+    assertSame(page, firstCache.get(reference));
+    assertNull(secondCache.get(reference));
+    assertEquals(BufferPool.GLOBAL_MAX_WEIGHT, secondBufferPool.getMaxWeight());
+
+    secondCache.put(reference, page);
+    secondBufferPool.clear();
+    assertNull(secondCache.get(reference));
+    assertSame(page, firstCache.get(reference));
+    firstBufferPool.clear();
+  }
+}
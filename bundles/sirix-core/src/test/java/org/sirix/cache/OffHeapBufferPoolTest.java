@@ -0,0 +1,49 @@
+package org.sirix.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+import org.sirix.page.PageReference;
+
+public final class OffHeapBufferPoolTest {
+  @Test
+  public void testPageBytesSpanningBlocks() {
+    final OffHeapBufferPool bufferPool = new OffHeapBufferPool(4 * OffHeapBufferPool.BLOCK_SIZE);
+    final OffHeapPageCache cache = new OffHeapPageCache(bufferPool, 0);
+    final byte[] bytes = new byte[OffHeapBufferPool.BLOCK_SIZE * 2 + 10];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+
+    cache.put(new PageReference().setKey(100).setLength(1_000), bytes);
+
+    final PageReference reference = new PageReference().setKey(100);
+    assertArrayEquals(bytes, cache.get(reference));
+    assertEquals(1_000, reference.getLength());
+    assertNull(new OffHeapPageCache(bufferPool, 1).get(reference));
+    assertEquals(3 * OffHeapBufferPool.BLOCK_SIZE, bufferPool.getUsedSize());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedPagesAreEvicted() {
+    final OffHeapBufferPool bufferPool = new OffHeapBufferPool(2 * OffHeapBufferPool.BLOCK_SIZE);
+    final OffHeapPageCache cache = new OffHeapPageCache(bufferPool, 0);
+    final PageReference first = new PageReference().setKey(1);
+    final PageReference second = new PageReference().setKey(2);
+    final PageReference third = new PageReference().setKey(3);
+
+    cache.put(first, new byte[] {1});
+    cache.put(second, new byte[] {2});
+    assertArrayEquals(new byte[] {1}, cache.get(first));
+    cache.put(third, new byte[] {3});
+
+    assertNull(cache.get(second));
+    assertArrayEquals(new byte[] {1}, cache.get(first));
+    assertArrayEquals(new byte[] {3}, cache.get(third));
+    assertEquals(1, bufferPool.getStatistics().evictionCount());
+
+    cache.clear();
+    assertEquals(0, bufferPool.getUsedSize());
+  }
+}
@@ -0,0 +1,31 @@
+package org.sirix.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.sirix.page.IndirectPage;
+import org.sirix.page.interfaces.Page;
+
+public final class PageContainerTest {
+  @Test
+  public void testModifiedPageIsCreatedLazily() {
+    final Page complete = new IndirectPage();
+    final Page modified = new IndirectPage();
+    final AtomicInteger calls = new AtomicInteger();
+    final PageContainer container = PageContainer.getInstance(complete, () -> {
+      calls.incrementAndGet();
+      return modified;
+    });
+
+    assertFalse(PageContainer.emptyInstance().equals(container));
+    container.hashCode();
+    assertSame(complete, container.getComplete());
+    assertEquals(0, calls.get());
+
+    assertSame(modified, container.getModified());
+    assertSame(modified, container.getModified());
+    assertEquals(1, calls.get());
+  }
+}
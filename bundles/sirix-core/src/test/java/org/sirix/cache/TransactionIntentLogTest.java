@@ -4,19 +4,17 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sirix.JsonTestHelper;
-import org.sirix.io.bytepipe.ByteHandlePipeline;
-import org.sirix.io.bytepipe.SnappyCompressor;
-import org.sirix.io.file.FileWriter;
+import org.sirix.page.IndirectPage;
 import org.sirix.page.PageKind;
-import org.sirix.page.PagePersister;
 import org.sirix.page.PageReference;
-import org.sirix.page.SerializationType;
 import org.sirix.page.UnorderedKeyValuePage;
 
-import java.io.FileNotFoundException;
-import java.io.RandomAccessFile;
+import java.util.ArrayList;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
 
 
 public class TransactionIntentLogTest {
@@ -31,19 +29,11 @@ public class TransactionIntentLogTest {
   }
 
   @Test
-  public void integrationTest() throws FileNotFoundException {
+  public void integrationTest() {
     try (final var database = JsonTestHelper.getDatabase(JsonTestHelper.PATHS.PATH1.getFile());
       final var resourceManager = database.openResourceManager(JsonTestHelper.RESOURCE);
-      final var pageReadOnlyTrx = resourceManager.beginPageReadTrx()) {
-      final RandomAccessFile file = new RandomAccessFile(JsonTestHelper.PATHS.PATH2.getFile().toFile(), "rw");
-
-      final FileWriter fileWriter =
-          new FileWriter(file, null, new ByteHandlePipeline(new ByteHandlePipeline(new SnappyCompressor())),
-                         SerializationType.TRANSACTION_INTENT_LOG, new PagePersister());
-
-      final var persistentCache = new PersistentFileCache(fileWriter);
-      final var trxIntentLog = new TransactionIntentLog(persistentCache, 1);
-
+      final var pageReadOnlyTrx = resourceManager.beginPageReadTrx();
+      final var trxIntentLog = new TransactionIntentLog(JsonTestHelper.PATHS.PATH2.getFile(), 0)) {
       final var firstCompletePage = new UnorderedKeyValuePage(1, PageKind.RECORDPAGE, -1, pageReadOnlyTrx);
       final var firstDeltaPage = new UnorderedKeyValuePage(1, PageKind.RECORDPAGE, -1, pageReadOnlyTrx);
 
@@ -63,4 +53,76 @@ public class TransactionIntentLogTest {
       assertEquals(secondPageContainer, trxIntentLog.get(secondPageReference, pageReadOnlyTrx));
     }
   }
+
+  @Test
+  public void testSpilledPagesAreReadBack() {
+    try (final var database = JsonTestHelper.getDatabase(JsonTestHelper.PATHS.PATH1.getFile());
+      final var resourceManager = database.openResourceManager(JsonTestHelper.RESOURCE);
+      final var pageReadOnlyTrx = resourceManager.beginPageReadTrx();
+      final var trxIntentLog = new TransactionIntentLog(JsonTestHelper.PATHS.PATH2.getFile(), 0)) {
+      final var references = new ArrayList<PageReference>();
+      final var containers = new ArrayList<PageContainer>();
+
+      for (int i = 0; i < 64; i++) {
+        final var completePage = new UnorderedKeyValuePage(i, PageKind.RECORDPAGE, -1, pageReadOnlyTrx);
+        final var deltaPage = new UnorderedKeyValuePage(i, PageKind.RECORDPAGE, -1, pageReadOnlyTrx);
+        final var container = i % 2 == 0
+            ? PageContainer.getInstance(completePage, deltaPage)
+            : PageContainer.getInstance(completePage, () -> deltaPage);
+        final var reference = new PageReference();
+        trxIntentLog.put(reference, container);
+        references.add(reference);
+        containers.add(container);
+      }
+
+      // Only the most recently used pages are kept in memory.
+      assertTrue(trxIntentLog.usedEntries() < references.size());
+
+      for (int i = 0; i < references.size(); i++) {
+        // A copy of the reference, as it's stored in a spilled parent page.
+        final var reference = new PageReference().setLogKey(references.get(i).getLogKey());
+        assertEquals(containers.get(i), trxIntentLog.get(reference, pageReadOnlyTrx));
+      }
+
+      for (int i = 0; i < references.size(); i++) {
+        assertEquals(containers.get(i), trxIntentLog.take(references.get(i), pageReadOnlyTrx));
+        assertEquals(PageContainer.emptyInstance(), trxIntentLog.get(references.get(i), pageReadOnlyTrx));
+      }
+
+      assertEquals(0, trxIntentLog.usedEntries());
+      assertEquals(0, trxIntentLog.usedBytes());
+
+      // Log keys of a former transaction are not resolved after truncating the log.
+      final var reference = new PageReference();
+      trxIntentLog.put(reference, containers.get(0));
+      trxIntentLog.truncate();
+      assertEquals(PageContainer.emptyInstance(), trxIntentLog.get(reference, pageReadOnlyTrx));
+    }
+  }
+
+  @Test
+  public void testSpilledIndirectPageKeepsChildReferences() {
+    try (final var database = JsonTestHelper.getDatabase(JsonTestHelper.PATHS.PATH1.getFile());
+      final var resourceManager = database.openResourceManager(JsonTestHelper.RESOURCE);
+      final var pageReadOnlyTrx = resourceManager.beginPageReadTrx();
+      final var trxIntentLog = new TransactionIntentLog(JsonTestHelper.PATHS.PATH2.getFile(), 0)) {
+      final var indirectPage = new IndirectPage();
+      final var reference = indirectPage.getReference(3).setKey(42);
+      reference.setHash(new byte[] { 1, 2, 3 });
+      final var indirectPageReference = new PageReference();
+      trxIntentLog.put(indirectPageReference, PageContainer.getInstance(indirectPage, indirectPage));
+
+      for (int i = 0; i < 64; i++) {
+        final var page = new UnorderedKeyValuePage(i, PageKind.RECORDPAGE, -1, pageReadOnlyTrx);
+        trxIntentLog.put(new PageReference(), PageContainer.getInstance(page, page));
+      }
+
+      final var container = trxIntentLog.get(indirectPageReference, pageReadOnlyTrx);
+      assertNotSame(indirectPage, container.getComplete());
+
+      final var childReference = ((IndirectPage) container.getComplete()).getReference(3);
+      assertEquals(42, childReference.getKey());
+      assertArrayEquals(new byte[] { 1, 2, 3 }, childReference.getHash());
+    }
+  }
 }
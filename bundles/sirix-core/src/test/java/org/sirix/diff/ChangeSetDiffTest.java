@@ -0,0 +1,217 @@
+package org.sirix.diff;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.access.trx.node.json.objectvalue.StringValue;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.api.json.JsonNodeTrx;
+import org.sirix.api.json.JsonResourceManager;
+import org.sirix.diff.ChangeSet.Operation;
+import org.sirix.diff.DiffFactory.DiffOptimized;
+import org.sirix.diff.DiffFactory.DiffType;
+import org.sirix.exception.SirixException;
+import org.sirix.utils.JsonDocumentCreator;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test of the JSON diff based on stored change sets.
+ */
+public final class ChangeSetDiffTest {
+
+  private static final String RESOURCE = "changes";
+
+  @Before
+  public void setUp() throws SirixException {
+    JsonTestHelper.deleteEverything();
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testChangeSetIsStored() {
+    try (final var manager = createResource()) {
+      final var changeSet = ChangeSet.read(manager.getResourceConfig(), 2);
+      assertTrue(changeSet.isPresent());
+
+      final Map<Long, Operation> expected = new TreeMap<>();
+      expected.put(6L, Operation.UPDATE);
+      expected.put(13L, Operation.REMOVE);
+      expected.put(22L, Operation.UPDATE);
+      expected.put(26L, Operation.INSERT);
+      expected.put(27L, Operation.INSERT);
+      assertEquals(expected, new TreeMap<>(changeSet.get().getChanges()));
+    }
+  }
+
+  @Test
+  public void testAdjacentRevisions() {
+    try (final var manager = createResource()) {
+      final Map<Long, DiffType> expected = new TreeMap<>();
+      expected.put(6L, DiffType.UPDATED);
+      expected.put(13L, DiffType.DELETED);
+      expected.put(22L, DiffType.UPDATED);
+      expected.put(26L, DiffType.INSERTED);
+
+      final var observer = new CollectingObserver();
+      assertTrue(new ChangeSetDiff(newBuilder(manager, 2, 1, observer)).diff());
+      assertTrue(observer.mDone);
+      assertEquals(expected, observer.changes());
+    }
+  }
+
+  @Test
+  public void testNearAdjacentRevisions() {
+    try (final var manager = createResource()) {
+      final var observer = new CollectingObserver();
+      assertTrue(new ChangeSetDiff(newBuilder(manager, 2, 0, observer)).diff());
+
+      // Only the root of the inserted document is reported.
+      final Map<Long, DiffType> expected = new TreeMap<>();
+      expected.put(1L, DiffType.INSERTED);
+      assertEquals(expected, observer.changes());
+    }
+  }
+
+  @Test
+  public void testSameDiffsAsTraversal() {
+    try (final var manager = createResource()) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        // Replace a string value in an array with a number value, before updating a preceding node.
+        wtx.moveTo(23);
+        wtx.remove();
+        wtx.moveTo(20);
+        wtx.insertNumberValueAsRightSibling(42);
+        wtx.moveTo(4);
+        wtx.setStringValue("baz");
+        wtx.commit();
+      }
+
+      final var observer = new CollectingObserver();
+      assertTrue(new ChangeSetDiff(newBuilder(manager, 3, 2, observer)).diff());
+      assertEquals(List.of("UPDATED 4", "REPLACEDOLD 28 23", "REPLACEDNEW 28 23"), observer.diffs());
+      assertEquals(traversalDiffs(manager, 3, 2), observer.diffs());
+
+      final var adjacentObserver = new CollectingObserver();
+      assertTrue(new ChangeSetDiff(newBuilder(manager, 2, 1, adjacentObserver)).diff());
+      assertEquals(List.of("INSERTED 26", "UPDATED 6", "DELETED 13", "UPDATED 22"), adjacentObserver.diffs());
+      assertEquals(traversalDiffs(manager, 2, 1), adjacentObserver.diffs());
+    }
+  }
+
+  @Test
+  public void testRevertFallsBackToTraversal() {
+    try (final var manager = createResource()) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.revertTo(1);
+        wtx.commit();
+      }
+
+      assertFalse(ChangeSet.read(manager.getResourceConfig(), 3).isPresent());
+      assertFalse(new ChangeSetDiff(newBuilder(manager, 3, 2, new CollectingObserver())).diff());
+
+      final var observer = new CollectingObserver();
+      DiffFactory.invokeJsonDiff(newBuilder(manager, 3, 2, observer));
+      assertTrue(observer.mDone);
+      assertFalse(observer.changes().isEmpty());
+    }
+  }
+
+  private static JsonResourceManager createResource() {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    database.createResource(ResourceConfiguration.newBuilder(RESOURCE).storeChangeSets(true).build());
+    final var manager = database.openResourceManager(RESOURCE);
+    try (final var wtx = manager.beginNodeTrx()) {
+      JsonDocumentCreator.create(wtx);
+      wtx.commit();
+
+      wtx.moveTo(6);
+      wtx.setNumberValue(1.2);
+      wtx.moveTo(22);
+      wtx.setBooleanValue(true);
+      wtx.moveTo(13);
+      wtx.remove();
+      wtx.moveTo(1);
+      wtx.insertObjectRecordAsFirstChild("tadaaa", new StringValue("todooo"));
+      wtx.commit();
+    }
+    return manager;
+  }
+
+  private static List<String> traversalDiffs(final JsonResourceManager manager, final int newRevision,
+      final int oldRevision) {
+    final var observer = new CollectingObserver();
+    new JsonDiff(newBuilder(manager, newRevision, oldRevision, observer)).diffMovement();
+    return observer.diffs();
+  }
+
+  private static DiffFactory.Builder<JsonNodeReadOnlyTrx, JsonNodeTrx> newBuilder(
+      final JsonResourceManager manager, final int newRevision, final int oldRevision, final DiffObserver observer) {
+    return new DiffFactory.Builder<>(manager, newRevision, oldRevision, DiffOptimized.HASHED,
+        ImmutableSet.of(observer)).skipSubtrees(true);
+  }
+
+  private static final class CollectingObserver implements DiffObserver {
+    private final List<DiffTuple> mDiffs = new ArrayList<>();
+
+    private boolean mDone;
+
+    Map<Long, DiffType> changes() {
+      final Map<Long, DiffType> changes = new TreeMap<>();
+      for (final DiffTuple tuple : mDiffs) {
+        if (tuple.getDiff() != DiffType.SAME && tuple.getDiff() != DiffType.SAMEHASH) {
+          changes.put(tuple.getDiff() == DiffType.DELETED
+              ? tuple.getOldNodeKey()
+              : tuple.getNewNodeKey(), tuple.getDiff());
+        }
+      }
+      return changes;
+    }
+
+    List<String> diffs() {
+      final List<String> diffs = new ArrayList<>();
+      for (final DiffTuple tuple : mDiffs) {
+        switch (tuple.getDiff()) {
+          case SAME:
+          case SAMEHASH:
+            break;
+          case REPLACEDOLD:
+          case REPLACEDNEW:
+            diffs.add(tuple.getDiff() + " " + tuple.getNewNodeKey() + " " + tuple.getOldNodeKey());
+            break;
+          case DELETED:
+            diffs.add(tuple.getDiff() + " " + tuple.getOldNodeKey());
+            break;
+          // $CASES-OMITTED$
+          default:
+            diffs.add(tuple.getDiff() + " " + tuple.getNewNodeKey());
+        }
+      }
+      return diffs;
+    }
+
+    @Override
+    public void diffListener(final DiffType diffType, final long newNodeKey, final long oldNodeKey,
+        final DiffDepth depth) {
+      mDiffs.add(new DiffTuple(diffType, newNodeKey, oldNodeKey, depth));
+    }
+
+    @Override
+    public void diffDone() {
+      mDone = true;
+    }
+  }
+}
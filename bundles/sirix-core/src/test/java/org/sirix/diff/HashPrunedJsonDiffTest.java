@@ -0,0 +1,120 @@
+package org.sirix.diff;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.access.trx.node.json.objectvalue.StringValue;
+import org.sirix.diff.DiffFactory.DiffOptimized;
+import org.sirix.diff.DiffFactory.DiffType;
+import org.sirix.exception.SirixException;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test of the hash-pruned, parallel JSON diff.
+ */
+public final class HashPrunedJsonDiffTest {
+
+  @Before
+  public void setUp() throws SirixException {
+    JsonTestHelper.deleteEverything();
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testChangesAreFoundAndEqualSubtreesSkipped() {
+    JsonTestHelper.createTestDocument();
+
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.openResourceManager(JsonTestHelper.RESOURCE)) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.moveTo(6);
+        wtx.setNumberValue(1.2);
+        wtx.moveTo(22);
+        wtx.setBooleanValue(true);
+        wtx.moveTo(13);
+        wtx.remove();
+        wtx.moveTo(1);
+        wtx.insertObjectRecordAsFirstChild("tadaaa", new StringValue("todooo"));
+        wtx.commit();
+      }
+
+      final var observer = new CollectingObserver();
+      DiffFactory.invokeHashPrunedJsonDiff(
+          new DiffFactory.Builder<>(manager, 2, 1, DiffOptimized.HASHED, ImmutableSet.of(observer)));
+
+      assertTrue(observer.mDone);
+
+      final Map<Long, DiffType> changes = new TreeMap<>();
+      final List<Long> visited = new ArrayList<>();
+      for (final DiffTuple tuple : observer.mDiffs) {
+        final long nodeKey = tuple.getDiff() == DiffType.DELETED
+            ? tuple.getOldNodeKey()
+            : tuple.getNewNodeKey();
+        visited.add(nodeKey);
+        if (tuple.getDiff() != DiffType.SAME && tuple.getDiff() != DiffType.SAMEHASH) {
+          changes.put(nodeKey, tuple.getDiff());
+        }
+      }
+
+      final Map<Long, DiffType> expected = new TreeMap<>();
+      expected.put(6L, DiffType.UPDATED);
+      expected.put(13L, DiffType.DELETED);
+      expected.put(14L, DiffType.DELETED);
+      expected.put(22L, DiffType.UPDATED);
+      expected.put(26L, DiffType.INSERTED);
+      expected.put(27L, DiffType.INSERTED);
+      assertEquals(expected, changes);
+
+      // The unchanged object "bar" is skipped as a whole.
+      assertTrue(visited.contains(7L));
+      for (long nodeKey = 8; nodeKey <= 12; nodeKey++) {
+        assertFalse(visited.contains(nodeKey));
+      }
+    }
+  }
+
+  @Test
+  public void testSameRevision() {
+    JsonTestHelper.createTestDocument();
+
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.openResourceManager(JsonTestHelper.RESOURCE)) {
+      final var observer = new CollectingObserver();
+      DiffFactory.invokeHashPrunedJsonDiff(
+          new DiffFactory.Builder<>(manager, 1, 1, DiffOptimized.HASHED, ImmutableSet.of(observer)));
+
+      assertEquals(1, observer.mDiffs.size());
+      assertEquals(DiffType.SAMEHASH, observer.mDiffs.get(0).getDiff());
+    }
+  }
+
+  private static final class CollectingObserver implements DiffObserver {
+    private final List<DiffTuple> mDiffs = new ArrayList<>();
+
+    private boolean mDone;
+
+    @Override
+    public void diffListener(final DiffType diffType, final long newNodeKey, final long oldNodeKey,
+        final DiffDepth depth) {
+      mDiffs.add(new DiffTuple(diffType, newNodeKey, oldNodeKey, depth));
+    }
+
+    @Override
+    public void diffDone() {
+      mDone = true;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package org.sirix.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.atomic.Dbl;
+import org.brackit.xquery.atomic.Dec;
+import org.brackit.xquery.atomic.Flt;
+import org.brackit.xquery.atomic.Int32;
+import org.brackit.xquery.atomic.Int64;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.xdm.Type;
+import org.junit.Test;
+import org.sirix.index.avltree.keyvalue.CASValue;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test the order preserving binary keys of {@link AtomicUtil}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public class AtomicUtilTest {
+
+  @Test
+  public void testNumericOrder() {
+    final List<Atomic> ascending = ImmutableList.of(new Dbl(Double.NaN), new Dbl(Double.NEGATIVE_INFINITY),
+        new Int64(-1_000_000_000_000L), new Dec(new BigDecimal("-123.45")), new Dbl(-123.4), new Int32(-2),
+        new Dec(new BigDecimal("-0.123")), new Flt(-0.12f), new Int32(0), new Dbl(0.12),
+        new Dec(new BigDecimal("0.123")), new Int32(1), new Dbl(1.5), new Int32(2), new Int32(10),
+        new Dec(new BigDecimal("123.45")), new Int64(1_000_000_000_000L), new Dbl(Double.POSITIVE_INFINITY),
+        new Str(""), new Str("a"), new Str("ab"));
+
+    for (int i = 0; i + 1 < ascending.size(); i++) {
+      final byte[] smaller = AtomicUtil.toComparableBytes(ascending.get(i));
+      final byte[] greater = AtomicUtil.toComparableBytes(ascending.get(i + 1));
+      assertNotNull(smaller);
+      assertNotNull(greater);
+      assertTrue(ascending.get(i) + " < " + ascending.get(i + 1), Arrays.compareUnsigned(smaller, greater) < 0);
+    }
+  }
+
+  @Test
+  public void testEqualNumbersOfDifferentTypes() {
+    final byte[] intKey = AtomicUtil.toComparableBytes(new Int32(100));
+    assertEquals(0, Arrays.compareUnsigned(intKey, AtomicUtil.toComparableBytes(new Int64(100L))));
+    assertEquals(0, Arrays.compareUnsigned(intKey, AtomicUtil.toComparableBytes(new Dbl(100.0))));
+    assertEquals(0, Arrays.compareUnsigned(intKey, AtomicUtil.toComparableBytes(new Dec(new BigDecimal("100.00")))));
+    assertEquals(0, Arrays.compareUnsigned(AtomicUtil.toComparableBytes(new Dbl(1.1)),
+        AtomicUtil.toComparableBytes(new Dec(new BigDecimal("1.1")))));
+  }
+
+  @Test
+  public void testCASValueOrder() {
+    final CASValue first = new CASValue(new Int32(5), Type.INT, 1);
+    final CASValue second = new CASValue(new Dbl(10.0), Type.DBL, 1);
+    final CASValue third = new CASValue(new Int32(1), Type.INT, 2);
+
+    // The path node key is compared first, then the typed value.
+    assertTrue(first.compareTo(second) < 0);
+    assertTrue(second.compareTo(third) < 0);
+    assertTrue(third.compareTo(first) > 0);
+    assertEquals(0, first.compareTo(new CASValue(new Dbl(5.0), Type.DBL, 1)));
+    assertEquals(0, second.compareValueTo(AtomicUtil.toComparableBytes(new Int32(10))));
+  }
+
+  @Test
+  public void testCASValueEqualsConsistentWithCompareTo() {
+    final CASValue intValue = new CASValue(new Int32(100), Type.INT, 1);
+    final CASValue doubleValue = new CASValue(new Dbl(100.0), Type.DBL, 1);
+
+    assertEquals(0, intValue.compareTo(doubleValue));
+    assertEquals(intValue, doubleValue);
+    assertEquals(intValue.hashCode(), doubleValue.hashCode());
+    assertNotEquals(intValue, new CASValue(new Int32(100), Type.INT, 2));
+    assertNotEquals(intValue, new CASValue(new Str("100"), Type.STR, 1));
+
+    // Equal in the binary key order only, as the float is converted to its shortest decimal.
+    final CASValue floatValue = new CASValue(new Flt(1.1f), Type.FLO, 1);
+    final CASValue otherDoubleValue = new CASValue(new Dbl(1.1), Type.DBL, 1);
+    assertEquals(floatValue, otherDoubleValue);
+    assertEquals(floatValue.hashCode(), otherDoubleValue.hashCode());
+  }
+
+  @Test
+  public void testAtomicKeyOrder() {
+    // U+FFFF sorts before U+1F600 by code point, but after its surrogate pair by UTF-16 code unit.
+    final Str bmpChar = new Str("\uFFFF");
+    final Str supplementaryChar = new Str("\uD83D\uDE00");
+
+    assertTrue(new CASValue(bmpChar, Type.STR, 1).compareTo(new CASValue(supplementaryChar, Type.STR, 1)) < 0);
+
+    final CASValue atomicBmpValue = new CASValue(bmpChar, Type.STR, 1, CASKeyOrder.ATOMIC);
+    final CASValue atomicSupplementaryValue = new CASValue(supplementaryChar, Type.STR, 1, CASKeyOrder.ATOMIC);
+    assertTrue(atomicBmpValue.compareTo(atomicSupplementaryValue) > 0);
+    // Values deserialized from an index are compared in the order of the searched value.
+    assertTrue(atomicBmpValue.compareTo(new CASValue(supplementaryChar, Type.STR, 1)) > 0);
+
+    final CASValue intValue = new CASValue(new Int32(100), Type.INT, 1, CASKeyOrder.ATOMIC);
+    final CASValue doubleValue = new CASValue(new Dbl(100.0), Type.DBL, 1, CASKeyOrder.ATOMIC);
+    assertEquals(0, intValue.compareTo(doubleValue));
+    assertEquals(intValue, doubleValue);
+    assertEquals(intValue.hashCode(), doubleValue.hashCode());
+  }
+}
@@ -0,0 +1,222 @@
+package org.sirix.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.util.path.Path;
+import org.brackit.xquery.util.path.PathException;
+import org.brackit.xquery.xdm.Type;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.XmlTestHelper;
+import org.sirix.access.trx.node.xml.XmlIndexController;
+import org.sirix.api.Movement;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.index.avltree.keyvalue.CASValue;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.BPlusTreeReader;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test the B+-tree implementation.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public class BPlusTreeTest {
+
+  /** {@link Holder} reference. */
+  private Holder holder;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    holder = Holder.openResourceManager();
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    holder.close();
+    XmlTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testAttributeIndex() throws SirixException, PathException {
+    final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx();
+
+    final XmlIndexController indexController =
+        holder.getResourceManager().getWtxIndexController(wtx.getRevisionNumber() - 1);
+
+    final IndexDef idxDef = IndexDefs.createCASIdxDef(false, Optional.ofNullable(Type.STR),
+        Collections.singleton(Path.parse("//bla/@foobar")), 0, IndexStructure.BPLUS_TREE);
+
+    indexController.createIndexes(ImmutableSet.of(idxDef), wtx);
+
+    wtx.insertElementAsFirstChild(new QNm("bla"));
+    wtx.insertAttribute(new QNm("foo"), "bar", Movement.TOPARENT);
+    wtx.insertAttribute(new QNm("foobar"), "baz", Movement.TOPARENT);
+    wtx.insertElementAsFirstChild(new QNm("blabla"));
+    wtx.insertAttribute(new QNm("foo"), "bar", Movement.TOPARENT);
+    wtx.insertAttribute(new QNm("foobar"), "baz", Movement.TOPARENT);
+    wtx.moveTo(1);
+    wtx.insertElementAsFirstChild(new QNm("bla"));
+    wtx.insertAttribute(new QNm("foobar"), "bbbb", Movement.TOPARENT);
+    wtx.commit();
+
+    final IndexDef indexDef = indexController.getIndexes().getIndexDef(0, IndexType.CAS);
+    assertEquals(IndexStructure.BPLUS_TREE, indexDef.getStructure());
+
+    final BPlusTreeReader<CASValue, NodeReferences> reader =
+        BPlusTreeReader.getInstance(wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+    final Optional<NodeReferences> fooRefs = reader.get(new CASValue(new Str("foo"), Type.STR, 1), SearchMode.EQUAL);
+    assertTrue(fooRefs.isEmpty());
+    final Optional<NodeReferences> bazRefs1 = reader.get(new CASValue(new Str("baz"), Type.STR, 3), SearchMode.EQUAL);
+    check(bazRefs1, ImmutableSet.of(3L));
+    final Optional<NodeReferences> bazRefs2 = reader.get(new CASValue(new Str("bbbb"), Type.STR, 8), SearchMode.EQUAL);
+    check(bazRefs2, ImmutableSet.of(8L));
+  }
+
+  @Test
+  public void testSplitNodes() throws SirixException, PathException {
+    final int numberOfEntries = 1_000;
+
+    try (final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx()) {
+      final XmlIndexController indexController =
+          holder.getResourceManager().getWtxIndexController(wtx.getRevisionNumber() - 1);
+
+      final IndexDef idxDef = IndexDefs.createCASIdxDef(false, Optional.ofNullable(Type.STR),
+          Collections.singleton(Path.parse("//bla/@foobar")), 0, IndexStructure.BPLUS_TREE);
+
+      indexController.createIndexes(ImmutableSet.of(idxDef), wtx);
+
+      wtx.insertElementAsFirstChild(new QNm("root"));
+      wtx.insertElementAsFirstChild(new QNm("bla"));
+      for (int i = 0; i < numberOfEntries; i++) {
+        // Insert the values out of order to split inner nodes as well as the rightmost leaf.
+        final int value = (i * 7_919) % numberOfEntries;
+        if (i > 0) {
+          wtx.insertElementAsRightSibling(new QNm("bla"));
+        }
+        wtx.insertAttribute(new QNm("foobar"), String.format("%04d", value), Movement.TOPARENT);
+      }
+      wtx.commit();
+    }
+
+    final IndexDef indexDef = holder.getResourceManager()
+                                    .getRtxIndexController(holder.getResourceManager().getMostRecentRevisionNumber())
+                                    .getIndexes()
+                                    .getIndexDef(0, IndexType.CAS);
+
+    try (final PageReadOnlyTrx pageReadTrx = holder.getResourceManager().beginPageReadTrx()) {
+      final BPlusTreeReader<CASValue, NodeReferences> reader =
+          BPlusTreeReader.getInstance(pageReadTrx, indexDef.getType(), indexDef.getID());
+
+      assertEquals(numberOfEntries, reader.size());
+
+      final Iterator<Map.Entry<CASValue, NodeReferences>> iter = reader.iterator();
+      CASValue previousKey = null;
+      int count = 0;
+      while (iter.hasNext()) {
+        final Map.Entry<CASValue, NodeReferences> entry = iter.next();
+        if (previousKey != null) {
+          assertTrue(previousKey.compareTo(entry.getKey()) < 0);
+        }
+        assertEquals(new Str(String.format("%04d", count)), entry.getKey().getAtomicValue());
+        assertEquals(1, entry.getValue().getNodeKeys().size());
+        previousKey = entry.getKey();
+        count++;
+      }
+      assertEquals(numberOfEntries, count);
+
+      final long pcr = previousKey.getPathNodeKey();
+      final Optional<NodeReferences> refs = reader.get(new CASValue(new Str("0500"), Type.STR, pcr), SearchMode.EQUAL);
+      assertTrue(refs.isPresent());
+      assertFalse(reader.get(new CASValue(new Str("1000"), Type.STR, pcr), SearchMode.EQUAL).isPresent());
+
+      // The first key in key order, which matches the search mode.
+      final CASValue key = new CASValue(new Str("0500"), Type.STR, pcr);
+      assertEquals(reader.get(new CASValue(new Str("0501"), Type.STR, pcr), SearchMode.EQUAL),
+          reader.get(key, SearchMode.LESS));
+      assertEquals(refs, reader.get(key, SearchMode.LESS_OR_EQUAL));
+      assertEquals(reader.get(new CASValue(new Str("0000"), Type.STR, pcr), SearchMode.EQUAL),
+          reader.get(key, SearchMode.GREATER));
+      assertFalse(reader.get(new CASValue(new Str("0999"), Type.STR, pcr), SearchMode.LESS).isPresent());
+      assertFalse(reader.get(new CASValue(new Str("0000"), Type.STR, pcr), SearchMode.GREATER).isPresent());
+
+      final Iterator<Map.Entry<CASValue, NodeReferences>> rangeIter =
+          reader.iterator(new CASValue(new Str("0250"), Type.STR, pcr), new CASValue(new Str("0259"), Type.STR, pcr),
+              CASValue::compareTo);
+      count = 0;
+      while (rangeIter.hasNext()) {
+        assertEquals(new Str(String.format("%04d", 250 + count)), rangeIter.next().getKey().getAtomicValue());
+        count++;
+      }
+      assertEquals(10, count);
+    }
+  }
+
+  @Test
+  public void testBulkLoad() throws SirixException, PathException {
+    final int numberOfEntries = 1_000;
+
+    try (final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx()) {
+      wtx.insertElementAsFirstChild(new QNm("root"));
+      wtx.insertElementAsFirstChild(new QNm("bla"));
+      for (int i = 0; i < numberOfEntries; i++) {
+        if (i > 0) {
+          wtx.insertElementAsRightSibling(new QNm("bla"));
+        }
+        // Every value is referenced twice.
+        wtx.insertAttribute(new QNm("foobar"), String.format("%04d", (i * 7_919) % (numberOfEntries / 2)),
+            Movement.TOPARENT);
+      }
+
+      // The index is built from the existing nodes.
+      final XmlIndexController indexController =
+          holder.getResourceManager().getWtxIndexController(wtx.getRevisionNumber() - 1);
+      final IndexDef idxDef = IndexDefs.createCASIdxDef(false, Optional.ofNullable(Type.STR),
+          Collections.singleton(Path.parse("//bla/@foobar")), 0, IndexStructure.BPLUS_TREE);
+      indexController.createIndexes(ImmutableSet.of(idxDef), wtx);
+      wtx.commit();
+    }
+
+    final IndexDef indexDef = holder.getResourceManager()
+                                    .getRtxIndexController(holder.getResourceManager().getMostRecentRevisionNumber())
+                                    .getIndexes()
+                                    .getIndexDef(0, IndexType.CAS);
+
+    try (final PageReadOnlyTrx pageReadTrx = holder.getResourceManager().beginPageReadTrx()) {
+      final BPlusTreeReader<CASValue, NodeReferences> reader =
+          BPlusTreeReader.getInstance(pageReadTrx, indexDef.getType(), indexDef.getID());
+
+      assertEquals(numberOfEntries / 2, reader.size());
+
+      final Iterator<Map.Entry<CASValue, NodeReferences>> iter = reader.iterator();
+      int count = 0;
+      while (iter.hasNext()) {
+        final Map.Entry<CASValue, NodeReferences> entry = iter.next();
+        assertEquals(new Str(String.format("%04d", count)), entry.getKey().getAtomicValue());
+        assertEquals(2, entry.getValue().getNodeKeyCount());
+        count++;
+      }
+      assertEquals(numberOfEntries / 2, count);
+    }
+  }
+
+  private void check(final Optional<NodeReferences> barRefs, final Set<Long> keys) {
+    assertTrue(barRefs.isPresent());
+    assertEquals(keys, barRefs.get().getNodeKeys());
+  }
+
+}
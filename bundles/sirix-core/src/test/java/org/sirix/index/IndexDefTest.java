@@ -0,0 +1,41 @@
+package org.sirix.index;
+
+import static org.junit.Assert.assertEquals;
+import java.util.Collections;
+import java.util.Optional;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.atomic.Una;
+import org.brackit.xquery.node.parser.FragmentHelper;
+import org.brackit.xquery.xdm.DocumentException;
+import org.brackit.xquery.xdm.Type;
+import org.junit.Test;
+
+/**
+ * Test the persistence of {@link IndexDef}s.
+ */
+public final class IndexDefTest {
+
+  @Test
+  public void testCASKeyOrderIsPersisted() throws DocumentException {
+    final IndexDef indexDef = IndexDefs.createCASIdxDef(false, Optional.of(Type.STR), Collections.emptySet(), 0);
+    assertEquals(CASKeyOrder.BINARY, indexDef.getKeyOrder());
+
+    final IndexDef persistedIndexDef = new IndexDef();
+    persistedIndexDef.init(indexDef.materialize());
+    assertEquals(CASKeyOrder.BINARY, persistedIndexDef.getKeyOrder());
+  }
+
+  @Test
+  public void testLegacyCASIndexUsesAtomicKeyOrder() throws DocumentException {
+    final FragmentHelper legacyIndexDef = new FragmentHelper();
+    legacyIndexDef.openElement(IndexDef.INDEX_TAG);
+    legacyIndexDef.attribute(new QNm("type"), new Una(IndexType.CAS.toString()));
+    legacyIndexDef.attribute(new QNm("id"), new Una("0"));
+    legacyIndexDef.attribute(new QNm("keyType"), new Una(Type.STR.toString()));
+    legacyIndexDef.closeElement();
+
+    final IndexDef indexDef = new IndexDef();
+    indexDef.init(legacyIndexDef.getRoot());
+    assertEquals(CASKeyOrder.ATOMIC, indexDef.getKeyOrder());
+  }
+}
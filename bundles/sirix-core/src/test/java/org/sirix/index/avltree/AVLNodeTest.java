@@ -0,0 +1,140 @@
+package org.sirix.index.avltree;
+
+import static org.junit.Assert.assertEquals;
+import static org.sirix.node.Utils.putVarLong;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.xdm.Type;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.XmlTestHelper;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.index.avltree.keyvalue.CASValue;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.node.NodeKind;
+import org.sirix.node.delegates.NodeDelegate;
+import org.sirix.settings.Constants;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+
+/**
+ * Test the serialization of the {@link AVLNode}s of indexes.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public class AVLNodeTest {
+
+  /** {@link Holder} instance. */
+  private Holder mHolder;
+
+  /** Sirix {@link PageReadOnlyTrx} instance. */
+  private PageReadOnlyTrx mPageReadTrx;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.closeEverything();
+    XmlTestHelper.deleteEverything();
+    mHolder = Holder.openResourceManager();
+    mPageReadTrx = mHolder.getResourceManager().beginPageReadTrx();
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    mPageReadTrx.close();
+    mHolder.close();
+  }
+
+  @Test
+  public void testSerializeDeserialize() throws IOException {
+    final NodeReferences references = new NodeReferences(ImmutableSet.of(3L, 4L, 5L, 3_000_000_000L));
+    final AVLNode<Long, NodeReferences> node =
+        new AVLNode<>(42L, references, new NodeDelegate(10, 0, Hashing.sha256(), null, 0, null));
+    node.setLeftChildKey(8);
+    node.setRightChildKey(12);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    NodeKind.PATHAVL.serialize(new DataOutputStream(out), node, mPageReadTrx);
+    final byte[] bytes = out.toByteArray();
+
+    @SuppressWarnings("unchecked")
+    final AVLNode<Long, NodeReferences> deserializedNode = (AVLNode<Long, NodeReferences>) NodeKind.PATHAVL
+        .deserialize(new DataInputStream(new ByteArrayInputStream(bytes)), 10, null, mPageReadTrx);
+    assertEquals(42L, deserializedNode.getKey().longValue());
+    assertEquals(references, deserializedNode.getValue());
+    assertEquals(8, deserializedNode.getLeftChildKey());
+    assertEquals(12, deserializedNode.getRightChildKey());
+
+    // Serializing doesn't modify the node keys.
+    final ByteArrayOutputStream secondOut = new ByteArrayOutputStream();
+    NodeKind.PATHAVL.serialize(new DataOutputStream(secondOut), node, mPageReadTrx);
+    assertEquals(bytes.length, secondOut.size());
+  }
+
+  @Test
+  public void testDeserializePathNodeWithNodeKeysAsLongs() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final DataOutputStream sink = new DataOutputStream(out);
+    putVarLong(sink, 42L);
+    sink.writeInt(2);
+    sink.writeLong(7L);
+    sink.writeLong(300L);
+    writeTail(sink);
+
+    @SuppressWarnings("unchecked")
+    final AVLNode<Long, NodeReferences> node = (AVLNode<Long, NodeReferences>) NodeKind.PATHAVL
+        .deserialize(new DataInputStream(new ByteArrayInputStream(out.toByteArray())), 10, null, mPageReadTrx);
+    assertEquals(42L, node.getKey().longValue());
+    assertEquals(ImmutableSet.of(7L, 300L), node.getValue().getNodeKeys());
+    assertEquals(8, node.getLeftChildKey());
+    assertEquals(12, node.getRightChildKey());
+  }
+
+  @Test
+  public void testDeserializeCASNodeWithDeltaEncodedNodeKeys() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final DataOutputStream sink = new DataOutputStream(out);
+    final byte[] value = "foo".getBytes(Constants.DEFAULT_ENCODING);
+    sink.writeInt(value.length);
+    sink.write(value);
+    final byte[] type = Type.STR.toString().getBytes(Constants.DEFAULT_ENCODING);
+    sink.writeInt(type.length);
+    sink.write(type);
+    sink.writeInt(3);
+    putVarLong(sink, 5L);
+    putVarLong(sink, 2L);
+    putVarLong(sink, 100L);
+    putVarLong(sink, 10L);
+    putVarLong(sink, 0L);
+    putVarLong(sink, 8L);
+    putVarLong(sink, 12L);
+    putVarLong(sink, 1L);
+    sink.writeBoolean(false);
+
+    @SuppressWarnings("unchecked")
+    final AVLNode<CASValue, NodeReferences> node = (AVLNode<CASValue, NodeReferences>) NodeKind.CASAVL
+        .deserialize(new DataInputStream(new ByteArrayInputStream(out.toByteArray())), 10, null, mPageReadTrx);
+    assertEquals(new CASValue(new Str("foo"), Type.STR, 1L), node.getKey());
+    assertEquals(ImmutableSet.of(5L, 7L, 107L), node.getValue().getNodeKeys());
+    assertEquals(8, node.getLeftChildKey());
+    assertEquals(12, node.getRightChildKey());
+  }
+
+  /**
+   * Write the node delegate, the child keys and the changed flag.
+   */
+  private static void writeTail(final DataOutputStream sink) throws IOException {
+    putVarLong(sink, 10L);
+    putVarLong(sink, 0L);
+    putVarLong(sink, 8L);
+    putVarLong(sink, 12L);
+    sink.writeBoolean(false);
+  }
+}
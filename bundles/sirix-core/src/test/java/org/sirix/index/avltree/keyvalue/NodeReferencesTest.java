@@ -0,0 +1,56 @@
+package org.sirix.index.avltree.keyvalue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test the compressed {@link NodeReferences}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public class NodeReferencesTest {
+
+  @Test
+  public void testAddAndRemove() {
+    final NodeReferences references = new NodeReferences();
+    assertFalse(references.hasNodeKeys());
+
+    references.addNodeKey(5).addNodeKey(1).addNodeKey(3_000_000_000L);
+    assertTrue(references.hasNodeKeys());
+    assertTrue(references.contains(5));
+    assertFalse(references.contains(4));
+    assertEquals(3, references.getNodeKeyCount());
+
+    // The set view iterates in ascending node key order.
+    assertEquals(ImmutableList.of(1L, 5L, 3_000_000_000L), new ArrayList<>(references.getNodeKeys()));
+    assertEquals(ImmutableSet.of(1L, 5L, 3_000_000_000L), references.getNodeKeys());
+
+    assertTrue(references.removeNodeKey(5));
+    assertFalse(references.removeNodeKey(5));
+    assertEquals(ImmutableSet.of(1L, 3_000_000_000L), references.getNodeKeys());
+  }
+
+  @Test
+  public void testSetOperations() {
+    final NodeReferences first = new NodeReferences(ImmutableSet.of(1L, 2L, 3L));
+    final NodeReferences second = new NodeReferences(ImmutableSet.of(3L, 4L));
+
+    assertEquals(ImmutableSet.of(1L, 2L, 3L, 4L), first.union(second).getNodeKeys());
+    assertEquals(ImmutableSet.of(3L), first.intersection(second).getNodeKeys());
+    assertEquals(ImmutableSet.of(1L, 2L), first.difference(second).getNodeKeys());
+
+    // The operands aren't modified.
+    assertEquals(ImmutableSet.of(1L, 2L, 3L), first.getNodeKeys());
+    assertEquals(ImmutableSet.of(3L, 4L), second.getNodeKeys());
+
+    final List<NodeReferences> postings = ImmutableList.of(first, second, new NodeReferences());
+    assertEquals(new NodeReferences(ImmutableSet.of(1L, 2L, 3L, 4L)), NodeReferences.union(postings.iterator()));
+  }
+}
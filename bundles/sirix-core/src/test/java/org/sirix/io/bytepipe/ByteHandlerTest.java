@@ -69,6 +69,9 @@ public final class ByteHandlerTest {
       assertTrue(
           new StringBuilder("Check for ").append(handler.getClass()).append(" failed.").toString(),
           Arrays.equals(bytes, decoded));
+      assertTrue(
+          new StringBuilder("Check for ").append(handler.getClass()).append(" failed.").toString(),
+          Arrays.equals(bytes, handler.deserialize(encoded)));
     }
   }
 
@@ -21,15 +21,46 @@
 
 package org.sirix.io.file;
 
+import static org.junit.Assert.assertEquals;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sirix.Holder;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
 import org.sirix.XmlTestHelper;
+import org.sirix.access.ResourceConfiguration;
 import org.sirix.exception.SirixException;
+import org.sirix.exception.SirixIOException;
 import org.sirix.io.IOTestHelper;
+import org.sirix.io.PageHashType;
+import org.sirix.page.PageReference;
+import org.sirix.service.json.serialize.JsonSerializer;
+import org.sirix.service.json.shredder.JsonShredder;
+import org.sirix.utils.JsonDocumentCreator;
+import org.skyscreamer.jsonassert.JSONAssert;
+import com.google.gson.JsonParser;
 
 public class FileTest {
+  /** Name of the resource, which is written in batches. */
+  private static final String BATCHED_RESOURCE = "batched";
+
+  /** Name of the resource, whose record pages are serialized in parallel during commits. */
+  private static final String PARALLEL_RESOURCE = "parallel";
+
+  /** Name of the resource, whose page hashes are verified. */
+  private static final String VERIFIED_RESOURCE = "verified";
+
+  /** JSON file, which spans many record pages. */
+  private static final Path JSON = Paths.get("src", "test", "resources", "json", "linux.json");
+
   private Holder mHolder;
 
   @Before
@@ -43,8 +74,111 @@ public class FileTest {
     IOTestHelper.testReadWriteFirstRef(mHolder.getResourceManager().getResourceConfig());
   }
 
+  @Test
+  public void testBatchedPageWrites() throws SirixException {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    database.createResource(ResourceConfiguration.newBuilder(BATCHED_RESOURCE).batchPageWrites(true).build());
+
+    try (final var manager = database.openResourceManager(BATCHED_RESOURCE);
+        final var wtx = manager.beginNodeTrx()) {
+      JsonDocumentCreator.create(wtx);
+      wtx.commit();
+      wtx.moveToDocumentRoot();
+      wtx.moveToFirstChild();
+      wtx.remove();
+      wtx.commit();
+    }
+
+    JsonTestHelper.closeEverything();
+
+    final var reopenedDatabase = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = reopenedDatabase.openResourceManager(BATCHED_RESOURCE)) {
+      assertEquals(true, manager.getResourceConfig().batchPageWrites);
+      assertEquals(2, manager.getMostRecentRevisionNumber());
+
+      final var writer = new StringWriter();
+      new JsonSerializer.Builder(manager, writer, 1).build().call();
+      assertEquals(JsonDocumentCreator.JSON, writer.toString());
+    }
+  }
+
+  @Test
+  public void testParallelCommit() throws IOException {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    database.createResource(ResourceConfiguration.newBuilder(PARALLEL_RESOURCE).parallelCommit(true).build());
+
+    try (final var manager = database.openResourceManager(PARALLEL_RESOURCE);
+        final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createFileReader(JSON));
+      wtx.moveToDocumentRoot();
+      wtx.moveToFirstChild();
+      wtx.moveToFirstChild();
+      wtx.remove();
+      wtx.commit();
+    }
+
+    JsonTestHelper.closeEverything();
+
+    final var reopenedDatabase = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = reopenedDatabase.openResourceManager(PARALLEL_RESOURCE)) {
+      assertEquals(true, manager.getResourceConfig().parallelCommit);
+      assertEquals(2, manager.getMostRecentRevisionNumber());
+
+      final var json = Files.readString(JSON, StandardCharsets.UTF_8);
+      final var firstRevision = new StringWriter();
+      new JsonSerializer.Builder(manager, firstRevision, 1).build().call();
+      JSONAssert.assertEquals(json, firstRevision.toString(), true);
+
+      final var expected = new JsonParser().parse(json).getAsJsonObject();
+      expected.remove(expected.keySet().iterator().next());
+      final var secondRevision = new StringWriter();
+      new JsonSerializer.Builder(manager, secondRevision, 2).build().call();
+      JSONAssert.assertEquals(expected.toString(), secondRevision.toString(), true);
+    }
+  }
+
+  @Test
+  public void testVerifiedPageHashes() throws IOException {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    database.createResource(ResourceConfiguration.newBuilder(VERIFIED_RESOURCE)
+                                                 .pageHashType(PageHashType.CRC32C)
+                                                 .verifyPageHashes(true)
+                                                 .build());
+
+    try (final var manager = database.openResourceManager(VERIFIED_RESOURCE);
+        final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createFileReader(JSON));
+    }
+
+    JsonTestHelper.closeEverything();
+
+    final var reopenedDatabase = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = reopenedDatabase.openResourceManager(VERIFIED_RESOURCE)) {
+      assertEquals(PageHashType.CRC32C, manager.getResourceConfig().pageHashType);
+      assertEquals(true, manager.getResourceConfig().verifyPageHashes);
+
+      final var writer = new StringWriter();
+      new JsonSerializer.Builder(manager, writer).build().call();
+      JSONAssert.assertEquals(Files.readString(JSON, StandardCharsets.UTF_8), writer.toString(), true);
+    }
+  }
+
+  @Test(expected = SirixIOException.class)
+  public void testPageHashMismatch() {
+    final byte[] page = {1, 2, 3, 4};
+    final byte[] storedPage = ByteBuffer.allocate(Integer.BYTES + page.length).putInt(page.length).put(page).array();
+    final var reference = new PageReference();
+    reference.setHash(PageHashType.FARMHASH64.hash(storedPage));
+
+    PageHashType.FARMHASH64.verify(reference, page);
+
+    page[0] = 0;
+    PageHashType.FARMHASH64.verify(reference, page);
+  }
+
   @After
   public void tearDown() throws SirixException {
+    JsonTestHelper.closeEverything();
     IOTestHelper.clean();
   }
 }
@@ -0,0 +1,80 @@
+package org.sirix.io.memorymapped;
+
+import static org.junit.Assert.assertEquals;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.io.StorageType;
+import org.sirix.service.json.serialize.JsonSerializer;
+import org.sirix.utils.JsonDocumentCreator;
+
+public final class MMStorageTest {
+
+  /** Name of the memory mapped resource. */
+  private static final String RESOURCE = "memoryMapped";
+
+  @Before
+  public void setUp() {
+    JsonTestHelper.deleteEverything();
+  }
+
+  @After
+  public void tearDown() {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testConcurrentReaders() throws Exception {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    database.createResource(ResourceConfiguration.newBuilder(RESOURCE).storageType(StorageType.MEMORY_MAPPED).build());
+
+    try (final var manager = database.openResourceManager(RESOURCE);
+        final var wtx = manager.beginNodeTrx()) {
+      JsonDocumentCreator.create(wtx);
+      wtx.commit();
+      wtx.moveToDocumentRoot();
+      wtx.moveToFirstChild();
+      wtx.remove();
+      wtx.commit();
+    }
+
+    JsonTestHelper.closeEverything();
+
+    final var reopenedDatabase = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = reopenedDatabase.openResourceManager(RESOURCE)) {
+      assertEquals(StorageType.MEMORY_MAPPED, manager.getResourceConfig().storageType);
+
+      final ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+        final List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+          results.add(executor.submit((Callable<String>) () -> {
+            final var writer = new StringWriter();
+            new JsonSerializer.Builder(manager, writer, 1).build().call();
+            return writer.toString();
+          }));
+        }
+        for (final Future<String> result : results) {
+          assertEquals(JsonDocumentCreator.JSON, result.get());
+        }
+      } finally {
+        executor.shutdown();
+      }
+
+      try (final var rtx = manager.beginNodeReadOnlyTrx()) {
+        assertEquals(2, rtx.getRevisionNumber());
+        assertEquals(false, rtx.moveToFirstChild().hasMoved());
+      }
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package org.sirix.node;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public final class Hash128Test {
+
+  private static final BigInteger MODULUS = BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE);
+
+  @Test
+  public void testArithmeticIsCompatibleWithBigInteger() {
+    final Random random = new Random(1_234);
+
+    for (int i = 0; i < 10_000; i++) {
+      final byte[] firstBytes = new byte[random.nextInt(40)];
+      random.nextBytes(firstBytes);
+      final byte[] secondBytes = new byte[16];
+      random.nextBytes(secondBytes);
+      if (i % 10 == 0) {
+        Arrays.fill(secondBytes, (byte) -1);
+      }
+      final long factor = i % 2 == 0
+          ? 77081
+          : random.nextLong() >>> 1;
+
+      final BigInteger first = new BigInteger(1, firstBytes).mod(MODULUS);
+      final BigInteger second = new BigInteger(1, secondBytes).mod(MODULUS);
+      final Hash128 firstHash = Hash128.fromBytes(firstBytes);
+      final Hash128 secondHash = Hash128.fromBytes(secondBytes);
+
+      assertEquals(first, firstHash.toBigInteger());
+      assertEquals(second, secondHash.toBigInteger());
+      assertEquals(first.add(second).mod(MODULUS), firstHash.add(secondHash).toBigInteger());
+      assertEquals(first.subtract(second).mod(MODULUS), firstHash.subtract(secondHash).toBigInteger());
+      assertEquals(first.multiply(BigInteger.valueOf(factor)).mod(MODULUS),
+          firstHash.multiply(factor).toBigInteger());
+      assertArrayEquals(first.toByteArray(), firstHash.toByteArray());
+      assertEquals(first.toString(), firstHash.toString());
+    }
+  }
+
+  @Test
+  public void testMaximumValueIsZero() {
+    final Hash128 hash = Hash128.of(-1, -1);
+    assertTrue(hash.isZero());
+    assertEquals(Hash128.ZERO, Hash128.of(0, 5).subtract(Hash128.of(0, 5)));
+    assertEquals(Hash128.of(0, 4), Hash128.of(0, 5).add(Hash128.of(-1, -2)));
+  }
+}
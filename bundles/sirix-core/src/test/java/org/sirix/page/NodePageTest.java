@@ -21,13 +21,19 @@
 
 package org.sirix.page;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
@@ -36,11 +42,13 @@ import org.sirix.Holder;
 import org.sirix.XmlTestHelper;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.exception.SirixException;
+import org.sirix.node.NodeKind.DumbNode;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NameNodeDelegate;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.interfaces.NameNode;
+import org.sirix.node.interfaces.Record;
 import org.sirix.node.xml.ElementNode;
 import org.sirix.settings.Constants;
 import org.sirix.utils.NamePageHash;
@@ -120,4 +128,131 @@ public final class NodePageTest {
     assertEquals(7, ((NameNode) page2.getValue(0l)).getLocalNameKey());
     assertEquals(NamePageHash.generateHashForString("xs:untyped"), element.getTypeKey());
   }
+
+  @Test
+  public void testSerializeLazilyDeserializedPage() throws IOException {
+    final UnorderedKeyValuePage page1 =
+        new UnorderedKeyValuePage(0L, PageKind.RECORDPAGE, Constants.NULL_ID_LONG, mPageReadTrx);
+    final NodeDelegate del = new NodeDelegate(0, 1, Hashing.sha256(), null, 0, SirixDeweyID.newRootID());
+    final StructNodeDelegate strucDel = new StructNodeDelegate(del, 12l, 4l, 3l, 1l, 0l);
+    final NameNodeDelegate nameDel = new NameNodeDelegate(del, 5, 6, 7, 1);
+    final ElementNode node1 = new ElementNode(strucDel, nameDel, new ArrayList<>(), HashBiMap.create(),
+        new ArrayList<>(), new QNm("a", "b", "c"));
+    node1.setHash(node1.computeHash());
+    page1.setEntry(node1.getNodeKey(), node1);
+
+    final PagePersister pagePersister = new PagePersister();
+    final ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+    pagePersister.serializePage(new DataOutputStream(out1), page1, SerializationType.DATA);
+    final UnorderedKeyValuePage page2 = (UnorderedKeyValuePage) pagePersister.deserializePage(
+        new DataInputStream(new ByteArrayInputStream(out1.toByteArray())), mPageReadTrx, SerializationType.DATA);
+    assertEquals(1, page2.size());
+
+    // Serialize the page without accessing the record.
+    final ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+    pagePersister.serializePage(new DataOutputStream(out2), page2, SerializationType.DATA);
+    assertArrayEquals(out1.toByteArray(), out2.toByteArray());
+
+    final UnorderedKeyValuePage page3 = (UnorderedKeyValuePage) pagePersister.deserializePage(
+        new DataInputStream(new ByteArrayInputStream(out2.toByteArray())), mPageReadTrx, SerializationType.DATA);
+    assertEquals(12L, ((ElementNode) page3.getValue(0L)).getFirstChildKey());
+    assertEquals(1, page3.size());
+  }
+
+  @Test
+  public void testLazySlotsAreNotDeserializedWithTheLoadingTrx() throws IOException {
+    final UnorderedKeyValuePage page1 =
+        new UnorderedKeyValuePage(0L, PageKind.RECORDPAGE, Constants.NULL_ID_LONG, mPageReadTrx);
+    final NodeDelegate del = new NodeDelegate(0, 1, Hashing.sha256(), null, 0, SirixDeweyID.newRootID());
+    final StructNodeDelegate strucDel = new StructNodeDelegate(del, 12l, 4l, 3l, 1l, 0l);
+    final NameNodeDelegate nameDel = new NameNodeDelegate(del, 5, 6, 7, 1);
+    final ElementNode node1 = new ElementNode(strucDel, nameDel, new ArrayList<>(), HashBiMap.create(),
+        new ArrayList<>(), new QNm("a", "b", "c"));
+    node1.setHash(node1.computeHash());
+    page1.setEntry(node1.getNodeKey(), node1);
+
+    final PagePersister pagePersister = new PagePersister();
+    final ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+    pagePersister.serializePage(new DataOutputStream(out1), page1, SerializationType.DATA);
+
+    // The page is shared (for instance by the record page cache) and outlives the loading trx.
+    final UnorderedKeyValuePage page2;
+    try (final PageReadOnlyTrx loadingTrx = mHolder.getResourceManager().beginPageReadTrx()) {
+      page2 = (UnorderedKeyValuePage) pagePersister.deserializePage(
+          new DataInputStream(new ByteArrayInputStream(out1.toByteArray())), loadingTrx, SerializationType.DATA);
+    }
+
+    page2.hashCode();
+    page2.toString();
+    final ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+    pagePersister.serializePage(new DataOutputStream(out2), page2, SerializationType.DATA);
+    assertArrayEquals(out1.toByteArray(), out2.toByteArray());
+
+    assertEquals(12L, ((ElementNode) page2.getValue(0L, mPageReadTrx)).getFirstChildKey());
+  }
+
+  @Test
+  public void testSerializeDeserializePreviousFragmentKeys() throws IOException {
+    final UnorderedKeyValuePage page1 = new UnorderedKeyValuePage(0L, PageKind.RECORDPAGE, 300L, mPageReadTrx);
+    page1.setPreviousFragmentKeys(new long[] {300L, 200L, 100L});
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final PagePersister pagePersister = new PagePersister();
+    pagePersister.serializePage(new DataOutputStream(out), page1, SerializationType.DATA);
+    final ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+    final UnorderedKeyValuePage page2 = (UnorderedKeyValuePage) pagePersister.deserializePage(new DataInputStream(in),
+        mPageReadTrx, SerializationType.DATA);
+
+    assertEquals(300L, page2.getPreviousReferenceKey());
+    assertArrayEquals(new long[] {300L, 200L, 100L}, page2.getPreviousFragmentKeys());
+  }
+
+  @Test
+  public void testPreviousReferenceWithoutFragmentKeysKeepsFormat() throws IOException {
+    final UnorderedKeyValuePage page1 = new UnorderedKeyValuePage(0L, PageKind.RECORDPAGE, 300L, mPageReadTrx);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final PagePersister pagePersister = new PagePersister();
+    pagePersister.serializePage(new DataOutputStream(out), page1, SerializationType.DATA);
+    final byte[] bytes = out.toByteArray();
+
+    // Pages written before the fragment keys have been stored end with a boolean, the previous
+    // reference key and the page kind.
+    final ByteArrayOutputStream expectedTail = new ByteArrayOutputStream();
+    final DataOutputStream expectedTailOut = new DataOutputStream(expectedTail);
+    expectedTailOut.writeBoolean(true);
+    expectedTailOut.writeLong(300L);
+    expectedTailOut.writeByte(PageKind.RECORDPAGE.getID());
+    assertArrayEquals(expectedTail.toByteArray(),
+        Arrays.copyOfRange(bytes, bytes.length - expectedTail.size(), bytes.length));
+
+    final UnorderedKeyValuePage page2 = (UnorderedKeyValuePage) pagePersister.deserializePage(
+        new DataInputStream(new ByteArrayInputStream(bytes)), mPageReadTrx, SerializationType.DATA);
+    assertEquals(300L, page2.getPreviousReferenceKey());
+    assertEquals(0, page2.getPreviousFragmentKeys().length);
+  }
+
+  @Test
+  public void testRecordsOfPageAreIndexedByOffset() {
+    final UnorderedKeyValuePage page =
+        new UnorderedKeyValuePage(1L, PageKind.RECORDPAGE, Constants.NULL_ID_LONG, mPageReadTrx);
+    final long firstRecordKey = 1L << Constants.NDP_NODE_COUNT_EXPONENT;
+    final long lastRecordKey = firstRecordKey + Constants.NDP_NODE_COUNT - 1;
+    page.setEntry(lastRecordKey, new DumbNode(lastRecordKey));
+    page.setEntry(firstRecordKey + 7, new DumbNode(firstRecordKey + 7));
+    page.setEntry(firstRecordKey, new DumbNode(firstRecordKey));
+
+    assertEquals(3, page.size());
+    assertNull(page.getValue(firstRecordKey + 1));
+    assertEquals(firstRecordKey + 7, page.getValue(firstRecordKey + 7).getNodeKey());
+    assertEquals(Arrays.asList(firstRecordKey, firstRecordKey + 7, lastRecordKey), new ArrayList<>(page.keySet()));
+
+    final List<Long> keys = new ArrayList<>();
+    for (final Entry<Long, Record> entry : page.entrySet()) {
+      assertEquals(entry.getKey().longValue(), entry.getValue().getNodeKey());
+      keys.add(entry.getKey());
+    }
+    assertEquals(Arrays.asList(firstRecordKey, firstRecordKey + 7, lastRecordKey), keys);
+    assertTrue(page.referenceEntrySet().isEmpty());
+  }
 }
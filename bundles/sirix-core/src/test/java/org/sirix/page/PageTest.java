@@ -25,6 +25,7 @@ import org.sirix.io.bytepipe.ByteHandler;
 import org.sirix.node.HashCountEntryNode;
 import org.sirix.node.HashEntryNode;
 import org.sirix.node.NodeKind;
+import org.sirix.node.NodeKind.DumbNode;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.interfaces.Page;
 import org.sirix.settings.Constants;
@@ -105,7 +106,7 @@ public class PageTest {
     final UnorderedKeyValuePage nodePage = new UnorderedKeyValuePage(XmlTestHelper.random.nextInt(Integer.MAX_VALUE),
         PageKind.RECORDPAGE, Constants.NULL_ID_LONG, mPageReadTrx);
     for (int i = 0; i < Constants.NDP_NODE_COUNT - 1; i++) {
-      final Record record = XmlTestHelper.generateOne();
+      final Record record = new DumbNode((nodePage.getPageKey() << Constants.NDP_NODE_COUNT_EXPONENT) + i);
       nodePage.setEntry(record.getNodeKey(), record);
     }
     // NamePage setup.
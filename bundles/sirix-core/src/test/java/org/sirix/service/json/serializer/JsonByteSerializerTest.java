@@ -0,0 +1,97 @@
+package org.sirix.service.json.serializer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.access.trx.node.json.objectvalue.StringValue;
+import org.sirix.exception.SirixException;
+import org.sirix.service.json.serialize.JsonByteSerializer;
+import org.sirix.service.json.serialize.JsonSerializer;
+import org.sirix.utils.JsonDocumentCreator;
+
+public final class JsonByteSerializerTest {
+
+  @Before
+  public void setUp() throws SirixException {
+    JsonTestHelper.deleteEverything();
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testJsonDocument() {
+    JsonTestHelper.createTestDocument();
+
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.openResourceManager(JsonTestHelper.RESOURCE)) {
+      final var out = new ByteArrayOutputStream();
+      JsonByteSerializer.newBuilder(manager, out).build().call();
+      assertEquals(JsonDocumentCreator.JSON, out.toString(StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void testSameOutputAsJsonSerializer() throws IOException {
+    JsonTestHelper.createTestDocument();
+
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.openResourceManager(JsonTestHelper.RESOURCE)) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.moveToDocumentRoot().trx().moveToFirstChild();
+        wtx.insertObjectRecordAsFirstChild("tadaaa", new StringValue("\"tab\"\t/ ä€– 😀"));
+        wtx.commit();
+      }
+
+      final var revisionsWriter = new StringWriter();
+      new JsonSerializer.Builder(manager, revisionsWriter, 1, 2).serializeTimestamp(true).build().call();
+      final var revisionsOut = new ByteArrayOutputStream();
+      JsonByteSerializer.newBuilder(manager, revisionsOut, 1, 2).serializeTimestamp(true).build().call();
+      assertEquals(revisionsWriter.toString(), revisionsOut.toString(StandardCharsets.UTF_8));
+
+      final var writer = new StringWriter();
+      new JsonSerializer.Builder(manager, writer).withMetaData(true).prettyPrint().build().call();
+      final var out = new ByteArrayOutputStream();
+      JsonByteSerializer.newBuilder(manager, out).withMetaData(true).prettyPrint().build().call();
+      assertEquals(writer.toString(), out.toString(StandardCharsets.UTF_8));
+
+      for (int maxLevel = 1; maxLevel <= 4; maxLevel++) {
+        final var maxLevelWriter = new StringWriter();
+        new JsonSerializer.Builder(manager, maxLevelWriter).maxLevel(maxLevel).startNodeKey(2).build().call();
+        final var maxLevelOut = new ByteArrayOutputStream();
+        JsonByteSerializer.newBuilder(manager, maxLevelOut).maxLevel(maxLevel).startNodeKey(2).build().call();
+        assertEquals(maxLevelWriter.toString(), maxLevelOut.toString(StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  @Test
+  public void testChunks() {
+    JsonTestHelper.createTestDocument();
+
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.openResourceManager(JsonTestHelper.RESOURCE)) {
+      final var out = new ByteArrayOutputStream();
+      final int[] chunks = new int[1];
+      JsonByteSerializer.newBuilder(manager, chunk -> {
+        assertTrue(chunk.remaining() <= 7);
+        chunks[0]++;
+        out.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+      }).chunkSize(7).build().call();
+
+      final var expected = JsonDocumentCreator.JSON.getBytes(StandardCharsets.UTF_8);
+      assertEquals(JsonDocumentCreator.JSON, out.toString(StandardCharsets.UTF_8));
+      assertEquals((expected.length + 6) / 7, chunks[0]);
+    }
+  }
+}
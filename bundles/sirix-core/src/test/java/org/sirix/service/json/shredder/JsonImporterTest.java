@@ -0,0 +1,92 @@
+package org.sirix.service.json.shredder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.exception.SirixThreadedException;
+import org.sirix.service.json.serialize.JsonSerializer;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+public final class JsonImporterTest {
+  private static final Path JSON = Paths.get("src", "test", "resources", "json");
+
+  @Before
+  public void setUp() {
+    JsonTestHelper.deleteEverything();
+  }
+
+  @After
+  public void tearDown() {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testImportMultipleFiles() throws IOException {
+    final var files = List.of("array.json", "complex1.json", "linux.json", "test.json");
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    final var progressUpdates = new AtomicLong();
+
+    final var importerBuilder = new JsonImporter.Builder(database).tokenizerThreads(2)
+                                                                  .writerThreads(2)
+                                                                  .batchSize(3)
+                                                                  .queueCapacity(2)
+                                                                  .progressListener(
+                                                                      statistics -> progressUpdates.incrementAndGet());
+    files.forEach(file -> importerBuilder.addFile(JSON.resolve(file)));
+    final var statistics = importerBuilder.build().call();
+
+    assertEquals(files.size(), statistics.getFiles());
+    assertEquals(files.size(), statistics.getImportedFiles());
+    assertEquals(files.size(), progressUpdates.get());
+
+    for (final String file : files) {
+      final var jsonPath = JSON.resolve(file);
+      try (final var manager = database.openResourceManager(file.substring(0, file.length() - ".json".length()));
+          final Writer writer = new StringWriter()) {
+        new JsonSerializer.Builder(manager, writer).build().call();
+        final var expected = Files.readString(jsonPath, StandardCharsets.UTF_8);
+        JSONAssert.assertEquals(expected, writer.toString(), true);
+      }
+    }
+  }
+
+  @Test
+  public void testFailedImportRemovesResource() throws IOException {
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    final Path malformedFile = Files.createTempFile("malformed", ".json");
+    try {
+      Files.writeString(malformedFile, "{\"foo\":[1,2,3],\"bar\":}", StandardCharsets.UTF_8);
+      final var importer = new JsonImporter.Builder(database).addFile(JSON.resolve("array.json"))
+                                                             .addFile(malformedFile)
+                                                             .batchSize(1)
+                                                             .progressListener(statistics -> {})
+                                                             .build();
+      try {
+        importer.call();
+        fail("The import of a malformed file must fail.");
+      } catch (final SirixThreadedException expected) {
+      }
+
+      final var fileName = malformedFile.getFileName().toString();
+      assertFalse(database.existsResource(fileName.substring(0, fileName.length() - ".json".length())));
+      assertTrue(database.existsResource("array"));
+    } finally {
+      Files.deleteIfExists(malformedFile);
+    }
+  }
+}
@@ -361,6 +361,10 @@ class SirixVerticle : CoroutineVerticle() {
     }
 
     private fun response(response: HttpServerResponse, statusCode: Int, failureMessage: String?) {
+        // A streamed response, which failed after its status code has been sent, has already been reset.
+        if (response.headWritten())
+            return
+
         response.setStatusCode(statusCode).end("Failure calling the RESTful API: $failureMessage")
     }
 
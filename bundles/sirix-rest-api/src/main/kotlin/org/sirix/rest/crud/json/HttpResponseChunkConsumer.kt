@@ -0,0 +1,77 @@
+package org.sirix.rest.crud.json
+
+import io.vertx.core.buffer.Buffer
+import io.vertx.core.http.HttpHeaders
+import io.vertx.core.http.HttpServerResponse
+import java.nio.ByteBuffer
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.function.Consumer
+
+/**
+ * Writes the chunks of a serializer to a (chunked) HTTP response. Has to be called from a worker
+ * thread, as it blocks until the response is drained, whenever its write queue is full.
+ *
+ * The status code and the headers are only set with the first chunk, such that the response can
+ * still be failed regularly, if the serializer throws before it produced any output.
+ */
+class HttpResponseChunkConsumer(private val response: HttpServerResponse) : Consumer<ByteBuffer> {
+    /** The ETag header value, which is sent with the first chunk (if not `null`). */
+    var eTag: String? = null
+
+    /** `true`, if the status code and the headers have been set and the first chunk was written. */
+    var isStarted = false
+        private set
+
+    override fun accept(chunk: ByteBuffer) {
+        start()
+        awaitDrain()
+
+        val bytes = ByteArray(chunk.remaining())
+        chunk.get(bytes)
+        response.write(Buffer.buffer(bytes))
+    }
+
+    /**
+     * Ends the response after the serializer finished successfully.
+     */
+    fun end() {
+        start()
+        response.end()
+    }
+
+    /**
+     * Aborts the response after the serializer failed. As the status code has already been sent, the
+     * stream is reset (the connection is closed for HTTP/1.x), such that the client doesn't wait for
+     * the remaining chunks.
+     */
+    fun abort() {
+        if (!response.closed() && !response.ended())
+            response.reset()
+    }
+
+    private fun start() {
+        if (isStarted)
+            return
+
+        isStarted = true
+
+        response.setStatusCode(200)
+            .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+            .setChunked(true)
+
+        eTag?.let { response.putHeader(HttpHeaders.ETAG, it) }
+    }
+
+    private fun awaitDrain() {
+        if (!response.writeQueueFull())
+            return
+
+        val drained = CountDownLatch(1)
+        response.drainHandler { drained.countDown() }
+
+        while (response.writeQueueFull() && !response.closed()) {
+            drained.await(100, TimeUnit.MILLISECONDS)
+        }
+    }
+}
@@ -21,12 +21,11 @@ import org.sirix.node.NodeKind
 import org.sirix.rest.crud.History
 import org.sirix.rest.crud.JsonLevelBasedSerializer
 import org.sirix.rest.crud.QuerySerializer
-import org.sirix.service.json.serialize.JsonSerializer
+import org.sirix.service.json.serialize.JsonByteSerializer
 import org.sirix.xquery.JsonDBSerializer
 import org.sirix.xquery.SirixCompileChain
 import org.sirix.xquery.SirixQueryContext
 import org.sirix.xquery.json.*
-import java.io.StringWriter
 import java.nio.charset.StandardCharsets
 import java.nio.file.Path
 import java.time.LocalDateTime
@@ -95,7 +94,7 @@ class JsonGet(private val location: Path) {
                                 endRevisionTimestamp, manager, revision, revisionTimestamp
                             )
 
-                        serializeResource(manager, revisions, nodeId?.toLongOrNull(), ctx)
+                        serializeResource(manager, revisions, nodeId?.toLongOrNull(), ctx, vertxContext)
                     }
                 }
             } catch (e: SirixUsageException) {
@@ -259,13 +258,14 @@ class JsonGet(private val location: Path) {
         return (firstRevisionNumber..lastRevisionNumber).toSet().toTypedArray()
     }
 
-    private fun serializeResource(
+    private suspend fun serializeResource(
         manager: JsonResourceManager, revisions: Array<Int>, nodeId: Long?,
-        ctx: RoutingContext
+        ctx: RoutingContext, vertxContext: Context
     ) {
-        val out = StringWriter()
-
-        val serializerBuilder = JsonSerializer.newBuilder(manager, out).revisions(revisions.toIntArray())
+        val consumer = HttpResponseChunkConsumer(ctx.response())
+        val serializerBuilder =
+            JsonByteSerializer.newBuilder(manager, consumer)
+                .revisions(revisions.toIntArray())
 
         nodeId?.let { serializerBuilder.startNodeKey(nodeId) }
 
@@ -280,7 +280,11 @@ class JsonGet(private val location: Path) {
 
         val serializer = serializerBuilder.build()
 
-        JsonSerializeHelper().serialize(serializer, out, ctx, manager, nodeId)
+        vertxContext.executeBlockingAwait { promise: Promise<Unit> ->
+            JsonSerializeHelper().serialize(serializer, consumer, manager, nodeId)
+
+            promise.complete(null)
+        }
     }
 
     private fun parseIntRevisions(startRevision: String, endRevision: String): Array<Int> {
@@ -4,6 +4,8 @@ import io.vertx.core.http.HttpHeaders
 import io.vertx.ext.web.RoutingContext
 import org.sirix.access.trx.node.HashType
 import org.sirix.api.json.JsonResourceManager
+import org.sirix.node.Hash128
+import org.sirix.service.json.serialize.JsonByteSerializer
 import org.sirix.service.json.serialize.JsonSerializer
 import java.io.StringWriter
 import java.nio.charset.StandardCharsets
@@ -27,6 +29,34 @@ class JsonSerializeHelper {
         }
     }
 
+    /**
+     * Streams the serialized chunks with chunked transfer encoding instead of buffering the whole
+     * body. The serializer has to write to the given [HttpResponseChunkConsumer] and this method has
+     * to be called from a worker thread. If the serializer fails before the first chunk, the exception
+     * is rethrown and the response is still untouched. Otherwise the response is aborted.
+     */
+    fun serialize(
+        serializer: JsonByteSerializer,
+        consumer: HttpResponseChunkConsumer,
+        manager: JsonResourceManager,
+        nodeId: Long?
+    ) {
+        if (manager.resourceConfig.hashType != HashType.NONE) {
+            consumer.eTag = getHash(manager, nodeId).toString()
+        }
+
+        try {
+            serializer.call()
+        } catch (e: Throwable) {
+            if (consumer.isStarted)
+                consumer.abort()
+
+            throw e
+        }
+
+        consumer.end()
+    }
+
     private fun writeResponseWithoutHashValue(ctx: RoutingContext, body: String) {
         ctx.response().setStatusCode(200)
             .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
@@ -41,20 +71,24 @@ class JsonSerializeHelper {
         body: String,
         nodeId: Long?
     ) {
+        val hash = getHash(manager, nodeId)
+
+        ctx.response().setStatusCode(200)
+            .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+            .putHeader(HttpHeaders.CONTENT_LENGTH, body.toByteArray(StandardCharsets.UTF_8).size.toString())
+            .putHeader(HttpHeaders.ETAG, hash.toString())
+            .write(body)
+            .end()
+    }
+
+    private fun getHash(manager: JsonResourceManager, nodeId: Long?): Hash128 {
         val rtx = manager.beginNodeReadOnlyTrx()
 
         rtx.use {
-            val hash = if (nodeId == null)
+            return if (nodeId == null)
                 rtx.moveToFirstChild().trx().hash
             else
                 rtx.moveTo(nodeId).trx().hash
-
-            ctx.response().setStatusCode(200)
-                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
-                .putHeader(HttpHeaders.CONTENT_LENGTH, body.toByteArray(StandardCharsets.UTF_8).size.toString())
-                .putHeader(HttpHeaders.ETAG, hash.toString())
-                .write(body)
-                .end()
         }
     }
 }
\ No newline at end of file
@@ -83,7 +83,7 @@ class JsonUpdate(private val location: Path) {
                             ctx.fail(IllegalStateException("Hash code is missing in ETag HTTP-Header."))
                         }
 
-                        if (wtx.hash != BigInteger(hashCode)) {
+                        if (wtx.hash.toBigInteger() != BigInteger(hashCode)) {
                             ctx.fail(IllegalArgumentException("Someone might have changed the resource in the meantime."))
                         }
                     }
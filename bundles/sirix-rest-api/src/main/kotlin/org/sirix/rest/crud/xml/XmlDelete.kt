@@ -119,7 +119,7 @@ class XmlDelete(private val location: Path) {
                             routingContext.fail(IllegalStateException("Hash code is missing in ETag HTTP-Header."))
                         }
 
-                        if (wtx.hash != BigInteger(hashCode)) {
+                        if (wtx.hash.toBigInteger() != BigInteger(hashCode)) {
                             routingContext.fail(IllegalArgumentException("Someone might have changed the resource in the meantime."))
                         }
                     }
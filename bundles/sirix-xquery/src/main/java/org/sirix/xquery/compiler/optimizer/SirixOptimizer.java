@@ -8,6 +8,7 @@ import org.brackit.xquery.compiler.AST;
 import org.brackit.xquery.compiler.optimizer.Stage;
 import org.brackit.xquery.compiler.optimizer.TopDownOptimizer;
 import org.brackit.xquery.module.StaticContext;
+import org.sirix.xquery.compiler.optimizer.walker.JsonCASIndexMatching;
 import org.sirix.xquery.json.JsonDBStore;
 import org.sirix.xquery.node.XmlDBStore;
 
@@ -15,7 +16,6 @@ public final class SirixOptimizer extends TopDownOptimizer {
 
   public SirixOptimizer(final Map<QNm, Str> options, final XmlDBStore nodeStore, final JsonDBStore jsonItemStore) {
     super(options);
-    // perform index matching as last step
     // getStages().add(new Stage() {
     // @Override
     // public AST rewrite(StaticContext sctx, AST ast) throws QueryException {
@@ -24,21 +24,14 @@ public final class SirixOptimizer extends TopDownOptimizer {
     // }
     //
     // });
-    getStages().add(new IndexMatching(nodeStore));
+    // perform index matching as first step, that is on the FLWOR expressions before pipelining
+    getStages().add(0, new IndexMatching());
   }
 
   private static class IndexMatching implements Stage {
-    // private final DBStore mStore;
-
-    public IndexMatching(final XmlDBStore store) {
-      // mStore = store;
-    }
-
     @Override
     public AST rewrite(StaticContext sctx, AST ast) throws QueryException {
-      // TODO add rules for index resolution here
-      ast.display();
-      return ast;
+      return new JsonCASIndexMatching(sctx).walk(ast);
     }
   }
 }
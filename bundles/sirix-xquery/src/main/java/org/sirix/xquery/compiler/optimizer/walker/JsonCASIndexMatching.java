@@ -0,0 +1,192 @@
+package org.sirix.xquery.compiler.optimizer.walker;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.compiler.AST;
+import org.brackit.xquery.compiler.XQ;
+import org.brackit.xquery.compiler.optimizer.walker.Walker;
+import org.brackit.xquery.module.StaticContext;
+import org.sirix.xquery.function.jn.index.scan.ArrayValuesByCASIndex;
+
+/**
+ * Matches iterations over the values of JSON arrays, which are filtered by an equality comparison
+ * of a dereferenced value with a literal, that is
+ *
+ * <pre>
+ * for $value in bit:array-values($array) where $value=&gt;key1=&gt;key2 eq 'literal' return ...
+ * bit:array-values($array)[.=&gt;key1=&gt;key2 = 'literal']
+ * </pre>
+ *
+ * and replaces {@code bit:array-values($array)} with {@code jn:array-values-by-cas-index}, which
+ * scans a matching CAS index of the resource instead, if there is one and if it's cheaper than
+ * traversing the values of the array. As the documents are only bound at runtime, the index
+ * definitions are matched during execution. The comparison is kept, such that the result is the
+ * same in any case.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class JsonCASIndexMatching extends Walker {
+
+  /** Namespace URI of the brackit functions. */
+  private static final String BIT_NSURI = "http://brackit.org/ns/bit";
+
+  /** Local name of the function, which returns the values of an array. */
+  private static final String ARRAY_VALUES = "array-values";
+
+  public JsonCASIndexMatching(final StaticContext sctx) {
+    super(sctx);
+  }
+
+  @Override
+  protected AST visit(final AST node) {
+    if (node.getType() == XQ.FlowrExpr) {
+      for (int i = 0; i < node.getChildCount() - 1; i++) {
+        final AST forClause = node.getChild(i);
+        final AST whereClause = node.getChild(i + 1);
+
+        // Positional variables would change.
+        if (forClause.getType() != XQ.ForClause || forClause.getChildCount() != 2
+            || whereClause.getType() != XQ.WhereClause) {
+          continue;
+        }
+
+        final AST variable = forClause.getChild(0).getChild(0);
+        if (rewrite(forClause, 1, whereClause.getChild(0), XQ.VariableRef, variable.getValue())) {
+          snapshot();
+        }
+      }
+    } else if (node.getType() == XQ.FilterExpr && node.getChildCount() > 1
+        && node.getChild(1).getType() == XQ.Predicate) {
+      if (rewrite(node, 0, node.getChild(1).getChild(0), XQ.ContextItemExpr, null)) {
+        snapshot();
+      }
+    }
+
+    return node;
+  }
+
+  /**
+   * Replace the values of an array with the values found by {@code jn:array-values-by-cas-index}.
+   *
+   * @param parent the parent of the expression, which might return the values of an array
+   * @param index the index of the expression in the parent
+   * @param predicate the predicate, which filters the values
+   * @param valueType the type of the expression, which denotes a value in the predicate
+   * @param variable the name of the variable, which denotes a value in the predicate or {@code null}
+   * @return {@code true}, if the expression has been replaced, {@code false} otherwise
+   */
+  private boolean rewrite(final AST parent, final int index, final AST predicate, final int valueType,
+      final Object variable) {
+    final AST values = parent.getChild(index);
+    if (!isArrayValues(values)) {
+      return false;
+    }
+
+    final AST comparison = findComparison(predicate, valueType, variable);
+    if (comparison == null) {
+      return false;
+    }
+
+    final AST left = comparison.getChild(1);
+    final AST right = comparison.getChild(2);
+    final AST deref = isLiteral(right)
+        ? left
+        : right;
+    final AST literal = isLiteral(right)
+        ? right
+        : left;
+
+    final AST arrayValues = new AST(XQ.FunctionCall, ArrayValuesByCASIndex.DEFAULT_NAME);
+    arrayValues.addChild(values.getChild(0).copyTree());
+    arrayValues.addChild(new AST(XQ.Str, new Str(getPath(deref))));
+    arrayValues.addChild(literal.copyTree());
+    parent.replaceChild(index, arrayValues);
+
+    return true;
+  }
+
+  /**
+   * Find an equality comparison of a dereferenced value with a literal in a (conjunctive) predicate.
+   */
+  private static AST findComparison(final AST predicate, final int valueType, final Object variable) {
+    if (predicate.getType() == XQ.AndExpr) {
+      for (int i = 0; i < predicate.getChildCount(); i++) {
+        final AST comparison = findComparison(predicate.getChild(i), valueType, variable);
+        if (comparison != null) {
+          return comparison;
+        }
+      }
+      return null;
+    }
+
+    if (predicate.getType() != XQ.ComparisonExpr || predicate.getChildCount() != 3) {
+      return null;
+    }
+
+    final int operator = predicate.getChild(0).getType();
+    if (operator != XQ.ValueCompEQ && operator != XQ.GeneralCompEQ) {
+      return null;
+    }
+
+    final AST left = predicate.getChild(1);
+    final AST right = predicate.getChild(2);
+    if ((isLiteral(right) && isDeref(left, valueType, variable))
+        || (isLiteral(left) && isDeref(right, valueType, variable))) {
+      return predicate;
+    }
+
+    return null;
+  }
+
+  /**
+   * Determines if the expression is a chain of object key dereferences of a value.
+   */
+  private static boolean isDeref(final AST expr, final int valueType, final Object variable) {
+    if (expr.getType() != XQ.DerefExpr) {
+      return false;
+    }
+
+    AST current = expr;
+    while (current.getType() == XQ.DerefExpr) {
+      if (current.getChildCount() != 2 || !isKey(current.getChild(1))) {
+        return false;
+      }
+      current = current.getChild(0);
+    }
+
+    return current.getType() == valueType && (variable == null || variable.equals(current.getValue()));
+  }
+
+  /**
+   * Get the path of object keys of a chain of dereferences, separated by slashes.
+   */
+  private static String getPath(final AST deref) {
+    final Deque<String> keys = new ArrayDeque<>();
+    for (AST current = deref; current.getType() == XQ.DerefExpr; current = current.getChild(0)) {
+      keys.addFirst(((Atomic) current.getChild(1).getValue()).stringValue());
+    }
+    return String.join("/", keys);
+  }
+
+  private static boolean isKey(final AST expr) {
+    return expr.getType() != XQ.VariableRef && expr.getChildCount() == 0 && expr.getValue() instanceof Atomic
+        && !((Atomic) expr.getValue()).stringValue().contains("/");
+  }
+
+  private static boolean isLiteral(final AST expr) {
+    return expr.getChildCount() == 0 && expr.getValue() instanceof Atomic && !(expr.getValue() instanceof QNm);
+  }
+
+  private static boolean isArrayValues(final AST expr) {
+    if (expr.getType() != XQ.FunctionCall || expr.getChildCount() != 1 || !(expr.getValue() instanceof QNm)) {
+      return false;
+    }
+
+    final QNm name = (QNm) expr.getValue();
+    return BIT_NSURI.equals(name.getNamespaceURI()) && ARRAY_VALUES.equals(name.getLocalName());
+  }
+}
@@ -27,6 +27,7 @@ import org.sirix.xquery.function.jn.index.create.CreatePathIndex;
 import org.sirix.xquery.function.jn.index.find.FindCASIndex;
 import org.sirix.xquery.function.jn.index.find.FindNameIndex;
 import org.sirix.xquery.function.jn.index.find.FindPathIndex;
+import org.sirix.xquery.function.jn.index.scan.ArrayValuesByCASIndex;
 import org.sirix.xquery.function.jn.index.scan.ScanCASIndex;
 import org.sirix.xquery.function.jn.index.scan.ScanCASIndexRange;
 import org.sirix.xquery.function.jn.index.scan.ScanNameIndex;
@@ -175,6 +176,7 @@ public final class JNFun {
     Functions.predefine(new ScanCASIndex());
     Functions.predefine(new ScanCASIndexRange());
     Functions.predefine(new ScanNameIndex());
+    Functions.predefine(new ArrayValuesByCASIndex());
 
     // diff
     Functions.predefine(new Diff(DIFF, new Signature(SequenceType.STRING, SequenceType.STRING, SequenceType.STRING,
@@ -0,0 +1,284 @@
+package org.sirix.xquery.function.jn.index.scan;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.brackit.xquery.QueryContext;
+import org.brackit.xquery.QueryException;
+import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.atomic.Numeric;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.expr.Cast;
+import org.brackit.xquery.function.AbstractFunction;
+import org.brackit.xquery.module.StaticContext;
+import org.brackit.xquery.sequence.ItemSequence;
+import org.brackit.xquery.util.Cfg;
+import org.brackit.xquery.util.annotation.FunctionAnnotation;
+import org.brackit.xquery.util.path.PathException;
+import org.brackit.xquery.xdm.Item;
+import org.brackit.xquery.xdm.Iter;
+import org.brackit.xquery.xdm.Sequence;
+import org.brackit.xquery.xdm.Signature;
+import org.brackit.xquery.xdm.Type;
+import org.brackit.xquery.xdm.json.Array;
+import org.brackit.xquery.xdm.type.AnyJsonItemType;
+import org.brackit.xquery.xdm.type.AtomicType;
+import org.brackit.xquery.xdm.type.Cardinality;
+import org.brackit.xquery.xdm.type.SequenceType;
+import org.sirix.access.trx.node.json.JsonIndexController;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.index.IndexDef;
+import org.sirix.index.IndexType;
+import org.sirix.index.SearchMode;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.cas.CASFilter;
+import org.sirix.index.path.json.JsonPCRCollector;
+import org.sirix.index.path.summary.PathSummaryReader;
+import org.sirix.node.NodeKind;
+import org.sirix.xquery.function.jn.JNFun;
+import org.sirix.xquery.json.JsonDBArray;
+import org.sirix.xquery.json.JsonUtil;
+
+/**
+ * Get the values of an array, which may have a value at a path relative to the values, which is
+ * equal to a key, that is the values of {@code bit:array-values($array)} filtered with
+ * {@code $value=>key1=>key2... = $key}. If a CAS index covers the path and the array is large
+ * enough, only the values with a matching indexed value are returned, in array order. Otherwise all
+ * values are returned. The predicate thus still has to be evaluated for the returned values. The
+ * function is inserted by the optimizer for {@code for} clauses and predicates of this kind.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+@FunctionAnnotation(description = "Gets the values of an array, which may match a value comparison.",
+    parameters = {"$array", "$path", "$key"})
+public final class ArrayValuesByCASIndex extends AbstractFunction {
+
+  public final static QNm DEFAULT_NAME = new QNm(JNFun.JN_NSURI, JNFun.JN_PREFIX, "array-values-by-cas-index");
+
+  /** Minimum number of values of an array, for which the CAS index is scanned. */
+  public static final int MIN_ARRAY_LENGTH = Cfg.asInt("org.sirix.xquery.optimize.index.min-array-length", 64);
+
+  public ArrayValuesByCASIndex() {
+    super(DEFAULT_NAME,
+        new Signature(new SequenceType(AnyJsonItemType.ANY_JSON_ITEM, Cardinality.ZeroOrMany),
+            new SequenceType(AnyJsonItemType.ANY_JSON_ITEM, Cardinality.ZeroOrOne),
+            new SequenceType(AtomicType.STR, Cardinality.One), new SequenceType(AtomicType.ANA, Cardinality.One)),
+        true);
+  }
+
+  @Override
+  public Sequence execute(final StaticContext sctx, final QueryContext ctx, final Sequence[] args) {
+    if (!(args[0] instanceof Array)) {
+      return null;
+    }
+
+    if (args[0] instanceof JsonDBArray) {
+      final JsonDBArray array = (JsonDBArray) args[0];
+      if (array.len() >= MIN_ARRAY_LENGTH) {
+        final String[] path = ((Atomic) args[1]).stringValue().split("/");
+        final Optional<Set<Long>> values = scanIndex(sctx, array, path, (Atomic) args[2]);
+        if (values.isPresent()) {
+          return getValues(array, values.get());
+        }
+      }
+      return getValues(array, null);
+    }
+
+    final List<Item> values = new ArrayList<>();
+    for (final Sequence value : ((Array) args[0]).values()) {
+      if (value instanceof Item) {
+        values.add((Item) value);
+      } else if (value != null) {
+        final Iter iter = value.iterate();
+        try {
+          for (Item item = iter.next(); item != null; item = iter.next()) {
+            values.add(item);
+          }
+        } finally {
+          iter.close();
+        }
+      }
+    }
+    return new ItemSequence(values.toArray(new Item[values.size()]));
+  }
+
+  /**
+   * Scan a CAS index on the path for the key.
+   *
+   * @return the node keys of the values of the array, which have a matching value, or
+   *         {@link Optional#empty()}, if no CAS index covers the path and can be probed for the key
+   */
+  private static Optional<Set<Long>> scanIndex(final StaticContext sctx, final JsonDBArray array,
+      final String[] path, final Atomic key) {
+    final JsonNodeReadOnlyTrx rtx = array.getTrx();
+    final long arrayKey = array.getNodeKey();
+    rtx.moveTo(arrayKey);
+    if (rtx.getKind() != NodeKind.ARRAY) {
+      return Optional.empty();
+    }
+
+    final JsonIndexController controller = rtx.getResourceManager().getRtxIndexController(rtx.getRevisionNumber());
+    if (controller == null || controller.getIndexes().getNrOfIndexDefsWithType(IndexType.CAS) == 0) {
+      return Optional.empty();
+    }
+
+    try (final PathSummaryReader reader = rtx.getResourceManager().openPathSummary(rtx.getRevisionNumber())) {
+      final long pcr = getPCR(reader, rtx.getPathNodeKey(), path);
+      if (pcr == -1) {
+        return Optional.empty();
+      }
+
+      for (final IndexDef indexDef : controller.getIndexes().getIndexDefs()) {
+        if (indexDef.getType() != IndexType.CAS) {
+          continue;
+        }
+
+        final Set<Long> pcrs = indexDef.getPaths().isEmpty()
+            ? null
+            : reader.getPCRsForPaths(indexDef.getPaths(), true);
+        if (pcrs != null && !pcrs.contains(pcr)) {
+          continue;
+        }
+
+        final Optional<Atomic> indexKey = getKey(sctx, key, indexDef.getContentType());
+        if (indexKey.isEmpty()) {
+          continue;
+        }
+
+        final CASFilter filter =
+            new CASFilter(indexDef.getPaths(), indexKey.get(), SearchMode.EQUAL, new JsonPCRCollector(rtx));
+        final Iterator<NodeReferences> iter = controller.openCASIndex(rtx.getPageTrx(), indexDef, filter);
+        final Set<Long> values = new HashSet<>();
+        while (iter.hasNext()) {
+          for (final long nodeKey : iter.next().getNodeKeys()) {
+            final long valueKey = getArrayValue(rtx, nodeKey, pcr, arrayKey);
+            if (valueKey != -1) {
+              values.add(valueKey);
+            }
+          }
+        }
+        return Optional.of(values);
+      }
+    } catch (final PathException e) {
+      return Optional.empty();
+    } finally {
+      rtx.moveTo(arrayKey);
+    }
+
+    return Optional.empty();
+  }
+
+  /**
+   * Get the path class record of the object key path relative to the array path.
+   *
+   * @return the path class record or {@code -1}, if the path doesn't exist
+   */
+  private static long getPCR(final PathSummaryReader reader, final long arrayPCR, final String[] path) {
+    if (!reader.moveTo(arrayPCR).hasMoved()) {
+      return -1;
+    }
+
+    for (final String key : path) {
+      boolean found = false;
+      if (reader.moveToFirstChild().hasMoved()) {
+        do {
+          if (reader.getPathKind() == NodeKind.OBJECT_KEY && key.equals(reader.getName().getLocalName())) {
+            found = true;
+            break;
+          }
+        } while (reader.moveToRightSibling().hasMoved());
+      }
+      if (!found) {
+        return -1;
+      }
+    }
+
+    return reader.getNodeKey();
+  }
+
+  /**
+   * Get the key in the content type of the index, if the index may contain it. A numeric key is only
+   * cast, if it's cast back unchanged, as otherwise the index would be probed for another value (for
+   * instance {@code 1} instead of {@code 1.5} in an {@code xs:integer} index).
+   *
+   * @return the key or {@link Optional#empty()}, if the index can't be probed for the key
+   */
+  private static Optional<Atomic> getKey(final StaticContext sctx, final Atomic key, final Type contentType) {
+    if (key.type().instanceOf(contentType)) {
+      return Optional.of(key);
+    }
+    if (key instanceof Numeric && contentType.isNumeric()) {
+      try {
+        final Atomic indexKey = Cast.cast(sctx, key, contentType, true);
+        if (Cast.cast(sctx, indexKey, key.type(), true).atomicCmp(key) == 0) {
+          return Optional.of(indexKey);
+        }
+      } catch (final QueryException e) {
+        // The key isn't in the value space of the content type.
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Get the value of the array, an indexed value belongs to.
+   *
+   * @return the node key of the value of the array or {@code -1}, if the indexed value isn't on the
+   *         path or in the array
+   */
+  private static long getArrayValue(final JsonNodeReadOnlyTrx rtx, final long nodeKey, final long pcr,
+      final long arrayKey) {
+    if (!rtx.moveTo(nodeKey).hasMoved() || !rtx.moveToParent().hasMoved() || rtx.getKind() != NodeKind.OBJECT_KEY
+        || rtx.getPathNodeKey() != pcr) {
+      return -1;
+    }
+
+    while (rtx.hasParent()) {
+      if (rtx.getParentKey() == arrayKey) {
+        return rtx.getNodeKey();
+      }
+      rtx.moveToParent();
+    }
+
+    return -1;
+  }
+
+  /**
+   * Get the values of the array in array order.
+   *
+   * @param array the array
+   * @param nodeKeys the node keys of the values to get or {@code null} for all values
+   * @return the values
+   */
+  private static Sequence getValues(final JsonDBArray array, final Set<Long> nodeKeys) {
+    final JsonNodeReadOnlyTrx rtx = array.getTrx();
+    final JsonUtil jsonUtil = new JsonUtil();
+    final List<Item> values = new ArrayList<>();
+    int found = 0;
+
+    if (nodeKeys == null || !nodeKeys.isEmpty()) {
+      rtx.moveTo(array.getNodeKey());
+      if (rtx.moveToFirstChild().hasMoved()) {
+        do {
+          final long nodeKey = rtx.getNodeKey();
+          if (nodeKeys == null || nodeKeys.contains(nodeKey)) {
+            final Sequence value = jsonUtil.getSequence(rtx, array.getCollection());
+            if (value != null) {
+              values.add((Item) value);
+            }
+            rtx.moveTo(nodeKey);
+            if (nodeKeys != null && ++found == nodeKeys.size()) {
+              break;
+            }
+          }
+        } while (rtx.moveToRightSibling().hasMoved());
+      }
+    }
+
+    return new ItemSequence(values.toArray(new Item[values.size()]));
+  }
+}
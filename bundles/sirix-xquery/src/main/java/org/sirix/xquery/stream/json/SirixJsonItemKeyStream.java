@@ -2,8 +2,8 @@ package org.sirix.xquery.stream.json;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.util.Iterator;
-import java.util.Set;
 import org.brackit.xquery.xdm.Stream;
+import org.roaringbitmap.longlong.LongIterator;
 import org.sirix.api.json.JsonNodeReadOnlyTrx;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.xquery.json.JsonDBCollection;
@@ -13,6 +13,8 @@ public final class SirixJsonItemKeyStream implements Stream<JsonDBObject> {
 
   private final Iterator<NodeReferences> mIter;
 
+  private LongIterator mNodeKeys;
+
   private final JsonDBCollection mCollection;
 
   private final JsonNodeReadOnlyTrx mRtx;
@@ -26,15 +28,15 @@ public final class SirixJsonItemKeyStream implements Stream<JsonDBObject> {
 
   @Override
   public JsonDBObject next() {
-    while (mIter.hasNext()) {
-      final NodeReferences nodeReferences = mIter.next();
-      final Set<Long> nodeKeys = nodeReferences.getNodeKeys();
-      for (final long nodeKey : nodeKeys) {
-        mRtx.moveTo(nodeKey);
-        return new JsonDBObject(mRtx, mCollection);
+    // Iterate over the node keys of one index entry after the other, such that the index is scanned lazily.
+    while (mNodeKeys == null || !mNodeKeys.hasNext()) {
+      if (!mIter.hasNext()) {
+        return null;
       }
+      mNodeKeys = mIter.next().getNodeKeyBitmap().getLongIterator();
     }
-    return null;
+    mRtx.moveTo(mNodeKeys.next());
+    return new JsonDBObject(mRtx, mCollection);
   }
 
   @Override
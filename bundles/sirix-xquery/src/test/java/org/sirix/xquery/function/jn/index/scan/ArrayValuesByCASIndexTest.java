@@ -0,0 +1,120 @@
+package org.sirix.xquery.function.jn.index.scan;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import org.brackit.xquery.XQuery;
+import org.brackit.xquery.util.io.IOUtils;
+import org.brackit.xquery.util.serialize.StringSerializer;
+import org.brackit.xquery.xdm.Type;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.index.IndexDefs;
+import org.sirix.service.json.shredder.JsonShredder;
+import org.sirix.xquery.SirixCompileChain;
+import org.sirix.xquery.SirixQueryContext;
+import org.sirix.xquery.json.BasicJsonDBStore;
+import junit.framework.TestCase;
+
+/**
+ * Test the values of arrays, which are filtered by a comparison, that is rewritten to
+ * {@code jn:array-values-by-cas-index}, with and without a matching CAS index.
+ */
+public final class ArrayValuesByCASIndexTest extends TestCase {
+
+  private static final String FOR_QUERY =
+      "for $value in bit:array-values(jn:doc('%s','%s')=>values) where $value=>id eq %s return $value=>id";
+
+  private static final String PREDICATE_QUERY = "bit:array-values(jn:doc('%s','%s')=>values)[.=>id = %s]=>id";
+
+  @Override
+  protected void setUp() {
+    JsonTestHelper.deleteEverything();
+  }
+
+  @Override
+  protected void tearDown() {
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testWithIndexAboveMinArrayLength() {
+    createResource(ArrayValuesByCASIndex.MIN_ARRAY_LENGTH * 2, true);
+    assertResults();
+  }
+
+  @Test
+  public void testWithIndexBelowMinArrayLength() {
+    createResource(ArrayValuesByCASIndex.MIN_ARRAY_LENGTH - 1, true);
+    assertResults();
+  }
+
+  @Test
+  public void testWithoutIndexAboveMinArrayLength() {
+    createResource(ArrayValuesByCASIndex.MIN_ARRAY_LENGTH * 2, false);
+    assertResults();
+  }
+
+  @Test
+  public void testWithoutIndexBelowMinArrayLength() {
+    createResource(ArrayValuesByCASIndex.MIN_ARRAY_LENGTH - 1, false);
+    assertResults();
+  }
+
+  private static void assertResults() {
+    assertEquals("42", query(FOR_QUERY, "42"));
+    assertEquals("42", query(PREDICATE_QUERY, "42"));
+
+    // The key can't be cast to the content type of the index without losing precision.
+    assertEquals("1.5", query(FOR_QUERY, "1.5"));
+    assertEquals("1.5", query(PREDICATE_QUERY, "1.5"));
+
+    assertEquals("", query(FOR_QUERY, "100000"));
+  }
+
+  /**
+   * Create a resource with an array of objects with the ids from {@code 0} to {@code length - 2}
+   * and an object with the id {@code 1.5}.
+   */
+  private static void createResource(final int length, final boolean createIndex) {
+    final var json = new StringBuilder("{\"values\":[");
+    for (int i = 0; i < length - 1; i++) {
+      json.append("{\"id\":").append(i).append("},");
+    }
+    json.append("{\"id\":1.5}]}");
+
+    final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+    try (final var manager = database.openResourceManager(JsonTestHelper.RESOURCE);
+        final var wtx = manager.beginNodeTrx()) {
+      wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader(json.toString()));
+
+      if (createIndex) {
+        final var indexDef = IndexDefs.createCASIdxDef(false, Optional.of(Type.INR), Collections.emptySet(), 0);
+        manager.getWtxIndexController(wtx.getRevisionNumber() - 1).createIndexes(Set.of(indexDef), wtx);
+      }
+
+      wtx.commit();
+    }
+    JsonTestHelper.closeEverything();
+  }
+
+  private static String query(final String query, final String key) {
+    try (final var store = BasicJsonDBStore.newBuilder().location(PATHS.PATH1.getFile().getParent()).build();
+        final var ctx = SirixQueryContext.createWithJsonStore(store);
+        final var chain = SirixCompileChain.createWithJsonStore(store)) {
+      final String databaseName = PATHS.PATH1.getFile().getFileName().toString();
+      final var seq =
+          new XQuery(chain, String.format(query, databaseName, JsonTestHelper.RESOURCE, key)).evaluate(ctx);
+      if (seq == null) {
+        return "";
+      }
+
+      final var buf = IOUtils.createBuffer();
+      try (final var serializer = new StringSerializer(buf)) {
+        serializer.serialize(seq);
+      }
+      return buf.toString();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package org.sirix.xquery.function.sdb.index.scan;
+
+import java.nio.file.Path;
+import org.brackit.xquery.XQuery;
+import org.brackit.xquery.util.io.IOUtils;
+import org.brackit.xquery.util.serialize.StringSerializer;
+import org.brackit.xquery.xdm.Sequence;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.xquery.SirixCompileChain;
+import org.sirix.xquery.SirixQueryContext;
+import org.sirix.xquery.node.BasicXmlDBStore;
+import junit.framework.TestCase;
+
+/**
+ * Test the scan of a path index.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class ScanPathIndexTest extends TestCase {
+
+  @Override
+  @Before
+  public void setUp() {
+    XmlTestHelper.deleteEverything();
+    XmlTestHelper.createTestDocument();
+    XmlTestHelper.closeEverything();
+  }
+
+  @Override
+  @After
+  public void tearDown() {
+    XmlTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testScanReturnsAllNodesOfAnIndexEntry() {
+    final Path database = PATHS.PATH1.getFile();
+
+    try (final BasicXmlDBStore store = BasicXmlDBStore.newBuilder().location(database.getParent()).build()) {
+      final String doc = "sdb:doc('" + database + "','" + XmlTestHelper.RESOURCE + "', (), fn:boolean(1))";
+      new XQuery(SirixCompileChain.createWithNodeStore(store),
+          "let $doc := " + doc + " let $stats := sdb:create-path-index($doc, '//b') return sdb:commit($doc)")
+              .evaluate(SirixQueryContext.createWithNodeStore(store));
+    }
+
+    try (final BasicXmlDBStore store = BasicXmlDBStore.newBuilder().location(database.getParent()).build()) {
+      final String doc = "sdb:doc('" + database + "','" + XmlTestHelper.RESOURCE + "')";
+      // Both b-elements share the path class record, thus they are referenced by the same index entry.
+      final Sequence seq = new XQuery(SirixCompileChain.createWithNodeStore(store), "let $doc := " + doc
+          + " for $b in sdb:scan-path-index($doc, sdb:find-path-index($doc, '//b'), ()) return sdb:nodekey($b)")
+              .evaluate(SirixQueryContext.createWithNodeStore(store));
+
+      final var buf = IOUtils.createBuffer();
+      try (final var serializer = new StringSerializer(buf)) {
+        serializer.serialize(seq);
+      }
+      assertEquals("5 9", buf.toString());
+    }
+  }
+}
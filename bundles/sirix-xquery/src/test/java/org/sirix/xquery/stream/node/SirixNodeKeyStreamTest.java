@@ -0,0 +1,94 @@
+package org.sirix.xquery.stream.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.xquery.node.XmlDBCollection;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test the {@link SirixNodeKeyStream}, which returns the nodes of an index scan.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class SirixNodeKeyStreamTest {
+
+  private Database<XmlResourceManager> mDatabase;
+
+  private XmlResourceManager mManager;
+
+  private XmlNodeReadOnlyTrx mRtx;
+
+  @Before
+  public void setUp() {
+    XmlTestHelper.deleteEverything();
+    XmlTestHelper.createTestDocument();
+    mDatabase = XmlTestHelper.getDatabase(PATHS.PATH1.getFile());
+    mManager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+    mRtx = mManager.beginNodeReadOnlyTrx();
+  }
+
+  @After
+  public void tearDown() {
+    mRtx.close();
+    mManager.close();
+    XmlTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testAllNodeKeysOfAllIndexEntries() {
+    final List<NodeReferences> indexEntries = ImmutableList.of(new NodeReferences(ImmutableSet.of(5L, 1L, 9L)),
+        new NodeReferences(), new NodeReferences(ImmutableSet.of(3L)));
+    final CountingIterator entries = new CountingIterator(indexEntries);
+    final SirixNodeKeyStream stream =
+        new SirixNodeKeyStream(entries, new XmlDBCollection("collection", mDatabase), mRtx);
+
+    // The first index entry is read only.
+    assertEquals(1L, stream.next().getNodeKey());
+    assertEquals(1, entries.mCount);
+
+    assertEquals(5L, stream.next().getNodeKey());
+    assertEquals(9L, stream.next().getNodeKey());
+    assertEquals(1, entries.mCount);
+
+    assertEquals(3L, stream.next().getNodeKey());
+    assertEquals(3, entries.mCount);
+    assertNull(stream.next());
+  }
+
+  /**
+   * Counts the index entries, which have been read.
+   */
+  private static final class CountingIterator implements Iterator<NodeReferences> {
+    private final Iterator<NodeReferences> mIterator;
+
+    private int mCount;
+
+    CountingIterator(final List<NodeReferences> references) {
+      mIterator = references.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return mIterator.hasNext();
+    }
+
+    @Override
+    public NodeReferences next() {
+      mCount++;
+      return mIterator.next();
+    }
+  }
+}